@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Decoder of preview characters for multibyte charsets.
+ *
+ * Reuses decoder and buffers so that decoding of the row doesn't allocate new
+ * objects. Produces the same characters as decoding via new String(...).
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class CharsetPreviewDecoder {
+
+    public static final char EMPTY_CHAR = ' ';
+
+    @Nullable
+    private Charset charset = null;
+    @Nullable
+    private CharsetDecoder decoder = null;
+    @Nullable
+    private CharBuffer charBuffer = null;
+    private int maxBytesPerChar = 1;
+
+    @Nullable
+    private byte[] sourceData = null;
+    @Nullable
+    private ByteBuffer sourceBuffer = null;
+
+    public CharsetPreviewDecoder() {
+    }
+
+    /**
+     * Sets charset to decode characters with.
+     *
+     * @param charset charset
+     * @param maxBytesPerChar maximum number of bytes per character
+     */
+    public void setCharset(Charset charset, int maxBytesPerChar) {
+        if (charset.equals(this.charset) && this.maxBytesPerChar == maxBytesPerChar) {
+            return;
+        }
+
+        this.charset = charset;
+        this.maxBytesPerChar = maxBytesPerChar;
+        decoder = charset.newDecoder();
+        decoder.onMalformedInput(CodingErrorAction.REPLACE);
+        decoder.onUnmappableCharacter(CodingErrorAction.REPLACE);
+        // At least two characters are needed to keep surrogate pairs
+        charBuffer = CharBuffer.allocate(Math.max(2, maxBytesPerChar));
+    }
+
+    @Nullable
+    public Charset getCharset() {
+        return charset;
+    }
+
+    public int getMaxBytesPerChar() {
+        return maxBytesPerChar;
+    }
+
+    /**
+     * Decodes first character from given sequence of bytes.
+     *
+     * @param data source data
+     * @param offset offset in source data
+     * @param length length of available bytes
+     * @return first character or space if no character was decoded
+     */
+    public char decodeChar(byte[] data, int offset, int length) {
+        if (decoder == null || charBuffer == null) {
+            throw new IllegalStateException("Charset is not set");
+        }
+
+        if (length <= 0) {
+            return EMPTY_CHAR;
+        }
+
+        if (sourceData != data) {
+            sourceData = data;
+            sourceBuffer = ByteBuffer.wrap(data);
+        }
+
+        sourceBuffer.limit(offset + length);
+        sourceBuffer.position(offset);
+        charBuffer.clear();
+        decoder.reset();
+        decoder.decode(sourceBuffer, charBuffer, true);
+        decoder.flush(charBuffer);
+
+        return charBuffer.position() > 0 ? charBuffer.get(0) : EMPTY_CHAR;
+    }
+
+    /**
+     * Decodes characters for range of bytes on row, one character per byte.
+     *
+     * Each character is decoded from up to maximum bytes per character
+     * starting at its byte position, limited by the length of available data.
+     *
+     * @param data source data
+     * @param dataLength length of available data
+     * @param startByte first byte position to decode
+     * @param endByte byte position to decode until (exclusive)
+     * @param target target characters array (output parameter)
+     * @param targetOffset position in target array for byte at position 0
+     */
+    public void decodeRow(byte[] data, int dataLength, int startByte, int endByte, char[] target, int targetOffset) {
+        for (int byteOnRow = startByte; byteOnRow < endByte; byteOnRow++) {
+            int charDataLength = maxBytesPerChar;
+            if (byteOnRow + charDataLength > dataLength) {
+                charDataLength = dataLength - byteOnRow;
+            }
+
+            target[targetOffset + byteOnRow] = decodeChar(data, byteOnRow, charDataLength);
+        }
+    }
+}
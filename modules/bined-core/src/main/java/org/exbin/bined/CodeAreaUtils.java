@@ -26,7 +26,7 @@ import org.exbin.auxiliary.paged_data.EditableBinaryData;
 /**
  * Binary editor component utilities.
  *
- * @version 0.2.0 2019/06/20
+ * @version 0.2.0 2026/10/17
  * @author ExBin Project (https://exbin.org)
  */
 @ParametersAreNonnullByDefault
@@ -35,6 +35,13 @@ public class CodeAreaUtils {
     public static final char[] UPPER_HEX_CODES = "0123456789ABCDEF".toCharArray();
     public static final char[] LOWER_HEX_CODES = "0123456789abcdef".toCharArray();
     private static final int CODE_BUFFER_LENGTH = 16;
+    private static final int BYTE_VALUES = 256;
+
+    /**
+     * Precomputed codes for each byte value indexed by code type and
+     * characters case.
+     */
+    private static final char[][][] CODE_TABLES = buildCodeTables();
 
     public static final String MIME_CLIPBOARD_BINARY = "application/octet-stream";
 
@@ -105,47 +112,47 @@ public class CodeAreaUtils {
      * @param charCase case type for alphabetical characters
      */
     public static void byteToCharsCode(byte dataByte, CodeType codeType, char[] targetData, int targetPosition, CodeCharactersCase charCase) {
-        char[] hexCharacters = charCase == CodeCharactersCase.UPPER ? CodeAreaUtils.UPPER_HEX_CODES : CodeAreaUtils.LOWER_HEX_CODES;
-        switch (codeType) {
-            case BINARY: {
-                int bitMask = 0x80;
-                for (int i = 0; i < 8; i++) {
-                    int codeValue = (dataByte & bitMask) > 0 ? 1 : 0;
-                    targetData[targetPosition + i] = hexCharacters[codeValue];
-                    bitMask = bitMask >> 1;
+        char[] codeTable = CODE_TABLES[codeType.ordinal()][charCase.ordinal()];
+        int digits = codeType.getMaxDigitsForByte();
+        copyCode(codeTable, (dataByte & 0xff) * digits, targetData, targetPosition, digits);
+    }
+
+    /**
+     * Converts range of byte values to sequence of codes of given code type.
+     *
+     * Codes are separated by given number of space characters, no spaces are
+     * placed before first or after last code.
+     *
+     * @param data source data
+     * @param offset offset position in source data
+     * @param length number of bytes to convert
+     * @param codeType code type
+     * @param targetData target array of characters (output parameter)
+     * @param targetPosition target position in array of characters
+     * @param spacing number of space characters between codes
+     * @param charCase case type for alphabetical characters
+     * @return target position after last code
+     */
+    public static int bytesToCharsCode(byte[] data, int offset, int length, CodeType codeType, char[] targetData, int targetPosition, int spacing, CodeCharactersCase charCase) {
+        if (length <= 0) {
+            return targetPosition;
+        }
+
+        char[] codeTable = CODE_TABLES[codeType.ordinal()][charCase.ordinal()];
+        int digits = codeType.getMaxDigitsForByte();
+        int position = targetPosition;
+        int end = offset + length;
+        for (int dataPosition = offset; dataPosition < end; dataPosition++) {
+            if (dataPosition > offset) {
+                for (int i = 0; i < spacing; i++) {
+                    targetData[position++] = ' ';
                 }
-                break;
-            }
-            case DECIMAL: {
-                int value = dataByte & 0xff;
-                int codeValue0 = value / 100;
-                targetData[targetPosition] = hexCharacters[codeValue0];
-                int codeValue1 = (value / 10) % 10;
-                targetData[targetPosition + 1] = hexCharacters[codeValue1];
-                int codeValue2 = value % 10;
-                targetData[targetPosition + 2] = hexCharacters[codeValue2];
-                break;
-            }
-            case OCTAL: {
-                int value = dataByte & 0xff;
-                int codeValue0 = value / 64;
-                targetData[targetPosition] = hexCharacters[codeValue0];
-                int codeValue1 = (value / 8) & 7;
-                targetData[targetPosition + 1] = hexCharacters[codeValue1];
-                int codeValue2 = value % 8;
-                targetData[targetPosition + 2] = hexCharacters[codeValue2];
-                break;
-            }
-            case HEXADECIMAL: {
-                int codeValue0 = (dataByte >> 4) & 0xf;
-                targetData[targetPosition] = hexCharacters[codeValue0];
-                int codeValue1 = dataByte & 0xf;
-                targetData[targetPosition + 1] = hexCharacters[codeValue1];
-                break;
             }
-            default:
-                throw new IllegalStateException("Unexpected code type: " + codeType.name());
+            copyCode(codeTable, (data[dataPosition] & 0xff) * digits, targetData, position, digits);
+            position += digits;
         }
+
+        return position;
     }
 
     /**
@@ -474,4 +481,47 @@ public class CodeAreaUtils {
             Objects.requireNonNull(object, "Field cannot be null");
         }
     }
+
+    private static void copyCode(char[] codeTable, int tablePosition, char[] targetData, int targetPosition, int digits) {
+        switch (digits) {
+            case 2: {
+                targetData[targetPosition] = codeTable[tablePosition];
+                targetData[targetPosition + 1] = codeTable[tablePosition + 1];
+                break;
+            }
+            case 3: {
+                targetData[targetPosition] = codeTable[tablePosition];
+                targetData[targetPosition + 1] = codeTable[tablePosition + 1];
+                targetData[targetPosition + 2] = codeTable[tablePosition + 2];
+                break;
+            }
+            default:
+                System.arraycopy(codeTable, tablePosition, targetData, targetPosition, digits);
+        }
+    }
+
+    @Nonnull
+    private static char[][][] buildCodeTables() {
+        CodeType[] codeTypes = CodeType.values();
+        CodeCharactersCase[] charCases = CodeCharactersCase.values();
+        char[][][] codeTables = new char[codeTypes.length][charCases.length][];
+        for (CodeType codeType : codeTypes) {
+            int base = codeType.getBase();
+            int digits = codeType.getMaxDigitsForByte();
+            for (CodeCharactersCase charCase : charCases) {
+                char[] codes = charCase == CodeCharactersCase.UPPER ? UPPER_HEX_CODES : LOWER_HEX_CODES;
+                char[] codeTable = new char[BYTE_VALUES * digits];
+                for (int value = 0; value < BYTE_VALUES; value++) {
+                    int codeValue = value;
+                    for (int i = digits - 1; i >= 0; i--) {
+                        codeTable[value * digits + i] = codes[codeValue % base];
+                        codeValue = codeValue / base;
+                    }
+                }
+                codeTables[codeType.ordinal()][charCase.ordinal()] = codeTable;
+            }
+        }
+
+        return codeTables;
+    }
 }
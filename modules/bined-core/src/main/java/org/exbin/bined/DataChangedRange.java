@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Range of data modification.
+ *
+ * Describes change where given number of bytes at position was replaced by
+ * another number of bytes. Overwrite of data has the same removed and inserted
+ * length.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@Immutable
+public class DataChangedRange {
+
+    private final long position;
+    private final long removedLength;
+    private final long insertedLength;
+
+    /**
+     * Creates range of data modification.
+     *
+     * @param position position of the change
+     * @param removedLength number of bytes removed at position
+     * @param insertedLength number of bytes inserted at position
+     */
+    public DataChangedRange(long position, long removedLength, long insertedLength) {
+        if (position < 0 || removedLength < 0 || insertedLength < 0) {
+            throw new IllegalArgumentException("Data change (" + position + ", " + removedLength + ", " + insertedLength + ") with negative value is not allowed");
+        }
+
+        this.position = position;
+        this.removedLength = removedLength;
+        this.insertedLength = insertedLength;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    public long getRemovedLength() {
+        return removedLength;
+    }
+
+    public long getInsertedLength() {
+        return insertedLength;
+    }
+
+    /**
+     * Returns end of the changed data in modified data.
+     *
+     * @return end position without actual end position itself
+     */
+    public long getInsertedEnd() {
+        return position + insertedLength;
+    }
+
+    /**
+     * Returns true if the change modified the size of the data.
+     *
+     * @return true if size was changed
+     */
+    public boolean isSizeChanged() {
+        return removedLength != insertedLength;
+    }
+
+    @Override
+    public String toString() {
+        return "DataChangedRange{position=" + position + ", removedLength=" + removedLength + ", insertedLength=" + insertedLength + "}";
+    }
+}
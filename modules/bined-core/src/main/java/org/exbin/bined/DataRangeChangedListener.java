@@ -0,0 +1,38 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Interface for data change listener aware of the range of the change.
+ *
+ * Method dataChanged is still called when the range of the change is not
+ * known.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public interface DataRangeChangedListener extends DataChangedListener {
+
+    /**
+     * Fires notification each time data is modified in known range.
+     *
+     * @param range range of the change
+     */
+    void dataRangeChanged(DataChangedRange range);
+}
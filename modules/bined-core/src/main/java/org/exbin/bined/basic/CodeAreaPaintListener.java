@@ -0,0 +1,38 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.basic;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Listener for paint statistics of the code area painter.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public interface CodeAreaPaintListener {
+
+    /**
+     * Fires notification each time painting of the component is finished.
+     *
+     * Statistics instance is reused for next painting, so values have to be
+     * copied if they are needed later.
+     *
+     * @param statistics statistics of the finished painting
+     */
+    void paintFinished(CodeAreaPaintStatistics statistics);
+}
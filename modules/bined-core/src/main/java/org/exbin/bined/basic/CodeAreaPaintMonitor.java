@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.basic;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Monitor of painting used by code area painters.
+ *
+ * Measuring is enabled only while there is some paint listener registered,
+ * otherwise each call costs single check of the flag.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class CodeAreaPaintMonitor {
+
+    private final List<CodeAreaPaintListener> paintListeners = new ArrayList<>();
+    private final CodeAreaPaintStatistics statistics = new CodeAreaPaintStatistics();
+    private final long[] phaseStartTimes = new long[CodeAreaPaintPhase.values().length];
+    private boolean enabled = false;
+    private boolean painting = false;
+    private long paintStartTime;
+
+    public CodeAreaPaintMonitor() {
+    }
+
+    public void addPaintListener(CodeAreaPaintListener paintListener) {
+        paintListeners.add(paintListener);
+        enabled = true;
+    }
+
+    public void removePaintListener(CodeAreaPaintListener paintListener) {
+        paintListeners.remove(paintListener);
+        enabled = !paintListeners.isEmpty();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Marks start of the painting of the component.
+     */
+    public void paintStarted() {
+        painting = enabled;
+        if (!painting) {
+            return;
+        }
+
+        statistics.clear();
+        paintStartTime = System.nanoTime();
+    }
+
+    /**
+     * Marks end of the painting of the component and notifies listeners.
+     */
+    public void paintFinished() {
+        if (!painting) {
+            return;
+        }
+
+        statistics.setTotalTime(System.nanoTime() - paintStartTime);
+        painting = false;
+        for (CodeAreaPaintListener paintListener : new ArrayList<>(paintListeners)) {
+            paintListener.paintFinished(statistics);
+        }
+    }
+
+    public void phaseStarted(CodeAreaPaintPhase phase) {
+        if (painting) {
+            phaseStartTimes[phase.ordinal()] = System.nanoTime();
+        }
+    }
+
+    public void phaseFinished(CodeAreaPaintPhase phase) {
+        if (painting) {
+            statistics.addPhaseTime(phase, System.nanoTime() - phaseStartTimes[phase.ordinal()]);
+        }
+    }
+
+    public void rowPrepared() {
+        if (painting) {
+            statistics.addRowsPrepared(1);
+        }
+    }
+
+    public void bytesFetched(int count) {
+        if (painting) {
+            statistics.addBytesFetched(count);
+        }
+    }
+
+    public void drawCalled() {
+        if (painting) {
+            statistics.addDrawCalls(1);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.basic;
+
+/**
+ * Measured phase of code area painting.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+public enum CodeAreaPaintPhase {
+
+    /**
+     * Painting of the header.
+     */
+    HEADER,
+    /**
+     * Painting of the row positions.
+     */
+    ROW_POSITION,
+    /**
+     * Painting of the main area background.
+     */
+    BACKGROUND,
+    /**
+     * Preparing and painting of the rows.
+     */
+    ROWS,
+    /**
+     * Painting of the cursor.
+     */
+    CURSOR
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.basic;
+
+import java.util.Arrays;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Statistics of single painting of the code area.
+ *
+ * Times are measured in nanoseconds. Phase can be painted multiple times
+ * during single painting, in such case time of all runs is summed.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class CodeAreaPaintStatistics {
+
+    private final long[] phaseTimes = new long[CodeAreaPaintPhase.values().length];
+    private long totalTime;
+    private int rowsPrepared;
+    private long bytesFetched;
+    private int drawCalls;
+
+    public CodeAreaPaintStatistics() {
+    }
+
+    /**
+     * Returns time spent in given phase.
+     *
+     * @param phase paint phase
+     * @return time in nanoseconds
+     */
+    public long getPhaseTime(CodeAreaPaintPhase phase) {
+        return phaseTimes[phase.ordinal()];
+    }
+
+    /**
+     * Returns time of the whole painting including painting outside of
+     * measured phases.
+     *
+     * @return time in nanoseconds
+     */
+    public long getTotalTime() {
+        return totalTime;
+    }
+
+    /**
+     * Returns number of rows prepared for painting.
+     *
+     * @return number of rows
+     */
+    public int getRowsPrepared() {
+        return rowsPrepared;
+    }
+
+    /**
+     * Returns number of bytes fetched from content data.
+     *
+     * @return number of bytes
+     */
+    public long getBytesFetched() {
+        return bytesFetched;
+    }
+
+    /**
+     * Returns number of issued calls drawing text or background sequences.
+     *
+     * @return number of draw calls
+     */
+    public int getDrawCalls() {
+        return drawCalls;
+    }
+
+    void clear() {
+        Arrays.fill(phaseTimes, 0);
+        totalTime = 0;
+        rowsPrepared = 0;
+        bytesFetched = 0;
+        drawCalls = 0;
+    }
+
+    void addPhaseTime(CodeAreaPaintPhase phase, long time) {
+        phaseTimes[phase.ordinal()] += time;
+    }
+
+    void setTotalTime(long totalTime) {
+        this.totalTime = totalTime;
+    }
+
+    void addRowsPrepared(int count) {
+        rowsPrepared += count;
+    }
+
+    void addBytesFetched(long count) {
+        bytesFetched += count;
+    }
+
+    void addDrawCalls(int count) {
+        drawCalls += count;
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.basic;
+
+import java.util.Arrays;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Paint listener aggregating statistics of paintings.
+ *
+ * Can be registered as standard MBean to allow sampling of statistics from
+ * management console, for example:
+ * <pre>
+ * CodeAreaPaintStatisticsCollector collector = new CodeAreaPaintStatisticsCollector();
+ * ((PaintMonitorCapableCodeAreaPainter) codeArea.getPainter()).getPaintMonitor().addPaintListener(collector);
+ * ManagementFactory.getPlatformMBeanServer().registerMBean(collector, new ObjectName("org.exbin.bined:type=CodeAreaPaintStatistics"));
+ * </pre>
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class CodeAreaPaintStatisticsCollector implements CodeAreaPaintListener, CodeAreaPaintStatisticsCollectorMBean {
+
+    private static final CodeAreaPaintPhase[] PHASES = CodeAreaPaintPhase.values();
+
+    private long paintCount;
+    private long lastTotalTime;
+    private long sumTotalTime;
+    private long maximumTotalTime;
+    private final long[] sumPhaseTimes = new long[PHASES.length];
+    private final long[] maximumPhaseTimes = new long[PHASES.length];
+    private long rowsPrepared;
+    private long bytesFetched;
+    private long drawCalls;
+
+    public CodeAreaPaintStatisticsCollector() {
+    }
+
+    @Override
+    public synchronized void paintFinished(CodeAreaPaintStatistics statistics) {
+        paintCount++;
+        lastTotalTime = statistics.getTotalTime();
+        sumTotalTime += lastTotalTime;
+        maximumTotalTime = Math.max(maximumTotalTime, lastTotalTime);
+        for (CodeAreaPaintPhase phase : PHASES) {
+            long phaseTime = statistics.getPhaseTime(phase);
+            sumPhaseTimes[phase.ordinal()] += phaseTime;
+            maximumPhaseTimes[phase.ordinal()] = Math.max(maximumPhaseTimes[phase.ordinal()], phaseTime);
+        }
+        rowsPrepared += statistics.getRowsPrepared();
+        bytesFetched += statistics.getBytesFetched();
+        drawCalls += statistics.getDrawCalls();
+    }
+
+    @Override
+    public synchronized long getPaintCount() {
+        return paintCount;
+    }
+
+    @Override
+    public synchronized long getLastTotalTime() {
+        return lastTotalTime;
+    }
+
+    @Override
+    public synchronized double getAverageTotalTime() {
+        return paintCount == 0 ? 0 : (double) sumTotalTime / paintCount;
+    }
+
+    @Override
+    public synchronized long getMaximumTotalTime() {
+        return maximumTotalTime;
+    }
+
+    /**
+     * Returns average time of given phase per painting.
+     *
+     * @param phase paint phase
+     * @return time in nanoseconds
+     */
+    public synchronized double getAveragePhaseTime(CodeAreaPaintPhase phase) {
+        return paintCount == 0 ? 0 : (double) sumPhaseTimes[phase.ordinal()] / paintCount;
+    }
+
+    /**
+     * Returns maximum time of given phase per painting.
+     *
+     * @param phase paint phase
+     * @return time in nanoseconds
+     */
+    public synchronized long getMaximumPhaseTime(CodeAreaPaintPhase phase) {
+        return maximumPhaseTimes[phase.ordinal()];
+    }
+
+    @Override
+    public double getAverageHeaderTime() {
+        return getAveragePhaseTime(CodeAreaPaintPhase.HEADER);
+    }
+
+    @Override
+    public long getMaximumHeaderTime() {
+        return getMaximumPhaseTime(CodeAreaPaintPhase.HEADER);
+    }
+
+    @Override
+    public double getAverageRowPositionTime() {
+        return getAveragePhaseTime(CodeAreaPaintPhase.ROW_POSITION);
+    }
+
+    @Override
+    public long getMaximumRowPositionTime() {
+        return getMaximumPhaseTime(CodeAreaPaintPhase.ROW_POSITION);
+    }
+
+    @Override
+    public double getAverageBackgroundTime() {
+        return getAveragePhaseTime(CodeAreaPaintPhase.BACKGROUND);
+    }
+
+    @Override
+    public long getMaximumBackgroundTime() {
+        return getMaximumPhaseTime(CodeAreaPaintPhase.BACKGROUND);
+    }
+
+    @Override
+    public double getAverageRowsTime() {
+        return getAveragePhaseTime(CodeAreaPaintPhase.ROWS);
+    }
+
+    @Override
+    public long getMaximumRowsTime() {
+        return getMaximumPhaseTime(CodeAreaPaintPhase.ROWS);
+    }
+
+    @Override
+    public double getAverageCursorTime() {
+        return getAveragePhaseTime(CodeAreaPaintPhase.CURSOR);
+    }
+
+    @Override
+    public long getMaximumCursorTime() {
+        return getMaximumPhaseTime(CodeAreaPaintPhase.CURSOR);
+    }
+
+    @Override
+    public synchronized long getRowsPrepared() {
+        return rowsPrepared;
+    }
+
+    @Override
+    public synchronized long getBytesFetched() {
+        return bytesFetched;
+    }
+
+    @Override
+    public synchronized long getDrawCalls() {
+        return drawCalls;
+    }
+
+    @Override
+    public synchronized void reset() {
+        paintCount = 0;
+        lastTotalTime = 0;
+        sumTotalTime = 0;
+        maximumTotalTime = 0;
+        Arrays.fill(sumPhaseTimes, 0);
+        Arrays.fill(maximumPhaseTimes, 0);
+        rowsPrepared = 0;
+        bytesFetched = 0;
+        drawCalls = 0;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.basic;
+
+/**
+ * Management interface for aggregated paint statistics.
+ *
+ * Times are reported in nanoseconds, counts are summed over all paintings
+ * since last reset.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+public interface CodeAreaPaintStatisticsCollectorMBean {
+
+    long getPaintCount();
+
+    long getLastTotalTime();
+
+    double getAverageTotalTime();
+
+    long getMaximumTotalTime();
+
+    double getAverageHeaderTime();
+
+    long getMaximumHeaderTime();
+
+    double getAverageRowPositionTime();
+
+    long getMaximumRowPositionTime();
+
+    double getAverageBackgroundTime();
+
+    long getMaximumBackgroundTime();
+
+    double getAverageRowsTime();
+
+    long getMaximumRowsTime();
+
+    double getAverageCursorTime();
+
+    long getMaximumCursorTime();
+
+    long getRowsPrepared();
+
+    long getBytesFetched();
+
+    long getDrawCalls();
+
+    /**
+     * Resets all collected statistics.
+     */
+    void reset();
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.basic;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Bounded least recently used cache of prepared rows.
+ *
+ * Stores row data bytes together with rendered row characters keyed by row
+ * data position, so that rows which remain visible between repaints don't
+ * have to be fetched and converted again. Cache has to be invalidated by
+ * painter when data or anything affecting rendering of the row changes.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class CodeAreaRowCache {
+
+    public static final int DEFAULT_MAXIMUM_ROWS = 256;
+
+    private static final byte[] EMPTY_DATA = new byte[0];
+    private static final char[] EMPTY_CHARS = new char[0];
+
+    private int maximumRows;
+    private final Map<Long, CachedRow> rows;
+    private final Deque<CachedRow> unusedRows = new ArrayDeque<>();
+
+    private long hitCount = 0;
+    private long missCount = 0;
+
+    public CodeAreaRowCache() {
+        this(DEFAULT_MAXIMUM_ROWS);
+    }
+
+    public CodeAreaRowCache(int maximumRows) {
+        this.maximumRows = maximumRows;
+        rows = new LinkedHashMap<Long, CachedRow>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedRow> eldest) {
+                if (size() > CodeAreaRowCache.this.maximumRows) {
+                    unusedRows.push(eldest.getValue());
+                    return true;
+                }
+
+                return false;
+            }
+        };
+    }
+
+    public int getMaximumRows() {
+        return maximumRows;
+    }
+
+    /**
+     * Sets maximum number of cached rows.
+     *
+     * @param maximumRows maximum number of rows, zero disables caching
+     */
+    public void setMaximumRows(int maximumRows) {
+        if (maximumRows < 0) {
+            throw new IllegalArgumentException("Maximum number of rows cannot be negative");
+        }
+
+        this.maximumRows = maximumRows;
+        clear();
+    }
+
+    /**
+     * Copies cached row into given arrays if available.
+     *
+     * @param rowDataPosition row data position
+     * @param rowData row data (output parameter)
+     * @param rowCharacters row characters (output parameter)
+     * @return true if row was found in cache
+     */
+    public boolean loadRow(long rowDataPosition, byte[] rowData, char[] rowCharacters) {
+        if (maximumRows == 0) {
+            return false;
+        }
+
+        CachedRow row = rows.get(rowDataPosition);
+        if (row == null || row.rowData.length != rowData.length || row.rowCharacters.length != rowCharacters.length) {
+            missCount++;
+            return false;
+        }
+
+        System.arraycopy(row.rowData, 0, rowData, 0, rowData.length);
+        System.arraycopy(row.rowCharacters, 0, rowCharacters, 0, rowCharacters.length);
+        hitCount++;
+        return true;
+    }
+
+    /**
+     * Stores copy of prepared row.
+     *
+     * @param rowDataPosition row data position
+     * @param rowData row data
+     * @param rowCharacters row characters
+     */
+    public void storeRow(long rowDataPosition, byte[] rowData, char[] rowCharacters) {
+        if (maximumRows == 0) {
+            return;
+        }
+
+        CachedRow row = rows.get(rowDataPosition);
+        if (row == null) {
+            row = unusedRows.poll();
+            if (row == null) {
+                row = new CachedRow();
+            }
+        }
+
+        if (row.rowData.length != rowData.length) {
+            row.rowData = new byte[rowData.length];
+        }
+        if (row.rowCharacters.length != rowCharacters.length) {
+            row.rowCharacters = new char[rowCharacters.length];
+        }
+        System.arraycopy(rowData, 0, row.rowData, 0, rowData.length);
+        System.arraycopy(rowCharacters, 0, row.rowCharacters, 0, rowCharacters.length);
+        rows.put(rowDataPosition, row);
+    }
+
+    /**
+     * Removes all cached rows.
+     */
+    public void clear() {
+        unusedRows.addAll(rows.values());
+        rows.clear();
+        while (unusedRows.size() > maximumRows) {
+            unusedRows.poll();
+        }
+    }
+
+    /**
+     * Removes cached rows which include data of given range.
+     *
+     * Row includes all bytes stored in its row data, including bytes
+     * following the row used for preview of multibyte characters.
+     *
+     * @param startPosition start position of range
+     * @param endPosition end position of range without actual end position
+     * itself
+     */
+    public void invalidateRange(long startPosition, long endPosition) {
+        Iterator<Map.Entry<Long, CachedRow>> iterator = rows.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, CachedRow> entry = iterator.next();
+            long rowDataPosition = entry.getKey();
+            CachedRow row = entry.getValue();
+            if (rowDataPosition < endPosition && rowDataPosition + row.rowData.length > startPosition) {
+                iterator.remove();
+                if (unusedRows.size() < maximumRows) {
+                    unusedRows.push(row);
+                }
+            }
+        }
+    }
+
+    public int getSize() {
+        return rows.size();
+    }
+
+    /**
+     * Returns number of row instances kept for reuse.
+     *
+     * @return number of unused rows
+     */
+    int getUnusedRowsCount() {
+        return unusedRows.size();
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Resets hit and miss counters.
+     */
+    public void resetStatistics() {
+        hitCount = 0;
+        missCount = 0;
+    }
+
+    private static class CachedRow {
+
+        byte[] rowData = EMPTY_DATA;
+        char[] rowCharacters = EMPTY_CHARS;
+    }
+}
@@ -137,7 +137,7 @@ public class CodeAreaScrollPosition {
         if (this.charPosition != other.charPosition) {
             return false;
         }
-        return this.charOffset != other.charOffset;
+        return this.charOffset == other.charOffset;
     }
 
     public boolean isCharPositionGreaterThan(CodeAreaScrollPosition compPosition) {
@@ -0,0 +1,860 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.data;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.paged_data.BinaryData;
+import org.exbin.auxiliary.paged_data.EditableBinaryData;
+
+/**
+ * Editable binary data stored as piece table optimized for local edits.
+ *
+ * Data is sequence of pieces referencing immutable byte arrays kept in
+ * balanced tree ordered by position, so that insertion and removal take
+ * logarithmic time in the count of pieces. Edits near the last edited
+ * position are performed in single mutable piece with gap buffer, which
+ * makes typing at caret independent of data size.
+ *
+ * Pieces are never modified once shared, so copies and snapshots reference
+ * the same arrays.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class PieceTableData implements SnapshotCapableData {
+
+    /**
+     * Size of arrays for data loaded or inserted in bulk.
+     */
+    public static final int PIECE_SIZE = 65536;
+    /**
+     * Maximum size of gap buffered piece for local edits.
+     */
+    public static final int ACTIVE_CAPACITY = 16384;
+    private static final int ACTIVE_MINIMUM_CAPACITY = 64;
+    private static final int ACTIVE_WINDOW = 1024;
+    private static final int SMALL_EDIT_LIMIT = 64;
+    private static final byte[] EMPTY_ARRAY = new byte[0];
+    private static final byte[] ZERO_PAGE = new byte[PIECE_SIZE];
+
+    @Nullable
+    private Node root = null;
+    @Nullable
+    private Node active = null;
+    private long activeStart;
+    private int randomSeed = 0x2545f491;
+
+    @Nullable
+    private Node cachedNode = null;
+    private long cachedStart;
+
+    public PieceTableData() {
+    }
+
+    public PieceTableData(byte[] data) {
+        insert(0, data);
+    }
+
+    /**
+     * Returns count of pieces data is currently split into.
+     *
+     * @return pieces count
+     */
+    public int getPiecesCount() {
+        return root == null ? 0 : root.count;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return getDataSize() == 0;
+    }
+
+    @Override
+    public long getDataSize() {
+        return root == null ? 0 : root.size;
+    }
+
+    @Override
+    public byte getByte(long position) {
+        checkPosition(position);
+        Node node = cachedNode;
+        if (node == null || position < cachedStart || position >= cachedStart + node.length) {
+            node = root;
+            long nodeStart = 0;
+            long relative = position;
+            while (true) {
+                long leftSize = size(node.left);
+                if (relative < leftSize) {
+                    node = node.left;
+                } else if (relative < leftSize + node.length) {
+                    nodeStart += leftSize;
+                    break;
+                } else {
+                    relative -= leftSize + node.length;
+                    nodeStart += leftSize + node.length;
+                    node = node.right;
+                }
+            }
+            cachedNode = node;
+            cachedStart = nodeStart;
+        }
+        return node.get((int) (position - cachedStart));
+    }
+
+    @Override
+    public void setByte(long position, byte value) {
+        checkPosition(position);
+        if (!isInActive(position, 1)) {
+            activateWindow(position);
+        }
+        active.set((int) (position - activeStart), value);
+    }
+
+    @Override
+    public void setDataSize(long size) {
+        long dataSize = getDataSize();
+        if (size < dataSize) {
+            remove(size, dataSize - size);
+        } else if (size > dataSize) {
+            insert(dataSize, size - dataSize);
+        }
+    }
+
+    @Override
+    public void insertUninitialized(long startFrom, long length) {
+        insert(startFrom, length);
+    }
+
+    @Override
+    public void insert(long startFrom, long length) {
+        checkInsertion(startFrom, length);
+        if (length == 0) {
+            return;
+        }
+
+        if (length <= ACTIVE_CAPACITY) {
+            insertLocal(startFrom, (int) length).fill((int) (startFrom - activeStart), (int) length, (byte) 0);
+            return;
+        }
+
+        List<Node> inserted = new ArrayList<>();
+        long remaining = length;
+        while (remaining > 0) {
+            int pieceLength = (int) Math.min(PIECE_SIZE, remaining);
+            inserted.add(createNode(ZERO_PAGE, 0, pieceLength));
+            remaining -= pieceLength;
+        }
+        insertNodes(startFrom, inserted);
+    }
+
+    @Override
+    public void insert(long startFrom, byte[] insertedData) {
+        insert(startFrom, insertedData, 0, insertedData.length);
+    }
+
+    @Override
+    public void insert(long startFrom, byte[] insertedData, int insertedDataOffset, int insertedDataLength) {
+        checkInsertion(startFrom, insertedDataLength);
+        if (insertedDataLength == 0) {
+            return;
+        }
+
+        if (insertedDataLength <= ACTIVE_CAPACITY) {
+            insertLocal(startFrom, insertedDataLength).write((int) (startFrom - activeStart), insertedData, insertedDataOffset, insertedDataLength);
+            return;
+        }
+
+        List<Node> inserted = new ArrayList<>();
+        int position = 0;
+        while (position < insertedDataLength) {
+            int pieceLength = Math.min(PIECE_SIZE, insertedDataLength - position);
+            byte[] piece = new byte[pieceLength];
+            System.arraycopy(insertedData, insertedDataOffset + position, piece, 0, pieceLength);
+            inserted.add(createNode(piece, 0, pieceLength));
+            position += pieceLength;
+        }
+        insertNodes(startFrom, inserted);
+    }
+
+    @Override
+    public void insert(long startFrom, BinaryData insertedData) {
+        insert(startFrom, insertedData, 0, insertedData.getDataSize());
+    }
+
+    @Override
+    public void insert(long startFrom, BinaryData insertedData, long insertedDataOffset, long insertedDataLength) {
+        checkInsertion(startFrom, insertedDataLength);
+        if (insertedDataLength == 0) {
+            return;
+        }
+
+        if (insertedData instanceof PieceTableData && insertedDataLength > SMALL_EDIT_LIMIT) {
+            insertNodes(startFrom, ((PieceTableData) insertedData).sharePieces(insertedDataOffset, insertedDataLength));
+            return;
+        }
+
+        if (insertedDataLength <= ACTIVE_CAPACITY) {
+            byte[] buffer = new byte[(int) insertedDataLength];
+            insertedData.copyToArray(insertedDataOffset, buffer, 0, buffer.length);
+            insert(startFrom, buffer);
+            return;
+        }
+
+        List<Node> inserted = new ArrayList<>();
+        long position = 0;
+        while (position < insertedDataLength) {
+            int pieceLength = (int) Math.min(PIECE_SIZE, insertedDataLength - position);
+            byte[] piece = new byte[pieceLength];
+            insertedData.copyToArray(insertedDataOffset + position, piece, 0, pieceLength);
+            inserted.add(createNode(piece, 0, pieceLength));
+            position += pieceLength;
+        }
+        insertNodes(startFrom, inserted);
+    }
+
+    @Override
+    public long insert(long startFrom, InputStream inputStream, long maximumDataSize) throws IOException {
+        checkInsertion(startFrom, 0);
+        List<Node> inserted = new ArrayList<>();
+        long length = 0;
+        while (maximumDataSize < 0 || length < maximumDataSize) {
+            int pieceLength = maximumDataSize < 0 ? PIECE_SIZE : (int) Math.min(PIECE_SIZE, maximumDataSize - length);
+            byte[] piece = new byte[pieceLength];
+            int read = 0;
+            while (read < pieceLength) {
+                int count = inputStream.read(piece, read, pieceLength - read);
+                if (count < 0) {
+                    break;
+                }
+                read += count;
+            }
+            if (read > 0) {
+                inserted.add(createNode(piece, 0, read));
+                length += read;
+            }
+            if (read < pieceLength) {
+                break;
+            }
+        }
+        insertNodes(startFrom, inserted);
+        return length;
+    }
+
+    @Override
+    public void replace(long targetPosition, BinaryData replacingData) {
+        replace(targetPosition, replacingData, 0, replacingData.getDataSize());
+    }
+
+    @Override
+    public void replace(long targetPosition, BinaryData replacingData, long startFrom, long length) {
+        checkInsertion(targetPosition, 0);
+        if (length <= SMALL_EDIT_LIMIT) {
+            byte[] buffer = new byte[(int) length];
+            replacingData.copyToArray(startFrom, buffer, 0, (int) length);
+            replace(targetPosition, buffer, 0, (int) length);
+            return;
+        }
+
+        List<Node> replacing = replacingData instanceof PieceTableData
+                ? ((PieceTableData) replacingData).sharePieces(startFrom, length)
+                : null;
+        remove(targetPosition, Math.min(length, getDataSize() - targetPosition));
+        if (replacing != null) {
+            insertNodes(targetPosition, replacing);
+        } else {
+            insert(targetPosition, replacingData, startFrom, length);
+        }
+    }
+
+    @Override
+    public void replace(long targetPosition, byte[] replacingData) {
+        replace(targetPosition, replacingData, 0, replacingData.length);
+    }
+
+    @Override
+    public void replace(long targetPosition, byte[] replacingData, int replacingDataOffset, int length) {
+        checkInsertion(targetPosition, 0);
+        if (length <= SMALL_EDIT_LIMIT) {
+            long dataSize = getDataSize();
+            for (int i = 0; i < length; i++) {
+                long position = targetPosition + i;
+                if (position == dataSize) {
+                    insert(position, replacingData, replacingDataOffset + i, length - i);
+                    break;
+                }
+                setByte(position, replacingData[replacingDataOffset + i]);
+            }
+            return;
+        }
+
+        remove(targetPosition, Math.min(length, getDataSize() - targetPosition));
+        insert(targetPosition, replacingData, replacingDataOffset, length);
+    }
+
+    @Override
+    public void fillData(long startFrom, long length) {
+        fillData(startFrom, length, (byte) 0);
+    }
+
+    @Override
+    public void fillData(long startFrom, long length, byte fill) {
+        checkRange(startFrom, length);
+        if (length <= SMALL_EDIT_LIMIT) {
+            for (long position = startFrom; position < startFrom + length; position++) {
+                setByte(position, fill);
+            }
+            return;
+        }
+
+        remove(startFrom, length);
+        if (fill == 0) {
+            insert(startFrom, length);
+            return;
+        }
+
+        byte[] page = new byte[(int) Math.min(PIECE_SIZE, length)];
+        Arrays.fill(page, fill);
+        List<Node> inserted = new ArrayList<>();
+        long remaining = length;
+        while (remaining > 0) {
+            int pieceLength = (int) Math.min(page.length, remaining);
+            inserted.add(createNode(page, 0, pieceLength));
+            remaining -= pieceLength;
+        }
+        insertNodes(startFrom, inserted);
+    }
+
+    @Override
+    public void remove(long startFrom, long length) {
+        checkRange(startFrom, length);
+        if (length == 0) {
+            return;
+        }
+
+        if (isInActive(startFrom, length)) {
+            adjustActiveSize(-length);
+            active.remove((int) (startFrom - activeStart), (int) length);
+            if (active.length == 0) {
+                freezeActive();
+            }
+            return;
+        }
+
+        freezeActive();
+        Node[] parts = split(root, startFrom);
+        Node[] tail = split(parts[1], length);
+        root = merge(parts[0], tail[1]);
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+        active = null;
+        cachedNode = null;
+    }
+
+    @Override
+    public void loadFromStream(InputStream inputStream) throws IOException {
+        clear();
+        insert(0, inputStream, -1);
+    }
+
+    @Nonnull
+    @Override
+    public OutputStream getDataOutputStream() {
+        return new OutputStream() {
+            private long position = 0;
+
+            @Override
+            public void write(int value) {
+                if (position == getDataSize()) {
+                    insert(position, 1);
+                }
+                setByte(position++, (byte) value);
+            }
+
+            @Override
+            public void write(byte[] buffer, int offset, int length) {
+                replace(position, buffer, offset, length);
+                position += length;
+            }
+        };
+    }
+
+    @Nonnull
+    @Override
+    public EditableBinaryData copy() {
+        return copy(0, getDataSize());
+    }
+
+    @Nonnull
+    @Override
+    public EditableBinaryData copy(long startFrom, long length) {
+        PieceTableData copy = new PieceTableData();
+        copy.insertNodes(0, sharePieces(startFrom, length));
+        return copy;
+    }
+
+    @Nonnull
+    @Override
+    public BinaryData createSnapshot(long startFrom, long length) {
+        return copy(startFrom, length);
+    }
+
+    @Override
+    public void copyToArray(long startFrom, byte[] target, int offset, int length) {
+        checkRange(startFrom, length);
+        if (length > 0) {
+            copyToArray(root, startFrom, startFrom + length, target, offset);
+        }
+    }
+
+    @Override
+    public void saveToStream(OutputStream outputStream) throws IOException {
+        freezeActive();
+        for (Node node : collectPieces(0, getDataSize())) {
+            outputStream.write(node.data, node.offset, node.length);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public InputStream getDataInputStream() {
+        return new InputStream() {
+            private long position = 0;
+
+            @Override
+            public int read() {
+                return position < getDataSize() ? getByte(position++) & 0xff : -1;
+            }
+
+            @Override
+            public int read(byte[] output, int off, int len) {
+                if (len == 0) {
+                    return 0;
+                }
+                long dataSize = getDataSize();
+                if (position >= dataSize) {
+                    return -1;
+                }
+                int readLength = (int) Math.min(len, dataSize - position);
+                copyToArray(position, output, off, readLength);
+                position += readLength;
+                return readLength;
+            }
+
+            @Override
+            public int available() {
+                return (int) Math.min(Integer.MAX_VALUE, getDataSize() - position);
+            }
+        };
+    }
+
+    @Override
+    public void dispose() {
+        clear();
+    }
+
+    private boolean isInActive(long startFrom, long length) {
+        return active != null && startFrom >= activeStart && startFrom + length <= activeStart + active.length;
+    }
+
+    /**
+     * Makes space for inserted bytes in gap buffered piece.
+     *
+     * @return active piece
+     */
+    @Nonnull
+    private Node insertLocal(long startFrom, int length) {
+        if (active != null && startFrom >= activeStart && startFrom <= activeStart + active.length && active.length + length <= ACTIVE_CAPACITY) {
+            adjustActiveSize(length);
+            active.insertGap((int) (startFrom - activeStart), length);
+            return active;
+        }
+
+        freezeActive();
+        Node node = createActiveNode(new byte[Math.max(ACTIVE_MINIMUM_CAPACITY, length * 2)], 0);
+        node.insertGap(0, length);
+        node.update();
+        insertTree(startFrom, node);
+        active = node;
+        activeStart = startFrom;
+        return node;
+    }
+
+    /**
+     * Replaces window of data around given position by gap buffered piece.
+     */
+    private void activateWindow(long position) {
+        freezeActive();
+        long windowStart = Math.max(0, position - ACTIVE_WINDOW / 2);
+        long windowEnd = Math.min(getDataSize(), windowStart + ACTIVE_WINDOW);
+        int windowLength = (int) (windowEnd - windowStart);
+        byte[] data = new byte[Math.max(ACTIVE_MINIMUM_CAPACITY, windowLength * 2)];
+        copyToArray(root, windowStart, windowEnd, data, 0);
+
+        Node[] parts = split(root, windowStart);
+        Node[] tail = split(parts[1], windowLength);
+        Node node = createActiveNode(data, windowLength);
+        root = merge(merge(parts[0], node), tail[1]);
+        active = node;
+        activeStart = windowStart;
+    }
+
+    /**
+     * Converts gap buffered piece to immutable piece.
+     */
+    private void freezeActive() {
+        if (active != null) {
+            active.compact();
+            active = null;
+        }
+    }
+
+    /**
+     * Updates sizes on the path from root to active piece.
+     */
+    private void adjustActiveSize(long difference) {
+        Node node = root;
+        long relative = activeStart;
+        while (node != active) {
+            node.size += difference;
+            long leftSize = size(node.left);
+            if (relative < leftSize) {
+                node = node.left;
+            } else {
+                relative -= leftSize + node.length;
+                node = node.right;
+            }
+        }
+        node.size += difference;
+        cachedNode = null;
+    }
+
+    private void insertNodes(long startFrom, List<Node> nodes) {
+        if (nodes.isEmpty()) {
+            return;
+        }
+
+        freezeActive();
+        Node inserted = null;
+        for (Node node : nodes) {
+            inserted = merge(inserted, node);
+        }
+        insertTree(startFrom, inserted);
+    }
+
+    private void insertTree(long startFrom, Node inserted) {
+        Node[] parts = split(root, startFrom);
+        root = merge(merge(parts[0], inserted), parts[1]);
+    }
+
+    /**
+     * Returns new pieces referencing arrays of given range.
+     */
+    @Nonnull
+    private List<Node> sharePieces(long startFrom, long length) {
+        checkRange(startFrom, length);
+        freezeActive();
+        List<Node> shared = new ArrayList<>();
+        for (Node node : collectPieces(startFrom, length)) {
+            shared.add(createNode(node.data, node.offset, node.length));
+        }
+        return shared;
+    }
+
+    /**
+     * Returns pieces covering given range with boundary pieces trimmed.
+     *
+     * Active piece has to be frozen.
+     */
+    @Nonnull
+    private List<Node> collectPieces(long startFrom, long length) {
+        List<Node> pieces = new ArrayList<>();
+        if (length > 0) {
+            collectPieces(root, startFrom, startFrom + length, pieces);
+        }
+        return pieces;
+    }
+
+    private static void collectPieces(@Nullable Node node, long start, long end, List<Node> pieces) {
+        if (node == null) {
+            return;
+        }
+        long leftSize = size(node.left);
+        if (start < leftSize) {
+            collectPieces(node.left, start, Math.min(end, leftSize), pieces);
+        }
+        long nodeEnd = leftSize + node.length;
+        if (start < nodeEnd && end > leftSize && node.length > 0) {
+            int from = (int) Math.max(0, start - leftSize);
+            int to = (int) Math.min(node.length, end - leftSize);
+            pieces.add(new Node(node.data, node.offset + from, to - from, 0));
+        }
+        if (end > nodeEnd) {
+            collectPieces(node.right, Math.max(0, start - nodeEnd), end - nodeEnd, pieces);
+        }
+    }
+
+    private static void copyToArray(@Nullable Node node, long start, long end, byte[] target, int targetOffset) {
+        if (node == null) {
+            return;
+        }
+        long leftSize = size(node.left);
+        if (start < leftSize) {
+            copyToArray(node.left, start, Math.min(end, leftSize), target, targetOffset);
+        }
+        long nodeEnd = leftSize + node.length;
+        if (start < nodeEnd && end > leftSize) {
+            int from = (int) Math.max(0, start - leftSize);
+            int to = (int) Math.min(node.length, end - leftSize);
+            node.copyTo(from, target, targetOffset + (int) (leftSize + from - start), to - from);
+        }
+        if (end > nodeEnd) {
+            long rightStart = Math.max(0, start - nodeEnd);
+            copyToArray(node.right, rightStart, end - nodeEnd, target, targetOffset + (int) (nodeEnd + rightStart - start));
+        }
+    }
+
+    /**
+     * Splits tree into trees with data before and after given position.
+     */
+    @Nonnull
+    private Node[] split(@Nullable Node node, long position) {
+        if (node == null) {
+            return new Node[2];
+        }
+
+        cachedNode = null;
+        long leftSize = size(node.left);
+        if (position <= leftSize) {
+            Node[] parts = split(node.left, position);
+            node.left = parts[1];
+            node.update();
+            parts[1] = node;
+            return parts;
+        }
+
+        long nodeEnd = leftSize + node.length;
+        if (position < nodeEnd) {
+            if (node == active) {
+                freezeActive();
+            }
+            int cut = (int) (position - leftSize);
+            // Tail takes place of the node in the heap order
+            Node tail = new Node(node.data, node.offset + cut, node.length - cut, node.priority);
+            tail.right = node.right;
+            tail.update();
+            node.length = cut;
+            node.right = null;
+            node.update();
+            return new Node[]{node, tail};
+        }
+
+        Node[] parts = split(node.right, position - nodeEnd);
+        node.right = parts[0];
+        node.update();
+        parts[0] = node;
+        return parts;
+    }
+
+    @Nullable
+    private static Node merge(@Nullable Node left, @Nullable Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    @Nonnull
+    private Node createNode(byte[] data, int offset, int length) {
+        return new Node(data, offset, length, nextPriority());
+    }
+
+    @Nonnull
+    private Node createActiveNode(byte[] data, int length) {
+        Node node = new Node(data, 0, length, nextPriority());
+        node.gapStart = length;
+        node.gapLength = data.length - length;
+        return node;
+    }
+
+    private int nextPriority() {
+        randomSeed ^= randomSeed << 13;
+        randomSeed ^= randomSeed >>> 17;
+        randomSeed ^= randomSeed << 5;
+        return randomSeed;
+    }
+
+    private static long size(@Nullable Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private void checkPosition(long position) {
+        if (position < 0 || position >= getDataSize()) {
+            throw new IndexOutOfBoundsException("Position " + position + " out of range 0.." + getDataSize());
+        }
+    }
+
+    private void checkRange(long startFrom, long length) {
+        if (startFrom < 0 || length < 0 || startFrom + length > getDataSize()) {
+            throw new IndexOutOfBoundsException("Range " + startFrom + "+" + length + " out of range 0.." + getDataSize());
+        }
+    }
+
+    private void checkInsertion(long startFrom, long length) {
+        if (startFrom < 0 || startFrom > getDataSize() || length < 0) {
+            throw new IndexOutOfBoundsException("Insertion at " + startFrom + " out of range 0.." + getDataSize());
+        }
+    }
+
+    /**
+     * Piece of data and node of the tree.
+     *
+     * Only active piece has gap, its array is exclusively owned and mutable.
+     */
+    private static final class Node {
+
+        private byte[] data;
+        private int offset;
+        private int length;
+        private int gapStart;
+        private int gapLength = 0;
+        private final int priority;
+
+        @Nullable
+        private Node left;
+        @Nullable
+        private Node right;
+        private long size;
+        private int count;
+
+        private Node(byte[] data, int offset, int length, int priority) {
+            this.data = data;
+            this.offset = offset;
+            this.length = length;
+            this.priority = priority;
+            gapStart = length;
+            size = length;
+            count = 1;
+        }
+
+        private void update() {
+            size = length + size(left) + size(right);
+            count = 1 + (left == null ? 0 : left.count) + (right == null ? 0 : right.count);
+        }
+
+        private byte get(int index) {
+            return data[offset + (index < gapStart ? index : index + gapLength)];
+        }
+
+        private void set(int index, byte value) {
+            data[index < gapStart ? index : index + gapLength] = value;
+        }
+
+        private void copyTo(int from, byte[] target, int targetOffset, int copyLength) {
+            int beforeGap = Math.max(0, Math.min(copyLength, gapStart - from));
+            if (beforeGap > 0) {
+                System.arraycopy(data, offset + from, target, targetOffset, beforeGap);
+            }
+            if (copyLength > beforeGap) {
+                System.arraycopy(data, offset + from + beforeGap + gapLength, target, targetOffset + beforeGap, copyLength - beforeGap);
+            }
+        }
+
+        private void write(int from, byte[] source, int sourceOffset, int writeLength) {
+            for (int i = 0; i < writeLength; i++) {
+                set(from + i, source[sourceOffset + i]);
+            }
+        }
+
+        private void fill(int from, int fillLength, byte value) {
+            for (int i = 0; i < fillLength; i++) {
+                set(from + i, value);
+            }
+        }
+
+        /**
+         * Inserts space at given index of active piece.
+         */
+        private void insertGap(int index, int insertedLength) {
+            if (gapLength < insertedLength) {
+                int capacity = Math.min(ACTIVE_CAPACITY, Math.max(length + insertedLength, data.length * 2));
+                byte[] grown = new byte[capacity];
+                System.arraycopy(data, 0, grown, 0, gapStart);
+                int tailLength = length - gapStart;
+                System.arraycopy(data, gapStart + gapLength, grown, capacity - tailLength, tailLength);
+                gapLength = capacity - length;
+                data = grown;
+            }
+            moveGap(index);
+            gapStart += insertedLength;
+            gapLength -= insertedLength;
+            length += insertedLength;
+        }
+
+        /**
+         * Removes bytes at given index of active piece.
+         */
+        private void remove(int index, int removedLength) {
+            moveGap(index);
+            gapLength += removedLength;
+            length -= removedLength;
+        }
+
+        private void moveGap(int index) {
+            if (index < gapStart) {
+                System.arraycopy(data, index, data, index + gapLength, gapStart - index);
+            } else if (index > gapStart) {
+                System.arraycopy(data, gapStart + gapLength, data, gapStart, index - gapStart);
+            }
+            gapStart = index;
+        }
+
+        /**
+         * Removes gap making piece immutable.
+         */
+        private void compact() {
+            byte[] compacted = length == 0 ? EMPTY_ARRAY : new byte[length];
+            copyTo(0, compacted, 0, length);
+            data = compacted;
+            offset = 0;
+            gapStart = length;
+            gapLength = 0;
+        }
+    }
+}
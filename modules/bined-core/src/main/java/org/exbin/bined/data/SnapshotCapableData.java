@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.data;
+
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.paged_data.BinaryData;
+import org.exbin.auxiliary.paged_data.EditableBinaryData;
+
+/**
+ * Editable binary data supporting cheap snapshots.
+ *
+ * Snapshot shares underlying storage with the data it was created from and is
+ * not affected by later changes of it. Inserting or replacing data with
+ * snapshot of the same kind shares the storage too.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public interface SnapshotCapableData extends EditableBinaryData {
+
+    /**
+     * Creates snapshot of given range of data.
+     *
+     * @param startFrom start position
+     * @param length length of the range
+     * @return immutable snapshot
+     */
+    @Nonnull
+    BinaryData createSnapshot(long startFrom, long length);
+}
@@ -0,0 +1,635 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.data;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.paged_data.BinaryData;
+import org.exbin.auxiliary.paged_data.EditableBinaryData;
+
+/**
+ * Editable binary data stored as sequence of pages with copy-on-write sharing.
+ *
+ * Copies and snapshots reference the same pages and page is copied only when
+ * it is modified while shared. Removal and copying of a range takes time
+ * proportional to the count of pages instead of the size of the range.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class SnapshotPagedData implements SnapshotCapableData {
+
+    public static final int DEFAULT_PAGE_SIZE = 65536;
+
+    private final int pageSize;
+    private final List<Segment> segments = new ArrayList<>();
+    private long dataSize = 0;
+    private long[] segmentStarts = null;
+    private int lastSegment = 0;
+
+    public SnapshotPagedData() {
+        this(DEFAULT_PAGE_SIZE);
+    }
+
+    public SnapshotPagedData(int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        this.pageSize = pageSize;
+    }
+
+    public SnapshotPagedData(byte[] data) {
+        this(DEFAULT_PAGE_SIZE);
+        insert(0, data);
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Returns count of segments data is currently split into.
+     *
+     * @return segments count
+     */
+    public int getSegmentsCount() {
+        return segments.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return dataSize == 0;
+    }
+
+    @Override
+    public long getDataSize() {
+        return dataSize;
+    }
+
+    @Override
+    public byte getByte(long position) {
+        checkPosition(position);
+        int index = findSegment(position);
+        Segment segment = segments.get(index);
+        return segment.data[segment.offset + (int) (position - segmentStarts[index])];
+    }
+
+    @Override
+    public void setByte(long position, byte value) {
+        checkPosition(position);
+        int index = findSegment(position);
+        Segment segment = ownSegment(index);
+        segment.data[segment.offset + (int) (position - segmentStarts[index])] = value;
+    }
+
+    @Override
+    public void setDataSize(long size) {
+        if (size < dataSize) {
+            remove(size, dataSize - size);
+        } else if (size > dataSize) {
+            insert(dataSize, size - dataSize);
+        }
+    }
+
+    @Override
+    public void insertUninitialized(long startFrom, long length) {
+        insert(startFrom, length);
+    }
+
+    @Override
+    public void insert(long startFrom, long length) {
+        checkInsertion(startFrom, length);
+        if (length == 0) {
+            return;
+        }
+
+        if (length <= pageSize && insertInPlace(startFrom, (int) length)) {
+            return;
+        }
+
+        List<Segment> inserted = new ArrayList<>();
+        long remaining = length;
+        while (remaining > 0) {
+            int segmentLength = (int) Math.min(pageSize, remaining);
+            inserted.add(new Segment(new byte[segmentLength], 0, segmentLength, false));
+            remaining -= segmentLength;
+        }
+        insertSegments(startFrom, inserted, length);
+    }
+
+    @Override
+    public void insert(long startFrom, byte[] insertedData) {
+        insert(startFrom, insertedData, 0, insertedData.length);
+    }
+
+    @Override
+    public void insert(long startFrom, byte[] insertedData, int insertedDataOffset, int insertedDataLength) {
+        insert(startFrom, insertedDataLength);
+        write(startFrom, insertedData, insertedDataOffset, insertedDataLength);
+    }
+
+    @Override
+    public void insert(long startFrom, BinaryData insertedData) {
+        insert(startFrom, insertedData, 0, insertedData.getDataSize());
+    }
+
+    @Override
+    public void insert(long startFrom, BinaryData insertedData, long insertedDataOffset, long insertedDataLength) {
+        if (insertedData instanceof SnapshotPagedData) {
+            checkInsertion(startFrom, insertedDataLength);
+            List<Segment> shared = ((SnapshotPagedData) insertedData).shareSegments(insertedDataOffset, insertedDataLength);
+            insertSegments(startFrom, shared, insertedDataLength);
+            return;
+        }
+
+        insert(startFrom, insertedDataLength);
+        write(startFrom, insertedData, insertedDataOffset, insertedDataLength);
+    }
+
+    @Override
+    public long insert(long startFrom, InputStream inputStream, long maximumDataSize) throws IOException {
+        checkInsertion(startFrom, 0);
+        List<Segment> inserted = new ArrayList<>();
+        long length = 0;
+        while (maximumDataSize < 0 || length < maximumDataSize) {
+            int segmentLength = maximumDataSize < 0 ? pageSize : (int) Math.min(pageSize, maximumDataSize - length);
+            byte[] page = new byte[segmentLength];
+            int read = 0;
+            while (read < segmentLength) {
+                int count = inputStream.read(page, read, segmentLength - read);
+                if (count < 0) {
+                    break;
+                }
+                read += count;
+            }
+            if (read > 0) {
+                inserted.add(new Segment(page, 0, read, false));
+                length += read;
+            }
+            if (read < segmentLength) {
+                break;
+            }
+        }
+        insertSegments(startFrom, inserted, length);
+        return length;
+    }
+
+    @Override
+    public void replace(long targetPosition, BinaryData replacingData) {
+        replace(targetPosition, replacingData, 0, replacingData.getDataSize());
+    }
+
+    @Override
+    public void replace(long targetPosition, BinaryData replacingData, long startFrom, long length) {
+        checkInsertion(targetPosition, 0);
+        if (targetPosition + length > dataSize) {
+            insert(dataSize, targetPosition + length - dataSize);
+        }
+
+        if (replacingData instanceof SnapshotPagedData && length >= pageSize) {
+            List<Segment> shared = ((SnapshotPagedData) replacingData).shareSegments(startFrom, length);
+            removeSegments(targetPosition, length);
+            insertSegments(targetPosition, shared, length);
+            return;
+        }
+
+        write(targetPosition, replacingData, startFrom, length);
+    }
+
+    @Override
+    public void replace(long targetPosition, byte[] replacingData) {
+        replace(targetPosition, replacingData, 0, replacingData.length);
+    }
+
+    @Override
+    public void replace(long targetPosition, byte[] replacingData, int replacingDataOffset, int length) {
+        checkInsertion(targetPosition, 0);
+        if (targetPosition + length > dataSize) {
+            insert(dataSize, targetPosition + length - dataSize);
+        }
+        write(targetPosition, replacingData, replacingDataOffset, length);
+    }
+
+    @Override
+    public void fillData(long startFrom, long length) {
+        fillData(startFrom, length, (byte) 0);
+    }
+
+    @Override
+    public void fillData(long startFrom, long length, byte fill) {
+        checkRange(startFrom, length);
+        long position = startFrom;
+        long end = startFrom + length;
+        while (position < end) {
+            int index = findSegment(position);
+            Segment segment = ownSegment(index);
+            int segmentOffset = (int) (position - segmentStarts[index]);
+            int fillLength = (int) Math.min(segment.length - segmentOffset, end - position);
+            Arrays.fill(segment.data, segment.offset + segmentOffset, segment.offset + segmentOffset + fillLength, fill);
+            position += fillLength;
+        }
+    }
+
+    @Override
+    public void remove(long startFrom, long length) {
+        checkRange(startFrom, length);
+        if (length == 0) {
+            return;
+        }
+
+        int index = findSegment(startFrom);
+        Segment segment = segments.get(index);
+        int segmentOffset = (int) (startFrom - segmentStarts[index]);
+        if (!segment.shared && segmentOffset + length <= segment.length && length < segment.length) {
+            // Removal inside single owned page
+            int tailStart = segment.offset + segmentOffset + (int) length;
+            System.arraycopy(segment.data, tailStart, segment.data, segment.offset + segmentOffset, segment.offset + segment.length - tailStart);
+            segment.length -= (int) length;
+            dataSize -= length;
+            shiftStarts(index, -length);
+            return;
+        }
+
+        removeSegments(startFrom, length);
+    }
+
+    @Override
+    public void clear() {
+        segments.clear();
+        dataSize = 0;
+        segmentStarts = null;
+        lastSegment = 0;
+    }
+
+    @Override
+    public void loadFromStream(InputStream inputStream) throws IOException {
+        clear();
+        insert(0, inputStream, -1);
+    }
+
+    @Nonnull
+    @Override
+    public OutputStream getDataOutputStream() {
+        return new OutputStream() {
+            private long position = 0;
+
+            @Override
+            public void write(int value) {
+                if (position == dataSize) {
+                    insert(position, 1);
+                }
+                setByte(position++, (byte) value);
+            }
+
+            @Override
+            public void write(byte[] buffer, int offset, int length) {
+                replace(position, buffer, offset, length);
+                position += length;
+            }
+        };
+    }
+
+    @Nonnull
+    @Override
+    public EditableBinaryData copy() {
+        return copy(0, dataSize);
+    }
+
+    @Nonnull
+    @Override
+    public EditableBinaryData copy(long startFrom, long length) {
+        SnapshotPagedData copy = new SnapshotPagedData(pageSize);
+        copy.insertSegments(0, shareSegments(startFrom, length), length);
+        return copy;
+    }
+
+    @Nonnull
+    @Override
+    public BinaryData createSnapshot(long startFrom, long length) {
+        return copy(startFrom, length);
+    }
+
+    @Override
+    public void copyToArray(long startFrom, byte[] target, int offset, int length) {
+        checkRange(startFrom, length);
+        long position = startFrom;
+        int targetPosition = offset;
+        int remaining = length;
+        while (remaining > 0) {
+            int index = findSegment(position);
+            Segment segment = segments.get(index);
+            int segmentOffset = (int) (position - segmentStarts[index]);
+            int copyLength = Math.min(segment.length - segmentOffset, remaining);
+            System.arraycopy(segment.data, segment.offset + segmentOffset, target, targetPosition, copyLength);
+            position += copyLength;
+            targetPosition += copyLength;
+            remaining -= copyLength;
+        }
+    }
+
+    @Override
+    public void saveToStream(OutputStream outputStream) throws IOException {
+        for (Segment segment : segments) {
+            outputStream.write(segment.data, segment.offset, segment.length);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public InputStream getDataInputStream() {
+        return new InputStream() {
+            private long position = 0;
+
+            @Override
+            public int read() {
+                return position < dataSize ? getByte(position++) & 0xff : -1;
+            }
+
+            @Override
+            public int read(byte[] output, int off, int len) {
+                if (len == 0) {
+                    return 0;
+                }
+                if (position >= dataSize) {
+                    return -1;
+                }
+                int readLength = (int) Math.min(len, dataSize - position);
+                copyToArray(position, output, off, readLength);
+                position += readLength;
+                return readLength;
+            }
+
+            @Override
+            public int available() {
+                return (int) Math.min(Integer.MAX_VALUE, dataSize - position);
+            }
+        };
+    }
+
+    @Override
+    public void dispose() {
+        clear();
+    }
+
+    /**
+     * Inserts bytes into owned page containing or ending at given position if
+     * it has enough space left.
+     */
+    private boolean insertInPlace(long startFrom, int length) {
+        if (segments.isEmpty()) {
+            return false;
+        }
+
+        int index = startFrom == dataSize ? segments.size() - 1 : findSegment(startFrom);
+        ensureStarts();
+        if (startFrom == segmentStarts[index] && index > 0 && segments.get(index - 1).canGrow(length, pageSize)) {
+            // Prefer appending to the end of the preceding page
+            index--;
+        }
+        Segment segment = segments.get(index);
+        if (!segment.canGrow(length, pageSize)) {
+            return false;
+        }
+
+        int segmentOffset = (int) (startFrom - segmentStarts[index]);
+        if (segment.offset + segment.length + length > segment.data.length) {
+            int capacity = Math.min(pageSize, Math.max(segment.length + length, segment.length * 2));
+            byte[] grown = new byte[capacity];
+            System.arraycopy(segment.data, segment.offset, grown, 0, segment.length);
+            segment.data = grown;
+            segment.offset = 0;
+        }
+        int insertionStart = segment.offset + segmentOffset;
+        System.arraycopy(segment.data, insertionStart, segment.data, insertionStart + length, segment.length - segmentOffset);
+        Arrays.fill(segment.data, insertionStart, insertionStart + length, (byte) 0);
+        segment.length += length;
+        dataSize += length;
+        shiftStarts(index, length);
+        return true;
+    }
+
+    private void insertSegments(long startFrom, List<Segment> inserted, long length) {
+        int index = splitAt(startFrom);
+        segments.addAll(index, inserted);
+        dataSize += length;
+        invalidateStarts();
+    }
+
+    private void removeSegments(long startFrom, long length) {
+        int startIndex = splitAt(startFrom);
+        int endIndex = splitAt(startFrom + length);
+        segments.subList(startIndex, endIndex).clear();
+        dataSize -= length;
+        invalidateStarts();
+    }
+
+    /**
+     * Returns list of segments referencing pages of given range.
+     *
+     * Referenced pages are marked as shared.
+     */
+    @Nonnull
+    private List<Segment> shareSegments(long startFrom, long length) {
+        checkRange(startFrom, length);
+        List<Segment> shared = new ArrayList<>();
+        long position = startFrom;
+        long end = startFrom + length;
+        while (position < end) {
+            int index = findSegment(position);
+            Segment segment = segments.get(index);
+            int segmentOffset = (int) (position - segmentStarts[index]);
+            int sharedLength = (int) Math.min(segment.length - segmentOffset, end - position);
+            segment.shared = true;
+            shared.add(new Segment(segment.data, segment.offset + segmentOffset, sharedLength, true));
+            position += sharedLength;
+        }
+        return shared;
+    }
+
+    /**
+     * Splits segment at given position.
+     *
+     * @return index of the segment starting at position
+     */
+    private int splitAt(long position) {
+        if (position == dataSize) {
+            return segments.size();
+        }
+
+        int index = findSegment(position);
+        int segmentOffset = (int) (position - segmentStarts[index]);
+        if (segmentOffset == 0) {
+            return index;
+        }
+
+        Segment segment = segments.get(index);
+        int tailLength = segment.length - segmentOffset;
+        Segment tail;
+        if (segment.shared) {
+            tail = new Segment(segment.data, segment.offset + segmentOffset, tailLength, true);
+        } else {
+            byte[] tailData = new byte[tailLength];
+            System.arraycopy(segment.data, segment.offset + segmentOffset, tailData, 0, tailLength);
+            tail = new Segment(tailData, 0, tailLength, false);
+        }
+        segment.length = segmentOffset;
+        segments.add(index + 1, tail);
+        invalidateStarts();
+        return index + 1;
+    }
+
+    /**
+     * Returns segment at given index copying its page if shared.
+     */
+    @Nonnull
+    private Segment ownSegment(int index) {
+        Segment segment = segments.get(index);
+        if (segment.shared) {
+            segment.data = Arrays.copyOfRange(segment.data, segment.offset, segment.offset + segment.length);
+            segment.offset = 0;
+            segment.shared = false;
+        }
+        return segment;
+    }
+
+    private void write(long targetPosition, byte[] source, int sourceOffset, int length) {
+        long position = targetPosition;
+        int sourcePosition = sourceOffset;
+        int remaining = length;
+        while (remaining > 0) {
+            int index = findSegment(position);
+            Segment segment = ownSegment(index);
+            int segmentOffset = (int) (position - segmentStarts[index]);
+            int writeLength = Math.min(segment.length - segmentOffset, remaining);
+            System.arraycopy(source, sourcePosition, segment.data, segment.offset + segmentOffset, writeLength);
+            position += writeLength;
+            sourcePosition += writeLength;
+            remaining -= writeLength;
+        }
+    }
+
+    private void write(long targetPosition, BinaryData source, long sourceOffset, long length) {
+        long position = targetPosition;
+        long sourcePosition = sourceOffset;
+        long end = targetPosition + length;
+        while (position < end) {
+            int index = findSegment(position);
+            Segment segment = ownSegment(index);
+            int segmentOffset = (int) (position - segmentStarts[index]);
+            int writeLength = (int) Math.min(segment.length - segmentOffset, end - position);
+            source.copyToArray(sourcePosition, segment.data, segment.offset + segmentOffset, writeLength);
+            position += writeLength;
+            sourcePosition += writeLength;
+        }
+    }
+
+    /**
+     * Returns index of segment containing given position.
+     */
+    private int findSegment(long position) {
+        ensureStarts();
+        if (lastSegment < segments.size() && position >= segmentStarts[lastSegment] && position < segmentStarts[lastSegment + 1]) {
+            return lastSegment;
+        }
+        int index = Arrays.binarySearch(segmentStarts, 0, segments.size() + 1, position);
+        if (index < 0) {
+            index = -index - 2;
+        }
+        // Skip empty segments
+        while (index < segments.size() - 1 && segmentStarts[index + 1] <= position) {
+            index++;
+        }
+        lastSegment = index;
+        return index;
+    }
+
+    private void ensureStarts() {
+        if (segmentStarts != null) {
+            return;
+        }
+
+        segmentStarts = new long[segments.size() + 1];
+        long position = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            segmentStarts[i] = position;
+            position += segments.get(i).length;
+        }
+        segmentStarts[segments.size()] = position;
+    }
+
+    private void shiftStarts(int index, long shift) {
+        if (segmentStarts != null) {
+            for (int i = index + 1; i <= segments.size(); i++) {
+                segmentStarts[i] += shift;
+            }
+        }
+    }
+
+    private void invalidateStarts() {
+        segmentStarts = null;
+        lastSegment = 0;
+    }
+
+    private void checkPosition(long position) {
+        if (position < 0 || position >= dataSize) {
+            throw new IndexOutOfBoundsException("Position " + position + " out of range 0.." + dataSize);
+        }
+    }
+
+    private void checkRange(long startFrom, long length) {
+        if (startFrom < 0 || length < 0 || startFrom + length > dataSize) {
+            throw new IndexOutOfBoundsException("Range " + startFrom + "+" + length + " out of range 0.." + dataSize);
+        }
+    }
+
+    private void checkInsertion(long startFrom, long length) {
+        if (startFrom < 0 || startFrom > dataSize || length < 0) {
+            throw new IndexOutOfBoundsException("Insertion at " + startFrom + " out of range 0.." + dataSize);
+        }
+    }
+
+    /**
+     * Continuous part of data stored in page.
+     *
+     * Shared page can be referenced by other segments and must not be
+     * modified.
+     */
+    private static final class Segment {
+
+        private byte[] data;
+        private int offset;
+        private int length;
+        private boolean shared;
+
+        private Segment(byte[] data, int offset, int length, boolean shared) {
+            this.data = data;
+            this.offset = offset;
+            this.length = length;
+            this.shared = shared;
+        }
+
+        private boolean canGrow(int length, int pageSize) {
+            return !shared && this.length + length <= pageSize;
+        }
+    }
+}
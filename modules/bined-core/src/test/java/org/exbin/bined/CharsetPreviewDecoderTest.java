@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for charset preview decoder.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+public class CharsetPreviewDecoderTest {
+
+    public CharsetPreviewDecoderTest() {
+    }
+
+    @Test
+    public void testDecodeRowUtf8() {
+        byte[] data = "a\u00e9\u20ac\ud83d\ude00z".getBytes(StandardCharsets.UTF_8);
+        checkDecodeRow(data, StandardCharsets.UTF_8, 4);
+    }
+
+    @Test
+    public void testDecodeRowUtf16() {
+        byte[] data = "ab\u00e9\ud83d\ude00".getBytes(StandardCharsets.UTF_16BE);
+        checkDecodeRow(data, StandardCharsets.UTF_16BE, 4);
+    }
+
+    @Test
+    public void testDecodeRowAllBytes() {
+        byte[] data = new byte[256];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        checkDecodeRow(data, StandardCharsets.UTF_8, 4);
+        checkDecodeRow(data, StandardCharsets.UTF_16LE, 4);
+    }
+
+    private static void checkDecodeRow(byte[] data, Charset charset, int maxBytesPerChar) {
+        CharsetPreviewDecoder decoder = new CharsetPreviewDecoder();
+        decoder.setCharset(charset, maxBytesPerChar);
+        char[] result = new char[data.length];
+        decoder.decodeRow(data, data.length, 0, data.length, result, 0);
+
+        for (int i = 0; i < data.length; i++) {
+            String expected = new String(data, i, Math.min(maxBytesPerChar, data.length - i), charset);
+            Assert.assertEquals("Position " + i, expected.charAt(0), result[i]);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined;
+
+import java.util.Random;
+
+/**
+ * Micro-benchmark of conversion of bytes to codes.
+ *
+ * Compares previous computation of codes for each byte, lookup of single code
+ * and conversion of whole row in single call. Run as a standalone
+ * application, iterations count can be passed as first argument.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+public class CodeAreaUtilsBenchmark {
+
+    private static final int ROW_LENGTH = 64;
+    private static final int ROWS = 1024;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    private static long blackhole = 0;
+
+    private CodeAreaUtilsBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        byte[] data = new byte[ROW_LENGTH * ROWS];
+        new Random(1).nextBytes(data);
+
+        for (CodeType codeType : CodeType.values()) {
+            char[] target = new char[ROW_LENGTH * (codeType.getMaxDigitsForByte() + 1)];
+            for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+                long computedTime = measure(Mode.COMPUTED, data, codeType, target, iterations);
+                long lookupTime = measure(Mode.LOOKUP, data, codeType, target, iterations);
+                long bulkTime = measure(Mode.BULK, data, codeType, target, iterations);
+                if (round >= WARMUP_ROUNDS) {
+                    long bytesCount = (long) data.length * iterations;
+                    System.out.println(String.format("%-11s computed %6.2f ns/byte, lookup %6.2f ns/byte, bulk %6.2f ns/byte",
+                            codeType.name(), (double) computedTime / bytesCount, (double) lookupTime / bytesCount, (double) bulkTime / bytesCount));
+                }
+            }
+        }
+        System.out.println("Checksum " + blackhole);
+    }
+
+    private static long measure(Mode mode, byte[] data, CodeType codeType, char[] target, int iterations) {
+        long startTime = System.nanoTime();
+        for (int iteration = 0; iteration < iterations; iteration++) {
+            switch (mode) {
+                case COMPUTED: {
+                    convertComputed(data, codeType, target);
+                    break;
+                }
+                case LOOKUP: {
+                    convertLookup(data, codeType, target);
+                    break;
+                }
+                case BULK: {
+                    convertBulk(data, codeType, target);
+                    break;
+                }
+            }
+            blackhole += target[iteration % target.length];
+        }
+        return System.nanoTime() - startTime;
+    }
+
+    private static void convertComputed(byte[] data, CodeType codeType, char[] target) {
+        int charsPerByte = codeType.getMaxDigitsForByte() + 1;
+        for (int rowOffset = 0; rowOffset < data.length; rowOffset += ROW_LENGTH) {
+            for (int i = 0; i < ROW_LENGTH; i++) {
+                computeCode(data[rowOffset + i], codeType, target, i * charsPerByte, CodeCharactersCase.UPPER);
+            }
+        }
+    }
+
+    private static void convertLookup(byte[] data, CodeType codeType, char[] target) {
+        int charsPerByte = codeType.getMaxDigitsForByte() + 1;
+        for (int rowOffset = 0; rowOffset < data.length; rowOffset += ROW_LENGTH) {
+            for (int i = 0; i < ROW_LENGTH; i++) {
+                CodeAreaUtils.byteToCharsCode(data[rowOffset + i], codeType, target, i * charsPerByte, CodeCharactersCase.UPPER);
+            }
+        }
+    }
+
+    private static void convertBulk(byte[] data, CodeType codeType, char[] target) {
+        for (int rowOffset = 0; rowOffset < data.length; rowOffset += ROW_LENGTH) {
+            CodeAreaUtils.bytesToCharsCode(data, rowOffset, ROW_LENGTH, codeType, target, 0, 1, CodeCharactersCase.UPPER);
+        }
+    }
+
+    /**
+     * Computation of code for single byte as performed before lookup tables.
+     */
+    private static void computeCode(byte dataByte, CodeType codeType, char[] targetData, int targetPosition, CodeCharactersCase charCase) {
+        char[] hexCharacters = charCase == CodeCharactersCase.UPPER ? CodeAreaUtils.UPPER_HEX_CODES : CodeAreaUtils.LOWER_HEX_CODES;
+        switch (codeType) {
+            case BINARY: {
+                int bitMask = 0x80;
+                for (int i = 0; i < 8; i++) {
+                    int codeValue = (dataByte & bitMask) > 0 ? 1 : 0;
+                    targetData[targetPosition + i] = hexCharacters[codeValue];
+                    bitMask = bitMask >> 1;
+                }
+                break;
+            }
+            case DECIMAL: {
+                int value = dataByte & 0xff;
+                targetData[targetPosition] = hexCharacters[value / 100];
+                targetData[targetPosition + 1] = hexCharacters[(value / 10) % 10];
+                targetData[targetPosition + 2] = hexCharacters[value % 10];
+                break;
+            }
+            case OCTAL: {
+                int value = dataByte & 0xff;
+                targetData[targetPosition] = hexCharacters[value / 64];
+                targetData[targetPosition + 1] = hexCharacters[(value / 8) & 7];
+                targetData[targetPosition + 2] = hexCharacters[value % 8];
+                break;
+            }
+            case HEXADECIMAL: {
+                targetData[targetPosition] = hexCharacters[(dataByte >> 4) & 0xf];
+                targetData[targetPosition + 1] = hexCharacters[dataByte & 0xf];
+                break;
+            }
+            default:
+                throw new IllegalStateException("Unexpected code type: " + codeType.name());
+        }
+    }
+
+    private enum Mode {
+        COMPUTED, LOOKUP, BULK
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined;
+
+import java.util.Arrays;
+import java.util.Locale;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for code area utilities.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+public class CodeAreaUtilsTest {
+
+    public CodeAreaUtilsTest() {
+    }
+
+    @Test
+    public void testByteToCharsCode() {
+        for (CodeType codeType : CodeType.values()) {
+            for (CodeCharactersCase charCase : CodeCharactersCase.values()) {
+                int digits = codeType.getMaxDigitsForByte();
+                char[] result = new char[digits];
+                for (int value = 0; value < 256; value++) {
+                    CodeAreaUtils.byteToCharsCode((byte) value, codeType, result, 0, charCase);
+                    Assert.assertEquals(codeType + " " + charCase + " " + value, expectedCode(value, codeType, charCase), new String(result));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testBytesToCharsCode() {
+        byte[] data = new byte[256];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i * 7 + 3);
+        }
+
+        for (CodeType codeType : CodeType.values()) {
+            for (int spacing = 0; spacing < 3; spacing++) {
+                int offset = 5;
+                int length = 100;
+                StringBuilder expected = new StringBuilder("#");
+                for (int i = offset; i < offset + length; i++) {
+                    if (i > offset) {
+                        for (int j = 0; j < spacing; j++) {
+                            expected.append(' ');
+                        }
+                    }
+                    expected.append(expectedCode(data[i] & 0xff, codeType, CodeCharactersCase.UPPER));
+                }
+                expected.append('#');
+
+                char[] result = new char[expected.length()];
+                Arrays.fill(result, '#');
+                int end = CodeAreaUtils.bytesToCharsCode(data, offset, length, codeType, result, 1, spacing, CodeCharactersCase.UPPER);
+                Assert.assertEquals(expected.length() - 1, end);
+                Assert.assertEquals(expected.toString(), new String(result));
+            }
+        }
+    }
+
+    @Test
+    public void testBytesToCharsCodeEmpty() {
+        char[] result = new char[0];
+        Assert.assertEquals(0, CodeAreaUtils.bytesToCharsCode(new byte[1], 0, 0, CodeType.HEXADECIMAL, result, 0, 1, CodeCharactersCase.UPPER));
+    }
+
+    private static String expectedCode(int value, CodeType codeType, CodeCharactersCase charCase) {
+        String code = Integer.toString(value, codeType.getBase());
+        code = charCase == CodeCharactersCase.UPPER ? code.toUpperCase(Locale.ROOT) : code.toLowerCase(Locale.ROOT);
+        StringBuilder builder = new StringBuilder();
+        for (int i = code.length(); i < codeType.getMaxDigitsForByte(); i++) {
+            builder.append('0');
+        }
+        return builder.append(code).toString();
+    }
+}
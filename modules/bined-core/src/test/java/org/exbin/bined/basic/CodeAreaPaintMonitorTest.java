@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.basic;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for paint monitor.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+public class CodeAreaPaintMonitorTest {
+
+    public CodeAreaPaintMonitorTest() {
+    }
+
+    @Test
+    public void testDisabledMonitor() {
+        CodeAreaPaintMonitor monitor = new CodeAreaPaintMonitor();
+        Assert.assertFalse(monitor.isEnabled());
+        CodeAreaPaintStatisticsCollector collector = new CodeAreaPaintStatisticsCollector();
+        monitor.addPaintListener(collector);
+        monitor.removePaintListener(collector);
+        Assert.assertFalse(monitor.isEnabled());
+
+        paint(monitor);
+        Assert.assertEquals(0, collector.getPaintCount());
+    }
+
+    @Test
+    public void testCollectStatistics() {
+        CodeAreaPaintMonitor monitor = new CodeAreaPaintMonitor();
+        CodeAreaPaintStatisticsCollector collector = new CodeAreaPaintStatisticsCollector();
+        monitor.addPaintListener(collector);
+        Assert.assertTrue(monitor.isEnabled());
+
+        paint(monitor);
+        paint(monitor);
+        Assert.assertEquals(2, collector.getPaintCount());
+        Assert.assertEquals(4, collector.getRowsPrepared());
+        Assert.assertEquals(64, collector.getBytesFetched());
+        Assert.assertEquals(6, collector.getDrawCalls());
+        Assert.assertTrue(collector.getMaximumTotalTime() >= collector.getMaximumRowsTime());
+
+        // Counters outside of painting are ignored
+        monitor.rowPrepared();
+        monitor.drawCalled();
+        paint(monitor);
+        Assert.assertEquals(6, collector.getRowsPrepared());
+        Assert.assertEquals(9, collector.getDrawCalls());
+
+        collector.reset();
+        Assert.assertEquals(0, collector.getPaintCount());
+        Assert.assertEquals(0, collector.getAverageRowsTime(), 0);
+        Assert.assertEquals(0, collector.getBytesFetched());
+    }
+
+    private static void paint(CodeAreaPaintMonitor monitor) {
+        monitor.paintStarted();
+        monitor.phaseStarted(CodeAreaPaintPhase.ROWS);
+        for (int row = 0; row < 2; row++) {
+            monitor.rowPrepared();
+            monitor.bytesFetched(16);
+            monitor.drawCalled();
+        }
+        monitor.phaseFinished(CodeAreaPaintPhase.ROWS);
+        monitor.phaseStarted(CodeAreaPaintPhase.CURSOR);
+        monitor.drawCalled();
+        monitor.phaseFinished(CodeAreaPaintPhase.CURSOR);
+        monitor.paintFinished();
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.basic;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for row cache.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+public class CodeAreaRowCacheTest {
+
+    private static final int ROW_SIZE = 16;
+
+    public CodeAreaRowCacheTest() {
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEviction() {
+        CodeAreaRowCache cache = new CodeAreaRowCache(2);
+        storeRow(cache, 0);
+        storeRow(cache, 16);
+        Assert.assertTrue(loadRow(cache, 0));
+        storeRow(cache, 32);
+
+        Assert.assertEquals(2, cache.getSize());
+        Assert.assertTrue(loadRow(cache, 0));
+        Assert.assertFalse(loadRow(cache, 16));
+        Assert.assertTrue(loadRow(cache, 32));
+        Assert.assertEquals(3, cache.getHitCount());
+        Assert.assertEquals(1, cache.getMissCount());
+
+        cache.resetStatistics();
+        Assert.assertEquals(0, cache.getHitCount());
+        Assert.assertEquals(0, cache.getMissCount());
+    }
+
+    @Test
+    public void testRowContent() {
+        CodeAreaRowCache cache = new CodeAreaRowCache(4);
+        storeRow(cache, 48);
+        byte[] rowData = new byte[ROW_SIZE];
+        char[] rowCharacters = new char[ROW_SIZE];
+        Assert.assertTrue(cache.loadRow(48, rowData, rowCharacters));
+        Assert.assertEquals(48 + 5, rowData[5]);
+        Assert.assertEquals((char) ('a' + 5), rowCharacters[5]);
+
+        // Different row length is not served from cache
+        Assert.assertFalse(cache.loadRow(48, new byte[ROW_SIZE + 1], new char[ROW_SIZE + 1]));
+    }
+
+    @Test
+    public void testPooledRowsReuse() {
+        CodeAreaRowCache cache = new CodeAreaRowCache(2);
+        storeRow(cache, 0);
+        storeRow(cache, 16);
+        storeRow(cache, 32);
+        Assert.assertEquals(1, cache.getUnusedRowsCount());
+
+        storeRow(cache, 48);
+        Assert.assertEquals(1, cache.getUnusedRowsCount());
+        cache.clear();
+        Assert.assertEquals(0, cache.getSize());
+        Assert.assertEquals(2, cache.getUnusedRowsCount());
+
+        storeRow(cache, 0);
+        Assert.assertEquals(1, cache.getUnusedRowsCount());
+        Assert.assertTrue(loadRow(cache, 0));
+    }
+
+    @Test
+    public void testInvalidateRange() {
+        CodeAreaRowCache cache = new CodeAreaRowCache(8);
+        for (int row = 0; row < 4; row++) {
+            storeRow(cache, row * ROW_SIZE);
+        }
+
+        cache.invalidateRange(20, 33);
+        Assert.assertEquals(2, cache.getSize());
+        Assert.assertEquals(2, cache.getUnusedRowsCount());
+        Assert.assertTrue(loadRow(cache, 0));
+        Assert.assertFalse(loadRow(cache, 16));
+        Assert.assertFalse(loadRow(cache, 32));
+        Assert.assertTrue(loadRow(cache, 48));
+
+        cache.setMaximumRows(0);
+        Assert.assertEquals(0, cache.getSize());
+        storeRow(cache, 0);
+        Assert.assertFalse(loadRow(cache, 0));
+    }
+
+    private static void storeRow(CodeAreaRowCache cache, long rowDataPosition) {
+        byte[] rowData = new byte[ROW_SIZE];
+        char[] rowCharacters = new char[ROW_SIZE];
+        for (int i = 0; i < ROW_SIZE; i++) {
+            rowData[i] = (byte) (rowDataPosition + i);
+            rowCharacters[i] = (char) ('a' + i);
+        }
+        cache.storeRow(rowDataPosition, rowData, rowCharacters);
+    }
+
+    private static boolean loadRow(CodeAreaRowCache cache, long rowDataPosition) {
+        return cache.loadRow(rowDataPosition, new byte[ROW_SIZE], new char[ROW_SIZE]);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.data;
+
+import java.util.Random;
+import org.exbin.auxiliary.paged_data.ByteArrayEditableData;
+import org.exbin.auxiliary.paged_data.EditableBinaryData;
+
+/**
+ * Micro-benchmark of editable data implementations.
+ *
+ * Measures typing at the start of the data, sequential reading by rows and
+ * random access of single bytes. Run as a standalone application, data size
+ * in MiB and count of typed bytes can be passed as arguments.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+public class EditableDataBenchmark {
+
+    private static final int ROW_LENGTH = 4096;
+    private static final int RANDOM_READS = 1000000;
+
+    private static long blackhole = 0;
+
+    private EditableDataBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int sizeMiB = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int typedBytes = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        byte[] content = new byte[sizeMiB * 1024 * 1024];
+        new Random(1).nextBytes(content);
+
+        for (int round = 0; round < 2; round++) {
+            measure("ByteArrayEditableData", new ByteArrayEditableData(content.clone()), typedBytes);
+            measure("SnapshotPagedData", new SnapshotPagedData(content), typedBytes);
+            measure("PieceTableData", new PieceTableData(content), typedBytes);
+        }
+        System.out.println("Checksum " + blackhole);
+    }
+
+    private static void measure(String name, EditableBinaryData data, int typedBytes) {
+        long startTime = System.nanoTime();
+        for (int i = 0; i < typedBytes; i++) {
+            data.insert(i, 1);
+            data.setByte(i, (byte) i);
+        }
+        long typingTime = System.nanoTime() - startTime;
+
+        byte[] row = new byte[ROW_LENGTH];
+        long dataSize = data.getDataSize();
+        startTime = System.nanoTime();
+        for (long position = 0; position + ROW_LENGTH <= dataSize; position += ROW_LENGTH) {
+            data.copyToArray(position, row, 0, ROW_LENGTH);
+            blackhole += row[0];
+        }
+        long readTime = System.nanoTime() - startTime;
+
+        Random random = new Random(2);
+        startTime = System.nanoTime();
+        for (int i = 0; i < RANDOM_READS; i++) {
+            blackhole += data.getByte((long) (random.nextDouble() * dataSize));
+        }
+        long randomTime = System.nanoTime() - startTime;
+
+        System.out.println(String.format("%-22s typing %9.2f us/byte, sequential read %6.2f ms/GiB, random read %6.1f ns/byte",
+                name, typingTime / 1000.0 / typedBytes, readTime / 1e6 * (1024.0 * 1024 * 1024 / dataSize), (double) randomTime / RANDOM_READS));
+    }
+}
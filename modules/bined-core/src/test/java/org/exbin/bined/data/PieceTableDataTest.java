@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.data;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.paged_data.BinaryData;
+import org.exbin.auxiliary.paged_data.ByteArrayData;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for piece table data.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class PieceTableDataTest {
+
+    public PieceTableDataTest() {
+    }
+
+    @Test
+    public void testRandomEdits() throws IOException {
+        Random random = new Random(11);
+        byte[] initial = new byte[200000];
+        random.nextBytes(initial);
+        PieceTableData data = new PieceTableData();
+        data.loadFromStream(new ByteArrayInputStream(initial));
+        byte[] reference = initial;
+        int caret = 1000;
+        for (int step = 0; step < 5000; step++) {
+            if (random.nextInt(20) == 0) {
+                caret = random.nextInt(reference.length + 1);
+            }
+            caret = Math.min(caret, reference.length);
+            switch (random.nextInt(8)) {
+                case 0:
+                case 1: {
+                    // Typing at caret
+                    byte value = (byte) random.nextInt();
+                    data.insert(caret, 1);
+                    data.setByte(caret, value);
+                    reference = insert(reference, caret, new byte[]{value});
+                    caret++;
+                    break;
+                }
+                case 2: {
+                    if (caret > 0) {
+                        caret--;
+                        data.remove(caret, 1);
+                        reference = remove(reference, caret, 1);
+                    }
+                    break;
+                }
+                case 3: {
+                    if (caret < reference.length) {
+                        byte value = (byte) random.nextInt();
+                        data.setByte(caret, value);
+                        reference[caret] = value;
+                        caret++;
+                    }
+                    break;
+                }
+                case 4: {
+                    byte[] inserted = new byte[random.nextInt(random.nextBoolean() ? 100 : 100000)];
+                    random.nextBytes(inserted);
+                    data.insert(caret, new ByteArrayData(inserted));
+                    reference = insert(reference, caret, inserted);
+                    break;
+                }
+                case 5: {
+                    int length = Math.min(random.nextInt(random.nextBoolean() ? 100 : 50000), reference.length - caret);
+                    data.remove(caret, length);
+                    reference = remove(reference, caret, length);
+                    break;
+                }
+                case 6: {
+                    int length = Math.min(random.nextInt(20000), reference.length - caret);
+                    BinaryData snapshot = data.createSnapshot(caret, length);
+                    int target = random.nextInt(reference.length - length + 1);
+                    data.insert(target, snapshot);
+                    reference = insert(reference, target, Arrays.copyOfRange(reference, caret, caret + length));
+                    break;
+                }
+                default: {
+                    int length = random.nextInt(300);
+                    byte[] replacing = new byte[length];
+                    random.nextBytes(replacing);
+                    data.replace(caret, replacing);
+                    byte[] replaced = Arrays.copyOf(reference, Math.max(reference.length, caret + length));
+                    System.arraycopy(replacing, 0, replaced, caret, length);
+                    reference = replaced;
+                }
+            }
+            Assert.assertEquals(reference.length, data.getDataSize());
+            if (step % 250 == 0) {
+                assertContent(reference, data);
+            }
+        }
+        assertContent(reference, data);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        data.saveToStream(output);
+        Assert.assertArrayEquals(reference, output.toByteArray());
+    }
+
+    @Test
+    public void testLocalTyping() {
+        PieceTableData data = new PieceTableData();
+        data.insert(0, 10000000);
+        for (int i = 0; i < 100000; i++) {
+            data.insert(i, 1);
+            data.setByte(i, (byte) i);
+        }
+        Assert.assertEquals(10100000, data.getDataSize());
+        Assert.assertEquals((byte) 99999, data.getByte(99999));
+        Assert.assertEquals(0, data.getByte(100000));
+        Assert.assertTrue(data.getPiecesCount() < 200);
+    }
+
+    @Test
+    public void testSnapshotIsolation() {
+        byte[] source = new byte[300000];
+        new Random(12).nextBytes(source);
+        PieceTableData data = new PieceTableData(source);
+        BinaryData snapshot = data.createSnapshot(1000, 200000);
+        data.fillData(0, data.getDataSize(), (byte) 7);
+        data.setByte(1500, (byte) 1);
+        data.remove(0, 250000);
+
+        byte[] snapshotData = new byte[200000];
+        snapshot.copyToArray(0, snapshotData, 0, snapshotData.length);
+        Assert.assertArrayEquals(Arrays.copyOfRange(source, 1000, 201000), snapshotData);
+    }
+
+    private static void assertContent(byte[] reference, PieceTableData data) {
+        byte[] content = new byte[reference.length];
+        data.copyToArray(0, content, 0, content.length);
+        Assert.assertArrayEquals(reference, content);
+        for (int i = 0; i < reference.length; i += 997) {
+            Assert.assertEquals(reference[i], data.getByte(i));
+        }
+    }
+
+    private static byte[] insert(byte[] data, int position, byte[] inserted) {
+        byte[] result = new byte[data.length + inserted.length];
+        System.arraycopy(data, 0, result, 0, position);
+        System.arraycopy(inserted, 0, result, position, inserted.length);
+        System.arraycopy(data, position, result, position + inserted.length, data.length - position);
+        return result;
+    }
+
+    private static byte[] remove(byte[] data, int position, int length) {
+        byte[] result = new byte[data.length - length];
+        System.arraycopy(data, 0, result, 0, position);
+        System.arraycopy(data, position + length, result, position, data.length - position - length);
+        return result;
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.data;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.paged_data.BinaryData;
+import org.exbin.auxiliary.paged_data.ByteArrayData;
+import org.exbin.auxiliary.paged_data.EditableBinaryData;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for copy-on-write paged data.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class SnapshotPagedDataTest {
+
+    public SnapshotPagedDataTest() {
+    }
+
+    @Test
+    public void testRandomEdits() throws IOException {
+        Random random = new Random(9);
+        SnapshotPagedData data = new SnapshotPagedData(16);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] reference = new byte[0];
+        for (int step = 0; step < 2000; step++) {
+            int position = reference.length == 0 ? 0 : random.nextInt(reference.length + 1);
+            int length = 1 + random.nextInt(40);
+            switch (random.nextInt(4)) {
+                case 0: {
+                    byte[] inserted = new byte[length];
+                    random.nextBytes(inserted);
+                    data.insert(position, inserted);
+                    reference = insert(reference, position, inserted);
+                    break;
+                }
+                case 1: {
+                    length = Math.min(length, reference.length - position);
+                    data.remove(position, length);
+                    reference = remove(reference, position, length);
+                    break;
+                }
+                case 2: {
+                    length = Math.min(length, reference.length - position);
+                    BinaryData snapshot = data.createSnapshot(position, length);
+                    int target = random.nextInt(reference.length - length + 1);
+                    data.insert(target, snapshot);
+                    reference = insert(reference, target, Arrays.copyOfRange(reference, position, position + length));
+                    break;
+                }
+                default: {
+                    if (reference.length > 0) {
+                        int target = random.nextInt(reference.length);
+                        byte value = (byte) random.nextInt();
+                        data.setByte(target, value);
+                        reference[target] = value;
+                    }
+                }
+            }
+            Assert.assertEquals(reference.length, data.getDataSize());
+        }
+
+        byte[] result = new byte[reference.length];
+        data.copyToArray(0, result, 0, result.length);
+        Assert.assertArrayEquals(reference, result);
+        data.saveToStream(output);
+        Assert.assertArrayEquals(reference, output.toByteArray());
+    }
+
+    @Test
+    public void testSnapshotIsolation() {
+        byte[] source = new byte[1000];
+        new Random(10).nextBytes(source);
+        SnapshotPagedData data = new SnapshotPagedData(64);
+        data.insert(0, new ByteArrayData(source));
+
+        BinaryData snapshot = data.createSnapshot(100, 500);
+        EditableBinaryData copy = data.copy();
+        data.remove(50, 700);
+        data.fillData(0, data.getDataSize(), (byte) 1);
+        copy.setByte(200, (byte) (source[200] + 1));
+
+        byte[] snapshotData = new byte[500];
+        snapshot.copyToArray(0, snapshotData, 0, 500);
+        Assert.assertArrayEquals(Arrays.copyOfRange(source, 100, 600), snapshotData);
+        Assert.assertEquals(source[201], copy.getByte(201));
+        Assert.assertEquals((byte) (source[200] + 1), copy.getByte(200));
+
+        data.replace(0, snapshot);
+        Assert.assertEquals(500, data.getDataSize());
+        Assert.assertEquals(source[100], data.getByte(0));
+        Assert.assertEquals(source[599], data.getByte(499));
+    }
+
+    private static byte[] insert(byte[] data, int position, byte[] inserted) {
+        byte[] result = new byte[data.length + inserted.length];
+        System.arraycopy(data, 0, result, 0, position);
+        System.arraycopy(inserted, 0, result, position, inserted.length);
+        System.arraycopy(data, position, result, position + inserted.length, data.length - position);
+        return result;
+    }
+
+    private static byte[] remove(byte[] data, int position, int length) {
+        byte[] result = new byte[data.length - length];
+        System.arraycopy(data, 0, result, 0, position);
+        System.arraycopy(data, position + length, result, position, data.length - position - length);
+        return result;
+    }
+}
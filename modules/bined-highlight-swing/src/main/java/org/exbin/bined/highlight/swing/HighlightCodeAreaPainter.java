@@ -17,36 +17,62 @@ package org.exbin.bined.highlight.swing;
 
 import java.awt.Color;
 import java.awt.Graphics;
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
-import org.exbin.bined.basic.BasicCodeAreaSection;
 import org.exbin.bined.CodeAreaSection;
+import org.exbin.bined.DataChangedRange;
+import org.exbin.bined.DataRangeChangedListener;
 import org.exbin.bined.swing.CodeAreaCore;
 import org.exbin.bined.swing.basic.DefaultCodeAreaPainter;
+import org.exbin.auxiliary.paged_data.BinaryData;
 
 /**
  * Hexadecimal component painter supporting search matches highlighting.
  *
- * @version 0.2.0 2019/07/07
+ * Additional highlighting can be provided by highlight provider, which is
+ * computed lazily for visible rows only.
+ *
+ * @version 0.2.0 2026/10/17
  * @author ExBin Project (https://exbin.org)
  */
 @ParametersAreNonnullByDefault
-public class HighlightCodeAreaPainter extends DefaultCodeAreaPainter {
+public class HighlightCodeAreaPainter extends DefaultCodeAreaPainter implements SearchMatchesCapableCodeAreaPainter {
 
     /**
      * Matches must be ordered by position.
      */
-    private final List<SearchMatch> matches = new ArrayList<>();
+    private SearchMatchIndex matches = new SearchMatchIndex();
     private int currentMatchIndex = -1;
-    private int matchIndex = 0;
-    private long matchPosition = -1;
+    private long rowMatchesPosition = -1;
+    private byte[] rowMatchTypes = new byte[0];
 
     private Color foundMatchesColor;
     private Color currentMatchColor;
 
+    @Nullable
+    private LazyHighlightCache highlightCache = null;
+    private long rowHighlightsPosition = -1;
+    private int[] rowHighlightGroups = new int[0];
+    private final DataRangeChangedListener highlightDataChangeListener = new DataRangeChangedListener() {
+        @Override
+        public void dataChanged() {
+            if (highlightCache != null) {
+                highlightCache.invalidate();
+            }
+        }
+
+        @Override
+        public void dataRangeChanged(DataChangedRange range) {
+            if (highlightCache != null) {
+                highlightCache.invalidateRange(range.getPosition(), range.isSizeChanged() ? Long.MAX_VALUE : range.getInsertedEnd());
+            }
+        }
+    };
+
     public HighlightCodeAreaPainter(CodeAreaCore codeArea) {
         super(codeArea);
 
@@ -54,9 +80,27 @@ public class HighlightCodeAreaPainter extends DefaultCodeAreaPainter {
         currentMatchColor = new Color(255, 210, 180);
     }
 
+    @Override
+    public void attach() {
+        super.attach();
+        codeArea.addDataChangedListener(highlightDataChangeListener);
+    }
+
+    @Override
+    public void detach() {
+        super.detach();
+        codeArea.removeDataChangedListener(highlightDataChangeListener);
+    }
+
     @Override
     public void paintMainArea(Graphics g) {
-        matchIndex = 0;
+        rowMatchesPosition = -1;
+        rowHighlightsPosition = -1;
+        BinaryData contentData = codeArea.getContentData();
+        if (highlightCache != null && contentData != null) {
+            highlightCache.setBytesPerRow(getBytesPerRow());
+            highlightCache.requestRange(contentData, getVisibleDataStart(), getVisibleDataEnd());
+        }
         super.paintMainArea(g);
     }
 
@@ -70,76 +114,218 @@ public class HighlightCodeAreaPainter extends DefaultCodeAreaPainter {
     @Override
     public Color getPositionBackgroundColor(long rowDataPosition, int byteOnRow, int charOnRow, CodeAreaSection section) {
         if (!matches.isEmpty() && charOnRow < getCharactersPerRow() - 1) {
-            long dataPosition = rowDataPosition + byteOnRow;
-            if (currentMatchIndex >= 0) {
-                SearchMatch currentMatch = matches.get(currentMatchIndex);
-                if (dataPosition >= currentMatch.position && dataPosition < currentMatch.position + currentMatch.length
-                        && (section == BasicCodeAreaSection.TEXT_PREVIEW || charOnRow != ((currentMatch.position + currentMatch.length) - rowDataPosition) * getCharactersPerRow() - 1)) {
-                    return currentMatchColor;
+            byte matchType = getRowMatchType(rowDataPosition, byteOnRow);
+            if (matchType == SearchMatchIndex.CURRENT_MATCH) {
+                return currentMatchColor;
+            } else if (matchType == SearchMatchIndex.MATCH) {
+                return foundMatchesColor;
+            }
+        }
+
+        if (highlightCache != null && charOnRow < getCharactersPerRow() - 1) {
+            int group = getRowHighlightGroup(rowDataPosition, byteOnRow);
+            if (group != SearchMatchIndex.NO_GROUP) {
+                Color highlightColor = highlightCache.getProvider().getHighlightColor(group);
+                if (highlightColor != null) {
+                    return highlightColor;
                 }
             }
+        }
+
+        return super.getPositionBackgroundColor(rowDataPosition, byteOnRow, charOnRow, section);
+    }
 
-            if (matchPosition < rowDataPosition) {
-                matchIndex = 0;
+    /**
+     * Returns match type of given byte on row.
+     *
+     * Matches overlapping the row are resolved once per row.
+     *
+     * @param rowDataPosition row data position
+     * @param byteOnRow byte on current row
+     * @return match type
+     */
+    protected byte getRowMatchType(long rowDataPosition, int byteOnRow) {
+        int bytesPerRow = getBytesPerRow();
+        if (rowDataPosition != rowMatchesPosition || rowMatchTypes.length != bytesPerRow) {
+            if (rowMatchTypes.length != bytesPerRow) {
+                rowMatchTypes = new byte[bytesPerRow];
             }
-            int lineMatchIndex = matchIndex;
-            while (lineMatchIndex < matches.size()) {
-                SearchMatch match = matches.get(lineMatchIndex);
-                if (dataPosition >= match.position && dataPosition < match.position + match.length
-                        && (section == BasicCodeAreaSection.TEXT_PREVIEW || charOnRow != ((match.position + match.length) - rowDataPosition) * getCharactersPerRow() - 1)) {
-                    if (byteOnRow == 0) {
-                        matchIndex = lineMatchIndex;
-                        matchPosition = match.position;
-                    }
-                    return foundMatchesColor;
-                }
+            matches.resolveRow(rowDataPosition, rowMatchTypes, currentMatchIndex);
+            rowMatchesPosition = rowDataPosition;
+        }
 
-                if (match.position > dataPosition) {
-                    break;
-                }
+        return byteOnRow >= 0 && byteOnRow < rowMatchTypes.length ? rowMatchTypes[byteOnRow] : SearchMatchIndex.NO_MATCH;
+    }
 
-                if (byteOnRow == 0) {
-                    matchIndex = lineMatchIndex;
-                    matchPosition = match.position;
-                }
-                lineMatchIndex++;
+    /**
+     * Returns group of provided highlighting of given byte on row.
+     *
+     * Rows of blocks which are not resolved yet have no highlighting.
+     *
+     * @param rowDataPosition row data position
+     * @param byteOnRow byte on current row
+     * @return highlight group or NO_GROUP
+     */
+    private int getRowHighlightGroup(long rowDataPosition, int byteOnRow) {
+        int bytesPerRow = getBytesPerRow();
+        if (rowDataPosition != rowHighlightsPosition || rowHighlightGroups.length != bytesPerRow) {
+            if (rowHighlightGroups.length != bytesPerRow) {
+                rowHighlightGroups = new int[bytesPerRow];
+            }
+            SearchMatchIndex highlights = highlightCache.getRowHighlights(rowDataPosition);
+            if (highlights == null) {
+                Arrays.fill(rowHighlightGroups, SearchMatchIndex.NO_GROUP);
+            } else {
+                highlights.resolveRowGroups(rowDataPosition, rowHighlightGroups);
             }
+            rowHighlightsPosition = rowDataPosition;
         }
 
-        return super.getPositionBackgroundColor(rowDataPosition, byteOnRow, charOnRow, section);
+        return byteOnRow >= 0 && byteOnRow < rowHighlightGroups.length ? rowHighlightGroups[byteOnRow] : SearchMatchIndex.NO_GROUP;
+    }
+
+    @Nullable
+    public HighlightProvider getHighlightProvider() {
+        return highlightCache == null ? null : highlightCache.getProvider();
+    }
+
+    /**
+     * Sets provider of lazily computed highlighting.
+     *
+     * @param highlightProvider highlight provider or null
+     */
+    public void setHighlightProvider(@Nullable HighlightProvider highlightProvider) {
+        setHighlightCache(highlightProvider == null ? null : new LazyHighlightCache(highlightProvider));
     }
 
+    @Nullable
+    public LazyHighlightCache getHighlightCache() {
+        return highlightCache;
+    }
+
+    /**
+     * Sets cache of lazily computed highlighting.
+     *
+     * Previous cache is disposed.
+     *
+     * @param highlightCache highlight cache or null
+     */
+    public void setHighlightCache(@Nullable LazyHighlightCache highlightCache) {
+        if (this.highlightCache != null) {
+            this.highlightCache.setBlockListener(null);
+            this.highlightCache.dispose();
+        }
+
+        this.highlightCache = highlightCache;
+        rowHighlightsPosition = -1;
+        if (highlightCache != null) {
+            highlightCache.setBlockListener(this::repaintDataRange);
+        }
+        codeArea.repaint();
+    }
+
+    /**
+     * Returns read-only view of matches.
+     *
+     * Match instances are created on access.
+     *
+     * @return list of matches
+     */
     @Nonnull
     public List<SearchMatch> getMatches() {
-        return matches;
+        return new AbstractList<SearchMatch>() {
+            @Nonnull
+            @Override
+            public SearchMatch get(int index) {
+                return new SearchMatch(matches.getPosition(index), matches.getLength(index));
+            }
+
+            @Override
+            public int size() {
+                return matches.size();
+            }
+        };
     }
 
     public void setMatches(List<SearchMatch> matches) {
-        this.matches.clear();
-        this.matches.addAll(matches);
+        SearchMatchIndex matchIndex = new SearchMatchIndex(matches.size());
+        for (SearchMatch match : matches) {
+            matchIndex.add(match.position, match.length);
+        }
+        setMatchIndex(matchIndex);
+    }
+
+    @Nonnull
+    @Override
+    public SearchMatchIndex getMatchIndex() {
+        return matches;
+    }
+
+    /**
+     * Sets index of matches.
+     *
+     * Index is used directly without copying, so it shouldn't be modified
+     * later.
+     *
+     * @param matchIndex index of matches
+     */
+    public void setMatchIndex(SearchMatchIndex matchIndex) {
+        this.matches = matchIndex;
         currentMatchIndex = -1;
+        rowMatchesPosition = -1;
     }
 
+    @Override
+    public void addMatches(long[] matchPositions, int count, long length) {
+        if (count == 0) {
+            return;
+        }
+
+        if (currentMatchIndex >= 0) {
+            long currentMatchPosition = matches.getPosition(currentMatchIndex);
+            currentMatchIndex += SearchMatchIndex.findFirstFrom(matchPositions, count, currentMatchPosition);
+        }
+        matches.merge(matchPositions, count, length);
+        rowMatchesPosition = -1;
+
+        // Matches on the same or adjacent rows are repainted together
+        int bytesPerRow = getBytesPerRow();
+        long rangeStart = matchPositions[0];
+        long rangeEnd = rangeStart + length;
+        for (int i = 1; i < count; i++) {
+            long matchPosition = matchPositions[i];
+            if (matchPosition > rangeEnd + bytesPerRow) {
+                repaintDataRange(rangeStart, rangeEnd);
+                rangeStart = matchPosition;
+            }
+            rangeEnd = Math.max(rangeEnd, matchPosition + length);
+        }
+        repaintDataRange(rangeStart, rangeEnd);
+    }
+
+    @Override
     public void clearMatches() {
-        this.matches.clear();
-        currentMatchIndex = -1;
+        setMatchIndex(new SearchMatchIndex());
     }
 
     @Nullable
     public SearchMatch getCurrentMatch() {
         if (currentMatchIndex >= 0) {
-            return matches.get(currentMatchIndex);
+            return new SearchMatch(matches.getPosition(currentMatchIndex), matches.getLength(currentMatchIndex));
         }
 
         return null;
     }
 
+    @Override
     public int getCurrentMatchIndex() {
         return currentMatchIndex;
     }
 
+    @Override
     public void setCurrentMatchIndex(int currentMatchIndex) {
         this.currentMatchIndex = currentMatchIndex;
+        rowMatchesPosition = -1;
     }
 
     @Nonnull
@@ -16,17 +16,25 @@
 package org.exbin.bined.highlight.swing;
 
 import java.awt.Color;
+import java.awt.Graphics;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import org.exbin.bined.basic.BasicCodeAreaSection;
 import org.exbin.bined.CodeAreaSection;
+import org.exbin.bined.highlight.swing.color.ByteClass;
+import org.exbin.bined.highlight.swing.color.ByteClassPalette;
 import org.exbin.bined.swing.CodeAreaCore;
+import org.exbin.auxiliary.paged_data.BinaryData;
 
 /**
  * Experimental support for highlighting of non-ascii characters.
  *
- * @version 0.2.0 2018/11/10
+ * Colors are resolved by palette of byte classes, control codes and upper
+ * codes classes are defined by default. Values of the row are fetched once
+ * per row.
+ *
+ * @version 0.2.0 2026/10/17
  * @author ExBin Project (https://exbin.org)
  */
 @ParametersAreNonnullByDefault
@@ -36,6 +44,12 @@ public class HighlightNonAsciiCodeAreaPainter extends HighlightCodeAreaPainter {
     private Color aboveCodes;
     private Color textColor;
     private boolean nonAsciiHighlightingEnabled = true;
+    private ByteClassPalette palette = new ByteClassPalette();
+
+    private long rowValuesPosition = -1;
+    private byte[] rowValues = new byte[0];
+    private int rowValuesStart = 0;
+    private int rowValuesEnd = 0;
 
     public HighlightNonAsciiCodeAreaPainter(CodeAreaCore codeArea) {
         super(codeArea);
@@ -99,6 +113,9 @@ public class HighlightNonAsciiCodeAreaPainter extends HighlightCodeAreaPainter {
         aboveCodes = new Color(
                 downShift(textColor.getRed(), aboveCodesGreenDiff + aboveCodesBlueDiff),
                 aboveCodesGreen, aboveCodesBlue);
+
+        palette.setClassColors(ByteClass.CONTROL, controlCodes, null);
+        palette.setClassColors(ByteClass.UPPER, aboveCodes, null);
     }
 
     private int downShift(int color, int diff) {
@@ -109,19 +126,22 @@ public class HighlightNonAsciiCodeAreaPainter extends HighlightCodeAreaPainter {
         return color - diff;
     }
 
+    @Override
+    public void paintMainArea(Graphics g) {
+        rowValuesPosition = -1;
+        super.paintMainArea(g);
+    }
+
     @Nullable
     @Override
     public Color getPositionTextColor(long rowDataPosition, int byteOnRow, int charOnRow, @Nonnull CodeAreaSection section) {
         Color color = super.getPositionTextColor(rowDataPosition, byteOnRow, charOnRow, section);
         if (nonAsciiHighlightingEnabled && section == BasicCodeAreaSection.CODE_MATRIX) {
             if (color == null || textColor.equals(color)) {
-                long dataPosition = rowDataPosition + byteOnRow;
-                if (dataPosition < codeArea.getDataSize()) {
-                    byte value = codeArea.getContentData().getByte(dataPosition);
-                    if (value < 0) {
-                        color = aboveCodes;
-                    } else if (value < 0x20) {
-                        color = controlCodes;
+                if (loadRowValue(rowDataPosition, byteOnRow)) {
+                    Color paletteColor = palette.getTextColor(rowValues[byteOnRow]);
+                    if (paletteColor != null) {
+                        color = paletteColor;
                     }
                 }
             }
@@ -130,6 +150,63 @@ public class HighlightNonAsciiCodeAreaPainter extends HighlightCodeAreaPainter {
         return color;
     }
 
+    @Nullable
+    @Override
+    public Color getPositionBackgroundColor(long rowDataPosition, int byteOnRow, int charOnRow, CodeAreaSection section) {
+        Color color = super.getPositionBackgroundColor(rowDataPosition, byteOnRow, charOnRow, section);
+        if (color == null && nonAsciiHighlightingEnabled && section == BasicCodeAreaSection.CODE_MATRIX && charOnRow < getCharactersPerRow() - 1) {
+            if (loadRowValue(rowDataPosition, byteOnRow)) {
+                color = palette.getBackgroundColor(rowValues[byteOnRow]);
+            }
+        }
+
+        return color;
+    }
+
+    /**
+     * Ensures values of the row are loaded.
+     *
+     * @param rowDataPosition row data position
+     * @param byteOnRow byte on current row
+     * @return true if value of given byte is available
+     */
+    private boolean loadRowValue(long rowDataPosition, int byteOnRow) {
+        int bytesPerRow = getBytesPerRow();
+        if (rowDataPosition != rowValuesPosition || rowValues.length != bytesPerRow) {
+            if (rowValues.length != bytesPerRow) {
+                rowValues = new byte[bytesPerRow];
+            }
+            rowValuesStart = rowDataPosition < 0 ? (int) Math.min(bytesPerRow, -rowDataPosition) : 0;
+            rowValuesEnd = (int) Math.max(rowValuesStart, Math.min(bytesPerRow, codeArea.getDataSize() - rowDataPosition));
+            if (rowValuesEnd > rowValuesStart) {
+                BinaryData contentData = codeArea.getContentData();
+                if (contentData == null) {
+                    throw new IllegalStateException("Missing data when nonnull size reported");
+                }
+                contentData.copyToArray(rowDataPosition + rowValuesStart, rowValues, rowValuesStart, rowValuesEnd - rowValuesStart);
+            }
+            rowValuesPosition = rowDataPosition;
+        }
+
+        return byteOnRow >= rowValuesStart && byteOnRow < rowValuesEnd;
+    }
+
+    /**
+     * Returns palette of byte classes.
+     *
+     * Code area has to be repainted after palette is modified.
+     *
+     * @return palette
+     */
+    @Nonnull
+    public ByteClassPalette getPalette() {
+        return palette;
+    }
+
+    public void setPalette(ByteClassPalette palette) {
+        this.palette = palette;
+    }
+
     @Nonnull
     public Color getControlCodes() {
         return controlCodes;
@@ -137,6 +214,7 @@ public class HighlightNonAsciiCodeAreaPainter extends HighlightCodeAreaPainter {
 
     public void setControlCodes(Color controlCodes) {
         this.controlCodes = controlCodes;
+        palette.setClassColors(ByteClass.CONTROL, controlCodes, palette.getClassBackgroundColor(ByteClass.CONTROL));
     }
 
     @Nonnull
@@ -146,6 +224,7 @@ public class HighlightNonAsciiCodeAreaPainter extends HighlightCodeAreaPainter {
 
     public void setAboveCodes(Color aboveCodes) {
         this.aboveCodes = aboveCodes;
+        palette.setClassColors(ByteClass.UPPER, aboveCodes, palette.getClassBackgroundColor(ByteClass.UPPER));
     }
 
     public boolean isNonAsciiHighlightingEnabled() {
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.highlight.swing;
+
+import java.awt.Color;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.paged_data.BinaryData;
+
+/**
+ * Provider of highlighting computed lazily for visible blocks of rows.
+ *
+ * Intended for expensive highlighting rules, which are not practical to
+ * evaluate for the whole data in advance.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public interface HighlightProvider {
+
+    /**
+     * Computes highlighted ranges for given block of data.
+     *
+     * Called from worker thread. Ranges can extend outside of the block, only
+     * their part inside of the block is used. Group of the range selects its
+     * color.
+     *
+     * Data can be modified by event dispatch thread meanwhile. Unless
+     * concurrent data access is enabled for the cache, the call is made while
+     * synchronized on data instance, so code modifying data from other
+     * threads should synchronize on it as well. Result computed from data
+     * changed during the call is discarded when the changed range is
+     * invalidated in the cache. Provider should not keep reference to data
+     * after returning.
+     *
+     * @param data content data
+     * @param startPosition start position of the block
+     * @param endPosition end position of the block (exclusive)
+     * @return highlighted ranges ordered by position
+     */
+    @Nonnull
+    SearchMatchIndex computeHighlights(BinaryData data, long startPosition, long endPosition);
+
+    /**
+     * Returns background color for given group of highlighted ranges.
+     *
+     * @param group group of highlighted range
+     * @return color or null for no highlighting
+     */
+    @Nullable
+    Color getHighlightColor(int group);
+}
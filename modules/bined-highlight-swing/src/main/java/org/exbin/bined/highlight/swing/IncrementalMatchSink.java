@@ -0,0 +1,250 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.highlight.swing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.Timer;
+import org.exbin.bined.search.BinarySearchListener;
+
+/**
+ * Sink passing matches of running search to highlighting painter.
+ *
+ * Matches are accepted from search worker threads and passed to the painter
+ * in batches on event dispatch thread, first batch immediately and then in
+ * regular intervals. Painter repaints only visible rows affected by each
+ * batch. Setting search origin to caret or visible area position makes
+ * nearest matches available first.
+ *
+ * Searched ranges are tracked, so that next and previous match can be
+ * navigated to before the search is finished.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class IncrementalMatchSink implements BinarySearchListener {
+
+    public static final int DEFAULT_FLUSH_DELAY = 100;
+
+    private final SearchMatchesCapableCodeAreaPainter painter;
+    private final long matchLength;
+    private final Timer flushTimer;
+
+    private final Object pendingLock = new Object();
+    private List<SearchedChunk> pendingChunks = new ArrayList<>();
+    private boolean flushScheduled = false;
+    private boolean flushed = false;
+
+    private final TreeMap<Long, Long> searchedRanges = new TreeMap<>();
+    private volatile long processedBytes = 0;
+    private volatile long totalBytes = -1;
+
+    public IncrementalMatchSink(SearchMatchesCapableCodeAreaPainter painter, long matchLength) {
+        this.painter = painter;
+        this.matchLength = matchLength;
+        flushTimer = new Timer(DEFAULT_FLUSH_DELAY, (event) -> flush());
+        flushTimer.setRepeats(false);
+    }
+
+    public int getFlushDelay() {
+        return flushTimer.getDelay();
+    }
+
+    /**
+     * Sets minimal delay between passing of batches to painter.
+     *
+     * @param flushDelay delay in milliseconds
+     */
+    public void setFlushDelay(int flushDelay) {
+        flushTimer.setDelay(flushDelay);
+    }
+
+    @Override
+    public void chunkSearched(long startPosition, long endPosition, long[] positions, int count) {
+        SearchedChunk chunk = new SearchedChunk(startPosition, endPosition, Arrays.copyOf(positions, count));
+        synchronized (pendingLock) {
+            pendingChunks.add(chunk);
+            if (flushScheduled) {
+                return;
+            }
+
+            flushScheduled = true;
+            flushTimer.setInitialDelay(flushed ? flushTimer.getDelay() : 0);
+            flushed = true;
+        }
+        flushTimer.restart();
+    }
+
+    @Override
+    public void progressChanged(long processedBytes, long totalBytes) {
+        this.processedBytes = processedBytes;
+        this.totalBytes = totalBytes;
+    }
+
+    /**
+     * Passes pending matches to the painter.
+     *
+     * Has to be called on event dispatch thread.
+     */
+    public void flush() {
+        List<SearchedChunk> chunks;
+        synchronized (pendingLock) {
+            chunks = pendingChunks;
+            pendingChunks = new ArrayList<>();
+            flushScheduled = false;
+        }
+        if (chunks.isEmpty()) {
+            return;
+        }
+
+        int matchesCount = 0;
+        for (SearchedChunk chunk : chunks) {
+            matchesCount += chunk.positions.length;
+        }
+        long[] positions = new long[matchesCount];
+        int offset = 0;
+        for (SearchedChunk chunk : chunks) {
+            System.arraycopy(chunk.positions, 0, positions, offset, chunk.positions.length);
+            offset += chunk.positions.length;
+            addSearchedRange(chunk.startPosition, chunk.endPosition);
+        }
+        if (chunks.size() > 1) {
+            Arrays.sort(positions);
+        }
+
+        painter.addMatches(positions, matchesCount, matchLength);
+    }
+
+    public long getProcessedBytes() {
+        return processedBytes;
+    }
+
+    /**
+     * Returns total number of bytes to search.
+     *
+     * @return number of bytes or -1 if not known yet
+     */
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * Returns true if whole search range was searched and all matches were
+     * passed to the painter.
+     *
+     * @return true if finished
+     */
+    public boolean isFinished() {
+        synchronized (pendingLock) {
+            if (!pendingChunks.isEmpty()) {
+                return false;
+            }
+        }
+
+        return totalBytes >= 0 && processedBytes == totalBytes;
+    }
+
+    /**
+     * Returns index of the nearest match after given position.
+     *
+     * Has to be called on event dispatch thread.
+     *
+     * @param position data position
+     * @return index of match or -1 if there is no such match or it's not
+     * known yet
+     */
+    public int findNextMatch(long position) {
+        SearchMatchIndex matchIndex = painter.getMatchIndex();
+        int index = matchIndex.findFirstFrom(position + 1);
+        if (index < matchIndex.size() && isRangeSearched(position + 1, matchIndex.getPosition(index))) {
+            return index;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns index of the nearest match before given position.
+     *
+     * Has to be called on event dispatch thread.
+     *
+     * @param position data position
+     * @return index of match or -1 if there is no such match or it's not
+     * known yet
+     */
+    public int findPreviousMatch(long position) {
+        SearchMatchIndex matchIndex = painter.getMatchIndex();
+        int index = matchIndex.findFirstFrom(position) - 1;
+        if (index >= 0 && isRangeSearched(matchIndex.getPosition(index) + 1, position)) {
+            return index;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Returns true if all matches starting in given range were already
+     * passed to the painter.
+     *
+     * @param startPosition start position
+     * @param endPosition end position (exclusive)
+     * @return true if range was searched
+     */
+    public boolean isRangeSearched(long startPosition, long endPosition) {
+        if (startPosition >= endPosition) {
+            return true;
+        }
+
+        Map.Entry<Long, Long> range = searchedRanges.floorEntry(startPosition);
+        return range != null && range.getValue() >= endPosition;
+    }
+
+    private void addSearchedRange(long startPosition, long endPosition) {
+        long rangeStart = startPosition;
+        long rangeEnd = endPosition;
+        Map.Entry<Long, Long> previousRange = searchedRanges.floorEntry(startPosition);
+        if (previousRange != null && previousRange.getValue() >= startPosition) {
+            rangeStart = previousRange.getKey();
+            rangeEnd = Math.max(rangeEnd, previousRange.getValue());
+        }
+
+        Iterator<Map.Entry<Long, Long>> iterator = searchedRanges.subMap(rangeStart, true, rangeEnd, true).entrySet().iterator();
+        while (iterator.hasNext()) {
+            rangeEnd = Math.max(rangeEnd, iterator.next().getValue());
+            iterator.remove();
+        }
+        searchedRanges.put(rangeStart, rangeEnd);
+    }
+
+    private static class SearchedChunk {
+
+        final long startPosition;
+        final long endPosition;
+        final long[] positions;
+
+        SearchedChunk(long startPosition, long endPosition, long[] positions) {
+            this.startPosition = startPosition;
+            this.endPosition = endPosition;
+            this.positions = positions;
+        }
+    }
+}
@@ -0,0 +1,332 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.highlight.swing;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.SwingUtilities;
+import org.exbin.auxiliary.paged_data.BinaryData;
+
+/**
+ * Bounded cache of highlighting computed asynchronously per block of rows.
+ *
+ * Blocks are requested for visible range only and computed by provider on
+ * executor. Until block is resolved, its rows are reported as unresolved, so
+ * that painting never waits for the provider. Pending blocks which are no
+ * longer visible are cancelled if they didn't start yet.
+ *
+ * Methods are expected to be called from event dispatch thread. Provider is
+ * called with lock of the data instance held by default, see
+ * {@link #setConcurrentDataAccess(boolean)}.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class LazyHighlightCache {
+
+    public static final int DEFAULT_BLOCK_ROWS = 64;
+    public static final int DEFAULT_MAXIMUM_BLOCKS = 64;
+
+    private final HighlightProvider provider;
+    private final Executor executor;
+    @Nullable
+    private final ExecutorService ownExecutor;
+    @Nullable
+    private HighlightBlockListener blockListener = null;
+
+    private int blockRows = DEFAULT_BLOCK_ROWS;
+    private int maximumBlocks = DEFAULT_MAXIMUM_BLOCKS;
+    private long blockLength = 0;
+    private int generation = 0;
+    private boolean concurrentDataAccess = false;
+    private final Map<Long, HighlightBlock> blocks;
+
+    /**
+     * Creates cache computing blocks in its own single worker thread.
+     *
+     * @param provider highlight provider
+     */
+    public LazyHighlightCache(HighlightProvider provider) {
+        this(provider, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "HighlightWorker");
+            thread.setDaemon(true);
+            return thread;
+        }), true);
+    }
+
+    /**
+     * Creates cache computing blocks on given executor.
+     *
+     * @param provider highlight provider
+     * @param executor executor
+     */
+    public LazyHighlightCache(HighlightProvider provider, Executor executor) {
+        this(provider, executor, false);
+    }
+
+    private LazyHighlightCache(HighlightProvider provider, Executor executor, boolean ownExecutor) {
+        this.provider = provider;
+        this.executor = executor;
+        this.ownExecutor = ownExecutor ? (ExecutorService) executor : null;
+        blocks = new LinkedHashMap<Long, HighlightBlock>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, HighlightBlock> eldest) {
+                if (size() > maximumBlocks) {
+                    eldest.getValue().cancel();
+                    return true;
+                }
+
+                return false;
+            }
+        };
+    }
+
+    @Nonnull
+    public HighlightProvider getProvider() {
+        return provider;
+    }
+
+    @Nullable
+    public HighlightBlockListener getBlockListener() {
+        return blockListener;
+    }
+
+    public void setBlockListener(@Nullable HighlightBlockListener blockListener) {
+        this.blockListener = blockListener;
+    }
+
+    public boolean isConcurrentDataAccess() {
+        return concurrentDataAccess;
+    }
+
+    /**
+     * Sets whether data can be read by provider concurrently with other
+     * access.
+     *
+     * Provider is called while synchronized on data instance by default.
+     *
+     * @param concurrentDataAccess true if data support concurrent reading
+     */
+    public void setConcurrentDataAccess(boolean concurrentDataAccess) {
+        this.concurrentDataAccess = concurrentDataAccess;
+    }
+
+    public int getBlockRows() {
+        return blockRows;
+    }
+
+    public void setBlockRows(int blockRows) {
+        if (blockRows <= 0) {
+            throw new IllegalArgumentException("Number of rows per block must be positive");
+        }
+
+        this.blockRows = blockRows;
+        blockLength = 0;
+        invalidate();
+    }
+
+    public int getMaximumBlocks() {
+        return maximumBlocks;
+    }
+
+    public void setMaximumBlocks(int maximumBlocks) {
+        if (maximumBlocks <= 0) {
+            throw new IllegalArgumentException("Maximum number of blocks must be positive");
+        }
+
+        this.maximumBlocks = maximumBlocks;
+        invalidate();
+    }
+
+    /**
+     * Sets number of bytes per row, blocks are invalidated when changed.
+     *
+     * @param bytesPerRow bytes per row
+     */
+    public void setBytesPerRow(int bytesPerRow) {
+        long length = (long) bytesPerRow * blockRows;
+        if (length != blockLength) {
+            invalidate();
+            blockLength = length;
+        }
+    }
+
+    /**
+     * Requests blocks covering given range of data to be computed.
+     *
+     * @param data content data
+     * @param startPosition start position
+     * @param endPosition end position (exclusive)
+     */
+    public void requestRange(BinaryData data, long startPosition, long endPosition) {
+        if (blockLength <= 0 || startPosition >= endPosition) {
+            return;
+        }
+
+        long firstBlock = startPosition / blockLength;
+        long lastBlock = (endPosition - 1) / blockLength;
+        for (HighlightBlock block : blocks.values()) {
+            if (block.index < firstBlock || block.index > lastBlock) {
+                block.cancel();
+            }
+        }
+        blocks.values().removeIf(HighlightBlock::isCancelled);
+
+        long dataSize = data.getDataSize();
+        for (long blockIndex = firstBlock; blockIndex <= lastBlock; blockIndex++) {
+            if (blocks.get(blockIndex) == null) {
+                long blockStart = blockIndex * blockLength;
+                HighlightBlock block = new HighlightBlock(blockIndex, blockStart, Math.min(blockStart + blockLength, dataSize));
+                blocks.put(blockIndex, block);
+                schedule(data, block);
+            }
+        }
+    }
+
+    /**
+     * Returns highlighting of the block containing given row.
+     *
+     * @param rowDataPosition row data position
+     * @return highlighted ranges or null if block is not resolved yet
+     */
+    @Nullable
+    public SearchMatchIndex getRowHighlights(long rowDataPosition) {
+        if (blockLength <= 0) {
+            return null;
+        }
+
+        HighlightBlock block = blocks.get(rowDataPosition / blockLength);
+        return block == null ? null : block.highlights;
+    }
+
+    /**
+     * Drops all blocks, results of blocks being computed are ignored.
+     */
+    public void invalidate() {
+        generation++;
+        for (HighlightBlock block : blocks.values()) {
+            block.cancel();
+        }
+        blocks.clear();
+    }
+
+    /**
+     * Drops blocks overlapping given range of data.
+     *
+     * @param startPosition start position
+     * @param endPosition end position (exclusive)
+     */
+    public void invalidateRange(long startPosition, long endPosition) {
+        Iterator<HighlightBlock> iterator = blocks.values().iterator();
+        while (iterator.hasNext()) {
+            HighlightBlock block = iterator.next();
+            if (block.startPosition < endPosition && block.endPosition >= startPosition) {
+                block.cancel();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Drops all blocks and stops own worker thread if any.
+     */
+    public void dispose() {
+        invalidate();
+        if (ownExecutor != null) {
+            ownExecutor.shutdownNow();
+        }
+    }
+
+    private void schedule(BinaryData data, HighlightBlock block) {
+        int blockGeneration = generation;
+        boolean synchronizedAccess = !concurrentDataAccess;
+        FutureTask<Void> task = new FutureTask<>(() -> {
+            SearchMatchIndex highlights;
+            try {
+                if (synchronizedAccess) {
+                    synchronized (data) {
+                        highlights = provider.computeHighlights(data, block.startPosition, block.endPosition);
+                    }
+                } else {
+                    highlights = provider.computeHighlights(data, block.startPosition, block.endPosition);
+                }
+            } catch (RuntimeException ex) {
+                // Failed block is left without highlighting instead of being requested again
+                highlights = new SearchMatchIndex();
+            }
+            SearchMatchIndex blockHighlights = highlights;
+            SwingUtilities.invokeLater(() -> blockComputed(block, blockGeneration, blockHighlights));
+        }, null);
+        block.task = task;
+        executor.execute(task);
+    }
+
+    private void blockComputed(HighlightBlock block, int blockGeneration, SearchMatchIndex highlights) {
+        if (blockGeneration != generation || block.isCancelled() || blocks.get(block.index) != block) {
+            return;
+        }
+
+        block.highlights = highlights;
+        block.task = null;
+        HighlightBlockListener listener = blockListener;
+        if (listener != null) {
+            listener.blockResolved(block.startPosition, block.endPosition);
+        }
+    }
+
+    private static class HighlightBlock {
+
+        final long index;
+        final long startPosition;
+        final long endPosition;
+        @Nullable
+        FutureTask<Void> task;
+        @Nullable
+        SearchMatchIndex highlights;
+        boolean cancelled = false;
+
+        HighlightBlock(long index, long startPosition, long endPosition) {
+            this.index = index;
+            this.startPosition = startPosition;
+            this.endPosition = endPosition;
+        }
+
+        /**
+         * Cancels computation of the block if not resolved yet.
+         */
+        void cancel() {
+            if (highlights == null) {
+                cancelled = true;
+                if (task != null) {
+                    task.cancel(false);
+                }
+            }
+        }
+
+        boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.highlight.swing;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.util.Arrays;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.bined.CodeAreaSection;
+import org.exbin.bined.search.MultiPatternMatches;
+import org.exbin.bined.swing.CodeAreaCore;
+
+/**
+ * Hexadecimal component painter highlighting matches of multiple patterns
+ * with color per pattern group.
+ *
+ * Groups of matches are resolved once per row, so that color lookup for each
+ * cell doesn't depend on number of matches or groups.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class PatternHighlightCodeAreaPainter extends HighlightCodeAreaPainter {
+
+    private static final Color[] DEFAULT_GROUP_COLORS = {
+        new Color(180, 255, 180),
+        new Color(180, 210, 255),
+        new Color(255, 255, 160),
+        new Color(255, 190, 230),
+        new Color(190, 255, 255),
+        new Color(220, 200, 255),
+        new Color(255, 220, 160),
+        new Color(210, 230, 170)
+    };
+
+    private Color[] groupColors = new Color[0];
+    private long rowGroupsPosition = -1;
+    private int[] rowGroups = new int[0];
+
+    public PatternHighlightCodeAreaPainter(CodeAreaCore codeArea) {
+        super(codeArea);
+    }
+
+    @Override
+    public void paintMainArea(Graphics g) {
+        rowGroupsPosition = -1;
+        super.paintMainArea(g);
+    }
+
+    @Nullable
+    @Override
+    public Color getPositionBackgroundColor(long rowDataPosition, int byteOnRow, int charOnRow, CodeAreaSection section) {
+        if (!getMatchIndex().isEmpty() && charOnRow < getCharactersPerRow() - 1 && getRowMatchType(rowDataPosition, byteOnRow) == SearchMatchIndex.MATCH) {
+            int group = getRowGroup(rowDataPosition, byteOnRow);
+            if (group != SearchMatchIndex.NO_GROUP) {
+                return getGroupColor(group);
+            }
+        }
+
+        return super.getPositionBackgroundColor(rowDataPosition, byteOnRow, charOnRow, section);
+    }
+
+    /**
+     * Returns match group of given byte on row.
+     *
+     * @param rowDataPosition row data position
+     * @param byteOnRow byte on current row
+     * @return match group or NO_GROUP
+     */
+    private int getRowGroup(long rowDataPosition, int byteOnRow) {
+        int bytesPerRow = getBytesPerRow();
+        if (rowDataPosition != rowGroupsPosition || rowGroups.length != bytesPerRow) {
+            if (rowGroups.length != bytesPerRow) {
+                rowGroups = new int[bytesPerRow];
+            }
+            getMatchIndex().resolveRowGroups(rowDataPosition, rowGroups);
+            rowGroupsPosition = rowDataPosition;
+        }
+
+        return byteOnRow >= 0 && byteOnRow < rowGroups.length ? rowGroups[byteOnRow] : SearchMatchIndex.NO_GROUP;
+    }
+
+    @Override
+    public void setMatchIndex(SearchMatchIndex matchIndex) {
+        super.setMatchIndex(matchIndex);
+        rowGroupsPosition = -1;
+    }
+
+    @Override
+    public void addMatches(long[] matchPositions, int count, long length) {
+        super.addMatches(matchPositions, count, length);
+        rowGroupsPosition = -1;
+    }
+
+    /**
+     * Sets matches of multiple patterns search.
+     *
+     * @param patternMatches matches
+     * @param patternGroups group for each pattern index
+     */
+    public void setPatternMatches(MultiPatternMatches patternMatches, int[] patternGroups) {
+        int count = patternMatches.getCount();
+        SearchMatchIndex matchIndex = new SearchMatchIndex(count);
+        for (int i = 0; i < count; i++) {
+            matchIndex.add(patternMatches.getPosition(i), patternMatches.getLength(i), patternGroups[patternMatches.getPatternIndex(i)]);
+        }
+        setMatchIndex(matchIndex);
+    }
+
+    /**
+     * Returns background color of given group.
+     *
+     * Groups without assigned color use default palette, default group uses
+     * found matches color.
+     *
+     * @param group match group
+     * @return color
+     */
+    @Nonnull
+    public Color getGroupColor(int group) {
+        if (group < groupColors.length && groupColors[group] != null) {
+            return groupColors[group];
+        }
+
+        return group == SearchMatchIndex.DEFAULT_GROUP ? getFoundMatchesBackgroundColor() : DEFAULT_GROUP_COLORS[group % DEFAULT_GROUP_COLORS.length];
+    }
+
+    /**
+     * Sets background color of given group.
+     *
+     * @param group match group
+     * @param color color or null for default color
+     */
+    public void setGroupColor(int group, @Nullable Color color) {
+        if (group < 0) {
+            throw new IllegalArgumentException("Match group cannot be negative");
+        }
+
+        if (group >= groupColors.length) {
+            groupColors = Arrays.copyOf(groupColors, group + 1);
+        }
+        groupColors[group] = color;
+    }
+}
@@ -0,0 +1,325 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.highlight.swing;
+
+import java.util.Arrays;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Index of search matches stored in primitive arrays.
+ *
+ * Matches must be added ordered by position. Maximum end position of all
+ * previous matches is tracked for each match, so that first match
+ * overlapping given position can be found by binary search even if matches
+ * overlap each other.
+ *
+ * Each match can be assigned to group, for example by pattern it matches.
+ * Groups are stored only after first match of non-default group is added.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class SearchMatchIndex {
+
+    public static final byte NO_MATCH = 0;
+    public static final byte MATCH = 1;
+    public static final byte CURRENT_MATCH = 2;
+    public static final int DEFAULT_GROUP = 0;
+    public static final int NO_GROUP = -1;
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final long[] EMPTY_ARRAY = new long[0];
+
+    private long[] positions = EMPTY_ARRAY;
+    private long[] lengths = EMPTY_ARRAY;
+    private long[] maximumEnds = EMPTY_ARRAY;
+    @Nullable
+    private int[] groups = null;
+    private int size = 0;
+
+    public SearchMatchIndex() {
+    }
+
+    public SearchMatchIndex(int initialCapacity) {
+        ensureCapacity(initialCapacity);
+    }
+
+    /**
+     * Adds match at the end of the index.
+     *
+     * @param position match position
+     * @param length match length
+     */
+    public void add(long position, long length) {
+        add(position, length, DEFAULT_GROUP);
+    }
+
+    /**
+     * Adds match of given group at the end of the index.
+     *
+     * @param position match position
+     * @param length match length
+     * @param group match group
+     */
+    public void add(long position, long length, int group) {
+        if (size > 0 && position < positions[size - 1]) {
+            throw new IllegalArgumentException("Matches must be ordered by position");
+        }
+        if (length < 0) {
+            throw new IllegalArgumentException("Match length cannot be negative");
+        }
+
+        if (group < 0) {
+            throw new IllegalArgumentException("Match group cannot be negative");
+        }
+
+        if (size == positions.length) {
+            ensureCapacity(size == 0 ? DEFAULT_CAPACITY : size * 2);
+        }
+        if (group != DEFAULT_GROUP && groups == null) {
+            groups = new int[positions.length];
+        }
+
+        long end = position + length;
+        positions[size] = position;
+        lengths[size] = length;
+        maximumEnds[size] = size > 0 ? Math.max(maximumEnds[size - 1], end) : end;
+        if (groups != null) {
+            groups[size] = group;
+        }
+        size++;
+    }
+
+    /**
+     * Adds matches of the same length at the end of the index.
+     *
+     * @param matchPositions sorted positions of matches
+     * @param count number of positions to add
+     * @param length length of matches
+     */
+    public void addAll(long[] matchPositions, int count, long length) {
+        ensureCapacity(size + count);
+        for (int i = 0; i < count; i++) {
+            add(matchPositions[i], length);
+        }
+    }
+
+    /**
+     * Merges sorted matches of the same length into the index.
+     *
+     * Merged match is placed after already present matches of the same
+     * position.
+     *
+     * @param matchPositions sorted positions of matches
+     * @param count number of positions to merge
+     * @param length length of matches
+     */
+    public void merge(long[] matchPositions, int count, long length) {
+        if (count == 0) {
+            return;
+        }
+        if (size == 0 || matchPositions[0] >= positions[size - 1]) {
+            addAll(matchPositions, count, length);
+            return;
+        }
+
+        long[] previousPositions = positions;
+        long[] previousLengths = lengths;
+        int[] previousGroups = groups;
+        int previousSize = size;
+        positions = new long[previousSize + count];
+        lengths = new long[previousSize + count];
+        maximumEnds = new long[previousSize + count];
+        groups = previousGroups == null ? null : new int[previousSize + count];
+        size = 0;
+
+        int index = 0;
+        int mergedIndex = 0;
+        while (index < previousSize || mergedIndex < count) {
+            if (mergedIndex == count || (index < previousSize && previousPositions[index] <= matchPositions[mergedIndex])) {
+                add(previousPositions[index], previousLengths[index], previousGroups == null ? DEFAULT_GROUP : previousGroups[index]);
+                index++;
+            } else {
+                add(matchPositions[mergedIndex], length);
+                mergedIndex++;
+            }
+        }
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (capacity > positions.length) {
+            positions = Arrays.copyOf(positions, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            maximumEnds = Arrays.copyOf(maximumEnds, capacity);
+            if (groups != null) {
+                groups = Arrays.copyOf(groups, capacity);
+            }
+        }
+    }
+
+    public void clear() {
+        size = 0;
+        groups = null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long getPosition(int index) {
+        checkIndex(index);
+        return positions[index];
+    }
+
+    public long getLength(int index) {
+        checkIndex(index);
+        return lengths[index];
+    }
+
+    public int getGroup(int index) {
+        checkIndex(index);
+        return groups == null ? DEFAULT_GROUP : groups[index];
+    }
+
+    /**
+     * Returns index of the first match which ends after given position.
+     *
+     * All matches before returned index end at or before given position.
+     *
+     * @param position data position
+     * @return index of match or size of the index if there is no such match
+     */
+    public int findFirstEndingAfter(long position) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (maximumEnds[middle] > position) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Returns index of the first match starting at or after given position.
+     *
+     * @param position data position
+     * @return index of match or size of the index if there is no such match
+     */
+    public int findFirstFrom(long position) {
+        return findFirstFrom(positions, size, position);
+    }
+
+    /**
+     * Returns index of the first position in sorted array which is at or
+     * after given position.
+     *
+     * @param positions sorted positions
+     * @param count number of valid positions
+     * @param position data position
+     * @return index of position or count if there is no such position
+     */
+    public static int findFirstFrom(long[] positions, int count, long position) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (positions[middle] >= position) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Resolves matches overlapping given row.
+     *
+     * @param rowDataPosition row data position
+     * @param rowMatchTypes match type for each byte of the row (output
+     * parameter)
+     * @param currentMatchIndex index of current match or -1
+     */
+    public void resolveRow(long rowDataPosition, byte[] rowMatchTypes, int currentMatchIndex) {
+        Arrays.fill(rowMatchTypes, NO_MATCH);
+        long rowEnd = rowDataPosition + rowMatchTypes.length;
+        for (int index = findFirstEndingAfter(rowDataPosition); index < size; index++) {
+            long position = positions[index];
+            if (position >= rowEnd) {
+                break;
+            }
+
+            markSpan(rowDataPosition, position, position + lengths[index], rowMatchTypes, MATCH);
+        }
+
+        if (currentMatchIndex >= 0 && currentMatchIndex < size) {
+            long position = positions[currentMatchIndex];
+            markSpan(rowDataPosition, position, position + lengths[currentMatchIndex], rowMatchTypes, CURRENT_MATCH);
+        }
+    }
+
+    /**
+     * Resolves groups of matches overlapping given row.
+     *
+     * Where matches overlap, the group of the later match is used.
+     *
+     * @param rowDataPosition row data position
+     * @param rowGroups match group for each byte of the row or NO_GROUP
+     * (output parameter)
+     */
+    public void resolveRowGroups(long rowDataPosition, int[] rowGroups) {
+        Arrays.fill(rowGroups, NO_GROUP);
+        long rowEnd = rowDataPosition + rowGroups.length;
+        for (int index = findFirstEndingAfter(rowDataPosition); index < size; index++) {
+            long position = positions[index];
+            if (position >= rowEnd) {
+                break;
+            }
+
+            int startByte = (int) Math.max(0, position - rowDataPosition);
+            int endByte = (int) Math.min(rowGroups.length, position + lengths[index] - rowDataPosition);
+            if (startByte < endByte) {
+                Arrays.fill(rowGroups, startByte, endByte, groups == null ? DEFAULT_GROUP : groups[index]);
+            }
+        }
+    }
+
+    private static void markSpan(long rowDataPosition, long startPosition, long endPosition, byte[] rowMatchTypes, byte matchType) {
+        int startByte = (int) Math.max(0, startPosition - rowDataPosition);
+        int endByte = (int) Math.min(rowMatchTypes.length, endPosition - rowDataPosition);
+        if (startByte < endByte) {
+            Arrays.fill(rowMatchTypes, startByte, endByte, matchType);
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
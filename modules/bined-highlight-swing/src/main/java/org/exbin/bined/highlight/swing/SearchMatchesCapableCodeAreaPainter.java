@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.highlight.swing;
+
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Interface for code area painter highlighting search matches.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public interface SearchMatchesCapableCodeAreaPainter {
+
+    /**
+     * Returns index of matches.
+     *
+     * @return index of matches
+     */
+    @Nonnull
+    SearchMatchIndex getMatchIndex();
+
+    /**
+     * Adds sorted matches of given length to present matches.
+     *
+     * Only visible rows affected by added matches are repainted.
+     *
+     * @param matchPositions sorted positions of matches
+     * @param count number of positions to add
+     * @param length length of matches
+     */
+    void addMatches(long[] matchPositions, int count, long length);
+
+    void clearMatches();
+
+    int getCurrentMatchIndex();
+
+    void setCurrentMatchIndex(int currentMatchIndex);
+}
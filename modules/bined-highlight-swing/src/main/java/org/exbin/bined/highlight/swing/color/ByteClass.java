@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.highlight.swing.color;
+
+import java.util.function.IntPredicate;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Class of byte values for colorization.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class ByteClass {
+
+    public static final int VALUES_COUNT = 256;
+
+    public static final ByteClass ZERO = range("zero", 0x00, 0x00);
+    public static final ByteClass FULL = range("full", 0xFF, 0xFF);
+    public static final ByteClass CONTROL = range("control", 0x00, 0x1F);
+    public static final ByteClass WHITESPACE = of("whitespace", value -> value == 0x20 || (value >= 0x09 && value <= 0x0D));
+    public static final ByteClass PRINTABLE = range("printable", 0x20, 0x7E);
+    public static final ByteClass UPPER = range("upper", 0x80, 0xFF);
+
+    @Nonnull
+    private final String name;
+    private final boolean[] members;
+
+    private ByteClass(String name, boolean[] members) {
+        this.name = name;
+        this.members = members;
+    }
+
+    /**
+     * Creates class of byte values matching given predicate.
+     *
+     * @param name class name
+     * @param predicate predicate for unsigned byte values
+     * @return byte class
+     */
+    @Nonnull
+    public static ByteClass of(String name, IntPredicate predicate) {
+        boolean[] members = new boolean[VALUES_COUNT];
+        for (int value = 0; value < VALUES_COUNT; value++) {
+            members[value] = predicate.test(value);
+        }
+        return new ByteClass(name, members);
+    }
+
+    /**
+     * Creates class of byte values in given range.
+     *
+     * @param name class name
+     * @param fromValue first unsigned byte value
+     * @param toValue last unsigned byte value (inclusive)
+     * @return byte class
+     */
+    @Nonnull
+    public static ByteClass range(String name, int fromValue, int toValue) {
+        return of(name, value -> value >= fromValue && value <= toValue);
+    }
+
+    @Nonnull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns true if class contains given byte value.
+     *
+     * @param value unsigned byte value
+     * @return true if contains
+     */
+    public boolean contains(int value) {
+        return members[value & 0xFF];
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.highlight.swing.color;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Palette of text and background colors for each byte value.
+ *
+ * Colors are assigned to byte classes and resolved into tables of 256
+ * entries when changed, so that color of the byte is single array lookup.
+ * Where classes overlap, colors of later added class are used.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class ByteClassPalette {
+
+    private final List<ClassColors> classes = new ArrayList<>();
+    private final Color[] textColors = new Color[ByteClass.VALUES_COUNT];
+    private final Color[] backgroundColors = new Color[ByteClass.VALUES_COUNT];
+
+    public ByteClassPalette() {
+    }
+
+    /**
+     * Sets colors of given byte class.
+     *
+     * Class already present in palette keeps its order, otherwise it's added
+     * with the highest priority.
+     *
+     * @param byteClass byte class
+     * @param textColor text color or null for default color
+     * @param backgroundColor background color or null for default color
+     */
+    public void setClassColors(ByteClass byteClass, @Nullable Color textColor, @Nullable Color backgroundColor) {
+        ClassColors classColors = findClass(byteClass);
+        if (classColors == null) {
+            classColors = new ClassColors(byteClass);
+            classes.add(classColors);
+        }
+        classColors.textColor = textColor;
+        classColors.backgroundColor = backgroundColor;
+        rebuild();
+    }
+
+    /**
+     * Removes byte class from palette.
+     *
+     * @param byteClass byte class
+     */
+    public void removeClass(ByteClass byteClass) {
+        ClassColors classColors = findClass(byteClass);
+        if (classColors != null) {
+            classes.remove(classColors);
+            rebuild();
+        }
+    }
+
+    /**
+     * Returns byte classes ordered by priority from lowest.
+     *
+     * @return list of byte classes
+     */
+    @Nonnull
+    public List<ByteClass> getClasses() {
+        List<ByteClass> result = new ArrayList<>();
+        for (ClassColors classColors : classes) {
+            result.add(classColors.byteClass);
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    @Nullable
+    public Color getClassTextColor(ByteClass byteClass) {
+        ClassColors classColors = findClass(byteClass);
+        return classColors == null ? null : classColors.textColor;
+    }
+
+    @Nullable
+    public Color getClassBackgroundColor(ByteClass byteClass) {
+        ClassColors classColors = findClass(byteClass);
+        return classColors == null ? null : classColors.backgroundColor;
+    }
+
+    /**
+     * Returns text color for given byte value.
+     *
+     * @param value byte value
+     * @return color or null for default color
+     */
+    @Nullable
+    public Color getTextColor(byte value) {
+        return textColors[value & 0xFF];
+    }
+
+    /**
+     * Returns background color for given byte value.
+     *
+     * @param value byte value
+     * @return color or null for default color
+     */
+    @Nullable
+    public Color getBackgroundColor(byte value) {
+        return backgroundColors[value & 0xFF];
+    }
+
+    @Nullable
+    private ClassColors findClass(ByteClass byteClass) {
+        for (ClassColors classColors : classes) {
+            if (classColors.byteClass == byteClass) {
+                return classColors;
+            }
+        }
+        return null;
+    }
+
+    private void rebuild() {
+        for (int value = 0; value < ByteClass.VALUES_COUNT; value++) {
+            Color textColor = null;
+            Color backgroundColor = null;
+            for (ClassColors classColors : classes) {
+                if (classColors.byteClass.contains(value)) {
+                    if (classColors.textColor != null) {
+                        textColor = classColors.textColor;
+                    }
+                    if (classColors.backgroundColor != null) {
+                        backgroundColor = classColors.backgroundColor;
+                    }
+                }
+            }
+            textColors[value] = textColor;
+            backgroundColors[value] = backgroundColor;
+        }
+    }
+
+    private static class ClassColors {
+
+        final ByteClass byteClass;
+        @Nullable
+        Color textColor;
+        @Nullable
+        Color backgroundColor;
+
+        ClassColors(ByteClass byteClass) {
+            this.byteClass = byteClass;
+        }
+    }
+}
@@ -17,13 +17,14 @@ package org.exbin.bined.highlight.swing.extended;
 
 import java.awt.Color;
 import java.awt.Graphics;
-import java.util.ArrayList;
+import java.util.AbstractList;
 import java.util.List;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
-import org.exbin.bined.basic.BasicCodeAreaSection;
 import org.exbin.bined.CodeAreaSection;
+import org.exbin.bined.highlight.swing.SearchMatchIndex;
+import org.exbin.bined.highlight.swing.SearchMatchesCapableCodeAreaPainter;
 import org.exbin.bined.highlight.swing.color.CodeAreaMatchColorType;
 import org.exbin.bined.swing.CodeAreaCore;
 import org.exbin.bined.swing.extended.ExtendedCodeAreaPainter;
@@ -32,19 +33,19 @@ import org.exbin.bined.swing.extended.ExtendedCodeAreaPainter;
  * Extended hexadecimal component painter supporting search matches
  * highlighting.
  *
- * @version 0.2.0 2018/11/30
+ * @version 0.2.0 2026/10/17
  * @author ExBin Project (https://exbin.org)
  */
 @ParametersAreNonnullByDefault
-public class ExtendedHighlightCodeAreaPainter extends ExtendedCodeAreaPainter {
+public class ExtendedHighlightCodeAreaPainter extends ExtendedCodeAreaPainter implements SearchMatchesCapableCodeAreaPainter {
 
     /**
      * Matches must be ordered by position.
      */
-    private final List<SearchMatch> matches = new ArrayList<>();
+    private SearchMatchIndex matches = new SearchMatchIndex();
     private int currentMatchIndex = -1;
-    private int matchIndex = 0;
-    private long matchPosition = -1;
+    private long rowMatchesPosition = -1;
+    private byte[] rowMatchTypes = new byte[0];
 
     private Color foundMatchesColor;
     private Color currentMatchColor;
@@ -58,7 +59,7 @@ public class ExtendedHighlightCodeAreaPainter extends ExtendedCodeAreaPainter {
 
     @Override
     public void paintMainArea(@Nonnull Graphics g) {
-        matchIndex = 0;
+        rowMatchesPosition = -1;
         super.paintMainArea(g);
     }
 
@@ -66,42 +67,17 @@ public class ExtendedHighlightCodeAreaPainter extends ExtendedCodeAreaPainter {
     @Override
     public Color getPositionTextColor(long rowDataPosition, int byteOnRow, int charOnRow, CodeAreaSection section, boolean unprintables) {
         if (!matches.isEmpty() && charOnRow < getCharactersPerRow() - 1) {
-            long dataPosition = rowDataPosition + byteOnRow;
-            if (currentMatchIndex >= 0) {
-                SearchMatch currentMatch = matches.get(currentMatchIndex);
-                if (dataPosition >= currentMatch.position && dataPosition < currentMatch.position + currentMatch.length
-                        && (section == BasicCodeAreaSection.TEXT_PREVIEW || charOnRow != ((currentMatch.position + currentMatch.length) - rowDataPosition) * getCharactersPerRow() - 1)) {
-                    Color activeMatchColor = getColorsProfile().getColor(CodeAreaMatchColorType.ACTIVE_MATCH_COLOR);
-                    return activeMatchColor != null ? activeMatchColor : super.getPositionTextColor(rowDataPosition, byteOnRow, charOnRow, section, unprintables);
+            byte matchType = getRowMatchType(rowDataPosition, byteOnRow);
+            if (matchType == SearchMatchIndex.CURRENT_MATCH) {
+                Color activeMatchColor = getColorsProfile().getColor(CodeAreaMatchColorType.ACTIVE_MATCH_COLOR);
+                if (activeMatchColor != null) {
+                    return activeMatchColor;
                 }
-            }
-
-            if (matchPosition < rowDataPosition) {
-                matchIndex = 0;
-            }
-            int lineMatchIndex = matchIndex;
-            while (lineMatchIndex < matches.size()) {
-                SearchMatch match = matches.get(lineMatchIndex);
-                if (dataPosition >= match.position && dataPosition < match.position + match.length
-                        && (section == BasicCodeAreaSection.TEXT_PREVIEW || charOnRow != ((match.position + match.length) - rowDataPosition) * getCharactersPerRow() - 1)) {
-                    if (byteOnRow == 0) {
-                        matchIndex = lineMatchIndex;
-                        matchPosition = match.position;
-                    }
-
-                    Color matchesColor = getColorsProfile().getColor(CodeAreaMatchColorType.MATCH_COLOR);
-                    return matchesColor != null ? matchesColor : super.getPositionTextColor(rowDataPosition, byteOnRow, charOnRow, section, unprintables);
-                }
-
-                if (match.position > dataPosition) {
-                    break;
-                }
-
-                if (byteOnRow == 0) {
-                    matchIndex = lineMatchIndex;
-                    matchPosition = match.position;
+            } else if (matchType == SearchMatchIndex.MATCH) {
+                Color matchesColor = getColorsProfile().getColor(CodeAreaMatchColorType.MATCH_COLOR);
+                if (matchesColor != null) {
+                    return matchesColor;
                 }
-                lineMatchIndex++;
             }
         }
 
@@ -112,79 +88,143 @@ public class ExtendedHighlightCodeAreaPainter extends ExtendedCodeAreaPainter {
     @Override
     public Color getPositionBackgroundColor(long rowDataPosition, int byteOnRow, int charOnRow, CodeAreaSection section, boolean unprintables) {
         if (!matches.isEmpty() && charOnRow < getCharactersPerRow() - 1) {
-            long dataPosition = rowDataPosition + byteOnRow;
-            if (currentMatchIndex >= 0) {
-                SearchMatch currentMatch = matches.get(currentMatchIndex);
-                if (dataPosition >= currentMatch.position && dataPosition < currentMatch.position + currentMatch.length
-                        && (section == BasicCodeAreaSection.TEXT_PREVIEW || charOnRow != ((currentMatch.position + currentMatch.length) - rowDataPosition) * getCharactersPerRow() - 1)) {
-                    Color activeMatchBackground = getColorsProfile().getColor(CodeAreaMatchColorType.ACTIVE_MATCH_BACKGROUND);
-                    return activeMatchBackground != null ? activeMatchBackground : currentMatchColor;
-                }
-            }
-
-            if (matchPosition < rowDataPosition) {
-                matchIndex = 0;
+            byte matchType = getRowMatchType(rowDataPosition, byteOnRow);
+            if (matchType == SearchMatchIndex.CURRENT_MATCH) {
+                Color activeMatchBackground = getColorsProfile().getColor(CodeAreaMatchColorType.ACTIVE_MATCH_BACKGROUND);
+                return activeMatchBackground != null ? activeMatchBackground : currentMatchColor;
+            } else if (matchType == SearchMatchIndex.MATCH) {
+                Color matchesBackground = getColorsProfile().getColor(CodeAreaMatchColorType.MATCH_BACKGROUND);
+                return matchesBackground != null ? matchesBackground : foundMatchesColor;
             }
-            int lineMatchIndex = matchIndex;
-            while (lineMatchIndex < matches.size()) {
-                SearchMatch match = matches.get(lineMatchIndex);
-                if (dataPosition >= match.position && dataPosition < match.position + match.length
-                        && (section == BasicCodeAreaSection.TEXT_PREVIEW || charOnRow != ((match.position + match.length) - rowDataPosition) * getCharactersPerRow() - 1)) {
-                    if (byteOnRow == 0) {
-                        matchIndex = lineMatchIndex;
-                        matchPosition = match.position;
-                    }
-
-                    Color matchesBackground = getColorsProfile().getColor(CodeAreaMatchColorType.MATCH_BACKGROUND);
-                    return matchesBackground != null ? matchesBackground : foundMatchesColor;
-                }
+        }
 
-                if (match.position > dataPosition) {
-                    break;
-                }
+        return super.getPositionBackgroundColor(rowDataPosition, byteOnRow, charOnRow, section, unprintables);
+    }
 
-                if (byteOnRow == 0) {
-                    matchIndex = lineMatchIndex;
-                    matchPosition = match.position;
-                }
-                lineMatchIndex++;
+    /**
+     * Returns match type of given byte on row.
+     *
+     * Matches overlapping the row are resolved once per row.
+     *
+     * @param rowDataPosition row data position
+     * @param byteOnRow byte on current row
+     * @return match type
+     */
+    private byte getRowMatchType(long rowDataPosition, int byteOnRow) {
+        int bytesPerRow = getBytesPerRow();
+        if (rowDataPosition != rowMatchesPosition || rowMatchTypes.length != bytesPerRow) {
+            if (rowMatchTypes.length != bytesPerRow) {
+                rowMatchTypes = new byte[bytesPerRow];
             }
+            matches.resolveRow(rowDataPosition, rowMatchTypes, currentMatchIndex);
+            rowMatchesPosition = rowDataPosition;
         }
 
-        return super.getPositionBackgroundColor(rowDataPosition, byteOnRow, charOnRow, section, unprintables);
+        return byteOnRow >= 0 && byteOnRow < rowMatchTypes.length ? rowMatchTypes[byteOnRow] : SearchMatchIndex.NO_MATCH;
     }
 
+    /**
+     * Returns read-only view of matches.
+     *
+     * Match instances are created on access.
+     *
+     * @return list of matches
+     */
     @Nonnull
     public List<SearchMatch> getMatches() {
-        return matches;
+        return new AbstractList<SearchMatch>() {
+            @Nonnull
+            @Override
+            public SearchMatch get(int index) {
+                return new SearchMatch(matches.getPosition(index), matches.getLength(index));
+            }
+
+            @Override
+            public int size() {
+                return matches.size();
+            }
+        };
     }
 
     public void setMatches(List<SearchMatch> matches) {
-        this.matches.clear();
-        this.matches.addAll(matches);
+        SearchMatchIndex matchIndex = new SearchMatchIndex(matches.size());
+        for (SearchMatch match : matches) {
+            matchIndex.add(match.position, match.length);
+        }
+        setMatchIndex(matchIndex);
+    }
+
+    @Nonnull
+    @Override
+    public SearchMatchIndex getMatchIndex() {
+        return matches;
+    }
+
+    /**
+     * Sets index of matches.
+     *
+     * Index is used directly without copying, so it shouldn't be modified
+     * later.
+     *
+     * @param matchIndex index of matches
+     */
+    public void setMatchIndex(SearchMatchIndex matchIndex) {
+        this.matches = matchIndex;
         currentMatchIndex = -1;
+        rowMatchesPosition = -1;
+    }
+
+    @Override
+    public void addMatches(long[] matchPositions, int count, long length) {
+        if (count == 0) {
+            return;
+        }
+
+        if (currentMatchIndex >= 0) {
+            long currentMatchPosition = matches.getPosition(currentMatchIndex);
+            currentMatchIndex += SearchMatchIndex.findFirstFrom(matchPositions, count, currentMatchPosition);
+        }
+        matches.merge(matchPositions, count, length);
+        rowMatchesPosition = -1;
+
+        // Matches on the same or adjacent rows are repainted together
+        int bytesPerRow = getBytesPerRow();
+        long rangeStart = matchPositions[0];
+        long rangeEnd = rangeStart + length;
+        for (int i = 1; i < count; i++) {
+            long matchPosition = matchPositions[i];
+            if (matchPosition > rangeEnd + bytesPerRow) {
+                repaintDataRange(rangeStart, rangeEnd);
+                rangeStart = matchPosition;
+            }
+            rangeEnd = Math.max(rangeEnd, matchPosition + length);
+        }
+        repaintDataRange(rangeStart, rangeEnd);
     }
 
+    @Override
     public void clearMatches() {
-        this.matches.clear();
-        currentMatchIndex = -1;
+        setMatchIndex(new SearchMatchIndex());
     }
 
     @Nullable
     public SearchMatch getCurrentMatch() {
         if (currentMatchIndex >= 0) {
-            return matches.get(currentMatchIndex);
+            return new SearchMatch(matches.getPosition(currentMatchIndex), matches.getLength(currentMatchIndex));
         }
 
         return null;
     }
 
+    @Override
     public int getCurrentMatchIndex() {
         return currentMatchIndex;
     }
 
+    @Override
     public void setCurrentMatchIndex(int currentMatchIndex) {
         this.currentMatchIndex = currentMatchIndex;
+        rowMatchesPosition = -1;
     }
 
     @Nonnull
@@ -16,11 +16,15 @@
 package org.exbin.bined.highlight.swing.extended;
 
 import java.awt.Color;
+import java.awt.Graphics;
+import java.util.Objects;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import org.exbin.bined.basic.BasicCodeAreaSection;
 import org.exbin.bined.CodeAreaSection;
+import org.exbin.bined.highlight.swing.color.ByteClass;
+import org.exbin.bined.highlight.swing.color.ByteClassPalette;
 import org.exbin.bined.highlight.swing.color.CodeAreaColorizationColorType;
 import org.exbin.bined.swing.CodeAreaCore;
 import org.exbin.auxiliary.paged_data.BinaryData;
@@ -28,7 +32,11 @@ import org.exbin.auxiliary.paged_data.BinaryData;
 /**
  * Experimental support for highlighting of non-ascii characters.
  *
- * @version 0.2.0 2019/07/07
+ * Colors are resolved by palette of byte classes, control codes and upper
+ * codes classes are defined by default and overridden by colors of the colors
+ * profile when available. Values of the row are fetched once per row.
+ *
+ * @version 0.2.0 2026/10/17
  * @author ExBin Project (https://exbin.org)
  */
 @ParametersAreNonnullByDefault
@@ -38,6 +46,12 @@ public class ExtendedHighlightNonAsciiCodeAreaPainter extends ExtendedHighlightC
     private Color upperCodes;
     private Color textColor;
     private boolean nonAsciiHighlightingEnabled = true;
+    private ByteClassPalette palette = new ByteClassPalette();
+
+    private long rowValuesPosition = -1;
+    private byte[] rowValues = new byte[0];
+    private int rowValuesStart = 0;
+    private int rowValuesEnd = 0;
 
     public ExtendedHighlightNonAsciiCodeAreaPainter(CodeAreaCore codeArea) {
         super(codeArea);
@@ -101,6 +115,9 @@ public class ExtendedHighlightNonAsciiCodeAreaPainter extends ExtendedHighlightC
         upperCodes = new Color(
                 downShift(textColor.getRed(), aboveCodesGreenDiff + aboveCodesBlueDiff),
                 aboveCodesGreen, aboveCodesBlue);
+
+        palette.setClassColors(ByteClass.CONTROL, controlCodes, null);
+        palette.setClassColors(ByteClass.UPPER, upperCodes, null);
     }
 
     private int downShift(int color, int diff) {
@@ -111,25 +128,24 @@ public class ExtendedHighlightNonAsciiCodeAreaPainter extends ExtendedHighlightC
         return color - diff;
     }
 
+    @Override
+    public void paintMainArea(Graphics g) {
+        rowValuesPosition = -1;
+        applyProfileColors(ByteClass.CONTROL, CodeAreaColorizationColorType.CONTROL_CODES_COLOR, CodeAreaColorizationColorType.CONTROL_CODES_BACKGROUND);
+        applyProfileColors(ByteClass.UPPER, CodeAreaColorizationColorType.UPPER_CODES_COLOR, CodeAreaColorizationColorType.UPPER_CODES_BACKGROUND);
+        super.paintMainArea(g);
+    }
+
     @Nullable
     @Override
     public Color getPositionTextColor(long rowDataPosition, int byteOnRow, int charOnRow, CodeAreaSection section, boolean unprintables) {
         Color color = super.getPositionTextColor(rowDataPosition, byteOnRow, charOnRow, section, unprintables);
         if (nonAsciiHighlightingEnabled && section == BasicCodeAreaSection.CODE_MATRIX) {
             if (color == null || textColor.equals(color)) {
-                long dataPosition = rowDataPosition + byteOnRow;
-                if (dataPosition < codeArea.getDataSize()) {
-                    BinaryData contentData = codeArea.getContentData();
-                    if (contentData == null) {
-                        throw new IllegalStateException("Missing data when nonnull size reported");
-                    }
-                    byte value = contentData.getByte(dataPosition);
-                    if (value < 0) {
-                        Color upperCodesColor = getColorsProfile().getColor(CodeAreaColorizationColorType.UPPER_CODES_COLOR);
-                        color = upperCodesColor != null ? upperCodesColor : upperCodes;
-                    } else if (value < 0x20) {
-                        Color controlCodesColor = getColorsProfile().getColor(CodeAreaColorizationColorType.CONTROL_CODES_COLOR);
-                        color = controlCodesColor != null ? controlCodesColor : controlCodes;
+                if (loadRowValue(rowDataPosition, byteOnRow)) {
+                    Color paletteColor = palette.getTextColor(rowValues[byteOnRow]);
+                    if (paletteColor != null) {
+                        color = paletteColor;
                     }
                 }
             }
@@ -144,23 +160,10 @@ public class ExtendedHighlightNonAsciiCodeAreaPainter extends ExtendedHighlightC
         Color color = super.getPositionBackgroundColor(rowDataPosition, byteOnRow, charOnRow, section, unprintables);
         if (nonAsciiHighlightingEnabled && section == BasicCodeAreaSection.CODE_MATRIX) {
             if (color == null || textColor.equals(color)) {
-                long dataPosition = rowDataPosition + byteOnRow;
-                if (dataPosition < codeArea.getDataSize()) {
-                    BinaryData contentData = codeArea.getContentData();
-                    if (contentData == null) {
-                        throw new IllegalStateException("Missing data when nonnull size reported");
-                    }
-                    byte value = contentData.getByte(dataPosition);
-                    if (value < 0) {
-                        Color upperCodesBackground = getColorsProfile().getColor(CodeAreaColorizationColorType.UPPER_CODES_BACKGROUND);
-                        if (upperCodesBackground != null) {
-                            color = upperCodesBackground;
-                        }
-                    } else if (value < 0x20) {
-                        Color controlCodesBackground = getColorsProfile().getColor(CodeAreaColorizationColorType.CONTROL_CODES_BACKGROUND);
-                        if (controlCodesBackground != null) {
-                            color = controlCodesBackground;
-                        }
+                if (loadRowValue(rowDataPosition, byteOnRow)) {
+                    Color paletteBackground = palette.getBackgroundColor(rowValues[byteOnRow]);
+                    if (paletteBackground != null) {
+                        color = paletteBackground;
                     }
                 }
             }
@@ -169,6 +172,72 @@ public class ExtendedHighlightNonAsciiCodeAreaPainter extends ExtendedHighlightC
         return color;
     }
 
+    /**
+     * Overrides colors of given byte class by colors defined in colors
+     * profile.
+     *
+     * @param byteClass byte class
+     * @param textColorType text color type
+     * @param backgroundColorType background color type
+     */
+    private void applyProfileColors(ByteClass byteClass, CodeAreaColorizationColorType textColorType, CodeAreaColorizationColorType backgroundColorType) {
+        Color profileTextColor = getColorsProfile().getColor(textColorType);
+        Color profileBackgroundColor = getColorsProfile().getColor(backgroundColorType);
+        if (profileTextColor == null && profileBackgroundColor == null) {
+            return;
+        }
+
+        Color classTextColor = profileTextColor != null ? profileTextColor : palette.getClassTextColor(byteClass);
+        Color classBackgroundColor = profileBackgroundColor != null ? profileBackgroundColor : palette.getClassBackgroundColor(byteClass);
+        if (!Objects.equals(classTextColor, palette.getClassTextColor(byteClass)) || !Objects.equals(classBackgroundColor, palette.getClassBackgroundColor(byteClass))) {
+            palette.setClassColors(byteClass, classTextColor, classBackgroundColor);
+        }
+    }
+
+    /**
+     * Ensures values of the row are loaded.
+     *
+     * @param rowDataPosition row data position
+     * @param byteOnRow byte on current row
+     * @return true if value of given byte is available
+     */
+    private boolean loadRowValue(long rowDataPosition, int byteOnRow) {
+        int bytesPerRow = getBytesPerRow();
+        if (rowDataPosition != rowValuesPosition || rowValues.length != bytesPerRow) {
+            if (rowValues.length != bytesPerRow) {
+                rowValues = new byte[bytesPerRow];
+            }
+            rowValuesStart = rowDataPosition < 0 ? (int) Math.min(bytesPerRow, -rowDataPosition) : 0;
+            rowValuesEnd = (int) Math.max(rowValuesStart, Math.min(bytesPerRow, codeArea.getDataSize() - rowDataPosition));
+            if (rowValuesEnd > rowValuesStart) {
+                BinaryData contentData = codeArea.getContentData();
+                if (contentData == null) {
+                    throw new IllegalStateException("Missing data when nonnull size reported");
+                }
+                contentData.copyToArray(rowDataPosition + rowValuesStart, rowValues, rowValuesStart, rowValuesEnd - rowValuesStart);
+            }
+            rowValuesPosition = rowDataPosition;
+        }
+
+        return byteOnRow >= rowValuesStart && byteOnRow < rowValuesEnd;
+    }
+
+    /**
+     * Returns palette of byte classes.
+     *
+     * Code area has to be repainted after palette is modified.
+     *
+     * @return palette
+     */
+    @Nonnull
+    public ByteClassPalette getPalette() {
+        return palette;
+    }
+
+    public void setPalette(ByteClassPalette palette) {
+        this.palette = palette;
+    }
+
     @Nonnull
     public Color getControlCodes() {
         return controlCodes;
@@ -176,6 +245,7 @@ public class ExtendedHighlightNonAsciiCodeAreaPainter extends ExtendedHighlightC
 
     public void setControlCodes(Color controlCodes) {
         this.controlCodes = controlCodes;
+        palette.setClassColors(ByteClass.CONTROL, controlCodes, palette.getClassBackgroundColor(ByteClass.CONTROL));
     }
 
     @Nonnull
@@ -185,6 +255,7 @@ public class ExtendedHighlightNonAsciiCodeAreaPainter extends ExtendedHighlightC
 
     public void setUpperCodes(Color upperCodes) {
         this.upperCodes = upperCodes;
+        palette.setClassColors(ByteClass.UPPER, upperCodes, palette.getClassBackgroundColor(ByteClass.UPPER));
     }
 
     public boolean isNonAsciiHighlightingEnabled() {
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.highlight.swing;
+
+import java.lang.reflect.InvocationTargetException;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.SwingUtilities;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for incremental match sink.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class IncrementalMatchSinkTest {
+
+    public IncrementalMatchSinkTest() {
+    }
+
+    @Test
+    public void testIncrementalMatches() throws InterruptedException, InvocationTargetException {
+        // Sink is used on event dispatch thread, which also prevents timer flush from interfering
+        SwingUtilities.invokeAndWait(() -> {
+            TestPainter painter = new TestPainter();
+            IncrementalMatchSink sink = new IncrementalMatchSink(painter, 2);
+            sink.chunkSearched(100, 200, new long[]{110, 150, 0}, 2);
+            sink.chunkSearched(0, 100, new long[]{20}, 1);
+            sink.progressChanged(200, 400);
+            Assert.assertFalse(sink.isFinished());
+            sink.flush();
+            Assert.assertEquals(3, painter.matchIndex.size());
+            Assert.assertEquals(20, painter.matchIndex.getPosition(0));
+            Assert.assertEquals(110, painter.matchIndex.getPosition(1));
+
+            Assert.assertEquals(1, sink.findNextMatch(20));
+            Assert.assertEquals(-1, sink.findNextMatch(150));
+            Assert.assertEquals(1, sink.findPreviousMatch(150));
+            Assert.assertFalse(sink.isRangeSearched(150, 250));
+
+            sink.chunkSearched(300, 400, new long[]{350}, 1);
+            sink.flush();
+            Assert.assertEquals(-1, sink.findNextMatch(150));
+            Assert.assertEquals(-1, sink.findPreviousMatch(350));
+
+            sink.chunkSearched(200, 300, new long[0], 0);
+            sink.progressChanged(400, 400);
+            sink.flush();
+            Assert.assertTrue(sink.isFinished());
+            Assert.assertTrue(sink.isRangeSearched(0, 400));
+            Assert.assertEquals(3, sink.findNextMatch(150));
+            Assert.assertEquals(2, sink.findPreviousMatch(350));
+        });
+    }
+
+    private static class TestPainter implements SearchMatchesCapableCodeAreaPainter {
+
+        private final SearchMatchIndex matchIndex = new SearchMatchIndex();
+        private int currentMatchIndex = -1;
+
+        @Nonnull
+        @Override
+        public SearchMatchIndex getMatchIndex() {
+            return matchIndex;
+        }
+
+        @Override
+        public void addMatches(long[] matchPositions, int count, long length) {
+            matchIndex.merge(matchPositions, count, length);
+        }
+
+        @Override
+        public void clearMatches() {
+            matchIndex.clear();
+        }
+
+        @Override
+        public int getCurrentMatchIndex() {
+            return currentMatchIndex;
+        }
+
+        @Override
+        public void setCurrentMatchIndex(int currentMatchIndex) {
+            this.currentMatchIndex = currentMatchIndex;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.highlight.swing;
+
+import java.awt.Color;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.SwingUtilities;
+import org.exbin.auxiliary.paged_data.BinaryData;
+import org.exbin.auxiliary.paged_data.ByteArrayData;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for lazy highlight cache.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class LazyHighlightCacheTest {
+
+    public LazyHighlightCacheTest() {
+    }
+
+    @Test
+    public void testVisibleBlocks() throws InterruptedException, InvocationTargetException {
+        BinaryData data = new ByteArrayData(new byte[1000]);
+        AtomicInteger computedBlocks = new AtomicInteger();
+        HighlightProvider provider = new HighlightProvider() {
+            @Nonnull
+            @Override
+            public SearchMatchIndex computeHighlights(BinaryData data, long startPosition, long endPosition) {
+                computedBlocks.incrementAndGet();
+                SearchMatchIndex highlights = new SearchMatchIndex();
+                highlights.add(startPosition, 2, 1);
+                return highlights;
+            }
+
+            @Nullable
+            @Override
+            public Color getHighlightColor(int group) {
+                return Color.RED;
+            }
+        };
+        List<Runnable> tasks = new ArrayList<>();
+        List<Long> resolvedBlocks = new ArrayList<>();
+        LazyHighlightCache cache = new LazyHighlightCache(provider, tasks::add);
+        cache.setBlockListener((startPosition, endPosition) -> resolvedBlocks.add(startPosition));
+        cache.setBlockRows(4);
+        cache.setBytesPerRow(16);
+
+        cache.requestRange(data, 0, 100);
+        Assert.assertEquals(2, tasks.size());
+        Assert.assertNull(cache.getRowHighlights(0));
+        runTasks(tasks);
+        Assert.assertEquals(2, computedBlocks.get());
+        Assert.assertEquals(2, resolvedBlocks.size());
+        SearchMatchIndex highlights = cache.getRowHighlights(80);
+        Assert.assertNotNull(highlights);
+        Assert.assertEquals(64, highlights.getPosition(0));
+        Assert.assertEquals(1, highlights.getGroup(0));
+
+        // Blocks scrolled away before being computed are cancelled
+        cache.requestRange(data, 500, 600);
+        Assert.assertEquals(3, tasks.size());
+        cache.requestRange(data, 0, 100);
+        runTasks(tasks);
+        Assert.assertEquals(2, computedBlocks.get());
+        Assert.assertNull(cache.getRowHighlights(512));
+        Assert.assertNotNull(cache.getRowHighlights(0));
+
+        // Results of invalidated blocks are ignored
+        cache.requestRange(data, 900, 1000);
+        cache.invalidate();
+        runTasks(tasks);
+        Assert.assertNull(cache.getRowHighlights(960));
+
+        cache.setBytesPerRow(8);
+        Assert.assertNull(cache.getRowHighlights(0));
+    }
+
+    private static void runTasks(List<Runnable> tasks) throws InterruptedException, InvocationTargetException {
+        for (Runnable task : tasks) {
+            task.run();
+        }
+        tasks.clear();
+        // Wait for results passed to event dispatch thread
+        SwingUtilities.invokeAndWait(() -> {
+        });
+    }
+}
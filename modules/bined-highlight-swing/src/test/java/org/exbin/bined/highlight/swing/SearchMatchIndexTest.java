@@ -0,0 +1,124 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.highlight.swing;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for search match index.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+public class SearchMatchIndexTest {
+
+    public SearchMatchIndexTest() {
+    }
+
+    @Test
+    public void testResolveRow() {
+        SearchMatchIndex index = new SearchMatchIndex();
+        index.add(2, 3);
+        index.add(14, 4);
+        index.add(40, 1);
+
+        byte[] rowMatchTypes = new byte[16];
+        index.resolveRow(0, rowMatchTypes, 1);
+        Assert.assertArrayEquals(new byte[]{0, 0, 1, 1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 2, 2}, rowMatchTypes);
+
+        index.resolveRow(16, rowMatchTypes, -1);
+        Assert.assertArrayEquals(new byte[]{1, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0}, rowMatchTypes);
+
+        index.resolveRow(48, rowMatchTypes, -1);
+        Assert.assertArrayEquals(new byte[16], rowMatchTypes);
+    }
+
+    @Test
+    public void testOverlappingMatches() {
+        SearchMatchIndex index = new SearchMatchIndex();
+        index.add(0, 100);
+        index.add(10, 2);
+        index.add(200, 2);
+
+        Assert.assertEquals(0, index.findFirstEndingAfter(50));
+        Assert.assertEquals(2, index.findFirstEndingAfter(100));
+        Assert.assertEquals(3, index.findFirstEndingAfter(202));
+
+        byte[] rowMatchTypes = new byte[4];
+        index.resolveRow(96, rowMatchTypes, -1);
+        Assert.assertArrayEquals(new byte[]{1, 1, 1, 1}, rowMatchTypes);
+    }
+
+    @Test
+    public void testMatchGroups() {
+        SearchMatchIndex index = new SearchMatchIndex();
+        index.add(1, 2);
+        index.add(2, 4, 3);
+        index.add(9, 1, 1);
+        index.merge(new long[]{0, 7}, 2, 1);
+
+        Assert.assertEquals(5, index.size());
+        Assert.assertEquals(SearchMatchIndex.DEFAULT_GROUP, index.getGroup(0));
+        Assert.assertEquals(3, index.getGroup(2));
+        Assert.assertEquals(1, index.getGroup(4));
+
+        int[] rowGroups = new int[8];
+        index.resolveRowGroups(2, rowGroups);
+        Assert.assertArrayEquals(new int[]{3, 3, 3, 3, -1, 0, -1, 1}, rowGroups);
+    }
+
+    @Test
+    public void testLargeIndex() {
+        int count = 1000000;
+        SearchMatchIndex index = new SearchMatchIndex();
+        for (int i = 0; i < count; i++) {
+            index.add(i * 10L, 4);
+        }
+
+        Assert.assertEquals(count, index.size());
+        Assert.assertEquals(500000, index.findFirstEndingAfter(5000000));
+        byte[] rowMatchTypes = new byte[8];
+        index.resolveRow(5000002, rowMatchTypes, -1);
+        Assert.assertArrayEquals(new byte[]{1, 1, 0, 0, 0, 0, 0, 0}, rowMatchTypes);
+    }
+
+    @Test
+    public void testMerge() {
+        SearchMatchIndex index = new SearchMatchIndex();
+        index.addAll(new long[]{10, 30, 50}, 3, 2);
+        index.merge(new long[]{0, 30, 60}, 3, 4);
+        index.merge(new long[]{70}, 1, 2);
+
+        long[] positions = new long[index.size()];
+        long[] lengths = new long[index.size()];
+        for (int i = 0; i < index.size(); i++) {
+            positions[i] = index.getPosition(i);
+            lengths[i] = index.getLength(i);
+        }
+        Assert.assertArrayEquals(new long[]{0, 10, 30, 30, 50, 60, 70}, positions);
+        Assert.assertArrayEquals(new long[]{4, 2, 2, 4, 2, 4, 2}, lengths);
+        Assert.assertEquals(2, index.findFirstFrom(30));
+        Assert.assertEquals(3, index.findFirstEndingAfter(33));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnorderedMatches() {
+        SearchMatchIndex index = new SearchMatchIndex();
+        index.add(10, 1);
+        index.add(5, 1);
+    }
+}
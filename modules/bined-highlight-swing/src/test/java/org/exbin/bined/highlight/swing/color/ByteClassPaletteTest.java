@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.highlight.swing.color;
+
+import java.awt.Color;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for byte class palette.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class ByteClassPaletteTest {
+
+    public ByteClassPaletteTest() {
+    }
+
+    @Test
+    public void testClassPriority() {
+        ByteClassPalette palette = new ByteClassPalette();
+        palette.setClassColors(ByteClass.CONTROL, Color.RED, null);
+        palette.setClassColors(ByteClass.UPPER, Color.BLUE, null);
+        palette.setClassColors(ByteClass.ZERO, null, Color.GRAY);
+        palette.setClassColors(ByteClass.FULL, Color.GREEN, Color.BLACK);
+
+        Assert.assertEquals(Color.RED, palette.getTextColor((byte) 0));
+        Assert.assertEquals(Color.GRAY, palette.getBackgroundColor((byte) 0));
+        Assert.assertEquals(Color.RED, palette.getTextColor((byte) 0x1F));
+        Assert.assertNull(palette.getBackgroundColor((byte) 0x1F));
+        Assert.assertNull(palette.getTextColor((byte) 'A'));
+        Assert.assertEquals(Color.BLUE, palette.getTextColor((byte) 0x80));
+        Assert.assertEquals(Color.GREEN, palette.getTextColor((byte) 0xFF));
+        Assert.assertEquals(Color.BLACK, palette.getBackgroundColor((byte) 0xFF));
+
+        // Changed class keeps its priority
+        palette.setClassColors(ByteClass.UPPER, Color.YELLOW, null);
+        Assert.assertEquals(Color.YELLOW, palette.getTextColor((byte) 0x80));
+        Assert.assertEquals(Color.GREEN, palette.getTextColor((byte) 0xFF));
+
+        palette.removeClass(ByteClass.FULL);
+        Assert.assertEquals(Color.YELLOW, palette.getTextColor((byte) 0xFF));
+        Assert.assertNull(palette.getBackgroundColor((byte) 0xFF));
+        Assert.assertEquals(3, palette.getClasses().size());
+    }
+
+    @Test
+    public void testCustomClass() {
+        ByteClass whitespace = ByteClass.WHITESPACE;
+        Assert.assertTrue(whitespace.contains(' '));
+        Assert.assertTrue(whitespace.contains('\n'));
+        Assert.assertFalse(whitespace.contains('A'));
+
+        ByteClass even = ByteClass.of("even", value -> (value & 1) == 0);
+        ByteClassPalette palette = new ByteClassPalette();
+        palette.setClassColors(ByteClass.PRINTABLE, Color.BLACK, null);
+        palette.setClassColors(even, null, Color.CYAN);
+        Assert.assertEquals(Color.BLACK, palette.getTextColor((byte) 'B'));
+        Assert.assertEquals(Color.CYAN, palette.getBackgroundColor((byte) 'B'));
+        Assert.assertNull(palette.getBackgroundColor((byte) 'A'));
+        Assert.assertEquals(Color.CYAN, palette.getBackgroundColor((byte) 0xFE));
+    }
+}
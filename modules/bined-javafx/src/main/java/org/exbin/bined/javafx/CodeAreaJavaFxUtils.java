@@ -24,7 +24,6 @@ import java.awt.datatransfer.UnsupportedFlavorException;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.charset.Charset;
-import java.util.Arrays;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.paint.Color;
 import javax.annotation.Nonnull;
@@ -39,7 +38,7 @@ import org.exbin.auxiliary.paged_data.BinaryData;
 /**
  * Hexadecimal editor component JavaFX utilities.
  *
- * @version 0.2.0 2018/12/24
+ * @version 0.2.0 2026/10/17
  * @author ExBin Project (https://exbin.org)
  */
 @ParametersAreNonnullByDefault
@@ -200,6 +199,8 @@ public class CodeAreaJavaFxUtils {
     @ParametersAreNonnullByDefault
     public static class CodeDataClipboardData implements ClipboardData {
 
+        private static final int CONVERSION_BUFFER_SIZE = 4096;
+
         private final BinaryData data;
         private final DataFlavor binaryDataFlavor;
         private final CodeType codeType;
@@ -236,9 +237,16 @@ public class CodeAreaJavaFxUtils {
                 }
 
                 char[] targetData = new char[textLength];
-                Arrays.fill(targetData, ' ');
-                for (int i = 0; i < data.getDataSize(); i++) {
-                    CodeAreaUtils.byteToCharsCode(data.getByte(i), codeType, targetData, i * charsPerByte, charactersCase);
+                int dataSize = (int) data.getDataSize();
+                byte[] buffer = new byte[Math.min(dataSize, CONVERSION_BUFFER_SIZE)];
+                int targetPosition = 0;
+                for (int offset = 0; offset < dataSize; offset += buffer.length) {
+                    int length = Math.min(buffer.length, dataSize - offset);
+                    data.copyToArray(offset, buffer, 0, length);
+                    if (offset > 0) {
+                        targetData[targetPosition++] = ' ';
+                    }
+                    targetPosition = CodeAreaUtils.bytesToCharsCode(buffer, 0, length, codeType, targetData, targetPosition, 1, charactersCase);
                 }
                 return new String(targetData);
             }
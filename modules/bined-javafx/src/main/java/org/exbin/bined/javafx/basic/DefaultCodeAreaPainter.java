@@ -53,6 +53,8 @@ import org.exbin.bined.SelectionRange;
 import org.exbin.bined.basic.BasicBackgroundPaintMode;
 import org.exbin.bined.basic.BasicCodeAreaScrolling;
 import org.exbin.bined.basic.BasicCodeAreaStructure;
+import org.exbin.bined.basic.CodeAreaPaintMonitor;
+import org.exbin.bined.basic.CodeAreaPaintPhase;
 import org.exbin.bined.basic.CodeAreaScrollPosition;
 import org.exbin.bined.basic.MovementDirection;
 import org.exbin.bined.basic.ScrollBarVerticalScale;
@@ -75,6 +77,7 @@ import org.exbin.auxiliary.paged_data.BinaryData;
 import org.exbin.bined.CodeAreaCaretPosition;
 import org.exbin.bined.DataChangedListener;
 import org.exbin.bined.basic.BasicCodeAreaLayout;
+import org.exbin.bined.basic.PaintMonitorCapableCodeAreaPainter;
 import org.exbin.bined.basic.PositionScrollVisibility;
 
 /**
@@ -84,7 +87,7 @@ import org.exbin.bined.basic.PositionScrollVisibility;
  * @author ExBin Project (https://exbin.org)
  */
 @ParametersAreNonnullByDefault
-public class DefaultCodeAreaPainter implements CodeAreaPainter, BasicColorsCapableCodeAreaPainter {
+public class DefaultCodeAreaPainter implements CodeAreaPainter, BasicColorsCapableCodeAreaPainter, PaintMonitorCapableCodeAreaPainter {
 
     @Nonnull
     protected final CodeAreaCore codeArea;
@@ -124,6 +127,7 @@ public class DefaultCodeAreaPainter implements CodeAreaPainter, BasicColorsCapab
 
     @Nonnull
     private final BasicCodeAreaLayout layout = new BasicCodeAreaLayout();
+    private final CodeAreaPaintMonitor paintMonitor = new CodeAreaPaintMonitor();
     private BasicCodeAreaColorsProfile colorsProfile = new BasicCodeAreaColorsProfile();
 
     @Nullable
@@ -390,6 +394,12 @@ public class DefaultCodeAreaPainter implements CodeAreaPainter, BasicColorsCapab
         return initialized;
     }
 
+    @Nonnull
+    @Override
+    public CodeAreaPaintMonitor getPaintMonitor() {
+        return paintMonitor;
+    }
+
     @Override
     public void paintComponent() {
         headerCanvas.getGraphicsContext2D();
@@ -410,10 +420,16 @@ public class DefaultCodeAreaPainter implements CodeAreaPainter, BasicColorsCapab
 //        gc.setFill(Color.GREEN);
 //        gc.setStroke(Color.BLUE);
 //        gc.fillRect(0, 0, 50, 50);
+        paintMonitor.paintStarted();
         paintOutsideArea();
+        paintMonitor.phaseStarted(CodeAreaPaintPhase.HEADER);
         paintHeader();
+        paintMonitor.phaseFinished(CodeAreaPaintPhase.HEADER);
+        paintMonitor.phaseStarted(CodeAreaPaintPhase.ROW_POSITION);
         paintRowPosition();
+        paintMonitor.phaseFinished(CodeAreaPaintPhase.ROW_POSITION);
         paintMainArea();
+        paintMonitor.paintFinished();
 //        scrollPanel.paintComponents(g);
     }
 
@@ -644,7 +660,9 @@ public class DefaultCodeAreaPainter implements CodeAreaPainter, BasicColorsCapab
         int characterWidth = metrics.getCharacterWidth();
         double previewRelativeX = visibility.getPreviewRelativeX();
 
+        paintMonitor.phaseStarted(CodeAreaPaintPhase.BACKGROUND);
         paintBackground(g);
+        paintMonitor.phaseFinished(CodeAreaPaintPhase.BACKGROUND);
 
         // Decoration lines
         g.setStroke(colorsProfile.getDecorationLine());
@@ -654,9 +672,13 @@ public class DefaultCodeAreaPainter implements CodeAreaPainter, BasicColorsCapab
             g.lineTo(lineX, dataViewRectangle.getMinY() + dataViewRectangle.getHeight());
         }
 
+        paintMonitor.phaseStarted(CodeAreaPaintPhase.ROWS);
         paintRows(g);
+        paintMonitor.phaseFinished(CodeAreaPaintPhase.ROWS);
 //        g.setClip(clipBounds);
+        paintMonitor.phaseStarted(CodeAreaPaintPhase.CURSOR);
         paintCursor();
+        paintMonitor.phaseFinished(CodeAreaPaintPhase.CURSOR);
 
 //        paintDebugInfo(g);
     }
@@ -735,6 +757,7 @@ public class DefaultCodeAreaPainter implements CodeAreaPainter, BasicColorsCapab
     }
 
     private void prepareRowData(long dataPosition) {
+        paintMonitor.rowPrepared();
         int maxBytesPerChar = metrics.getMaxBytesPerChar();
         CodeAreaViewMode viewMode = structure.getViewMode();
         int bytesPerRow = structure.getBytesPerRow();
@@ -757,6 +780,7 @@ public class DefaultCodeAreaPainter implements CodeAreaPainter, BasicColorsCapab
                 throw new IllegalStateException("Missing data on nonzero data size");
             }
             data.copyToArray(dataPosition + rowStart, rowDataCache.rowData, rowStart, rowDataSize - rowStart);
+            paintMonitor.bytesFetched(rowDataSize - rowStart);
             if (dataSize - dataPosition < rowBytesLimit) {
                 rowBytesLimit = (int) (dataSize - dataPosition);
             }
@@ -768,10 +792,14 @@ public class DefaultCodeAreaPainter implements CodeAreaPainter, BasicColorsCapab
         if (viewMode != CodeAreaViewMode.TEXT_PREVIEW) {
             int skipToCode = visibility.getSkipToCode();
             int skipRestFromCode = visibility.getSkipRestFromCode();
+            int startCode = Math.max(skipToCode, rowStart);
             int endCode = Math.min(skipRestFromCode, rowBytesLimit);
-            for (int byteOnRow = Math.max(skipToCode, rowStart); byteOnRow < endCode; byteOnRow++) {
-                byte dataByte = rowDataCache.rowData[byteOnRow];
-                CodeAreaUtils.byteToCharsCode(dataByte, codeType, rowDataCache.rowCharacters, structure.computeFirstCodeCharacterPos(byteOnRow), codeCharactersCase);
+            if (startCode < endCode) {
+                int codeRowPos = structure.computeFirstCodeCharacterPos(startCode);
+                if (codeRowPos > 0) {
+                    rowDataCache.rowCharacters[codeRowPos - 1] = ' ';
+                }
+                CodeAreaUtils.bytesToCharsCode(rowDataCache.rowData, startCode, endCode - startCode, codeType, rowDataCache.rowCharacters, codeRowPos, 1, codeCharactersCase);
             }
             if (bytesPerRow > rowBytesLimit) {
                 Arrays.fill(rowDataCache.rowCharacters, structure.computeFirstCodeCharacterPos(rowBytesLimit), rowDataCache.rowCharacters.length, ' ');
@@ -1449,6 +1477,7 @@ public class DefaultCodeAreaPainter implements CodeAreaPainter, BasicColorsCapab
     }
 
     protected void drawShiftedChars(GraphicsContext g, char[] drawnChars, int charOffset, int length, double positionX, double positionY) {
+        paintMonitor.drawCalled();
         g.fillText(String.copyValueOf(drawnChars, charOffset, length), positionX, positionY);
     }
 
@@ -1514,6 +1543,7 @@ public class DefaultCodeAreaPainter implements CodeAreaPainter, BasicColorsCapab
      * Doesn't include character at offset end.
      */
     private void renderBackgroundSequence(GraphicsContext g, int startOffset, int endOffset, double rowPositionX, double positionY) {
+        paintMonitor.drawCalled();
         int characterWidth = metrics.getCharacterWidth();
         int rowHeight = metrics.getRowHeight();
         g.fillRect(rowPositionX + startOffset * characterWidth, positionY, (endOffset - startOffset) * characterWidth, rowHeight);
@@ -18,16 +18,19 @@ package org.exbin.bined.operation.swing;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.bined.CodeAreaUtils;
 import org.exbin.bined.DefaultCodeAreaCaretPosition;
+import org.exbin.bined.data.SnapshotCapableData;
 import org.exbin.bined.operation.BinaryDataOperation;
 import org.exbin.bined.operation.BinaryDataOperationException;
 import org.exbin.bined.swing.CodeAreaCore;
 import org.exbin.bined.CodeAreaCaretPosition;
+import org.exbin.auxiliary.paged_data.BinaryData;
 
 /**
  * Abstract class for operation on code area component.
  *
- * @version 0.2.0 2018/08/11
+ * @version 0.2.0 2026/10/17
  * @author ExBin Project (https://exbin.org)
  */
 @ParametersAreNonnullByDefault
@@ -37,6 +40,8 @@ public abstract class CodeAreaOperation implements BinaryDataOperation {
     protected final CodeAreaCore codeArea;
     @Nonnull
     protected final DefaultCodeAreaCaretPosition backPosition = new DefaultCodeAreaCaretPosition();
+    @Nullable
+    protected UndoPayloadStore payloadStore = null;
 
     public CodeAreaOperation(CodeAreaCore codeArea) {
         this(codeArea, null);
@@ -83,6 +88,38 @@ public abstract class CodeAreaOperation implements BinaryDataOperation {
         this.backPosition.setPosition(backPosition);
     }
 
+    @Nullable
+    public UndoPayloadStore getPayloadStore() {
+        return payloadStore;
+    }
+
+    /**
+     * Sets store for data of generated undo operations.
+     *
+     * @param payloadStore payload store or null for in-memory copies
+     */
+    public void setPayloadStore(@Nullable UndoPayloadStore payloadStore) {
+        this.payloadStore = payloadStore;
+    }
+
+    /**
+     * Creates copy of content data range for undo operation.
+     *
+     * Snapshot sharing storage with content is used if supported.
+     *
+     * @param startFrom start position
+     * @param length length of the range
+     * @return copy of the data
+     */
+    @Nonnull
+    protected BinaryData copyUndoData(long startFrom, long length) {
+        BinaryData contentData = CodeAreaUtils.requireNonNull(codeArea.getContentData());
+        if (contentData instanceof SnapshotCapableData) {
+            return ((SnapshotCapableData) contentData).createSnapshot(startFrom, length);
+        }
+        return payloadStore == null ? contentData.copy(startFrom, length) : payloadStore.store(contentData, startFrom, length);
+    }
+
     /**
      * Performs operation on given document.
      *
@@ -127,6 +164,18 @@ public abstract class CodeAreaOperation implements BinaryDataOperation {
     public void dispose() throws BinaryDataOperationException {
     }
 
+    /**
+     * Returns size of the memory held by operation.
+     *
+     * Default size is zero.
+     *
+     * @return size in bytes
+     */
+    @Override
+    public long getMemorySize() {
+        return 0;
+    }
+
     public enum ExecutionType {
         NORMAL, WITH_UNDO
     }
@@ -28,6 +28,7 @@ import java.nio.charset.Charset;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import org.exbin.bined.basic.BasicCodeAreaSection;
 import org.exbin.bined.CharsetStreamTranslator;
@@ -36,6 +37,7 @@ import org.exbin.bined.CodeAreaUtils;
 import org.exbin.bined.basic.CodeAreaViewMode;
 import org.exbin.bined.CodeCharactersCase;
 import org.exbin.bined.CodeType;
+import org.exbin.bined.DataChangedRange;
 import org.exbin.bined.EditationMode;
 import org.exbin.bined.EditationOperation;
 import org.exbin.bined.CaretOverlapMode;
@@ -53,6 +55,7 @@ import org.exbin.bined.capability.ScrollingCapable;
 import org.exbin.bined.capability.SelectionCapable;
 import org.exbin.bined.capability.ViewModeCapable;
 import org.exbin.bined.operation.BinaryDataOperationException;
+import org.exbin.bined.operation.BinaryDataReversibleCommand;
 import org.exbin.bined.operation.swing.command.CodeAreaCommand;
 import org.exbin.bined.operation.swing.command.CodeAreaCommandType;
 import org.exbin.bined.operation.swing.command.EditCharDataCommand;
@@ -65,6 +68,7 @@ import org.exbin.bined.operation.swing.command.RemoveDataCommand;
 import org.exbin.bined.operation.undo.BinaryDataUndoHandler;
 import org.exbin.bined.swing.CodeAreaCommandHandler;
 import org.exbin.bined.swing.CodeAreaCore;
+import org.exbin.bined.swing.CodeAreaSwingControl;
 import org.exbin.bined.swing.CodeAreaSwingUtils;
 import org.exbin.bined.swing.basic.DefaultCodeAreaCaret;
 import org.exbin.bined.swing.basic.DefaultCodeAreaCommandHandler;
@@ -80,7 +84,7 @@ import org.exbin.bined.basic.EnterKeyHandlingMode;
 /**
  * Command handler for undo/redo aware binary editor editing.
  *
- * @version 0.2.0 2021/04/02
+ * @version 0.2.0 2026/10/17
  * @author ExBin Project (https://exbin.org)
  */
 @ParametersAreNonnullByDefault
@@ -109,6 +113,8 @@ public class CodeAreaOperationCommandHandler implements CodeAreaCommandHandler {
 
     private final BinaryDataUndoHandler undoHandler;
     private EditDataCommand editCommand = null;
+    @Nullable
+    private UndoPayloadStore payloadStore = new UndoPayloadStore();
 
     public CodeAreaOperationCommandHandler(CodeAreaCore codeArea, BinaryDataUndoHandler undoHandler) {
         this.codeArea = codeArea;
@@ -326,7 +332,7 @@ public class CodeAreaOperationCommandHandler implements CodeAreaCommandHandler {
             DeleteSelectionCommand deleteSelectionCommand = null;
             if (codeArea.hasSelection()) {
                 long selectionStart = ((SelectionCapable) codeArea).getSelection().getFirst();
-                deleteSelectionCommand = new DeleteSelectionCommand(codeArea);
+                deleteSelectionCommand = new DeleteSelectionCommand(codeArea, payloadStore);
                 ((CaretCapable) codeArea).getCaret().setCaretPosition(selectionStart);
             }
 
@@ -345,6 +351,7 @@ public class CodeAreaOperationCommandHandler implements CodeAreaCommandHandler {
             }
 
             int codeOffset = ((CaretCapable) codeArea).getCaret().getCaretPosition().getCodeOffset();
+            long previousDataSize = codeArea.getDataSize();
             if (editationMode == EditationMode.EXPANDING && editationOperation == EditationOperation.OVERWRITE) {
                 if (editCommand == null
                         || !(editCommand instanceof EditCodeDataCommand)
@@ -388,7 +395,12 @@ public class CodeAreaOperationCommandHandler implements CodeAreaCommandHandler {
 
                 ((EditCodeDataCommand) editCommand).appendEdit((byte) value);
             }
-            codeArea.notifyDataChanged();
+            if (deleteSelectionCommand != null) {
+                codeArea.notifyDataChanged();
+            } else {
+                long removedLength = dataPosition < previousDataSize ? 1 : 0;
+                codeArea.notifyDataChanged(new DataChangedRange(dataPosition, removedLength, removedLength + codeArea.getDataSize() - previousDataSize));
+            }
             move(SelectingMode.NONE, MovementDirection.RIGHT);
             revealCursor();
         }
@@ -405,7 +417,7 @@ public class CodeAreaOperationCommandHandler implements CodeAreaCommandHandler {
             long dataPosition = ((CaretCapable) codeArea).getCaret().getCaretPosition().getDataPosition();
             DeleteSelectionCommand deleteCommand = null;
             if (codeArea.hasSelection()) {
-                deleteCommand = new DeleteSelectionCommand(codeArea);
+                deleteCommand = new DeleteSelectionCommand(codeArea, payloadStore);
             }
 
             if (editationMode == EditationMode.EXPANDING && editationOperation == EditationOperation.OVERWRITE) {
@@ -496,7 +508,7 @@ public class CodeAreaOperationCommandHandler implements CodeAreaCommandHandler {
 
     private void deleteAction(char keyChar) {
         if (codeArea.hasSelection()) {
-            DeleteSelectionCommand deleteSelectionCommand = new DeleteSelectionCommand(codeArea);
+            DeleteSelectionCommand deleteSelectionCommand = new DeleteSelectionCommand(codeArea, payloadStore);
             try {
                 undoHandler.execute(deleteSelectionCommand);
                 undoSequenceBreak();
@@ -511,6 +523,7 @@ public class CodeAreaOperationCommandHandler implements CodeAreaCommandHandler {
 
             DefaultCodeAreaCaret caret = (DefaultCodeAreaCaret) ((CaretCapable) codeArea).getCaret();
             long dataPosition = caret.getDataPosition();
+            long previousDataSize = codeArea.getDataSize();
             if (caret.getSection() == BasicCodeAreaSection.CODE_MATRIX) {
                 if (editCommand == null
                         || !(editCommand instanceof EditCodeDataCommand)
@@ -532,7 +545,11 @@ public class CodeAreaOperationCommandHandler implements CodeAreaCommandHandler {
 
                 ((EditCharDataCommand) editCommand).appendEdit(keyChar);
             }
-            codeArea.notifyDataChanged();
+            if (codeArea.getDataSize() == previousDataSize - 1) {
+                codeArea.notifyDataChanged(new DataChangedRange(keyChar == BACKSPACE_CHAR ? dataPosition - 1 : dataPosition, 1, 0));
+            } else {
+                codeArea.notifyDataChanged();
+            }
         }
     }
 
@@ -543,7 +560,7 @@ public class CodeAreaOperationCommandHandler implements CodeAreaCommandHandler {
         }
 
         try {
-            undoHandler.execute(new DeleteSelectionCommand(codeArea));
+            undoHandler.execute(new DeleteSelectionCommand(codeArea, payloadStore));
             undoSequenceBreak();
             codeArea.notifyDataChanged();
         } catch (BinaryDataOperationException ex) {
@@ -612,7 +629,7 @@ public class CodeAreaOperationCommandHandler implements CodeAreaCommandHandler {
             copy();
             if (editationMode == EditationMode.EXPANDING) {
                 try {
-                    undoHandler.execute(new DeleteSelectionCommand(codeArea));
+                    undoHandler.execute(new DeleteSelectionCommand(codeArea, payloadStore));
                     undoSequenceBreak();
                     codeArea.notifyDataChanged();
                 } catch (BinaryDataOperationException ex) {
@@ -636,20 +653,19 @@ public class CodeAreaOperationCommandHandler implements CodeAreaCommandHandler {
             return;
         }
 
+        // Selection is deleted as part of the paste command
         DeleteSelectionCommand deleteSelectionCommand = null;
         if (codeArea.hasSelection()) {
-            try {
-                deleteSelectionCommand = new DeleteSelectionCommand(codeArea);
-                deleteSelectionCommand.execute();
-                undoSequenceBreak();
-            } catch (BinaryDataOperationException ex) {
-                Logger.getLogger(CodeAreaOperationCommandHandler.class.getName()).log(Level.SEVERE, null, ex);
-            }
+            deleteSelectionCommand = new DeleteSelectionCommand(codeArea, payloadStore);
+            undoSequenceBreak();
         }
 
         EditationMode editationMode = ((EditationModeCapable) codeArea).getEditationMode();
         EditationOperation editationOperation = ((EditationModeCapable) codeArea).getActiveOperation();
         long dataSize = codeArea.getDataSize();
+        if (deleteSelectionCommand != null) {
+            dataSize -= deleteSelectionCommand.getSize();
+        }
         try {
             if (clipboard.isDataFlavorAvailable(binedDataFlavor)) {
                 try {
@@ -657,7 +673,7 @@ public class CodeAreaOperationCommandHandler implements CodeAreaCommandHandler {
                     if (clipboardObject instanceof BinaryData) {
                         BinaryData clipboardData = (BinaryData) clipboardObject;
                         DefaultCodeAreaCaret caret = (DefaultCodeAreaCaret) ((CaretCapable) codeArea).getCaret();
-                        long dataPosition = caret.getDataPosition();
+                        long dataPosition = deleteSelectionCommand != null ? deleteSelectionCommand.getPosition() : caret.getDataPosition();
 
                         CodeAreaCommand modifyCommand = null;
                         BinaryData insertedData = null;
@@ -673,7 +689,7 @@ public class CodeAreaOperationCommandHandler implements CodeAreaCommandHandler {
                                 modifiedData = clipboardData.copy();
                             }
                             if (replacedPartSize > 0) {
-                                modifyCommand = new ModifyDataCommand(codeArea, dataPosition, modifiedData);
+                                modifyCommand = createModifyCommand(dataPosition, modifiedData);
                                 if (clipDataSize > replacedPartSize) {
                                     insertedData = clipboardData.copy(replacedPartSize, clipDataSize - replacedPartSize);
                                     insertionPosition += replacedPartSize;
@@ -694,13 +710,7 @@ public class CodeAreaOperationCommandHandler implements CodeAreaCommandHandler {
                         CodeAreaCommand pasteCommand = BinaryCompoundCommand.buildCompoundCommand(codeArea, deleteSelectionCommand, modifyCommand, insertCommand);
                         if (pasteCommand != null) {
                             try {
-                                if (modifyCommand != null) {
-                                    modifyCommand.execute();
-                                }
-                                if (insertCommand != null) {
-                                    insertCommand.execute();
-                                }
-                                undoHandler.addCommand(pasteCommand);
+                                undoHandler.execute(pasteCommand);
                             } catch (BinaryDataOperationException ex) {
                                 Logger.getLogger(CodeAreaOperationCommandHandler.class.getName()).log(Level.SEVERE, null, ex);
                             }
@@ -720,7 +730,7 @@ public class CodeAreaOperationCommandHandler implements CodeAreaCommandHandler {
                 try {
                     clipboardData = (InputStream) clipboard.getData(DataFlavor.getTextPlainUnicodeFlavor());
                     DefaultCodeAreaCaret caret = (DefaultCodeAreaCaret) ((CaretCapable) codeArea).getCaret();
-                    long dataPosition = caret.getDataPosition();
+                    long dataPosition = deleteSelectionCommand != null ? deleteSelectionCommand.getPosition() : caret.getDataPosition();
 
                     CodeAreaCommand modifyCommand = null;
                     DataFlavor textPlainUnicodeFlavor = DataFlavor.getTextPlainUnicodeFlavor();
@@ -742,7 +752,7 @@ public class CodeAreaOperationCommandHandler implements CodeAreaCommandHandler {
                             modifiedData = insertedData.copy();
                         }
                         if (replacedPartSize > 0) {
-                            modifyCommand = new ModifyDataCommand(codeArea, dataPosition, modifiedData);
+                            modifyCommand = createModifyCommand(dataPosition, modifiedData);
                             if (clipDataSize > replacedPartSize) {
                                 insertedData = insertedData.copy(replacedPartSize, clipDataSize - replacedPartSize);
                                 insertionPosition += replacedPartSize;
@@ -759,13 +769,7 @@ public class CodeAreaOperationCommandHandler implements CodeAreaCommandHandler {
 
                     CodeAreaCommand pasteCommand = BinaryCompoundCommand.buildCompoundCommand(codeArea, deleteSelectionCommand, modifyCommand, insertCommand);
                     try {
-                        if (modifyCommand != null) {
-                            modifyCommand.execute();
-                        }
-                        if (insertCommand != null) {
-                            insertCommand.execute();
-                        }
-                        undoHandler.addCommand(pasteCommand);
+                        undoHandler.execute(pasteCommand);
                     } catch (BinaryDataOperationException ex) {
                         Logger.getLogger(CodeAreaOperationCommandHandler.class.getName()).log(Level.SEVERE, null, ex);
                     }
@@ -794,22 +798,21 @@ public class CodeAreaOperationCommandHandler implements CodeAreaCommandHandler {
             if (clipboard.isDataFlavorAvailable(binedDataFlavor)) {
                 paste();
             } else if (clipboard.isDataFlavorAvailable(DataFlavor.getTextPlainUnicodeFlavor())) {
+                // Selection is deleted as part of the paste command
                 DeleteSelectionCommand deleteSelectionCommand = null;
                 if (codeArea.hasSelection()) {
-                    try {
-                        deleteSelectionCommand = new DeleteSelectionCommand(codeArea);
-                        deleteSelectionCommand.execute();
-                    } catch (BinaryDataOperationException ex) {
-                        Logger.getLogger(CodeAreaOperationCommandHandler.class.getName()).log(Level.SEVERE, null, ex);
-                    }
+                    deleteSelectionCommand = new DeleteSelectionCommand(codeArea, payloadStore);
                 }
 
                 long dataSize = codeArea.getDataSize();
+                if (deleteSelectionCommand != null) {
+                    dataSize -= deleteSelectionCommand.getSize();
+                }
                 InputStream insertedData;
                 try {
                     insertedData = (InputStream) clipboard.getData(DataFlavor.getTextPlainUnicodeFlavor());
                     CodeAreaCaret caret = ((CaretCapable) codeArea).getCaret();
-                    long dataPosition = caret.getCaretPosition().getDataPosition();
+                    long dataPosition = deleteSelectionCommand != null ? deleteSelectionCommand.getPosition() : caret.getCaretPosition().getDataPosition();
 
                     CodeAreaCommand modifyCommand = null;
                     CodeType codeType = ((CodeTypeCapable) codeArea).getCodeType();
@@ -883,7 +886,7 @@ public class CodeAreaOperationCommandHandler implements CodeAreaCommandHandler {
                         modifiedData = pastedData.copy(0, replacedPartSize);
                     }
                     if (replacedPartSize > 0) {
-                        modifyCommand = new ModifyDataCommand(codeArea, dataPosition, modifiedData);
+                        modifyCommand = createModifyCommand(dataPosition, modifiedData);
                         if (pastedDataSize > replacedPartSize) {
                             pastedData = pastedData.copy(replacedPartSize, pastedDataSize - replacedPartSize);
                             insertionPosition += replacedPartSize;
@@ -899,13 +902,7 @@ public class CodeAreaOperationCommandHandler implements CodeAreaCommandHandler {
 
                     CodeAreaCommand pasteCommand = BinaryCompoundCommand.buildCompoundCommand(codeArea, deleteSelectionCommand, modifyCommand, insertCommand);
                     try {
-                        if (modifyCommand != null) {
-                            modifyCommand.execute();
-                        }
-                        if (insertCommand != null) {
-                            insertCommand.execute();
-                        }
-                        undoHandler.addCommand(pasteCommand);
+                        undoHandler.execute(pasteCommand);
                     } catch (BinaryDataOperationException ex) {
                         Logger.getLogger(CodeAreaOperationCommandHandler.class.getName()).log(Level.SEVERE, null, ex);
                     }
@@ -961,7 +958,7 @@ public class CodeAreaOperationCommandHandler implements CodeAreaCommandHandler {
 
         notifyCaretMoved();
         undoSequenceBreak();
-        codeArea.repaint();
+        repaintCursor();
     }
 
     public void move(SelectingMode selectingMode, MovementDirection direction) {
@@ -980,7 +977,6 @@ public class CodeAreaOperationCommandHandler implements CodeAreaCommandHandler {
         CodeAreaScrollPosition scrollPosition = ((ScrollingCapable) codeArea).computeScrolling(sourcePosition, direction);
         if (!sourcePosition.equals(scrollPosition)) {
             ((ScrollingCapable) codeArea).setScrollPosition(scrollPosition);
-            codeArea.resetPainter();
             notifyScrolled();
             updateScrollBars();
         }
@@ -999,23 +995,39 @@ public class CodeAreaOperationCommandHandler implements CodeAreaCommandHandler {
         }
     }
 
+    @Nonnull
+    private ModifyDataCommand createModifyCommand(long position, BinaryData data) {
+        ModifyDataCommand modifyCommand = new ModifyDataCommand(codeArea, position, data);
+        modifyCommand.setPayloadStore(payloadStore);
+        return modifyCommand;
+    }
+
     private boolean isAppendAllowed() {
         return undoHandler.getCommandPosition() != undoHandler.getSyncPoint();
     }
 
     @ParametersAreNonnullByDefault
-    private static class DeleteSelectionCommand extends CodeAreaCommand {
+    private static class DeleteSelectionCommand extends CodeAreaCommand implements BinaryDataReversibleCommand {
 
         private final RemoveDataCommand removeCommand;
         private final long position;
         private final long size;
 
-        public DeleteSelectionCommand(CodeAreaCore coreArea) {
+        public DeleteSelectionCommand(CodeAreaCore coreArea, @Nullable UndoPayloadStore payloadStore) {
             super(coreArea);
             SelectionRange selection = ((SelectionCapable) coreArea).getSelection();
             position = selection.getFirst();
             size = selection.getLast() - position + 1;
             removeCommand = new RemoveDataCommand(coreArea, position, 0, size);
+            removeCommand.setPayloadStore(payloadStore);
+        }
+
+        public long getPosition() {
+            return position;
+        }
+
+        public long getSize() {
+            return size;
         }
 
         @Override
@@ -1055,6 +1067,41 @@ public class CodeAreaOperationCommandHandler implements CodeAreaCommandHandler {
         public boolean canUndo() {
             return true;
         }
+
+        @Override
+        public boolean isReversible() {
+            return removeCommand.isReversible();
+        }
+
+        @Override
+        public void setPerformed(boolean performed, boolean updateData) throws BinaryDataOperationException {
+            removeCommand.setPerformed(performed, updateData);
+        }
+
+        @Override
+        public long getMemorySize() {
+            return removeCommand.getMemorySize();
+        }
+
+        @Override
+        public void dispose() throws BinaryDataOperationException {
+            super.dispose();
+            removeCommand.dispose();
+        }
+    }
+
+    @Nullable
+    public UndoPayloadStore getPayloadStore() {
+        return payloadStore;
+    }
+
+    /**
+     * Sets store for data held by undo commands.
+     *
+     * @param payloadStore payload store or null to keep all data in memory
+     */
+    public void setPayloadStore(@Nullable UndoPayloadStore payloadStore) {
+        this.payloadStore = payloadStore;
     }
 
     @Nonnull
@@ -1081,7 +1128,15 @@ public class CodeAreaOperationCommandHandler implements CodeAreaCommandHandler {
 
     private void revealCursor() {
         ((ScrollingCapable) codeArea).revealCursor();
-        codeArea.repaint();
+        repaintCursor();
+    }
+
+    private void repaintCursor() {
+        if (codeArea instanceof CodeAreaSwingControl) {
+            ((CodeAreaSwingControl) codeArea).repaintCursor();
+        } else {
+            codeArea.repaint();
+        }
     }
 
     private void notifyCaretMoved() {
@@ -20,10 +20,15 @@ import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.paged_data.BinaryData;
+import org.exbin.bined.CodeAreaCaret;
 import org.exbin.bined.capability.CaretCapable;
+import org.exbin.bined.data.SnapshotCapableData;
 import org.exbin.bined.operation.BinaryDataCommand;
 import org.exbin.bined.operation.BinaryDataOperationException;
+import org.exbin.bined.operation.BinaryDataReversibleCommand;
 import org.exbin.bined.operation.undo.BinaryDataUndoHandler;
 import org.exbin.bined.operation.undo.BinaryDataUndoUpdateListener;
 import org.exbin.bined.swing.CodeAreaCore;
@@ -31,18 +36,39 @@ import org.exbin.bined.swing.CodeAreaCore;
 /**
  * Undo handler for hexadecimal editor.
  *
- * @version 0.2.0 2018/08/11
+ * Maximum count of commands and maximum memory size held by commands are
+ * enforced by disposing the oldest commands.
+ *
+ * For snapshot capable content, snapshots of the whole content are kept as
+ * checkpoints at least every checkpoint interval commands. Jump over multiple
+ * commands restores the nearest checkpoint and replays only the remaining
+ * commands. Last added command might still grow by appended edits, so it is
+ * closed and its checkpoint is taken before the next command changes data or
+ * when it is undone. Count of checkpoints is limited, as snapshots keep
+ * replaced data alive.
+ * Content modified outside of this handler requires call of
+ * {@link #clear()}.
+ *
+ * @version 0.2.0 2026/10/17
  * @author ExBin Project (https://exbin.org)
  */
 @ParametersAreNonnullByDefault
 public class CodeAreaUndoHandler implements BinaryDataUndoHandler {
 
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 64;
+    public static final int DEFAULT_MAXIMUM_CHECKPOINTS = 16;
+
     private long undoMaximumCount;
     private long undoMaximumSize;
     private long usedSize;
     private long commandPosition;
     private long syncPointPosition = -1;
-    private final List<BinaryDataCommand> commands = new ArrayList<>();
+    private int checkpointInterval = DEFAULT_CHECKPOINT_INTERVAL;
+    private int maximumCheckpoints = DEFAULT_MAXIMUM_CHECKPOINTS;
+    private boolean lastCommandOpen;
+    private long restoredCheckpointsCount;
+    private final UndoCommandRing commands = new UndoCommandRing();
+    private final List<ContentCheckpoint> checkpoints = new ArrayList<>();
     private final CodeAreaCore codeArea;
     private final List<BinaryDataUndoUpdateListener> listeners = new ArrayList<>();
 
@@ -54,13 +80,14 @@ public class CodeAreaUndoHandler implements BinaryDataUndoHandler {
     public CodeAreaUndoHandler(CodeAreaCore codeArea) {
         this.codeArea = codeArea;
         undoMaximumCount = 1024;
-        undoMaximumSize = 65535;
+        undoMaximumSize = 64 * 1024 * 1024;
         init();
     }
 
     private void init() {
         usedSize = 0;
         commandPosition = 0;
+        lastCommandOpen = false;
         setSyncPoint(0);
     }
 
@@ -72,29 +99,49 @@ public class CodeAreaUndoHandler implements BinaryDataUndoHandler {
      */
     @Override
     public void execute(BinaryDataCommand command) throws BinaryDataOperationException {
+        prepareCommand();
         command.execute();
         commandAdded(command);
     }
 
     @Override
     public void addCommand(BinaryDataCommand command) {
+        try {
+            prepareCommand();
+        } catch (BinaryDataOperationException ex) {
+            Logger.getLogger(CodeAreaUndoHandler.class.getName()).log(Level.SEVERE, null, ex);
+        }
         command.use();
         commandAdded(command);
     }
 
+    /**
+     * Closes previous command and takes checkpoint for current position
+     * before new command changes data.
+     *
+     * @throws BinaryDataOperationException for operation handling issues
+     */
+    private void prepareCommand() throws BinaryDataOperationException {
+        closeLastCommand();
+        updateCheckpoints();
+    }
+
     private void commandAdded(BinaryDataCommand addedCommand) {
-        // TODO: Check for undoOperationsMaximumCount & size
         while (commands.size() > commandPosition) {
-            BinaryDataCommand command = commands.get((int) commandPosition);
-            try {
-                command.dispose();
-            } catch (BinaryDataOperationException ex) {
-                Logger.getLogger(CodeAreaUndoHandler.class.getName()).log(Level.SEVERE, null, ex);
-            }
-            commands.remove(command);
+            usedSize -= commands.getMemorySize(commands.size() - 1);
+            disposeCommand(commands.removeLast());
+        }
+        if (syncPointPosition > commandPosition) {
+            syncPointPosition = -1;
         }
-        commands.add(addedCommand);
+        removeCheckpoints(commandPosition + 1);
+
+        long memorySize = addedCommand.getMemorySize();
+        commands.addLast(addedCommand, memorySize);
+        usedSize += memorySize;
         commandPosition++;
+        lastCommandOpen = true;
+        enforceLimits();
 
         undoUpdated();
         listeners.forEach((listener) -> {
@@ -109,7 +156,9 @@ public class CodeAreaUndoHandler implements BinaryDataUndoHandler {
      */
     @Override
     public void performUndo() throws BinaryDataOperationException {
+        closeLastCommand();
         performUndoInt();
+        updateCheckpoints();
         undoUpdated();
     }
 
@@ -117,6 +166,7 @@ public class CodeAreaUndoHandler implements BinaryDataUndoHandler {
         commandPosition--;
         BinaryDataCommand command = commands.get((int) commandPosition);
         command.undo();
+        updateMemorySize(commandPosition);
     }
 
     /**
@@ -127,12 +177,14 @@ public class CodeAreaUndoHandler implements BinaryDataUndoHandler {
     @Override
     public void performRedo() throws BinaryDataOperationException {
         performRedoInt();
+        updateCheckpoints();
         undoUpdated();
     }
 
     private void performRedoInt() throws BinaryDataOperationException {
         BinaryDataCommand command = commands.get((int) commandPosition);
         command.redo();
+        updateMemorySize(commandPosition);
         commandPosition++;
     }
 
@@ -147,11 +199,7 @@ public class CodeAreaUndoHandler implements BinaryDataUndoHandler {
         if (commandPosition < count) {
             throw new IllegalArgumentException("Unable to perform " + count + " undo steps");
         }
-        while (count > 0) {
-            performUndoInt();
-            count--;
-        }
-        undoUpdated();
+        changePosition(commandPosition - count);
     }
 
     /**
@@ -165,24 +213,18 @@ public class CodeAreaUndoHandler implements BinaryDataUndoHandler {
         if (commands.size() - commandPosition < count) {
             throw new IllegalArgumentException("Unable to perform " + count + " redo steps");
         }
-        while (count > 0) {
-            performRedoInt();
-            count--;
-        }
-        undoUpdated();
+        changePosition(commandPosition + count);
     }
 
     @Override
     public void clear() {
-        commands.forEach((command) -> {
-            try {
-                command.dispose();
-            } catch (BinaryDataOperationException ex) {
-                Logger.getLogger(CodeAreaUndoHandler.class.getName()).log(Level.SEVERE, null, ex);
-            }
-        });
+        for (int index = 0; index < commands.size(); index++) {
+            disposeCommand(commands.get(index));
+        }
         commands.clear();
+        removeCheckpoints(0);
         init();
+        updateCheckpoints();
         undoUpdated();
     }
 
@@ -206,6 +248,15 @@ public class CodeAreaUndoHandler implements BinaryDataUndoHandler {
         return commandPosition;
     }
 
+    /**
+     * Returns count of checkpoints restored since creation of the handler.
+     *
+     * @return count of restored checkpoints
+     */
+    long getRestoredCheckpointsCount() {
+        return restoredCheckpointsCount;
+    }
+
     /**
      * Performs revert to sync point.
      *
@@ -218,6 +269,42 @@ public class CodeAreaUndoHandler implements BinaryDataUndoHandler {
 
     public void setUndoMaxCount(long maxUndo) {
         this.undoMaximumCount = maxUndo;
+        if (enforceLimits()) {
+            undoUpdated();
+        }
+    }
+
+    public int getCheckpointInterval() {
+        return checkpointInterval;
+    }
+
+    /**
+     * Sets minimal count of commands between content checkpoints.
+     *
+     * @param checkpointInterval count of commands or zero to disable
+     * checkpoints
+     */
+    public void setCheckpointInterval(int checkpointInterval) {
+        this.checkpointInterval = checkpointInterval;
+        if (checkpointInterval <= 0) {
+            removeCheckpoints(0);
+        }
+    }
+
+    public int getMaximumCheckpoints() {
+        return maximumCheckpoints;
+    }
+
+    /**
+     * Sets maximum count of content checkpoints.
+     *
+     * @param maximumCheckpoints maximum count of checkpoints
+     */
+    public void setMaximumCheckpoints(int maximumCheckpoints) {
+        this.maximumCheckpoints = maximumCheckpoints;
+        while (checkpoints.size() > Math.max(0, maximumCheckpoints)) {
+            removeFarthestCheckpoint();
+        }
     }
 
     @Override
@@ -227,10 +314,14 @@ public class CodeAreaUndoHandler implements BinaryDataUndoHandler {
 
     public void setUndoMaximumSize(long maxSize) {
         this.undoMaximumSize = maxSize;
+        if (enforceLimits()) {
+            undoUpdated();
+        }
     }
 
     @Override
     public long getUsedSize() {
+        updateMemorySize(commandPosition - 1);
         return usedSize;
     }
 
@@ -252,7 +343,7 @@ public class CodeAreaUndoHandler implements BinaryDataUndoHandler {
     @Nonnull
     @Override
     public List<BinaryDataCommand> getCommandList() {
-        return commands;
+        return commands.asList();
     }
 
     /**
@@ -270,6 +361,213 @@ public class CodeAreaUndoHandler implements BinaryDataUndoHandler {
         }
     }
 
+    /**
+     * Disposes the oldest commands while count or memory limits are exceeded.
+     *
+     * The most recent undo step is always kept.
+     *
+     * @return true if any command was disposed
+     */
+    private boolean enforceLimits() {
+        boolean evicted = false;
+        while (commandPosition > 1 && (commands.size() > undoMaximumCount || usedSize > undoMaximumSize)) {
+            usedSize -= commands.getMemorySize(0);
+            disposeCommand(commands.removeFirst());
+            commandPosition--;
+            if (syncPointPosition > 0) {
+                syncPointPosition--;
+            } else if (syncPointPosition == 0) {
+                // State of the sync point is no longer reachable
+                syncPointPosition = -1;
+            }
+            for (int index = checkpoints.size() - 1; index >= 0; index--) {
+                ContentCheckpoint checkpoint = checkpoints.get(index);
+                if (checkpoint.position == 0) {
+                    checkpoints.remove(index).snapshot.dispose();
+                } else {
+                    checkpoint.position--;
+                }
+            }
+            evicted = true;
+        }
+        return evicted;
+    }
+
+    /**
+     * Moves to given command position with single notification.
+     *
+     * Nearest checkpoint is restored if it reduces count of replayed commands
+     * and all skipped commands are reversible.
+     *
+     * @param targetPosition target command position
+     * @throws BinaryDataOperationException for operation handling issues
+     */
+    private void changePosition(long targetPosition) throws BinaryDataOperationException {
+        if (targetPosition < commandPosition) {
+            closeLastCommand();
+        }
+        ContentCheckpoint checkpoint = findCheckpoint(targetPosition);
+        boolean restored = false;
+        if (checkpoint != null && Math.abs(targetPosition - checkpoint.position) < Math.abs(targetPosition - commandPosition)
+                && isReversible(Math.min(checkpoint.position, commandPosition), Math.max(checkpoint.position, commandPosition))) {
+            restoreCheckpoint(checkpoint);
+            restored = true;
+        }
+
+        while (commandPosition > targetPosition) {
+            commandPosition--;
+            switchCommand(commandPosition, false);
+            updateCheckpoints();
+        }
+        while (commandPosition < targetPosition) {
+            switchCommand(commandPosition, true);
+            commandPosition++;
+            updateCheckpoints();
+        }
+
+        if (restored) {
+            CodeAreaCaret caret = ((CaretCapable) codeArea).getCaret();
+            long dataSize = codeArea.getDataSize();
+            if (caret.getCaretPosition().getDataPosition() > dataSize) {
+                caret.setCaretPosition(dataSize);
+            }
+        }
+        undoUpdated();
+    }
+
+    private void switchCommand(long position, boolean performed) throws BinaryDataOperationException {
+        BinaryDataCommand command = commands.get((int) position);
+        if (command instanceof BinaryDataReversibleCommand) {
+            ((BinaryDataReversibleCommand) command).setPerformed(performed, true);
+        } else if (performed) {
+            command.redo();
+        } else {
+            command.undo();
+        }
+        updateMemorySize(position);
+    }
+
+    private boolean isReversible(long startPosition, long endPosition) {
+        for (long position = startPosition; position < endPosition; position++) {
+            BinaryDataCommand command = commands.get((int) position);
+            if (!(command instanceof BinaryDataReversibleCommand) || !((BinaryDataReversibleCommand) command).isReversible()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void restoreCheckpoint(ContentCheckpoint checkpoint) throws BinaryDataOperationException {
+        long startPosition = Math.min(checkpoint.position, commandPosition);
+        long endPosition = Math.max(checkpoint.position, commandPosition);
+        for (long position = startPosition; position < endPosition; position++) {
+            ((BinaryDataReversibleCommand) commands.get((int) position)).setPerformed(position < checkpoint.position, false);
+        }
+
+        SnapshotCapableData contentData = checkpoint.contentData;
+        contentData.clear();
+        contentData.insert(0, checkpoint.snapshot);
+        commandPosition = checkpoint.position;
+        restoredCheckpointsCount++;
+    }
+
+    @Nullable
+    private ContentCheckpoint findCheckpoint(long position) {
+        BinaryData contentData = codeArea.getContentData();
+        ContentCheckpoint nearest = null;
+        for (ContentCheckpoint checkpoint : checkpoints) {
+            if (checkpoint.contentData == contentData && (nearest == null || Math.abs(position - checkpoint.position) < Math.abs(position - nearest.position))) {
+                nearest = checkpoint;
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * Closes last added command before next command is added or its position
+     * is left.
+     *
+     * Command cannot grow after it is closed, so its checkpoint can be taken
+     * now.
+     *
+     * @throws BinaryDataOperationException for operation handling issues
+     */
+    private void closeLastCommand() throws BinaryDataOperationException {
+        if (lastCommandOpen && commandPosition == commands.size()) {
+            lastCommandOpen = false;
+            BinaryDataCommand command = commands.get((int) commandPosition - 1);
+            if (command instanceof BinaryDataReversibleCommand) {
+                ((BinaryDataReversibleCommand) command).closeEdits();
+            }
+            updateMemorySize(commandPosition - 1);
+            updateCheckpoints();
+        }
+    }
+
+    /**
+     * Creates checkpoint for current position if there is no checkpoint within
+     * checkpoint interval.
+     */
+    private void updateCheckpoints() {
+        BinaryData contentData = codeArea.getContentData();
+        if (checkpointInterval <= 0 || maximumCheckpoints <= 0 || !(contentData instanceof SnapshotCapableData)) {
+            return;
+        }
+        if (lastCommandOpen && commandPosition == commands.size()) {
+            // Last command might still grow by appended edits
+            return;
+        }
+
+        for (int index = checkpoints.size() - 1; index >= 0; index--) {
+            ContentCheckpoint checkpoint = checkpoints.get(index);
+            if (checkpoint.contentData != contentData) {
+                // Content data was replaced
+                checkpoints.remove(index).snapshot.dispose();
+            } else if (Math.abs(checkpoint.position - commandPosition) < checkpointInterval) {
+                return;
+            }
+        }
+
+        while (checkpoints.size() >= maximumCheckpoints) {
+            removeFarthestCheckpoint();
+        }
+        SnapshotCapableData snapshotData = (SnapshotCapableData) contentData;
+        checkpoints.add(new ContentCheckpoint(commandPosition, snapshotData, snapshotData.createSnapshot(0, snapshotData.getDataSize())));
+    }
+
+    private void removeFarthestCheckpoint() {
+        int farthestIndex = 0;
+        for (int index = 1; index < checkpoints.size(); index++) {
+            if (Math.abs(checkpoints.get(index).position - commandPosition) > Math.abs(checkpoints.get(farthestIndex).position - commandPosition)) {
+                farthestIndex = index;
+            }
+        }
+        checkpoints.remove(farthestIndex).snapshot.dispose();
+    }
+
+    private void removeCheckpoints(long fromPosition) {
+        for (int index = checkpoints.size() - 1; index >= 0; index--) {
+            if (checkpoints.get(index).position >= fromPosition) {
+                checkpoints.remove(index).snapshot.dispose();
+            }
+        }
+    }
+
+    private void updateMemorySize(long position) {
+        if (position >= 0 && position < commands.size()) {
+            int index = (int) position;
+            usedSize += commands.setMemorySize(index, commands.get(index).getMemorySize());
+        }
+    }
+
+    private static void disposeCommand(BinaryDataCommand command) {
+        try {
+            command.dispose();
+        } catch (BinaryDataOperationException ex) {
+            Logger.getLogger(CodeAreaUndoHandler.class.getName()).log(Level.SEVERE, null, ex);
+        }
+    }
+
     private void undoUpdated() {
         codeArea.notifyDataChanged();
         ((CaretCapable) codeArea).notifyCaretMoved();
@@ -287,4 +585,20 @@ public class CodeAreaUndoHandler implements BinaryDataUndoHandler {
     public void removeUndoUpdateListener(BinaryDataUndoUpdateListener listener) {
         listeners.remove(listener);
     }
+
+    /**
+     * Snapshot of the content data for command position.
+     */
+    private static class ContentCheckpoint {
+
+        private long position;
+        private final SnapshotCapableData contentData;
+        private final BinaryData snapshot;
+
+        public ContentCheckpoint(long position, SnapshotCapableData contentData, BinaryData snapshot) {
+            this.position = position;
+            this.contentData = contentData;
+            this.snapshot = snapshot;
+        }
+    }
 }
@@ -103,6 +103,11 @@ public class DeleteCharEditDataOperation extends CharEditDataOperation {
         return position;
     }
 
+    @Override
+    public long getMemorySize() {
+        return undoData == null ? 0 : undoData.getDataSize();
+    }
+
     @Override
     public void dispose() throws BinaryDataOperationException {
         super.dispose();
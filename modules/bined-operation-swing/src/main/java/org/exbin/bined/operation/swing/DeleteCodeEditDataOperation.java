@@ -123,6 +123,11 @@ public class DeleteCodeEditDataOperation extends CodeEditDataOperation {
         return position;
     }
 
+    @Override
+    public long getMemorySize() {
+        return undoData == null ? 0 : undoData.getDataSize();
+    }
+
     @Override
     public void dispose() throws BinaryDataOperationException {
         super.dispose();
@@ -219,6 +219,11 @@ public class InsertCodeEditDataOperation extends CodeEditDataOperation {
         return length;
     }
 
+    @Override
+    public long getMemorySize() {
+        return trailingValue == null ? 0 : trailingValue.getDataSize();
+    }
+
     @Override
     public void dispose() throws BinaryDataOperationException {
         super.dispose();
@@ -26,7 +26,7 @@ import org.exbin.auxiliary.paged_data.EditableBinaryData;
 /**
  * Operation for inserting data.
  *
- * @version 0.1.2 2017/01/02
+ * @version 0.2.0 2026/10/17
  * @author ExBin Project (https://exbin.org)
  */
 @ParametersAreNonnullByDefault
@@ -34,9 +34,9 @@ public class InsertDataOperation extends CodeAreaOperation {
 
     private final long position;
     private final int codeOffset;
-    private final EditableBinaryData data;
+    private final BinaryData data;
 
-    public InsertDataOperation(CodeAreaCore codeArea, long position, int codeOffset, EditableBinaryData data) {
+    public InsertDataOperation(CodeAreaCore codeArea, long position, int codeOffset, BinaryData data) {
         super(codeArea);
         this.position = position;
         this.codeOffset = codeOffset;
@@ -64,13 +64,19 @@ public class InsertDataOperation extends CodeAreaOperation {
         ((EditableBinaryData) codeArea.getContentData()).insert(position, data);
         if (withUndo) {
             undoOperation = new RemoveDataOperation(codeArea, position, codeOffset, data.getDataSize());
+            undoOperation.setPayloadStore(payloadStore);
         }
         ((CaretCapable) codeArea).getCaret().setCaretPosition(position + data.getDataSize(), codeOffset);
         return undoOperation;
     }
 
     public void appendData(BinaryData appendData) {
-        data.insert(data.getDataSize(), appendData);
+        ((EditableBinaryData) data).insert(data.getDataSize(), appendData);
+    }
+
+    @Override
+    public long getMemorySize() {
+        return UndoPayloadStore.getMemorySize(data);
     }
 
     @Override
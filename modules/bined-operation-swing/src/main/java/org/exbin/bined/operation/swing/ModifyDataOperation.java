@@ -25,7 +25,7 @@ import org.exbin.auxiliary.paged_data.EditableBinaryData;
 /**
  * Operation for modifying data.
  *
- * @version 0.1.2 2017/01/02
+ * @version 0.2.0 2026/10/17
  * @author ExBin Project (https://exbin.org)
  */
 @ParametersAreNonnullByDefault
@@ -59,8 +59,9 @@ public class ModifyDataOperation extends CodeAreaOperation {
     private CodeAreaOperation execute(boolean withUndo) {
         CodeAreaOperation undoOperation = null;
         if (withUndo) {
-            BinaryData undoData = codeArea.getContentData().copy(position, data.getDataSize());
+            BinaryData undoData = copyUndoData(position, data.getDataSize());
             undoOperation = new ModifyDataOperation(codeArea, position, undoData);
+            undoOperation.setPayloadStore(payloadStore);
         }
         ((EditableBinaryData) codeArea.getContentData()).replace(position, data);
         return undoOperation;
@@ -70,6 +71,11 @@ public class ModifyDataOperation extends CodeAreaOperation {
         ((EditableBinaryData) data).insert(data.getDataSize(), appendData);
     }
 
+    @Override
+    public long getMemorySize() {
+        return UndoPayloadStore.getMemorySize(data);
+    }
+
     @Override
     public void dispose() throws BinaryDataOperationException {
         super.dispose();
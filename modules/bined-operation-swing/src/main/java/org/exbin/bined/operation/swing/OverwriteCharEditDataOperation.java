@@ -130,6 +130,11 @@ public class OverwriteCharEditDataOperation extends CharEditDataOperation {
         return length;
     }
 
+    @Override
+    public long getMemorySize() {
+        return undoData == null ? 0 : undoData.getDataSize();
+    }
+
     @Override
     public void dispose() throws BinaryDataOperationException {
         super.dispose();
@@ -148,6 +148,11 @@ public class OverwriteCodeEditDataOperation extends CodeEditDataOperation {
         return length;
     }
 
+    @Override
+    public long getMemorySize() {
+        return undoData == null ? 0 : undoData.getDataSize();
+    }
+
     @Override
     public void dispose() throws BinaryDataOperationException {
         super.dispose();
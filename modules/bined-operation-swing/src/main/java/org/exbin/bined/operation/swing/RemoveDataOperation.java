@@ -22,12 +22,13 @@ import org.exbin.bined.CodeAreaUtils;
 import org.exbin.bined.capability.CaretCapable;
 import org.exbin.bined.operation.BinaryDataOperationException;
 import org.exbin.bined.swing.CodeAreaCore;
+import org.exbin.auxiliary.paged_data.BinaryData;
 import org.exbin.auxiliary.paged_data.EditableBinaryData;
 
 /**
  * Operation for deleting child block.
  *
- * @version 0.2.0 2018/02/14
+ * @version 0.2.0 2026/10/17
  * @author ExBin Project (https://exbin.org)
  */
 @ParametersAreNonnullByDefault
@@ -64,8 +65,9 @@ public class RemoveDataOperation extends CodeAreaOperation {
         EditableBinaryData contentData = CodeAreaUtils.requireNonNull((EditableBinaryData) codeArea.getContentData());
         CodeAreaOperation undoOperation = null;
         if (withUndo) {
-            EditableBinaryData undoData = (EditableBinaryData) contentData.copy(position, length);
+            BinaryData undoData = copyUndoData(position, length);
             undoOperation = new InsertDataOperation(codeArea, position, codeOffset, undoData);
+            undoOperation.setPayloadStore(payloadStore);
         }
         contentData.remove(position, length);
         ((CaretCapable) codeArea).getCaret().setCaretPosition(position, codeOffset);
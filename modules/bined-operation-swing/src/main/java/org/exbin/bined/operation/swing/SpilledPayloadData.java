@@ -0,0 +1,212 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.operation.swing;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.paged_data.BinaryData;
+
+/**
+ * Read-only binary data stored in temporary file.
+ *
+ * Data is read lazily using small cached window. Copies share the same file
+ * which is closed and deleted when the last of them is disposed.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+final class SpilledPayloadData implements BinaryData {
+
+    private static final int WINDOW_SIZE = 65536;
+
+    private final PayloadFile file;
+    private final long offset;
+    private final long length;
+    private final byte[] window = new byte[WINDOW_SIZE];
+    private long windowPosition = -1;
+    private int windowLength = 0;
+    private boolean disposed = false;
+
+    SpilledPayloadData(FileChannel channel, long length) {
+        this(new PayloadFile(channel), 0, length);
+    }
+
+    private SpilledPayloadData(PayloadFile file, long offset, long length) {
+        this.file = file;
+        this.offset = offset;
+        this.length = length;
+        file.acquire();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    @Override
+    public long getDataSize() {
+        return length;
+    }
+
+    @Override
+    public byte getByte(long position) {
+        if (position < 0 || position >= length) {
+            throw new IndexOutOfBoundsException("Position " + position + " out of range");
+        }
+        if (position < windowPosition || position >= windowPosition + windowLength) {
+            windowPosition = position;
+            windowLength = (int) Math.min(WINDOW_SIZE, length - position);
+            read(position, window, 0, windowLength);
+        }
+        return window[(int) (position - windowPosition)];
+    }
+
+    @Nonnull
+    @Override
+    public BinaryData copy() {
+        return copy(0, length);
+    }
+
+    @Nonnull
+    @Override
+    public BinaryData copy(long startFrom, long length) {
+        if (startFrom < 0 || length < 0 || startFrom + length > this.length) {
+            throw new IndexOutOfBoundsException("Range " + startFrom + "+" + length + " out of range");
+        }
+        checkDisposed();
+        return new SpilledPayloadData(file, offset + startFrom, length);
+    }
+
+    @Override
+    public void copyToArray(long startFrom, byte[] target, int offset, int length) {
+        if (startFrom < 0 || length < 0 || startFrom + length > this.length) {
+            throw new IndexOutOfBoundsException("Range " + startFrom + "+" + length + " out of range");
+        }
+        read(startFrom, target, offset, length);
+    }
+
+    @Override
+    public void saveToStream(OutputStream outputStream) throws IOException {
+        byte[] buffer = new byte[WINDOW_SIZE];
+        long position = 0;
+        while (position < length) {
+            int chunkLength = (int) Math.min(buffer.length, length - position);
+            read(position, buffer, 0, chunkLength);
+            outputStream.write(buffer, 0, chunkLength);
+            position += chunkLength;
+        }
+    }
+
+    @Nonnull
+    @Override
+    public InputStream getDataInputStream() {
+        return new InputStream() {
+            private long position = 0;
+
+            @Override
+            public int read() {
+                return position < length ? getByte(position++) & 0xff : -1;
+            }
+
+            @Override
+            public int read(byte[] output, int off, int len) {
+                if (len == 0) {
+                    return 0;
+                }
+                if (position >= length) {
+                    return -1;
+                }
+                int readLength = (int) Math.min(len, length - position);
+                copyToArray(position, output, off, readLength);
+                position += readLength;
+                return readLength;
+            }
+
+            @Override
+            public int available() {
+                return (int) Math.min(Integer.MAX_VALUE, length - position);
+            }
+        };
+    }
+
+    @Override
+    public void dispose() {
+        if (!disposed) {
+            disposed = true;
+            file.release();
+        }
+    }
+
+    private void read(long position, byte[] target, int targetOffset, int readLength) {
+        checkDisposed();
+        ByteBuffer buffer = ByteBuffer.wrap(target, targetOffset, readLength);
+        long filePosition = offset + position;
+        try {
+            while (buffer.hasRemaining()) {
+                int read = file.channel.read(buffer, filePosition);
+                if (read < 0) {
+                    throw new IOException("Unexpected end of undo payload file");
+                }
+                filePosition += read;
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void checkDisposed() {
+        if (disposed) {
+            throw new IllegalStateException("Undo payload was already disposed");
+        }
+    }
+
+    /**
+     * Temporary file shared by payload copies.
+     */
+    private static final class PayloadFile {
+
+        private final FileChannel channel;
+        private int references = 0;
+
+        private PayloadFile(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        private synchronized void acquire() {
+            references++;
+        }
+
+        private synchronized void release() {
+            references--;
+            if (references == 0) {
+                try {
+                    channel.close();
+                } catch (IOException ex) {
+                    Logger.getLogger(SpilledPayloadData.class.getName()).log(Level.SEVERE, null, ex);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.operation.swing;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.bined.operation.BinaryDataCommand;
+
+/**
+ * Bounded ring of undo commands with recorded memory sizes.
+ *
+ * Commands are removed from both ends without shifting remaining items.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+final class UndoCommandRing {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MAXIMUM_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private BinaryDataCommand[] commands = new BinaryDataCommand[INITIAL_CAPACITY];
+    private long[] memorySizes = new long[INITIAL_CAPACITY];
+    private int start = 0;
+    private int count = 0;
+
+    private final List<BinaryDataCommand> listView = new AbstractList<BinaryDataCommand>() {
+        @Nonnull
+        @Override
+        public BinaryDataCommand get(int index) {
+            return UndoCommandRing.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+    };
+
+    UndoCommandRing() {
+    }
+
+    int size() {
+        return count;
+    }
+
+    @Nonnull
+    BinaryDataCommand get(int index) {
+        checkIndex(index);
+        return commands[slot(index)];
+    }
+
+    long getMemorySize(int index) {
+        checkIndex(index);
+        return memorySizes[slot(index)];
+    }
+
+    /**
+     * Records new memory size of the command at given index.
+     *
+     * @param index command index
+     * @param memorySize memory size
+     * @return difference to previously recorded size
+     */
+    long setMemorySize(int index, long memorySize) {
+        checkIndex(index);
+        int slot = slot(index);
+        long difference = memorySize - memorySizes[slot];
+        memorySizes[slot] = memorySize;
+        return difference;
+    }
+
+    void addLast(BinaryDataCommand command, long memorySize) {
+        if (count == commands.length) {
+            grow();
+        }
+        int slot = slot(count);
+        commands[slot] = command;
+        memorySizes[slot] = memorySize;
+        count++;
+    }
+
+    @Nonnull
+    BinaryDataCommand removeFirst() {
+        checkIndex(0);
+        BinaryDataCommand command = commands[start];
+        commands[start] = null;
+        memorySizes[start] = 0;
+        start = (start + 1) % commands.length;
+        count--;
+        return command;
+    }
+
+    @Nonnull
+    BinaryDataCommand removeLast() {
+        checkIndex(count - 1);
+        int slot = slot(count - 1);
+        BinaryDataCommand command = commands[slot];
+        commands[slot] = null;
+        memorySizes[slot] = 0;
+        count--;
+        return command;
+    }
+
+    void clear() {
+        Arrays.fill(commands, null);
+        Arrays.fill(memorySizes, 0);
+        start = 0;
+        count = 0;
+    }
+
+    /**
+     * Returns unmodifiable list view of the commands from the oldest.
+     *
+     * @return list view
+     */
+    @Nonnull
+    List<BinaryDataCommand> asList() {
+        return listView;
+    }
+
+    private int slot(int index) {
+        int slot = start + index;
+        return slot >= commands.length ? slot - commands.length : slot;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of range 0.." + count);
+        }
+    }
+
+    private void grow() {
+        if (commands.length == MAXIMUM_CAPACITY) {
+            throw new IllegalStateException("Maximum undo capacity reached");
+        }
+        int capacity = (int) Math.min((long) commands.length * 2, MAXIMUM_CAPACITY);
+        BinaryDataCommand[] grownCommands = new BinaryDataCommand[capacity];
+        long[] grownSizes = new long[capacity];
+        for (int index = 0; index < count; index++) {
+            int slot = slot(index);
+            grownCommands[index] = commands[slot];
+            grownSizes[index] = memorySizes[slot];
+        }
+        commands = grownCommands;
+        memorySizes = grownSizes;
+        start = 0;
+    }
+}
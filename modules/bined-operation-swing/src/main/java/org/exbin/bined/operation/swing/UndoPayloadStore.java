@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.operation.swing;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.paged_data.BinaryData;
+
+/**
+ * Store for data held by undo operations.
+ *
+ * Payloads larger than threshold are written to temporary file and read back
+ * lazily, so that deep undo history doesn't require heap memory proportional
+ * to the size of removed or overwritten data. Temporary file is deleted when
+ * payload is disposed.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class UndoPayloadStore {
+
+    public static final long DEFAULT_SPILL_THRESHOLD = 16 * 1024 * 1024;
+    private static final String TEMP_FILE_PREFIX = "bined-undo";
+    private static final int WRITE_BUFFER_SIZE = 1024 * 1024;
+
+    private long spillThreshold = DEFAULT_SPILL_THRESHOLD;
+    @Nullable
+    private Path tempDirectory = null;
+
+    public UndoPayloadStore() {
+    }
+
+    public long getSpillThreshold() {
+        return spillThreshold;
+    }
+
+    /**
+     * Sets minimum size of payload stored in temporary file.
+     *
+     * @param spillThreshold size in bytes
+     */
+    public void setSpillThreshold(long spillThreshold) {
+        this.spillThreshold = spillThreshold;
+    }
+
+    @Nullable
+    public Path getTempDirectory() {
+        return tempDirectory;
+    }
+
+    /**
+     * Sets directory for temporary files.
+     *
+     * @param tempDirectory directory or null for system default
+     */
+    public void setTempDirectory(@Nullable Path tempDirectory) {
+        this.tempDirectory = tempDirectory;
+    }
+
+    /**
+     * Stores copy of given range of data.
+     *
+     * Falls back to in-memory copy if temporary file cannot be written.
+     *
+     * @param data source data
+     * @param startFrom start position
+     * @param length length of the range
+     * @return stored data
+     */
+    @Nonnull
+    public BinaryData store(BinaryData data, long startFrom, long length) {
+        if (length >= spillThreshold) {
+            try {
+                return spill(data, startFrom, length);
+            } catch (IOException ex) {
+                Logger.getLogger(UndoPayloadStore.class.getName()).log(Level.WARNING, "Unable to store undo data to temporary file", ex);
+            }
+        }
+
+        return data.copy(startFrom, length);
+    }
+
+    /**
+     * Returns size of heap memory used by stored data.
+     *
+     * @param data stored data
+     * @return size in bytes
+     */
+    public static long getMemorySize(BinaryData data) {
+        return data instanceof SpilledPayloadData ? 0 : data.getDataSize();
+    }
+
+    /**
+     * Returns true if data is stored in temporary file.
+     *
+     * @param data stored data
+     * @return true if spilled
+     */
+    public static boolean isSpilled(BinaryData data) {
+        return data instanceof SpilledPayloadData;
+    }
+
+    @Nonnull
+    private BinaryData spill(BinaryData data, long startFrom, long length) throws IOException {
+        Path tempFile = tempDirectory == null ? Files.createTempFile(TEMP_FILE_PREFIX, ".tmp") : Files.createTempFile(tempDirectory, TEMP_FILE_PREFIX, ".tmp");
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(tempFile, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(tempFile);
+            throw ex;
+        }
+
+        try {
+            byte[] buffer = new byte[(int) Math.min(WRITE_BUFFER_SIZE, length)];
+            long position = 0;
+            while (position < length) {
+                int chunkLength = (int) Math.min(buffer.length, length - position);
+                data.copyToArray(startFrom + position, buffer, 0, chunkLength);
+                ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, 0, chunkLength);
+                while (byteBuffer.hasRemaining()) {
+                    channel.write(byteBuffer, position + byteBuffer.position());
+                }
+                position += chunkLength;
+            }
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+
+        return new SpilledPayloadData(channel, length);
+    }
+}
@@ -23,16 +23,17 @@ import javax.annotation.ParametersAreNonnullByDefault;
 import org.exbin.bined.operation.BinaryDataCommand;
 import org.exbin.bined.operation.BinaryDataCompoundCommand;
 import org.exbin.bined.operation.BinaryDataOperationException;
+import org.exbin.bined.operation.BinaryDataReversibleCommand;
 import org.exbin.bined.swing.CodeAreaCore;
 
 /**
  * Class for compound command on binary document.
  *
- * @version 0.1.2 2019/08/31
+ * @version 0.2.0 2026/10/17
  * @author ExBin Project (https://exbin.org)
  */
 @ParametersAreNonnullByDefault
-public class BinaryCompoundCommand extends CodeAreaCommand implements BinaryDataCompoundCommand {
+public class BinaryCompoundCommand extends CodeAreaCommand implements BinaryDataCompoundCommand, BinaryDataReversibleCommand {
 
     private final List<BinaryDataCommand> commands = new ArrayList<>();
 
@@ -88,6 +89,44 @@ public class BinaryCompoundCommand extends CodeAreaCommand implements BinaryData
         }
     }
 
+    @Override
+    public boolean isReversible() {
+        for (BinaryDataCommand command : commands) {
+            if (!(command instanceof BinaryDataReversibleCommand) || !((BinaryDataReversibleCommand) command).isReversible()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public void setPerformed(boolean performed, boolean updateData) throws BinaryDataOperationException {
+        for (int step = 0; step < commands.size(); step++) {
+            BinaryDataCommand command = commands.get(performed ? step : commands.size() - 1 - step);
+            if (command instanceof BinaryDataReversibleCommand) {
+                ((BinaryDataReversibleCommand) command).setPerformed(performed, updateData);
+            } else if (!updateData) {
+                throw new IllegalStateException("Command is not reversible");
+            } else if (performed) {
+                command.redo();
+            } else {
+                command.undo();
+            }
+        }
+    }
+
+    @Override
+    public void closeEdits() throws BinaryDataOperationException {
+        // Only the last command can be extended by appended edits
+        if (!commands.isEmpty()) {
+            BinaryDataCommand command = commands.get(commands.size() - 1);
+            if (command instanceof BinaryDataReversibleCommand) {
+                ((BinaryDataReversibleCommand) command).closeEdits();
+            }
+        }
+    }
+
     @Override
     public boolean canUndo() {
         boolean canUndo = true;
@@ -122,6 +161,15 @@ public class BinaryCompoundCommand extends CodeAreaCommand implements BinaryData
         return commands.isEmpty();
     }
 
+    @Override
+    public long getMemorySize() {
+        long memorySize = 0;
+        for (BinaryDataCommand command : commands) {
+            memorySize += command.getMemorySize();
+        }
+        return memorySize;
+    }
+
     @Override
     public void dispose() throws BinaryDataOperationException {
         super.dispose();
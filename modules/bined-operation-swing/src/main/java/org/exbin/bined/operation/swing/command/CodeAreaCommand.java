@@ -17,13 +17,14 @@ package org.exbin.bined.operation.swing.command;
 
 import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.bined.data.SnapshotCapableData;
 import org.exbin.bined.operation.BinaryDataAbstractCommand;
 import org.exbin.bined.swing.CodeAreaCore;
 
 /**
  * Abstract class for operation on code area component.
  *
- * @version 0.2.0 2018/02/14
+ * @version 0.2.0 2026/10/17
  * @author ExBin Project (https://exbin.org)
  */
 @ParametersAreNonnullByDefault
@@ -49,4 +50,14 @@ public abstract class CodeAreaCommand extends BinaryDataAbstractCommand {
     public String getCaption() {
         return getType().getCaption();
     }
+
+    /**
+     * Returns true if content data supports snapshots so that operations for
+     * both directions can be retained cheaply.
+     *
+     * @return true for snapshot capable content
+     */
+    protected boolean isSnapshotContent() {
+        return codeArea.getContentData() instanceof SnapshotCapableData;
+    }
 }
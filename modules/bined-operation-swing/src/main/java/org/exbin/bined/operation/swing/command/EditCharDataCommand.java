@@ -18,8 +18,12 @@ package org.exbin.bined.operation.swing.command;
 
 import javax.annotation.Nonnull;
 import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.bined.CodeAreaCaret;
+import org.exbin.bined.DefaultCodeAreaCaretPosition;
+import org.exbin.bined.capability.CaretCapable;
 import org.exbin.bined.operation.BinaryDataOperationException;
 import org.exbin.bined.operation.BinaryDataOperationListener;
+import org.exbin.bined.operation.BinaryDataReversibleCommand;
 import org.exbin.bined.operation.swing.CharEditDataOperation;
 import org.exbin.bined.operation.swing.CodeAreaOperation;
 import org.exbin.bined.operation.swing.CodeAreaOperationEvent;
@@ -32,16 +36,17 @@ import org.exbin.bined.swing.CodeAreaCore;
 /**
  * Command for editing data in text mode.
  *
- * @version 0.2.0 2018/08/11
+ * @version 0.2.0 2026/10/17
  * @author ExBin Project (https://exbin.org)
  */
 @ParametersAreNonnullByDefault
-public class EditCharDataCommand extends EditDataCommand {
+public class EditCharDataCommand extends EditDataCommand implements BinaryDataReversibleCommand {
 
     @Nonnull
     private final EditCommandType commandType;
     protected boolean operationPerformed = false;
     private CodeAreaOperation[] operations = null;
+    private CodeAreaOperation[] reverseOperations = null;
 
     public EditCharDataCommand(CodeAreaCore codeArea, EditCommandType commandType, long position) {
         super(codeArea);
@@ -70,23 +75,9 @@ public class EditCharDataCommand extends EditDataCommand {
 
     @Override
     public void undo() throws BinaryDataOperationException {
-        if (operations.length == 1 && operations[0] instanceof CharEditDataOperation) {
-            CharEditDataOperation operation = (CharEditDataOperation) operations[0];
-            operations = operation.generateUndo();
-            operation.dispose();
-        }
-
+        generateUndo();
         if (operationPerformed) {
-            for (int i = operations.length - 1; i >= 0; i--) {
-                CodeAreaOperation operation = operations[i];
-                CodeAreaOperation redoOperation = operation.executeWithUndo();
-                operation.dispose();
-                if (codeArea instanceof BinaryDataOperationListener) {
-                    ((CodeAreaOperationListener) codeArea).notifyChange(new CodeAreaOperationEvent(operations[i]));
-                }
-                operations[i] = redoOperation;
-            }
-            operationPerformed = false;
+            switchOperations(true);
         } else {
             throw new UnsupportedOperationException("Not supported yet.");
         }
@@ -95,22 +86,99 @@ public class EditCharDataCommand extends EditDataCommand {
     @Override
     public void redo() throws BinaryDataOperationException {
         if (!operationPerformed) {
-            for (int i = 0; i < operations.length; i++) {
-                CodeAreaOperation operation = operations[i];
-                CodeAreaOperation undoOperation = operation.executeWithUndo();
-                operation.dispose();
-                if (codeArea instanceof BinaryDataOperationListener) {
-                    ((CodeAreaOperationListener) codeArea).notifyChange(new CodeAreaOperationEvent(operation));
-                }
-
-                operations[i] = undoOperation;
-            }
-            operationPerformed = true;
+            switchOperations(true);
         } else {
             throw new UnsupportedOperationException("Not supported yet.");
         }
     }
 
+    @Override
+    public boolean isReversible() {
+        return reverseOperations != null;
+    }
+
+    @Override
+    public void setPerformed(boolean performed, boolean updateData) throws BinaryDataOperationException {
+        if (performed == operationPerformed) {
+            return;
+        }
+
+        if (updateData) {
+            generateUndo();
+            switchOperations(false);
+        } else {
+            if (reverseOperations == null) {
+                throw new IllegalStateException("Command is not reversible");
+            }
+            CodeAreaOperation[] nextOperations = reverseOperations;
+            reverseOperations = operations;
+            operations = nextOperations;
+            operationPerformed = performed;
+        }
+    }
+
+    /**
+     * Closes command by silent undo and redo so that operations for both
+     * directions are retained.
+     *
+     * @throws BinaryDataOperationException for operation handling issues
+     */
+    @Override
+    public void closeEdits() throws BinaryDataOperationException {
+        if (wasReverted() || !isSnapshotContent()) {
+            return;
+        }
+
+        CodeAreaCaret caret = ((CaretCapable) codeArea).getCaret();
+        DefaultCodeAreaCaretPosition caretPosition = new DefaultCodeAreaCaretPosition();
+        caretPosition.setPosition(caret.getCaretPosition());
+        generateUndo();
+        switchOperations(false);
+        switchOperations(false);
+        caret.setCaretPosition(caretPosition);
+    }
+
+    private void generateUndo() throws BinaryDataOperationException {
+        if (operations.length == 1 && operations[0] instanceof CharEditDataOperation) {
+            CharEditDataOperation operation = (CharEditDataOperation) operations[0];
+            operations = operation.generateUndo();
+            operation.dispose();
+        }
+    }
+
+    /**
+     * Executes current operations and replaces them with operations for
+     * opposite direction.
+     *
+     * Undo operations are executed in reverse order.
+     *
+     * @param notify true to notify code area about change
+     * @throws BinaryDataOperationException for operation handling issues
+     */
+    private void switchOperations(boolean notify) throws BinaryDataOperationException {
+        CodeAreaOperation[] executedOperations = operations;
+        boolean retainOperations = reverseOperations != null || isSnapshotContent();
+        CodeAreaOperation[] nextOperations = reverseOperations != null ? reverseOperations : new CodeAreaOperation[executedOperations.length];
+        for (int step = 0; step < executedOperations.length; step++) {
+            int i = operationPerformed ? executedOperations.length - 1 - step : step;
+            CodeAreaOperation operation = executedOperations[i];
+            if (reverseOperations != null) {
+                operation.execute();
+            } else {
+                nextOperations[i] = operation.executeWithUndo();
+            }
+            if (notify && codeArea instanceof BinaryDataOperationListener) {
+                ((CodeAreaOperationListener) codeArea).notifyChange(new CodeAreaOperationEvent(operation));
+            }
+            if (!retainOperations) {
+                operation.dispose();
+            }
+        }
+        operations = nextOperations;
+        reverseOperations = retainOperations ? executedOperations : null;
+        operationPerformed = !operationPerformed;
+    }
+
     @Nonnull
     @Override
     public CodeAreaCommandType getType() {
@@ -141,6 +209,24 @@ public class EditCharDataCommand extends EditDataCommand {
         return !(operations.length == 1 && operations[0] instanceof CharEditDataOperation);
     }
 
+    @Override
+    public long getMemorySize() {
+        long memorySize = 0;
+        if (operations != null) {
+            for (CodeAreaOperation operation : operations) {
+                if (operation != null) {
+                    memorySize += operation.getMemorySize();
+                }
+            }
+        }
+        if (reverseOperations != null) {
+            for (CodeAreaOperation operation : reverseOperations) {
+                memorySize += operation.getMemorySize();
+            }
+        }
+        return memorySize;
+    }
+
     @Override
     public void dispose() throws BinaryDataOperationException {
         super.dispose();
@@ -149,5 +235,10 @@ public class EditCharDataCommand extends EditDataCommand {
                 operation.dispose();
             }
         }
+        if (reverseOperations != null) {
+            for (CodeAreaOperation operation : reverseOperations) {
+                operation.dispose();
+            }
+        }
     }
 }
@@ -23,22 +23,29 @@ import javax.annotation.ParametersAreNonnullByDefault;
 import org.exbin.bined.CodeAreaUtils;
 import org.exbin.bined.operation.BinaryDataOperationException;
 import org.exbin.bined.operation.BinaryDataOperationListener;
+import org.exbin.bined.operation.BinaryDataReversibleCommand;
 import org.exbin.bined.operation.swing.CodeAreaOperation;
 import org.exbin.bined.operation.swing.CodeAreaOperationEvent;
 import org.exbin.bined.operation.swing.CodeAreaOperationListener;
+import org.exbin.bined.operation.swing.UndoPayloadStore;
 import org.exbin.bined.swing.CodeAreaCore;
 
 /**
  * Abstract class for operation on hexadecimal document.
  *
- * @version 0.2.0 2018/12/10
+ * For snapshot capable content the executed operation is retained as reverse
+ * operation so that command can be switched without generating new data.
+ *
+ * @version 0.2.0 2026/10/17
  * @author ExBin Project (https://exbin.org)
  */
 @ParametersAreNonnullByDefault
-public abstract class OpCodeAreaCommand extends CodeAreaCommand {
+public abstract class OpCodeAreaCommand extends CodeAreaCommand implements BinaryDataReversibleCommand {
 
     @Nullable
     protected CodeAreaOperation operation;
+    @Nullable
+    protected CodeAreaOperation reverseOperation;
     protected boolean operationPerformed = false;
 
     public OpCodeAreaCommand(CodeAreaCore codeArea) {
@@ -58,9 +65,31 @@ public abstract class OpCodeAreaCommand extends CodeAreaCommand {
                 Logger.getLogger(OpCodeAreaCommand.class.getName()).log(Level.SEVERE, null, ex);
             }
         }
+        if (reverseOperation != null) {
+            try {
+                reverseOperation.dispose();
+            } catch (Exception ex) {
+                Logger.getLogger(OpCodeAreaCommand.class.getName()).log(Level.SEVERE, null, ex);
+            }
+            reverseOperation = null;
+        }
         this.operation = operation;
     }
 
+    /**
+     * Sets store for data held by operations of this command.
+     *
+     * @param payloadStore payload store or null for in-memory copies
+     */
+    public void setPayloadStore(@Nullable UndoPayloadStore payloadStore) {
+        if (operation != null) {
+            operation.setPayloadStore(payloadStore);
+        }
+        if (reverseOperation != null) {
+            reverseOperation.setPayloadStore(payloadStore);
+        }
+    }
+
     @Override
     public boolean canUndo() {
         return true;
@@ -69,14 +98,7 @@ public abstract class OpCodeAreaCommand extends CodeAreaCommand {
     @Override
     public void undo() throws BinaryDataOperationException {
         if (operationPerformed) {
-            CodeAreaOperation redoOperation = CodeAreaUtils.requireNonNull(operation).executeWithUndo();
-            operation.dispose();
-            if (codeArea instanceof BinaryDataOperationListener) {
-                ((CodeAreaOperationListener) codeArea).notifyChange(new CodeAreaOperationEvent(operation));
-            }
-
-            operation = redoOperation;
-            operationPerformed = false;
+            switchOperation(true);
         } else {
             throw new UnsupportedOperationException("Not supported yet.");
         }
@@ -85,24 +107,74 @@ public abstract class OpCodeAreaCommand extends CodeAreaCommand {
     @Override
     public void redo() throws BinaryDataOperationException {
         if (!operationPerformed) {
-            CodeAreaOperation undoOperation = CodeAreaUtils.requireNonNull(operation).executeWithUndo();
-            operation.dispose();
-            if (codeArea instanceof BinaryDataOperationListener) {
-                ((CodeAreaOperationListener) codeArea).notifyChange(new CodeAreaOperationEvent(operation));
-            }
-
-            operation = undoOperation;
-            operationPerformed = true;
+            switchOperation(true);
         } else {
             throw new UnsupportedOperationException("Not supported yet.");
         }
     }
 
+    @Override
+    public boolean isReversible() {
+        return reverseOperation != null;
+    }
+
+    @Override
+    public void setPerformed(boolean performed, boolean updateData) throws BinaryDataOperationException {
+        if (performed == operationPerformed) {
+            return;
+        }
+
+        if (updateData) {
+            switchOperation(false);
+        } else {
+            CodeAreaOperation nextOperation = CodeAreaUtils.requireNonNull(reverseOperation);
+            reverseOperation = operation;
+            operation = nextOperation;
+            operationPerformed = performed;
+        }
+    }
+
+    /**
+     * Executes current operation and replaces it with operation for opposite
+     * direction.
+     *
+     * @param notify true to notify code area about change
+     * @throws BinaryDataOperationException for operation handling issues
+     */
+    private void switchOperation(boolean notify) throws BinaryDataOperationException {
+        CodeAreaOperation executedOperation = CodeAreaUtils.requireNonNull(operation);
+        if (reverseOperation != null) {
+            executedOperation.execute();
+            operation = reverseOperation;
+        } else {
+            operation = executedOperation.executeWithUndo();
+        }
+        if (notify && codeArea instanceof BinaryDataOperationListener) {
+            ((CodeAreaOperationListener) codeArea).notifyChange(new CodeAreaOperationEvent(executedOperation));
+        }
+
+        if (reverseOperation != null || isSnapshotContent()) {
+            reverseOperation = executedOperation;
+        } else {
+            executedOperation.dispose();
+        }
+        operationPerformed = !operationPerformed;
+    }
+
+    @Override
+    public long getMemorySize() {
+        long memorySize = operation == null ? 0 : operation.getMemorySize();
+        return reverseOperation == null ? memorySize : memorySize + reverseOperation.getMemorySize();
+    }
+
     @Override
     public void dispose() throws BinaryDataOperationException {
         super.dispose();
         if (operation != null) {
             operation.dispose();
         }
+        if (reverseOperation != null) {
+            reverseOperation.dispose();
+        }
     }
 }
@@ -0,0 +1,320 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.operation.swing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.paged_data.ByteArrayEditableData;
+import org.exbin.bined.data.PieceTableData;
+import org.exbin.bined.data.SnapshotPagedData;
+import org.exbin.bined.operation.BinaryDataCommand;
+import org.exbin.bined.operation.BinaryDataOperationException;
+import org.exbin.bined.operation.BinaryDataReversibleCommand;
+import org.exbin.bined.operation.undo.BinaryDataUndoUpdateListener;
+import org.exbin.bined.operation.swing.command.BinaryCompoundCommand;
+import org.exbin.bined.operation.swing.command.EditCodeDataCommand;
+import org.exbin.bined.operation.swing.command.EditDataCommand;
+import org.exbin.bined.operation.swing.command.InsertDataCommand;
+import org.exbin.bined.operation.swing.command.ModifyDataCommand;
+import org.exbin.bined.operation.swing.command.RemoveDataCommand;
+import org.exbin.bined.swing.basic.CodeArea;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for code area undo handler.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class CodeAreaUndoHandlerTest {
+
+    public CodeAreaUndoHandlerTest() {
+    }
+
+    @Test
+    public void testSizeLimit() throws BinaryDataOperationException {
+        CodeArea codeArea = createCodeArea(32);
+        CodeAreaUndoHandler undoHandler = new CodeAreaUndoHandler(codeArea);
+        undoHandler.setUndoMaximumSize(10);
+        for (int i = 0; i < 3; i++) {
+            undoHandler.execute(new RemoveDataCommand(codeArea, 0, 0, 4));
+        }
+
+        Assert.assertEquals(2, undoHandler.getCommandList().size());
+        Assert.assertEquals(2, undoHandler.getCommandPosition());
+        Assert.assertEquals(8, undoHandler.getUsedSize());
+        Assert.assertEquals(-1, undoHandler.getSyncPoint());
+
+        undoHandler.performUndo(2);
+        Assert.assertFalse(undoHandler.canUndo());
+        Assert.assertEquals(28, codeArea.getDataSize());
+        Assert.assertEquals(4, codeArea.getContentData().getByte(0));
+        Assert.assertEquals(0, undoHandler.getUsedSize());
+    }
+
+    @Test
+    public void testCountLimit() throws BinaryDataOperationException {
+        CodeArea codeArea = createCodeArea(32);
+        CodeAreaUndoHandler undoHandler = new CodeAreaUndoHandler(codeArea);
+        for (int i = 0; i < 4; i++) {
+            undoHandler.execute(new RemoveDataCommand(codeArea, 0, 0, 2));
+        }
+        undoHandler.setSyncPoint();
+        undoHandler.performUndo();
+        Assert.assertEquals(6, undoHandler.getUsedSize());
+
+        undoHandler.setUndoMaxCount(2);
+        Assert.assertEquals(2, undoHandler.getCommandList().size());
+        Assert.assertEquals(1, undoHandler.getCommandPosition());
+        Assert.assertEquals(2, undoHandler.getSyncPoint());
+
+        undoHandler.execute(new RemoveDataCommand(codeArea, 0, 0, 1));
+        Assert.assertEquals(2, undoHandler.getCommandList().size());
+        Assert.assertEquals(-1, undoHandler.getSyncPoint());
+        Assert.assertEquals(3, undoHandler.getUsedSize());
+        Assert.assertFalse(undoHandler.canRedo());
+    }
+
+    @Test
+    public void testLimitWithRedo() throws BinaryDataOperationException {
+        CodeArea codeArea = createCodeArea(32);
+        CodeAreaUndoHandler undoHandler = new CodeAreaUndoHandler(codeArea);
+        for (int i = 0; i < 3; i++) {
+            undoHandler.execute(new RemoveDataCommand(codeArea, 0, 0, 2));
+        }
+        undoHandler.performUndo(2);
+
+        undoHandler.setUndoMaxCount(1);
+        Assert.assertEquals(1, undoHandler.getCommandPosition());
+        Assert.assertEquals(3, undoHandler.getCommandList().size());
+        Assert.assertTrue(undoHandler.canUndo());
+
+        undoHandler.setUndoMaximumSize(1);
+        Assert.assertEquals(1, undoHandler.getCommandPosition());
+        undoHandler.performUndo();
+        Assert.assertEquals(32, codeArea.getDataSize());
+        Assert.assertEquals(0, codeArea.getContentData().getByte(0));
+    }
+
+    @Test
+    public void testSnapshotUndo() throws BinaryDataOperationException {
+        byte[] data = new byte[300];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        CodeArea codeArea = new CodeArea();
+        SnapshotPagedData contentData = new SnapshotPagedData(64);
+        contentData.insert(0, data);
+        codeArea.setContentData(contentData);
+        CodeAreaUndoHandler undoHandler = new CodeAreaUndoHandler(codeArea);
+
+        undoHandler.execute(new RemoveDataCommand(codeArea, 10, 0, 200));
+        Assert.assertEquals(100, codeArea.getDataSize());
+        Assert.assertEquals(200, undoHandler.getUsedSize());
+
+        undoHandler.performUndo();
+        byte[] restored = new byte[data.length];
+        contentData.copyToArray(0, restored, 0, restored.length);
+        Assert.assertArrayEquals(data, restored);
+    }
+
+    @Test
+    public void testCheckpointJump() throws BinaryDataOperationException {
+        Random random = new Random(11);
+        byte[] data = new byte[1000];
+        random.nextBytes(data);
+        CodeArea codeArea = new CodeArea();
+        PieceTableData contentData = new PieceTableData();
+        contentData.insert(0, data);
+        codeArea.setContentData(contentData);
+        CodeAreaUndoHandler undoHandler = new CodeAreaUndoHandler(codeArea);
+        undoHandler.setCheckpointInterval(8);
+        undoHandler.setMaximumCheckpoints(4);
+
+        List<byte[]> states = new ArrayList<>();
+        states.add(data);
+        for (int i = 0; i < 100; i++) {
+            undoHandler.execute(createRandomCommand(codeArea, random));
+            states.add(toArray(contentData));
+        }
+
+        int[] notifications = new int[1];
+        undoHandler.addUndoUpdateListener(new BinaryDataUndoUpdateListener() {
+            @Override
+            public void undoCommandPositionChanged() {
+                notifications[0]++;
+            }
+
+            @Override
+            public void undoCommandAdded(BinaryDataCommand command) {
+            }
+        });
+        int[] targets = {0, 57, 3, 100, 37, 38, 99, 12};
+        for (int target : targets) {
+            undoHandler.setCommandPosition(target);
+            Assert.assertArrayEquals(states.get(target), toArray(contentData));
+        }
+        Assert.assertEquals(targets.length, notifications[0]);
+
+        undoHandler.setCommandPosition(20);
+        undoHandler.execute(new RemoveDataCommand(codeArea, 0, 0, 10));
+        byte[] lastState = toArray(contentData);
+        undoHandler.setCommandPosition(0);
+        Assert.assertArrayEquals(data, toArray(contentData));
+        undoHandler.setCommandPosition(21);
+        Assert.assertArrayEquals(lastState, toArray(contentData));
+        undoHandler.setCommandPosition(5);
+        Assert.assertArrayEquals(states.get(5), toArray(contentData));
+    }
+
+    @Test
+    public void testCheckpointAppendedEdits() throws BinaryDataOperationException {
+        byte[] data = new byte[16];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i + 1);
+        }
+        CodeArea codeArea = new CodeArea();
+        PieceTableData contentData = new PieceTableData();
+        contentData.insert(0, data);
+        codeArea.setContentData(contentData);
+        CodeAreaUndoHandler undoHandler = new CodeAreaUndoHandler(codeArea);
+        undoHandler.setCheckpointInterval(1);
+        undoHandler.clear();
+
+        List<byte[]> states = new ArrayList<>();
+        states.add(data);
+        EditCodeDataCommand editCommand = new EditCodeDataCommand(codeArea, EditDataCommand.EditCommandType.INSERT, 2, 0);
+        undoHandler.addCommand(editCommand);
+        for (byte value : new byte[]{0xA, 0xB, 0xC, 0xD}) {
+            editCommand.appendEdit(value);
+        }
+        states.add(toArray(contentData));
+        Assert.assertArrayEquals(new byte[]{1, 2, (byte) 0xAB, (byte) 0xCD, 3}, Arrays.copyOf(toArray(contentData), 5));
+
+        undoHandler.execute(new RemoveDataCommand(codeArea, 0, 0, 1));
+        states.add(toArray(contentData));
+
+        BinaryCompoundCommand compoundCommand = new BinaryCompoundCommand(codeArea);
+        compoundCommand.appendCommand(new RemoveDataCommand(codeArea, 4, 0, 2));
+        undoHandler.execute(compoundCommand);
+        EditCodeDataCommand compoundEditCommand = new EditCodeDataCommand(codeArea, EditDataCommand.EditCommandType.INSERT, 4, 0);
+        compoundCommand.appendCommand(compoundEditCommand);
+        for (byte value : new byte[]{0x1, 0x2, 0x3}) {
+            compoundEditCommand.appendEdit(value);
+        }
+        states.add(toArray(contentData));
+        undoHandler.setSyncPoint();
+
+        undoHandler.execute(new RemoveDataCommand(codeArea, 1, 0, 3));
+        states.add(toArray(contentData));
+
+        undoHandler.setCommandPosition(3);
+        Assert.assertArrayEquals(states.get(3), toArray(contentData));
+        undoHandler.performUndo(3);
+        Assert.assertArrayEquals(states.get(0), toArray(contentData));
+        undoHandler.doSync();
+        Assert.assertArrayEquals(states.get(3), toArray(contentData));
+        for (int target : new int[]{1, 4, 0, 2, 4, 1}) {
+            undoHandler.setCommandPosition(target);
+            Assert.assertArrayEquals(states.get(target), toArray(contentData));
+        }
+        undoHandler.performRedo();
+        undoHandler.performRedo(2);
+        Assert.assertArrayEquals(states.get(4), toArray(contentData));
+    }
+
+    @Test
+    public void testCheckpointEditingSession() throws BinaryDataOperationException {
+        Random random = new Random(17);
+        byte[] data = new byte[2000];
+        random.nextBytes(data);
+        CodeArea codeArea = new CodeArea();
+        PieceTableData contentData = new PieceTableData();
+        contentData.insert(0, data);
+        codeArea.setContentData(contentData);
+        CodeAreaUndoHandler undoHandler = new CodeAreaUndoHandler(codeArea);
+
+        List<byte[]> states = new ArrayList<>();
+        states.add(data);
+        for (int i = 0; i < 500; i++) {
+            long position = random.nextInt((int) codeArea.getDataSize());
+            if (i % 2 == 0) {
+                undoHandler.execute(new RemoveDataCommand(codeArea, position, 0, 1));
+            } else {
+                EditCodeDataCommand editCommand = new EditCodeDataCommand(codeArea, EditDataCommand.EditCommandType.INSERT, position, 0);
+                undoHandler.addCommand(editCommand);
+                for (int digit = 0; digit < 4; digit++) {
+                    editCommand.appendEdit((byte) random.nextInt(16));
+                }
+            }
+            states.add(toArray(contentData));
+        }
+
+        List<BinaryDataCommand> commandList = undoHandler.getCommandList();
+        for (int i = 0; i < commandList.size() - 1; i++) {
+            Assert.assertTrue(((BinaryDataReversibleCommand) commandList.get(i)).isReversible());
+        }
+
+        undoHandler.doSync();
+        Assert.assertEquals(0, undoHandler.getCommandPosition());
+        Assert.assertArrayEquals(data, toArray(contentData));
+        Assert.assertEquals(1, undoHandler.getRestoredCheckpointsCount());
+
+        undoHandler.setCommandPosition(500);
+        Assert.assertArrayEquals(states.get(500), toArray(contentData));
+        undoHandler.setCommandPosition(250);
+        Assert.assertArrayEquals(states.get(250), toArray(contentData));
+        Assert.assertEquals(3, undoHandler.getRestoredCheckpointsCount());
+    }
+
+    private static BinaryDataCommand createRandomCommand(CodeArea codeArea, Random random) {
+        long dataSize = codeArea.getDataSize();
+        long position = random.nextInt((int) dataSize);
+        byte[] payload = new byte[1 + random.nextInt(100)];
+        random.nextBytes(payload);
+        switch (random.nextInt(3)) {
+            case 0:
+                return new InsertDataCommand(codeArea, position, new ByteArrayEditableData(payload));
+            case 1:
+                return new RemoveDataCommand(codeArea, position, 0, Math.min(payload.length, dataSize - position));
+            default:
+                byte[] modified = new byte[(int) Math.min(payload.length, dataSize - position)];
+                System.arraycopy(payload, 0, modified, 0, modified.length);
+                return new ModifyDataCommand(codeArea, position, new ByteArrayEditableData(modified));
+        }
+    }
+
+    private static byte[] toArray(PieceTableData data) {
+        byte[] result = new byte[(int) data.getDataSize()];
+        data.copyToArray(0, result, 0, result.length);
+        return result;
+    }
+
+    private static CodeArea createCodeArea(int size) {
+        byte[] data = new byte[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = (byte) i;
+        }
+        CodeArea codeArea = new CodeArea();
+        codeArea.setContentData(new ByteArrayEditableData(data));
+        return codeArea;
+    }
+}
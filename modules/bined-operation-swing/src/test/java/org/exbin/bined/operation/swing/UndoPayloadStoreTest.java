@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.operation.swing;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Stream;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.paged_data.BinaryData;
+import org.exbin.auxiliary.paged_data.ByteArrayData;
+import org.exbin.auxiliary.paged_data.ByteArrayEditableData;
+import org.exbin.bined.operation.BinaryDataOperationException;
+import org.exbin.bined.operation.swing.command.RemoveDataCommand;
+import org.exbin.bined.swing.basic.CodeArea;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for undo payload store.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class UndoPayloadStoreTest {
+
+    public UndoPayloadStoreTest() {
+    }
+
+    @Test
+    public void testSpilledData() throws IOException {
+        Path directory = Files.createTempDirectory("bined-test");
+        UndoPayloadStore store = new UndoPayloadStore();
+        store.setSpillThreshold(100);
+        store.setTempDirectory(directory);
+        byte[] data = new byte[200000];
+        new Random(7).nextBytes(data);
+
+        BinaryData small = store.store(new ByteArrayData(data), 10, 99);
+        Assert.assertFalse(UndoPayloadStore.isSpilled(small));
+        Assert.assertEquals(0, countFiles(directory));
+
+        BinaryData stored = store.store(new ByteArrayData(data), 1000, 150000);
+        Assert.assertTrue(UndoPayloadStore.isSpilled(stored));
+        Assert.assertEquals(0, UndoPayloadStore.getMemorySize(stored));
+        Assert.assertEquals(150000, stored.getDataSize());
+        Assert.assertEquals(data[1000 + 149999], stored.getByte(149999));
+        Assert.assertEquals(data[1000 + 5], stored.getByte(5));
+
+        byte[] target = new byte[150000];
+        stored.copyToArray(0, target, 0, target.length);
+        Assert.assertArrayEquals(Arrays.copyOfRange(data, 1000, 151000), target);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (InputStream input = stored.getDataInputStream()) {
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = input.read(buffer)) > 0) {
+                output.write(buffer, 0, read);
+            }
+        }
+        Assert.assertArrayEquals(target, output.toByteArray());
+
+        BinaryData copy = stored.copy(100, 50);
+        stored.dispose();
+        Assert.assertEquals(data[1000 + 100 + 49], copy.getByte(49));
+        copy.dispose();
+        try {
+            copy.getByte(0);
+            Assert.fail("Disposed data should not be readable");
+        } catch (IllegalStateException ex) {
+            // expected
+        }
+        Assert.assertEquals(0, countFiles(directory));
+        Files.delete(directory);
+    }
+
+    @Test
+    public void testSpilledUndo() throws IOException, BinaryDataOperationException {
+        Path directory = Files.createTempDirectory("bined-test");
+        UndoPayloadStore store = new UndoPayloadStore();
+        store.setSpillThreshold(8);
+        store.setTempDirectory(directory);
+        byte[] data = new byte[64];
+        new Random(8).nextBytes(data);
+        CodeArea codeArea = new CodeArea();
+        codeArea.setContentData(new ByteArrayEditableData(data.clone()));
+        CodeAreaUndoHandler undoHandler = new CodeAreaUndoHandler(codeArea);
+
+        RemoveDataCommand removeCommand = new RemoveDataCommand(codeArea, 8, 0, 32);
+        removeCommand.setPayloadStore(store);
+        undoHandler.execute(removeCommand);
+        Assert.assertEquals(32, codeArea.getDataSize());
+        Assert.assertEquals(0, undoHandler.getUsedSize());
+
+        undoHandler.performUndo();
+        byte[] restored = new byte[64];
+        codeArea.getContentData().copyToArray(0, restored, 0, 64);
+        Assert.assertArrayEquals(data, restored);
+
+        undoHandler.performRedo();
+        undoHandler.clear();
+        Assert.assertEquals(0, countFiles(directory));
+        Files.delete(directory);
+    }
+
+    private static long countFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+}
@@ -62,6 +62,16 @@ public abstract class BinaryDataAbstractCommand implements BinaryDataCommand {
     public void dispose() throws BinaryDataOperationException {
     }
 
+    /**
+     * Default memory size is zero as no data is held.
+     *
+     * @return size in bytes
+     */
+    @Override
+    public long getMemorySize() {
+        return 0;
+    }
+
     @Nonnull
     @Override
     public Optional<Date> getExecutionTime() {
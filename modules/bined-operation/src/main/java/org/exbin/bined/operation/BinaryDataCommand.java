@@ -75,6 +75,13 @@ public interface BinaryDataCommand {
      */
     void dispose() throws BinaryDataOperationException;
 
+    /**
+     * Returns size of the memory held by command for undo and redo.
+     *
+     * @return size in bytes
+     */
+    long getMemorySize();
+
     /**
      * Returns time of command execution.
      *
@@ -56,4 +56,11 @@ public interface BinaryDataOperation {
      * @throws BinaryDataOperationException for operation handling issues
      */
     void dispose() throws BinaryDataOperationException;
+
+    /**
+     * Returns size of the memory held by operation.
+     *
+     * @return size in bytes
+     */
+    long getMemorySize();
 }
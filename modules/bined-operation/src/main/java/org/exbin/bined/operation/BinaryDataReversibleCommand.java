@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.operation;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Interface for command able to switch between performed and reverted state
+ * using operations retained for both directions.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public interface BinaryDataReversibleCommand extends BinaryDataCommand {
+
+    /**
+     * Returns true if operations for both directions are available so state
+     * can be switched without changing data.
+     *
+     * @return true if reversible
+     */
+    boolean isReversible();
+
+    /**
+     * Switches command to given state without notifying listeners.
+     *
+     * @param performed true for performed state, false for reverted state
+     * @param updateData true to apply change to data, false if data already
+     * matches target state
+     * @throws BinaryDataOperationException for operation handling issues
+     */
+    void setPerformed(boolean performed, boolean updateData) throws BinaryDataOperationException;
+
+    /**
+     * Closes command so that it is not extended by further edits.
+     *
+     * Data has to match performed state of the command. Command which is
+     * extended by appended edits can retain operations for both directions
+     * here.
+     *
+     * @throws BinaryDataOperationException for operation handling issues
+     */
+    default void closeEdits() throws BinaryDataOperationException {
+    }
+}
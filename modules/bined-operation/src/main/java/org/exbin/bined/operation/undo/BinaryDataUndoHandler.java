@@ -54,6 +54,8 @@ public interface BinaryDataUndoHandler {
     /**
      * Adds new step into command list without executing it.
      *
+     * Command must not change data before it is added.
+     *
      * @param command command
      */
     void addCommand(BinaryDataCommand command);
@@ -0,0 +1,157 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.search;
+
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.paged_data.BinaryData;
+
+/**
+ * Search for all occurrences of pattern in binary data.
+ *
+ * Chunks are searched in parallel using Boyer-Moore-Horspool algorithm.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class BinarySearch extends ChunkedBinarySearch {
+
+    private static final long[] NO_MATCHES = new long[0];
+
+    private final SearchPattern pattern;
+    private final int[] shifts;
+
+    @Nullable
+    private BinarySearchListener searchListener = null;
+    @Nullable
+    private long[][] chunkMatches = null;
+
+    public BinarySearch(BinaryData data, SearchPattern pattern) {
+        super(data);
+        this.pattern = pattern;
+        shifts = pattern.computeShiftTable();
+    }
+
+    @Nullable
+    public BinarySearchListener getSearchListener() {
+        return searchListener;
+    }
+
+    public void setSearchListener(@Nullable BinarySearchListener searchListener) {
+        this.searchListener = searchListener;
+    }
+
+    /**
+     * Searches for all occurrences of pattern in whole data.
+     *
+     * @return sorted positions of matches
+     * @throws CancellationException if search was cancelled
+     */
+    @Nonnull
+    public long[] search() {
+        return search(0, data.getDataSize());
+    }
+
+    /**
+     * Searches for all occurrences of pattern starting in given range.
+     *
+     * @param startPosition start position
+     * @param endPosition end position of range of match starts (exclusive)
+     * @return sorted positions of matches
+     * @throws CancellationException if search was cancelled
+     */
+    @Nonnull
+    public long[] search(long startPosition, long endPosition) {
+        chunkMatches = new long[getChunksCount(startPosition, endPosition)][];
+        try {
+            searchChunks(startPosition, endPosition);
+
+            int matchesCount = 0;
+            for (long[] matches : chunkMatches) {
+                matchesCount += matches.length;
+            }
+            long[] result = new long[matchesCount];
+            int offset = 0;
+            for (long[] matches : chunkMatches) {
+                System.arraycopy(matches, 0, result, offset, matches.length);
+                offset += matches.length;
+            }
+            return result;
+        } finally {
+            chunkMatches = null;
+        }
+    }
+
+    @Override
+    protected int getMaximumMatchLength() {
+        return pattern.getLength();
+    }
+
+    @Override
+    protected void searchChunk(int chunkIndex, byte[] buffer, int length, long chunkStart, long chunkEnd) {
+        long[] matches = findMatches(buffer, length, chunkStart);
+        chunkMatches[chunkIndex] = matches;
+        BinarySearchListener listener = searchListener;
+        if (listener != null) {
+            listener.chunkSearched(chunkStart, chunkEnd, matches, matches.length);
+            listener.progressChanged(chunkProcessed(chunkEnd - chunkStart), getRangeLength());
+        }
+    }
+
+    /**
+     * Finds all matches in given buffer using Boyer-Moore-Horspool algorithm.
+     *
+     * @param buffer searched buffer
+     * @param length length of valid data in buffer
+     * @param bufferPosition data position of the buffer start
+     * @return positions of matches
+     */
+    @Nonnull
+    private long[] findMatches(byte[] buffer, int length, long bufferPosition) {
+        byte[] patternData = pattern.getPattern();
+        int lastIndex = patternData.length - 1;
+        byte lastByte = patternData[lastIndex];
+        long[] matches = NO_MATCHES;
+        int matchesCount = 0;
+
+        int position = 0;
+        int limit = length - patternData.length;
+        while (position <= limit) {
+            byte value = buffer[position + lastIndex];
+            if (value == lastByte) {
+                int index = lastIndex - 1;
+                while (index >= 0 && buffer[position + index] == patternData[index]) {
+                    index--;
+                }
+
+                if (index < 0) {
+                    if (matchesCount == matches.length) {
+                        matches = Arrays.copyOf(matches, matchesCount == 0 ? INITIAL_MATCHES_CAPACITY : matchesCount * 2);
+                    }
+                    matches[matchesCount++] = bufferPosition + position;
+                }
+            }
+
+            position += shifts[value & 0xFF];
+        }
+
+        return matchesCount == matches.length ? matches : Arrays.copyOf(matches, matchesCount);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.search;
+
+import java.util.Arrays;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Sparse table of byte positions of decoded characters.
+ *
+ * Checkpoints must be added ordered by character index.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+final class CharOffsetCheckpoints {
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private long[] charIndexes = new long[DEFAULT_CAPACITY];
+    private long[] bytePositions = new long[DEFAULT_CAPACITY];
+    private int size = 0;
+
+    CharOffsetCheckpoints() {
+    }
+
+    /**
+     * Adds checkpoint, checkpoint for already present character index is
+     * ignored.
+     *
+     * @param charIndex character index
+     * @param bytePosition byte position of the character
+     */
+    void add(long charIndex, long bytePosition) {
+        if (size > 0 && charIndexes[size - 1] >= charIndex) {
+            return;
+        }
+
+        if (size == charIndexes.length) {
+            charIndexes = Arrays.copyOf(charIndexes, size * 2);
+            bytePositions = Arrays.copyOf(bytePositions, size * 2);
+        }
+        charIndexes[size] = charIndex;
+        bytePositions[size] = bytePosition;
+        size++;
+    }
+
+    /**
+     * Returns index of the last checkpoint at or before given character.
+     *
+     * @param charIndex character index
+     * @return checkpoint index
+     */
+    int findFloor(long charIndex) {
+        int low = 0;
+        int high = size - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (charIndexes[middle] <= charIndex) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        return low;
+    }
+
+    long getCharIndex(int checkpoint) {
+        return charIndexes[checkpoint];
+    }
+
+    long getBytePosition(int checkpoint) {
+        return bytePositions[checkpoint];
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Removes checkpoints before given character except the last one.
+     *
+     * @param charIndex character index
+     */
+    void discardBefore(long charIndex) {
+        int floor = findFloor(charIndex);
+        if (floor > 0) {
+            System.arraycopy(charIndexes, floor, charIndexes, 0, size - floor);
+            System.arraycopy(bytePositions, floor, bytePositions, 0, size - floor);
+            size -= floor;
+        }
+    }
+
+    void clear() {
+        size = 0;
+    }
+}
@@ -0,0 +1,303 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.search;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.paged_data.BinaryData;
+
+/**
+ * Base for searches processing binary data in parallel chunks.
+ *
+ * Data are read in chunks via copyToArray, chunks are extended by maximum
+ * match length minus one byte, so that matches crossing chunk boundary are
+ * found. Chunks nearest to search origin are scheduled first.
+ *
+ * Only single search can run at once for each instance.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public abstract class ChunkedBinarySearch {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+    protected static final int INITIAL_MATCHES_CAPACITY = 16;
+
+    protected final BinaryData data;
+
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    private boolean concurrentDataAccess = false;
+    private long searchOrigin = 0;
+
+    private volatile boolean cancelled = false;
+    private final AtomicLong processedBytes = new AtomicLong();
+    private long rangeLength = 0;
+    private final ThreadLocal<byte[]> chunkBuffers = new ThreadLocal<>();
+
+    protected ChunkedBinarySearch(BinaryData data) {
+        this.data = data;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+
+        this.chunkSize = chunkSize;
+    }
+
+    @Nonnull
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public boolean isConcurrentDataAccess() {
+        return concurrentDataAccess;
+    }
+
+    /**
+     * Sets whether data can be read from multiple threads at once.
+     *
+     * Reading of data is synchronized on data instance by default, only
+     * searching of already read chunks runs in parallel then.
+     *
+     * @param concurrentDataAccess true if data support concurrent reading
+     */
+    public void setConcurrentDataAccess(boolean concurrentDataAccess) {
+        this.concurrentDataAccess = concurrentDataAccess;
+    }
+
+    public long getSearchOrigin() {
+        return searchOrigin;
+    }
+
+    /**
+     * Sets position around which chunks are searched first, for example
+     * caret or visible area position.
+     *
+     * @param searchOrigin search origin position
+     */
+    public void setSearchOrigin(long searchOrigin) {
+        this.searchOrigin = searchOrigin;
+    }
+
+    /**
+     * Cancels running search.
+     *
+     * Cancelled search cannot be started again.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Returns maximum length of the match.
+     *
+     * @return maximum match length
+     */
+    protected abstract int getMaximumMatchLength();
+
+    /**
+     * Searches single chunk.
+     *
+     * Buffer contains chunk data followed by up to maximum match length minus
+     * one bytes of following data. Only matches starting before chunk end
+     * should be reported.
+     *
+     * @param chunkIndex index of the chunk
+     * @param buffer buffer with chunk data
+     * @param length length of valid data in buffer
+     * @param chunkStart data position of the chunk start
+     * @param chunkEnd data position of the chunk end (exclusive)
+     */
+    protected abstract void searchChunk(int chunkIndex, byte[] buffer, int length, long chunkStart, long chunkEnd);
+
+    /**
+     * Returns number of chunks for given search range.
+     *
+     * @param startPosition start position
+     * @param endPosition end position of range of match starts (exclusive)
+     * @return number of chunks
+     */
+    protected int getChunksCount(long startPosition, long endPosition) {
+        if (startPosition < 0 || endPosition > data.getDataSize() || startPosition > endPosition) {
+            throw new IllegalArgumentException("Invalid search range");
+        }
+
+        long chunksCount = (endPosition - startPosition + chunkSize - 1) / chunkSize;
+        if (chunksCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Search range is too large for chunk size");
+        }
+
+        return (int) chunksCount;
+    }
+
+    /**
+     * Searches all chunks of given range, returns after all chunks are
+     * processed.
+     *
+     * @param startPosition start position
+     * @param endPosition end position of range of match starts (exclusive)
+     * @throws CancellationException if search was cancelled
+     */
+    protected void searchChunks(long startPosition, long endPosition) {
+        int chunksCount = getChunksCount(startPosition, endPosition);
+        processedBytes.set(0);
+        rangeLength = endPosition - startPosition;
+        if (chunksCount > 0) {
+            long originChunk = (Math.min(Math.max(searchOrigin, startPosition), endPosition - 1) - startPosition) / chunkSize;
+            SearchRange range = new SearchRange(startPosition, endPosition, data.getDataSize(), chunksCount, (int) originChunk);
+            pool.invoke(new SearchTask(range, 0, chunksCount));
+        }
+        if (cancelled) {
+            throw new CancellationException("Search was cancelled");
+        }
+    }
+
+    /**
+     * Records processed chunk for progress reporting.
+     *
+     * @param chunkLength length of processed chunk
+     * @return total length of processed chunks
+     */
+    protected long chunkProcessed(long chunkLength) {
+        return processedBytes.addAndGet(chunkLength);
+    }
+
+    /**
+     * Returns length of the range of running search.
+     *
+     * @return range length
+     */
+    protected long getRangeLength() {
+        return rangeLength;
+    }
+
+    private void readChunk(SearchRange range, int chunkIndex) {
+        if (cancelled) {
+            return;
+        }
+
+        int overlap = getMaximumMatchLength() - 1;
+        long chunkStart = range.startPosition + (long) chunkIndex * chunkSize;
+        long chunkEnd = Math.min(chunkStart + chunkSize, range.endPosition);
+        int readLength = (int) (Math.min(chunkEnd + overlap, range.dataSize) - chunkStart);
+        byte[] buffer = chunkBuffers.get();
+        if (buffer == null || buffer.length < readLength) {
+            buffer = new byte[Math.max(readLength, chunkSize + overlap)];
+            chunkBuffers.set(buffer);
+        }
+
+        if (concurrentDataAccess) {
+            data.copyToArray(chunkStart, buffer, 0, readLength);
+        } else {
+            synchronized (data) {
+                data.copyToArray(chunkStart, buffer, 0, readLength);
+            }
+        }
+
+        searchChunk(chunkIndex, buffer, readLength, chunkStart, chunkEnd);
+    }
+
+    private static class SearchRange {
+
+        final long startPosition;
+        final long endPosition;
+        final long dataSize;
+        final int chunksCount;
+        final int originChunk;
+
+        SearchRange(long startPosition, long endPosition, long dataSize, int chunksCount, int originChunk) {
+            this.startPosition = startPosition;
+            this.endPosition = endPosition;
+            this.dataSize = dataSize;
+            this.chunksCount = chunksCount;
+            this.originChunk = originChunk;
+        }
+
+        /**
+         * Returns chunk for given order of processing.
+         *
+         * Chunks alternate after and before origin chunk while available on
+         * both sides, remaining chunks of longer side follow.
+         *
+         * @param order order of processing
+         * @return chunk index
+         */
+        int getChunk(int order) {
+            if (order == 0) {
+                return originChunk;
+            }
+
+            int chunksBefore = originChunk;
+            int chunksAfter = chunksCount - originChunk - 1;
+            int pairs = Math.min(chunksBefore, chunksAfter);
+            if (order <= pairs * 2) {
+                int distance = (order + 1) / 2;
+                return (order & 1) == 1 ? originChunk + distance : originChunk - distance;
+            }
+
+            int remaining = order - pairs * 2;
+            return chunksAfter > chunksBefore ? originChunk + pairs + remaining : originChunk - pairs - remaining;
+        }
+    }
+
+    private class SearchTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final SearchRange range;
+        private final int fromOrder;
+        private final int toOrder;
+
+        SearchTask(SearchRange range, int fromOrder, int toOrder) {
+            this.range = range;
+            this.fromOrder = fromOrder;
+            this.toOrder = toOrder;
+        }
+
+        @Override
+        protected void compute() {
+            if (toOrder - fromOrder == 1) {
+                readChunk(range, range.getChunk(fromOrder));
+                return;
+            }
+
+            // First half is computed directly, so it's processed before forked second half
+            int middleOrder = (fromOrder + toOrder) >>> 1;
+            invokeAll(new SearchTask(range, fromOrder, middleOrder), new SearchTask(range, middleOrder, toOrder));
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.search;
+
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.paged_data.BinaryData;
+
+/**
+ * Search for pattern narrowed by 3-gram index.
+ *
+ * Blocks in which match can start are found using index and then searched
+ * using binary search. Whole data are searched if index is not valid for
+ * data or pattern is shorter than indexed 3-grams.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class IndexedBinarySearch {
+
+    public static final int DEFAULT_MAXIMUM_GRAMS = 4;
+
+    private final BinaryData data;
+    private final NGramIndex index;
+    private final BinarySearch binarySearch;
+    private final SearchPattern pattern;
+    private int maximumGrams = DEFAULT_MAXIMUM_GRAMS;
+    private long searchedSize = 0;
+
+    public IndexedBinarySearch(BinaryData data, NGramIndex index, SearchPattern pattern) {
+        this.data = data;
+        this.index = index;
+        this.pattern = pattern;
+        binarySearch = new BinarySearch(data, pattern);
+    }
+
+    /**
+     * Returns binary search used to verify candidate blocks, which can be
+     * used to configure it.
+     *
+     * @return binary search
+     */
+    @Nonnull
+    public BinarySearch getBinarySearch() {
+        return binarySearch;
+    }
+
+    public int getMaximumGrams() {
+        return maximumGrams;
+    }
+
+    /**
+     * Sets maximum number of the rarest 3-grams of the pattern used to
+     * narrow candidate blocks.
+     *
+     * @param maximumGrams maximum number of 3-grams
+     */
+    public void setMaximumGrams(int maximumGrams) {
+        if (maximumGrams <= 0) {
+            throw new IllegalArgumentException("Maximum number of 3-grams must be positive");
+        }
+
+        this.maximumGrams = maximumGrams;
+    }
+
+    /**
+     * Returns true if index can be used for the search.
+     *
+     * @return true if index is usable
+     */
+    public boolean isIndexUsable() {
+        return index.isValid() && index.getDataSize() == data.getDataSize() && pattern.getLength() >= NGramIndex.GRAM_LENGTH;
+    }
+
+    /**
+     * Returns size of data searched by the last search.
+     *
+     * @return searched size
+     */
+    public long getSearchedSize() {
+        return searchedSize;
+    }
+
+    public void cancel() {
+        binarySearch.cancel();
+    }
+
+    /**
+     * Searches for all occurrences of pattern in whole data.
+     *
+     * @return sorted positions of matches
+     * @throws CancellationException if search was cancelled
+     */
+    @Nonnull
+    public long[] search() {
+        long dataSize = data.getDataSize();
+        if (!isIndexUsable()) {
+            searchedSize = dataSize;
+            return binarySearch.search();
+        }
+
+        int[] blocks = index.findCandidateBlocks(pattern, maximumGrams);
+        int blockSize = index.getBlockSize();
+        long[] result = new long[0];
+        int resultCount = 0;
+        searchedSize = 0;
+        int blockIndex = 0;
+        while (blockIndex < blocks.length) {
+            // Consecutive blocks are searched as single range
+            int firstBlock = blocks[blockIndex];
+            int lastBlock = firstBlock;
+            while (blockIndex + 1 < blocks.length && blocks[blockIndex + 1] == lastBlock + 1) {
+                blockIndex++;
+                lastBlock++;
+            }
+            long startPosition = (long) firstBlock * blockSize;
+            long endPosition = Math.min((long) (lastBlock + 1) * blockSize, dataSize);
+            blockIndex++;
+
+            searchedSize += endPosition - startPosition;
+            long[] matches = binarySearch.search(startPosition, endPosition);
+            if (resultCount + matches.length > result.length) {
+                result = Arrays.copyOf(result, Math.max(result.length * 2, resultCount + matches.length));
+            }
+            System.arraycopy(matches, 0, result, resultCount, matches.length);
+            resultCount += matches.length;
+        }
+
+        return resultCount == result.length ? result : Arrays.copyOf(result, resultCount);
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.search;
+
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.paged_data.BinaryData;
+
+/**
+ * Search for all occurrences of masked pattern in binary data.
+ *
+ * If pattern contains run of fully specified bytes long enough, the run is
+ * searched for using Boyer-Moore-Horspool algorithm and candidates are then
+ * verified against whole pattern, so that skipping isn't limited by
+ * wildcards. Otherwise whole pattern is searched for using Horspool shift
+ * table of masked bytes.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class MaskedBinarySearch extends ChunkedBinarySearch {
+
+    /**
+     * Minimum length of fully specified run used as search anchor.
+     */
+    public static final int MINIMUM_ANCHOR_LENGTH = 2;
+
+    private static final long[] NO_MATCHES = new long[0];
+
+    private final MaskedSearchPattern pattern;
+    private final int anchorOffset;
+    private final int anchorLength;
+    private final int[] shifts;
+
+    @Nullable
+    private BinarySearchListener searchListener = null;
+    @Nullable
+    private long[][] chunkMatches = null;
+
+    public MaskedBinarySearch(BinaryData data, MaskedSearchPattern pattern) {
+        super(data);
+        this.pattern = pattern;
+
+        int bestOffset = 0;
+        int bestLength = 0;
+        int runStart = 0;
+        for (int i = 0; i <= pattern.getLength(); i++) {
+            if (i == pattern.getLength() || pattern.getMask(i) != MaskedSearchPattern.FULL_MASK) {
+                if (i - runStart > bestLength) {
+                    bestOffset = runStart;
+                    bestLength = i - runStart;
+                }
+                runStart = i + 1;
+            }
+        }
+
+        if (bestLength >= MINIMUM_ANCHOR_LENGTH) {
+            anchorOffset = bestOffset;
+            anchorLength = bestLength;
+            byte[] anchor = new byte[anchorLength];
+            for (int i = 0; i < anchorLength; i++) {
+                anchor[i] = pattern.getValue(anchorOffset + i);
+            }
+            shifts = SearchPattern.fromBytes(anchor).computeShiftTable();
+        } else {
+            anchorOffset = 0;
+            anchorLength = 0;
+            shifts = pattern.computeShiftTable();
+        }
+    }
+
+    @Nonnull
+    public MaskedSearchPattern getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Returns true if search uses fully specified run of the pattern as
+     * anchor.
+     *
+     * @return true if anchored
+     */
+    public boolean isAnchored() {
+        return anchorLength > 0;
+    }
+
+    @Nullable
+    public BinarySearchListener getSearchListener() {
+        return searchListener;
+    }
+
+    public void setSearchListener(@Nullable BinarySearchListener searchListener) {
+        this.searchListener = searchListener;
+    }
+
+    /**
+     * Searches for all occurrences of pattern in whole data.
+     *
+     * @return sorted positions of matches
+     * @throws CancellationException if search was cancelled
+     */
+    @Nonnull
+    public long[] search() {
+        return search(0, data.getDataSize());
+    }
+
+    /**
+     * Searches for all occurrences of pattern starting in given range.
+     *
+     * @param startPosition start position
+     * @param endPosition end position of range of match starts (exclusive)
+     * @return sorted positions of matches
+     * @throws CancellationException if search was cancelled
+     */
+    @Nonnull
+    public long[] search(long startPosition, long endPosition) {
+        chunkMatches = new long[getChunksCount(startPosition, endPosition)][];
+        try {
+            searchChunks(startPosition, endPosition);
+
+            int matchesCount = 0;
+            for (long[] matches : chunkMatches) {
+                matchesCount += matches.length;
+            }
+            long[] result = new long[matchesCount];
+            int offset = 0;
+            for (long[] matches : chunkMatches) {
+                System.arraycopy(matches, 0, result, offset, matches.length);
+                offset += matches.length;
+            }
+            return result;
+        } finally {
+            chunkMatches = null;
+        }
+    }
+
+    @Override
+    protected int getMaximumMatchLength() {
+        return pattern.getLength();
+    }
+
+    @Override
+    protected void searchChunk(int chunkIndex, byte[] buffer, int length, long chunkStart, long chunkEnd) {
+        long[] matches = findMatches(buffer, length, chunkStart);
+        chunkMatches[chunkIndex] = matches;
+        BinarySearchListener listener = searchListener;
+        if (listener != null) {
+            listener.chunkSearched(chunkStart, chunkEnd, matches, matches.length);
+            listener.progressChanged(chunkProcessed(chunkEnd - chunkStart), getRangeLength());
+        }
+    }
+
+    /**
+     * Finds all matches in given buffer.
+     *
+     * Window of the Horspool algorithm covers anchor if available or whole
+     * pattern otherwise, window position is tracked as pattern start.
+     *
+     * @param buffer searched buffer
+     * @param length length of valid data in buffer
+     * @param bufferPosition data position of the buffer start
+     * @return positions of matches
+     */
+    @Nonnull
+    private long[] findMatches(byte[] buffer, int length, long bufferPosition) {
+        int lastIndex = anchorLength > 0 ? anchorOffset + anchorLength - 1 : pattern.getLength() - 1;
+        byte lastValue = pattern.getValue(lastIndex);
+        byte lastMask = pattern.getMask(lastIndex);
+        long[] matches = NO_MATCHES;
+        int matchesCount = 0;
+
+        int position = 0;
+        int limit = length - pattern.getLength();
+        while (position <= limit) {
+            byte value = buffer[position + lastIndex];
+            if ((value & lastMask) == lastValue && pattern.matchesAt(buffer, position)) {
+                if (matchesCount == matches.length) {
+                    matches = Arrays.copyOf(matches, matchesCount == 0 ? INITIAL_MATCHES_CAPACITY : matchesCount * 2);
+                }
+                matches[matchesCount++] = bufferPosition + position;
+            }
+
+            position += shifts[value & 0xFF];
+        }
+
+        return matchesCount == matches.length ? matches : Arrays.copyOf(matches, matchesCount);
+    }
+}
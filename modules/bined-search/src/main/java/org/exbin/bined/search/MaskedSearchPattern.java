@@ -0,0 +1,220 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.search;
+
+import java.util.Arrays;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Binary search pattern with wildcards and bit masks.
+ *
+ * Byte of data matches pattern byte if data byte masked by pattern mask is
+ * equal to pattern value.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class MaskedSearchPattern {
+
+    public static final byte FULL_MASK = (byte) 0xFF;
+    public static final byte WILDCARD_MASK = 0;
+
+    private static final char WILDCARD_CHAR = '?';
+    private static final char MASK_OPERATOR = '&';
+    private static final String HEX_PREFIX = "0x";
+
+    private final byte[] values;
+    private final byte[] masks;
+
+    private MaskedSearchPattern(byte[] values, byte[] masks) {
+        if (values.length == 0) {
+            throw new IllegalArgumentException("Search pattern cannot be empty");
+        }
+        if (values.length != masks.length) {
+            throw new IllegalArgumentException("Pattern values and masks must have the same length");
+        }
+
+        this.values = values;
+        this.masks = masks;
+        for (int i = 0; i < values.length; i++) {
+            values[i] &= masks[i];
+        }
+    }
+
+    /**
+     * Creates pattern for given values and masks.
+     *
+     * @param values pattern values
+     * @param masks bit masks of pattern values
+     * @return search pattern
+     */
+    @Nonnull
+    public static MaskedSearchPattern fromBytes(byte[] values, byte[] masks) {
+        return new MaskedSearchPattern(Arrays.copyOf(values, values.length), Arrays.copyOf(masks, masks.length));
+    }
+
+    /**
+     * Parses pattern from hexadecimal text.
+     *
+     * Bytes are written as pairs of hexadecimal digits, optionally prefixed
+     * with 0x and separated by whitespaces. Digit can be replaced with ? to
+     * match any value of the half-byte. Byte can be followed by &amp; and
+     * hexadecimal mask of bits to compare, for example "4D 5A ?? ?? 50 45" or
+     * "0x8? &amp; 0xF0".
+     *
+     * @param text pattern text
+     * @return search pattern
+     * @throws IllegalArgumentException if text is not valid pattern
+     */
+    @Nonnull
+    public static MaskedSearchPattern parse(String text) {
+        byte[] values = new byte[text.length() / 2];
+        byte[] masks = new byte[values.length];
+        int length = 0;
+        boolean maskExpected = false;
+
+        int position = 0;
+        while (position < text.length()) {
+            char character = text.charAt(position);
+            if (Character.isWhitespace(character)) {
+                position++;
+                continue;
+            }
+
+            if (character == MASK_OPERATOR) {
+                if (length == 0 || maskExpected) {
+                    throw new IllegalArgumentException("Mask without value at position " + position);
+                }
+                maskExpected = true;
+                position++;
+                continue;
+            }
+
+            if (text.startsWith(HEX_PREFIX, position) || text.startsWith(HEX_PREFIX.toUpperCase(), position)) {
+                position += HEX_PREFIX.length();
+            }
+            if (position + 1 >= text.length()) {
+                throw new IllegalArgumentException("Incomplete byte at position " + position);
+            }
+
+            int highValue = parseDigit(text.charAt(position), position);
+            int lowValue = parseDigit(text.charAt(position + 1), position + 1);
+            int value = (Math.max(highValue, 0) << 4) | Math.max(lowValue, 0);
+            int mask = (highValue < 0 ? 0 : 0xF0) | (lowValue < 0 ? 0 : 0x0F);
+            if (maskExpected) {
+                if (mask != 0xFF) {
+                    throw new IllegalArgumentException("Mask cannot contain wildcards at position " + position);
+                }
+                masks[length - 1] &= (byte) value;
+                maskExpected = false;
+            } else {
+                values[length] = (byte) value;
+                masks[length] = (byte) mask;
+                length++;
+            }
+            position += 2;
+        }
+
+        if (maskExpected) {
+            throw new IllegalArgumentException("Missing mask at the end of pattern");
+        }
+
+        return new MaskedSearchPattern(Arrays.copyOf(values, length), Arrays.copyOf(masks, length));
+    }
+
+    /**
+     * Parses hexadecimal digit.
+     *
+     * @param character character
+     * @param position position of character in text
+     * @return digit value or -1 for wildcard
+     */
+    private static int parseDigit(char character, int position) {
+        if (character == WILDCARD_CHAR) {
+            return -1;
+        }
+
+        int digit = Character.digit(character, 16);
+        if (digit < 0) {
+            throw new IllegalArgumentException("Invalid character '" + character + "' at position " + position);
+        }
+        return digit;
+    }
+
+    public int getLength() {
+        return values.length;
+    }
+
+    public byte getValue(int index) {
+        return values[index];
+    }
+
+    public byte getMask(int index) {
+        return masks[index];
+    }
+
+    /**
+     * Returns true if data byte matches pattern byte.
+     *
+     * @param index pattern index
+     * @param value data byte
+     * @return true if matches
+     */
+    public boolean matches(int index, byte value) {
+        return (value & masks[index]) == values[index];
+    }
+
+    /**
+     * Returns true if data at given offset match whole pattern.
+     *
+     * @param buffer data buffer
+     * @param offset offset in buffer
+     * @return true if matches
+     */
+    boolean matchesAt(byte[] buffer, int offset) {
+        for (int i = values.length - 1; i >= 0; i--) {
+            if ((buffer[offset + i] & masks[i]) != values[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Computes Horspool shift table for the pattern.
+     *
+     * Shift for given byte is derived from the last pattern byte it can
+     * match, wildcards therefore limit maximum shift.
+     *
+     * @return shift for each value of byte
+     */
+    @Nonnull
+    int[] computeShiftTable() {
+        int[] shifts = new int[256];
+        Arrays.fill(shifts, values.length);
+        for (int i = 0; i < values.length - 1; i++) {
+            int shift = values.length - 1 - i;
+            for (int value = 0; value < 256; value++) {
+                if (((byte) value & masks[i]) == values[i]) {
+                    shifts[value] = shift;
+                }
+            }
+        }
+        return shifts;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.search;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Result of multiple patterns search.
+ *
+ * Matches are ordered by position and pattern index.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class MultiPatternMatches {
+
+    private final long[] positions;
+    private final int[] patternIndexes;
+    private final int count;
+    private final int[] patternLengths;
+
+    MultiPatternMatches(long[] positions, int[] patternIndexes, int count, int[] patternLengths) {
+        this.positions = positions;
+        this.patternIndexes = patternIndexes;
+        this.count = count;
+        this.patternLengths = patternLengths;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getPosition(int index) {
+        checkIndex(index);
+        return positions[index];
+    }
+
+    public int getPatternIndex(int index) {
+        checkIndex(index);
+        return patternIndexes[index];
+    }
+
+    public int getLength(int index) {
+        checkIndex(index);
+        return patternLengths[patternIndexes[index]];
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Count: " + count);
+        }
+    }
+}
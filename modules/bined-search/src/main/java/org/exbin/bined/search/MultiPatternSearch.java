@@ -0,0 +1,191 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.paged_data.BinaryData;
+
+/**
+ * Search for all occurrences of multiple patterns in binary data in single
+ * pass.
+ *
+ * Chunks are searched in parallel using Aho-Corasick automaton, so that cost
+ * of the search doesn't grow with number of patterns.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class MultiPatternSearch extends ChunkedBinarySearch {
+
+    private static final long[] NO_MATCHES = new long[0];
+
+    private final List<SearchPattern> patterns;
+    private final PatternAutomaton automaton;
+    private final int[] patternLengths;
+
+    @Nullable
+    private MultiPatternSearchListener searchListener = null;
+    @Nullable
+    private ChunkMatches[] chunkMatches = null;
+
+    public MultiPatternSearch(BinaryData data, List<SearchPattern> patterns) {
+        super(data);
+        this.patterns = Collections.unmodifiableList(new ArrayList<>(patterns));
+        automaton = new PatternAutomaton(this.patterns);
+        patternLengths = new int[patterns.size()];
+        for (int i = 0; i < patternLengths.length; i++) {
+            patternLengths[i] = automaton.getPatternLength(i);
+        }
+    }
+
+    @Nonnull
+    public List<SearchPattern> getPatterns() {
+        return patterns;
+    }
+
+    @Nullable
+    public MultiPatternSearchListener getSearchListener() {
+        return searchListener;
+    }
+
+    public void setSearchListener(@Nullable MultiPatternSearchListener searchListener) {
+        this.searchListener = searchListener;
+    }
+
+    /**
+     * Searches for all occurrences of patterns in whole data.
+     *
+     * @return matches ordered by position and pattern index
+     * @throws CancellationException if search was cancelled
+     */
+    @Nonnull
+    public MultiPatternMatches search() {
+        return search(0, data.getDataSize());
+    }
+
+    /**
+     * Searches for all occurrences of patterns starting in given range.
+     *
+     * @param startPosition start position
+     * @param endPosition end position of range of match starts (exclusive)
+     * @return matches ordered by position and pattern index
+     * @throws CancellationException if search was cancelled
+     */
+    @Nonnull
+    public MultiPatternMatches search(long startPosition, long endPosition) {
+        chunkMatches = new ChunkMatches[getChunksCount(startPosition, endPosition)];
+        try {
+            searchChunks(startPosition, endPosition);
+
+            int matchesCount = 0;
+            for (ChunkMatches matches : chunkMatches) {
+                matchesCount += matches.count;
+            }
+            long[] positions = new long[matchesCount];
+            int[] patternIndexes = new int[matchesCount];
+            int offset = 0;
+            for (ChunkMatches matches : chunkMatches) {
+                System.arraycopy(matches.positions, 0, positions, offset, matches.count);
+                System.arraycopy(matches.patternIndexes, 0, patternIndexes, offset, matches.count);
+                offset += matches.count;
+            }
+            return new MultiPatternMatches(positions, patternIndexes, matchesCount, patternLengths);
+        } finally {
+            chunkMatches = null;
+        }
+    }
+
+    @Override
+    protected int getMaximumMatchLength() {
+        return automaton.getMaximumLength();
+    }
+
+    @Override
+    protected void searchChunk(int chunkIndex, byte[] buffer, int length, long chunkStart, long chunkEnd) {
+        ChunkMatches matches = findMatches(buffer, length, (int) (chunkEnd - chunkStart), chunkStart);
+        chunkMatches[chunkIndex] = matches;
+        MultiPatternSearchListener listener = searchListener;
+        if (listener != null) {
+            listener.chunkSearched(chunkStart, chunkEnd, matches.positions, matches.patternIndexes, matches.count);
+            listener.progressChanged(chunkProcessed(chunkEnd - chunkStart), getRangeLength());
+        }
+    }
+
+    /**
+     * Finds all matches in given buffer.
+     *
+     * Automaton reports matches ordered by end position, so matches are
+     * sorted by offset and pattern index packed into single value.
+     *
+     * @param buffer searched buffer
+     * @param length length of valid data in buffer
+     * @param chunkLength length of the chunk
+     * @param bufferPosition data position of the buffer start
+     * @return matches
+     */
+    @Nonnull
+    private ChunkMatches findMatches(byte[] buffer, int length, int chunkLength, long bufferPosition) {
+        PackedMatches packedMatches = new PackedMatches();
+        automaton.findMatches(buffer, length, chunkLength, packedMatches);
+
+        int count = packedMatches.count;
+        long[] packed = packedMatches.matches;
+        Arrays.sort(packed, 0, count);
+        long[] positions = count == 0 ? NO_MATCHES : new long[count];
+        int[] patternIndexes = new int[count];
+        for (int i = 0; i < count; i++) {
+            positions[i] = bufferPosition + (packed[i] >>> 32);
+            patternIndexes[i] = (int) packed[i];
+        }
+
+        return new ChunkMatches(positions, patternIndexes, count);
+    }
+
+    private static class PackedMatches implements PatternAutomaton.MatchConsumer {
+
+        long[] matches = NO_MATCHES;
+        int count = 0;
+
+        @Override
+        public void matchFound(int offset, int patternIndex) {
+            if (count == matches.length) {
+                matches = Arrays.copyOf(matches, count == 0 ? INITIAL_MATCHES_CAPACITY : count * 2);
+            }
+            matches[count++] = ((long) offset << 32) | patternIndex;
+        }
+    }
+
+    private static class ChunkMatches {
+
+        final long[] positions;
+        final int[] patternIndexes;
+        final int count;
+
+        ChunkMatches(long[] positions, int[] patternIndexes, int count) {
+            this.positions = positions;
+            this.patternIndexes = patternIndexes;
+            this.count = count;
+        }
+    }
+}
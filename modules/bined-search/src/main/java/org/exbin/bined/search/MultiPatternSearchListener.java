@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.search;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Listener for progress of multiple patterns search.
+ *
+ * Methods are called from worker threads of the search.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public interface MultiPatternSearchListener {
+
+    /**
+     * Reports matches found in single searched chunk of data.
+     *
+     * Chunks can be finished in any order, matches are sorted within single
+     * report only. Reported for every chunk, even without matches.
+     *
+     * @param startPosition start position of the chunk
+     * @param endPosition end position of the chunk (exclusive)
+     * @param positions positions of matches
+     * @param patternIndexes indexes of matched patterns
+     * @param count number of valid matches in arrays
+     */
+    void chunkSearched(long startPosition, long endPosition, long[] positions, int[] patternIndexes, int count);
+
+    /**
+     * Reports progress of the search.
+     *
+     * @param processedBytes number of already processed bytes
+     * @param totalBytes total number of bytes to process
+     */
+    void progressChanged(long processedBytes, long totalBytes);
+}
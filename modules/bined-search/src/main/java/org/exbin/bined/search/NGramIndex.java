@@ -0,0 +1,329 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.search;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.paged_data.BinaryData;
+
+/**
+ * Persistent index of 3-grams of binary data.
+ *
+ * For each 3-gram present in data, index stores sorted list of blocks of data
+ * in which the 3-gram starts. Index file is memory-mapped, so that only
+ * accessed lists are loaded.
+ *
+ * File starts with header, followed by directory of present 3-grams sorted
+ * by value with number and offset of their blocks, followed by lists of block
+ * numbers stored as integers.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class NGramIndex {
+
+    public static final int GRAM_LENGTH = 3;
+    public static final int GRAMS_COUNT = 1 << (8 * GRAM_LENGTH);
+
+    static final int MAGIC = 0x424e4749;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 48;
+    static final int DIRECTORY_ENTRY_SIZE = 16;
+    static final int POSTING_SIZE = 4;
+    /**
+     * Size of mapped segment of postings, multiple of posting size.
+     */
+    static final long SEGMENT_SIZE = 1L << 30;
+
+    private static final int[] NO_BLOCKS = new int[0];
+
+    private final int blockSize;
+    private final long dataSize;
+    private final long dataStamp;
+    private final int directorySize;
+    private final ByteBuffer directory;
+    private final MappedByteBuffer[] postingSegments;
+    private volatile boolean valid = true;
+
+    private NGramIndex(int blockSize, long dataSize, long dataStamp, int directorySize, ByteBuffer directory, MappedByteBuffer[] postingSegments) {
+        this.blockSize = blockSize;
+        this.dataSize = dataSize;
+        this.dataStamp = dataStamp;
+        this.directorySize = directorySize;
+        this.directory = directory;
+        this.postingSegments = postingSegments;
+    }
+
+    /**
+     * Loads index from given file.
+     *
+     * @param indexFile index file
+     * @return index
+     * @throws IOException if file cannot be read or is not valid index
+     */
+    @Nonnull
+    public static NGramIndex load(Path indexFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE) {
+                throw new IOException("Invalid index file");
+            }
+
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION || header.getInt(8) != GRAM_LENGTH) {
+                throw new IOException("Unsupported index file");
+            }
+
+            int blockSize = header.getInt(12);
+            long dataSize = header.getLong(16);
+            long dataStamp = header.getLong(24);
+            int directorySize = header.getInt(32);
+            long postingsOffset = header.getLong(40);
+            long postingsSize = fileSize - postingsOffset;
+            if (blockSize <= 0 || directorySize < 0 || postingsOffset != HEADER_SIZE + (long) directorySize * DIRECTORY_ENTRY_SIZE || postingsSize < 0) {
+                throw new IOException("Corrupted index file");
+            }
+
+            MappedByteBuffer directory = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, (long) directorySize * DIRECTORY_ENTRY_SIZE);
+            int segmentsCount = (int) ((postingsSize + SEGMENT_SIZE - 1) / SEGMENT_SIZE);
+            MappedByteBuffer[] postingSegments = new MappedByteBuffer[segmentsCount];
+            for (int segment = 0; segment < segmentsCount; segment++) {
+                long segmentOffset = segment * SEGMENT_SIZE;
+                postingSegments[segment] = channel.map(FileChannel.MapMode.READ_ONLY, postingsOffset + segmentOffset, Math.min(SEGMENT_SIZE, postingsSize - segmentOffset));
+            }
+
+            return new NGramIndex(blockSize, dataSize, dataStamp, directorySize, directory, postingSegments);
+        }
+    }
+
+    /**
+     * Loads index from given file if it exists and is valid for given data.
+     *
+     * @param indexFile index file
+     * @param data indexed data
+     * @param dataStamp modification stamp of data
+     * @return index or null if there is no usable index
+     */
+    @Nullable
+    public static NGramIndex loadValid(Path indexFile, BinaryData data, long dataStamp) {
+        if (!Files.isRegularFile(indexFile)) {
+            return null;
+        }
+
+        try {
+            NGramIndex index = load(indexFile);
+            return index.isValidFor(data, dataStamp) ? index : null;
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public long getDataSize() {
+        return dataSize;
+    }
+
+    public long getDataStamp() {
+        return dataStamp;
+    }
+
+    /**
+     * Returns number of distinct 3-grams in indexed data.
+     *
+     * @return number of 3-grams
+     */
+    public int getGramsCount() {
+        return directorySize;
+    }
+
+    /**
+     * Returns true if index can be used for given data.
+     *
+     * @param data data
+     * @param dataStamp modification stamp of data, for example last
+     * modification time of the file
+     * @return true if index is valid for data
+     */
+    public boolean isValidFor(BinaryData data, long dataStamp) {
+        return valid && data.getDataSize() == dataSize && this.dataStamp == dataStamp;
+    }
+
+    /**
+     * Marks index as invalid, for example after data was modified.
+     */
+    public void invalidate() {
+        valid = false;
+    }
+
+    public boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * Returns value of 3-gram at given position.
+     *
+     * @param data data
+     * @param offset offset of the 3-gram
+     * @return 3-gram value
+     */
+    static int gramAt(byte[] data, int offset) {
+        return ((data[offset] & 0xFF) << 16) | ((data[offset + 1] & 0xFF) << 8) | (data[offset + 2] & 0xFF);
+    }
+
+    /**
+     * Returns number of blocks containing given 3-gram.
+     *
+     * @param gram 3-gram value
+     * @return number of blocks
+     */
+    public int getBlocksCount(int gram) {
+        int entry = findEntry(gram);
+        return entry < 0 ? 0 : directory.getInt(entry * DIRECTORY_ENTRY_SIZE + 4);
+    }
+
+    /**
+     * Returns sorted blocks containing given 3-gram.
+     *
+     * @param gram 3-gram value
+     * @return block numbers
+     */
+    @Nonnull
+    public int[] getBlocks(int gram) {
+        int entry = findEntry(gram);
+        if (entry < 0) {
+            return NO_BLOCKS;
+        }
+
+        int count = directory.getInt(entry * DIRECTORY_ENTRY_SIZE + 4);
+        long postingIndex = directory.getLong(entry * DIRECTORY_ENTRY_SIZE + 8);
+        int[] blocks = new int[count];
+        for (int i = 0; i < count; i++) {
+            long offset = (postingIndex + i) * POSTING_SIZE;
+            blocks[i] = postingSegments[(int) (offset / SEGMENT_SIZE)].getInt((int) (offset % SEGMENT_SIZE));
+        }
+        return blocks;
+    }
+
+    /**
+     * Returns sorted blocks in which match of given pattern can start.
+     *
+     * Blocks are narrowed by rarest 3-grams of the pattern, so each returned
+     * block has to be verified.
+     *
+     * @param pattern search pattern of at least 3-gram length
+     * @param maximumGrams maximum number of 3-grams to intersect
+     * @return block numbers
+     */
+    @Nonnull
+    public int[] findCandidateBlocks(SearchPattern pattern, int maximumGrams) {
+        byte[] patternData = pattern.getPattern();
+        // Only 3-grams starting within the first block of the match can span at most two blocks
+        int gramsCount = Math.min(patternData.length - GRAM_LENGTH + 1, blockSize);
+        if (gramsCount <= 0) {
+            throw new IllegalArgumentException("Pattern is shorter than indexed 3-grams");
+        }
+
+        long[] rankedGrams = new long[gramsCount];
+        for (int offset = 0; offset < gramsCount; offset++) {
+            int count = getBlocksCount(gramAt(patternData, offset));
+            if (count == 0) {
+                return NO_BLOCKS;
+            }
+            rankedGrams[offset] = ((long) count << 32) | offset;
+        }
+        Arrays.sort(rankedGrams);
+
+        int[] candidates = null;
+        for (int i = 0; i < Math.min(maximumGrams, gramsCount); i++) {
+            int offset = (int) rankedGrams[i];
+            int[] gramCandidates = withPreviousBlocks(getBlocks(gramAt(patternData, offset)));
+            candidates = candidates == null ? gramCandidates : intersect(candidates, gramCandidates);
+            if (candidates.length == 0) {
+                break;
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Returns sorted union of blocks and their preceding blocks, as 3-gram
+     * of the match can start in the next block after match start.
+     */
+    @Nonnull
+    private static int[] withPreviousBlocks(int[] blocks) {
+        int[] result = new int[blocks.length * 2];
+        int count = 0;
+        for (int block : blocks) {
+            if (block > 0 && (count == 0 || result[count - 1] < block - 1)) {
+                result[count++] = block - 1;
+            }
+            if (count == 0 || result[count - 1] < block) {
+                result[count++] = block;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    @Nonnull
+    private static int[] intersect(int[] first, int[] second) {
+        int[] result = new int[Math.min(first.length, second.length)];
+        int count = 0;
+        int firstIndex = 0;
+        int secondIndex = 0;
+        while (firstIndex < first.length && secondIndex < second.length) {
+            if (first[firstIndex] < second[secondIndex]) {
+                firstIndex++;
+            } else if (first[firstIndex] > second[secondIndex]) {
+                secondIndex++;
+            } else {
+                result[count++] = first[firstIndex];
+                firstIndex++;
+                secondIndex++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private int findEntry(int gram) {
+        int low = 0;
+        int high = directorySize - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int middleGram = directory.getInt(middle * DIRECTORY_ENTRY_SIZE);
+            if (middleGram < gram) {
+                low = middle + 1;
+            } else if (middleGram > gram) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.search;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.paged_data.BinaryData;
+
+/**
+ * Builder of persistent 3-gram index of binary data.
+ *
+ * Data are read twice, first pass counts blocks for each 3-gram and second
+ * pass writes block numbers directly into memory-mapped index file, so that
+ * memory usage doesn't depend on size of data. Header is written last, so
+ * incomplete index file is never loaded.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class NGramIndexBuilder {
+
+    public static final int DEFAULT_BLOCK_SIZE = 64 * 1024;
+
+    private final BinaryData data;
+    private final Path indexFile;
+    private int blockSize = DEFAULT_BLOCK_SIZE;
+    private long dataStamp = 0;
+
+    private volatile boolean cancelled = false;
+
+    public NGramIndexBuilder(BinaryData data, Path indexFile) {
+        this.data = data;
+        this.indexFile = indexFile;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * Sets size of indexed blocks.
+     *
+     * Smaller blocks narrow search more precisely, but make index larger.
+     *
+     * @param blockSize block size
+     */
+    public void setBlockSize(int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+
+        this.blockSize = blockSize;
+    }
+
+    public long getDataStamp() {
+        return dataStamp;
+    }
+
+    /**
+     * Sets modification stamp of data stored in index, for example last
+     * modification time of the file.
+     *
+     * @param dataStamp data stamp
+     */
+    public void setDataStamp(long dataStamp) {
+        this.dataStamp = dataStamp;
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Builds index using given executor.
+     *
+     * @param executor executor
+     * @return future of built index
+     */
+    @Nonnull
+    public CompletableFuture<NGramIndex> buildAsync(Executor executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return build();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }, executor);
+    }
+
+    /**
+     * Builds index and loads it.
+     *
+     * @return index
+     * @throws IOException if index file cannot be written
+     * @throws CancellationException if build was cancelled
+     */
+    @Nonnull
+    public NGramIndex build() throws IOException {
+        long dataSize = data.getDataSize();
+        long blocksCount = (dataSize + blockSize - 1) / blockSize;
+        if (blocksCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Data is too large for block size");
+        }
+
+        BlockGrams blockGrams = new BlockGrams(blockSize);
+        int[] gramCounts = new int[NGramIndex.GRAMS_COUNT];
+        for (int block = 0; block < blocksCount; block++) {
+            int distinctCount = blockGrams.load(block);
+            for (int i = 0; i < distinctCount; i++) {
+                gramCounts[blockGrams.grams[i]]++;
+            }
+        }
+
+        int directorySize = 0;
+        for (int gram = 0; gram < NGramIndex.GRAMS_COUNT; gram++) {
+            if (gramCounts[gram] > 0) {
+                directorySize++;
+            }
+        }
+
+        long[] cursors = new long[directorySize];
+        long postingsOffset = NGramIndex.HEADER_SIZE + (long) directorySize * NGramIndex.DIRECTORY_ENTRY_SIZE;
+        boolean completed = false;
+        try (RandomAccessFile file = new RandomAccessFile(indexFile.toFile(), "rw")) {
+            file.setLength(0);
+            FileChannel channel = file.getChannel();
+            MappedByteBuffer directory = channel.map(FileChannel.MapMode.READ_WRITE, NGramIndex.HEADER_SIZE, (long) directorySize * NGramIndex.DIRECTORY_ENTRY_SIZE);
+            // Directory of present 3-grams, gram counts are replaced with directory entries
+            long postingsCount = 0;
+            int entry = 0;
+            for (int gram = 0; gram < NGramIndex.GRAMS_COUNT; gram++) {
+                int count = gramCounts[gram];
+                if (count > 0) {
+                    directory.putInt(gram);
+                    directory.putInt(count);
+                    directory.putLong(postingsCount);
+                    cursors[entry] = postingsCount;
+                    gramCounts[gram] = entry;
+                    postingsCount += count;
+                    entry++;
+                }
+            }
+            directory.force();
+
+            long postingsSize = postingsCount * NGramIndex.POSTING_SIZE;
+            int segmentsCount = (int) ((postingsSize + NGramIndex.SEGMENT_SIZE - 1) / NGramIndex.SEGMENT_SIZE);
+            MappedByteBuffer[] segments = new MappedByteBuffer[segmentsCount];
+            for (int segment = 0; segment < segmentsCount; segment++) {
+                long segmentOffset = segment * NGramIndex.SEGMENT_SIZE;
+                segments[segment] = channel.map(FileChannel.MapMode.READ_WRITE, postingsOffset + segmentOffset, Math.min(NGramIndex.SEGMENT_SIZE, postingsSize - segmentOffset));
+            }
+
+            for (int block = 0; block < blocksCount; block++) {
+                int distinctCount = blockGrams.load(block);
+                for (int i = 0; i < distinctCount; i++) {
+                    long offset = cursors[gramCounts[blockGrams.grams[i]]]++ * NGramIndex.POSTING_SIZE;
+                    segments[(int) (offset / NGramIndex.SEGMENT_SIZE)].putInt((int) (offset % NGramIndex.SEGMENT_SIZE), block);
+                }
+            }
+            for (MappedByteBuffer segment : segments) {
+                segment.force();
+            }
+
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, NGramIndex.HEADER_SIZE);
+            header.putInt(0, NGramIndex.MAGIC);
+            header.putInt(4, NGramIndex.VERSION);
+            header.putInt(8, NGramIndex.GRAM_LENGTH);
+            header.putInt(12, blockSize);
+            header.putLong(16, dataSize);
+            header.putLong(24, dataStamp);
+            header.putInt(32, directorySize);
+            header.putLong(40, postingsOffset);
+            header.force();
+            completed = true;
+        } finally {
+            if (!completed) {
+                Files.deleteIfExists(indexFile);
+            }
+        }
+
+        return NGramIndex.load(indexFile);
+    }
+
+    /**
+     * Distinct 3-grams starting in single block of data.
+     */
+    private final class BlockGrams {
+
+        private final byte[] buffer;
+        private final long[] presentGrams = new long[NGramIndex.GRAMS_COUNT / 64];
+        private final int[] grams;
+
+        BlockGrams(int blockSize) {
+            buffer = new byte[blockSize + NGramIndex.GRAM_LENGTH - 1];
+            grams = new int[blockSize];
+        }
+
+        /**
+         * Loads distinct 3-grams of block into grams array.
+         *
+         * @param block block number
+         * @return number of distinct 3-grams
+         */
+        int load(int block) {
+            if (cancelled) {
+                throw new CancellationException("Index build was cancelled");
+            }
+
+            long blockStart = (long) block * blockSize;
+            int length = (int) Math.min(buffer.length, data.getDataSize() - blockStart);
+            data.copyToArray(blockStart, buffer, 0, length);
+            int gramsLimit = Math.min(blockSize, length - NGramIndex.GRAM_LENGTH + 1);
+            int count = 0;
+            for (int offset = 0; offset < gramsLimit; offset++) {
+                int gram = NGramIndex.gramAt(buffer, offset);
+                long mask = 1L << gram;
+                if ((presentGrams[gram >>> 6] & mask) == 0) {
+                    presentGrams[gram >>> 6] |= mask;
+                    grams[count++] = gram;
+                }
+            }
+            for (int i = 0; i < count; i++) {
+                presentGrams[grams[i] >>> 6] = 0;
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.search;
+
+import java.util.Arrays;
+import java.util.List;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Aho-Corasick automaton for set of byte patterns.
+ *
+ * Failure transitions are resolved in advance into full transition table of
+ * 256 entries per state, so that each processed byte costs single table
+ * lookup regardless of number of patterns. Table takes 1 KiB per state and
+ * there is at most one state per pattern byte.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+final class PatternAutomaton {
+
+    static final int ROOT_STATE = 0;
+    static final int NO_PATTERN = -1;
+    private static final int NO_STATE = -1;
+    private static final int ALPHABET_SIZE = 256;
+
+    private final int[] transitions;
+    /**
+     * Pattern ending in the state or NO_PATTERN.
+     */
+    private final int[] statePatterns;
+    /**
+     * Next pattern ending in the same state or NO_PATTERN.
+     */
+    private final int[] nextPatterns;
+    /**
+     * Nearest state on failure path with some pattern or NO_STATE.
+     */
+    private final int[] outputLinks;
+    private final int[] patternLengths;
+    private final int maximumLength;
+
+    PatternAutomaton(List<SearchPattern> patterns) {
+        if (patterns.isEmpty()) {
+            throw new IllegalArgumentException("At least one pattern is required");
+        }
+
+        int maximumStates = 1;
+        int maximumPatternLength = 0;
+        patternLengths = new int[patterns.size()];
+        for (int i = 0; i < patterns.size(); i++) {
+            int length = patterns.get(i).getLength();
+            patternLengths[i] = length;
+            maximumStates += length;
+            maximumPatternLength = Math.max(maximumPatternLength, length);
+        }
+        maximumLength = maximumPatternLength;
+
+        int[] table = new int[maximumStates * ALPHABET_SIZE];
+        Arrays.fill(table, NO_STATE);
+        int[] patternStates = new int[maximumStates];
+        Arrays.fill(patternStates, NO_PATTERN);
+        nextPatterns = new int[patterns.size()];
+
+        // Build trie of patterns
+        int statesCount = 1;
+        for (int patternIndex = 0; patternIndex < patterns.size(); patternIndex++) {
+            byte[] pattern = patterns.get(patternIndex).getPattern();
+            int state = ROOT_STATE;
+            for (byte value : pattern) {
+                int transition = state * ALPHABET_SIZE + (value & 0xFF);
+                if (table[transition] == NO_STATE) {
+                    table[transition] = statesCount++;
+                }
+                state = table[transition];
+            }
+            nextPatterns[patternIndex] = patternStates[state];
+            patternStates[state] = patternIndex;
+        }
+
+        // Resolve failure transitions in breadth first order
+        int[] failures = new int[statesCount];
+        int[] links = new int[statesCount];
+        links[ROOT_STATE] = NO_STATE;
+        int[] queue = new int[statesCount];
+        int queueEnd = 0;
+        for (int value = 0; value < ALPHABET_SIZE; value++) {
+            int target = table[value];
+            if (target == NO_STATE) {
+                table[value] = ROOT_STATE;
+            } else {
+                failures[target] = ROOT_STATE;
+                links[target] = NO_STATE;
+                queue[queueEnd++] = target;
+            }
+        }
+
+        for (int queueStart = 0; queueStart < queueEnd; queueStart++) {
+            int state = queue[queueStart];
+            int stateOffset = state * ALPHABET_SIZE;
+            int failureOffset = failures[state] * ALPHABET_SIZE;
+            for (int value = 0; value < ALPHABET_SIZE; value++) {
+                int target = table[stateOffset + value];
+                if (target == NO_STATE) {
+                    table[stateOffset + value] = table[failureOffset + value];
+                } else {
+                    int failure = table[failureOffset + value];
+                    failures[target] = failure;
+                    links[target] = patternStates[failure] != NO_PATTERN ? failure : links[failure];
+                    queue[queueEnd++] = target;
+                }
+            }
+        }
+
+        transitions = Arrays.copyOf(table, statesCount * ALPHABET_SIZE);
+        statePatterns = Arrays.copyOf(patternStates, statesCount);
+        outputLinks = links;
+    }
+
+    int getStatesCount() {
+        return statePatterns.length;
+    }
+
+    int getMaximumLength() {
+        return maximumLength;
+    }
+
+    int getPatternLength(int patternIndex) {
+        return patternLengths[patternIndex];
+    }
+
+    /**
+     * Finds all matches starting in given range of the buffer.
+     *
+     * Matches are reported ordered by end position.
+     *
+     * @param buffer searched buffer
+     * @param length length of valid data in buffer
+     * @param startsLimit limit of match start offset (exclusive)
+     * @param consumer matches consumer
+     */
+    void findMatches(byte[] buffer, int length, int startsLimit, MatchConsumer consumer) {
+        int[] table = transitions;
+        int state = ROOT_STATE;
+        for (int offset = 0; offset < length; offset++) {
+            state = table[state * ALPHABET_SIZE + (buffer[offset] & 0xFF)];
+            int outputState = statePatterns[state] != NO_PATTERN ? state : outputLinks[state];
+            while (outputState != NO_STATE) {
+                for (int patternIndex = statePatterns[outputState]; patternIndex != NO_PATTERN; patternIndex = nextPatterns[patternIndex]) {
+                    int matchStart = offset - patternLengths[patternIndex] + 1;
+                    if (matchStart < startsLimit) {
+                        consumer.matchFound(matchStart, patternIndex);
+                    }
+                }
+                outputState = outputLinks[outputState];
+            }
+        }
+    }
+
+    interface MatchConsumer {
+
+        void matchFound(int offset, int patternIndex);
+    }
+}
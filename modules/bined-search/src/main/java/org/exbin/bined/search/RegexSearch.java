@@ -0,0 +1,355 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.search;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.paged_data.BinaryData;
+
+/**
+ * Search for regular expression in binary data decoded using charset.
+ *
+ * Data are decoded in chunks into reused window of characters, window keeps
+ * maximum match length of characters from previous chunk, so that matches
+ * crossing chunk boundary are found, and the same length of characters before
+ * the next search position for look-behind. Longer matches can be shortened
+ * or missed when crossing chunk boundary.
+ *
+ * Byte positions of decoded characters are recorded in sparse checkpoints.
+ * Byte position of match boundary is computed by decoding data from the
+ * nearest preceding checkpoint, which assumes that decoder has no state at
+ * checkpoints, as it's the case for common charsets.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class RegexSearch {
+
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+    public static final int DEFAULT_MAXIMUM_MATCH_LENGTH = 1024;
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 64;
+
+    private static final int INITIAL_MATCHES_CAPACITY = 16;
+    private static final int DEFAULT_MAX_BYTES_PER_CHAR = 8;
+
+    private final BinaryData data;
+    private final Pattern pattern;
+    private final Charset charset;
+    private final int maxBytesPerChar;
+
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private int maximumMatchLength = DEFAULT_MAXIMUM_MATCH_LENGTH;
+    private int checkpointInterval = DEFAULT_CHECKPOINT_INTERVAL;
+    @Nullable
+    private RegexSearchListener searchListener = null;
+
+    private volatile boolean cancelled = false;
+
+    private final CharOffsetCheckpoints checkpoints = new CharOffsetCheckpoints();
+    @Nullable
+    private CharsetDecoder mappingDecoder = null;
+    private byte[] mappingBuffer = new byte[0];
+    private char[] mappingChars = new char[0];
+    private long searchEndPosition;
+
+    private long[] matchPositions = new long[0];
+    private long[] matchLengths = new long[0];
+    private int matchesCount = 0;
+
+    public RegexSearch(BinaryData data, Pattern pattern, Charset charset) {
+        this.data = data;
+        this.pattern = pattern;
+        this.charset = charset;
+        int bytesPerChar;
+        try {
+            bytesPerChar = (int) Math.ceil(charset.newEncoder().maxBytesPerChar());
+        } catch (UnsupportedOperationException ex) {
+            bytesPerChar = DEFAULT_MAX_BYTES_PER_CHAR;
+        }
+        maxBytesPerChar = bytesPerChar;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+
+        this.chunkSize = chunkSize;
+    }
+
+    public int getMaximumMatchLength() {
+        return maximumMatchLength;
+    }
+
+    /**
+     * Sets maximum length of match in characters which is guaranteed to be
+     * found across chunk boundary.
+     *
+     * @param maximumMatchLength maximum match length
+     */
+    public void setMaximumMatchLength(int maximumMatchLength) {
+        if (maximumMatchLength <= 0) {
+            throw new IllegalArgumentException("Maximum match length must be positive");
+        }
+
+        this.maximumMatchLength = maximumMatchLength;
+    }
+
+    public int getCheckpointInterval() {
+        return checkpointInterval;
+    }
+
+    /**
+     * Sets maximum number of characters between checkpoints.
+     *
+     * @param checkpointInterval checkpoint interval
+     */
+    public void setCheckpointInterval(int checkpointInterval) {
+        if (checkpointInterval < 2) {
+            throw new IllegalArgumentException("Checkpoint interval must cover surrogate pair");
+        }
+
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    @Nullable
+    public RegexSearchListener getSearchListener() {
+        return searchListener;
+    }
+
+    public void setSearchListener(@Nullable RegexSearchListener searchListener) {
+        this.searchListener = searchListener;
+    }
+
+    /**
+     * Cancels running search.
+     *
+     * Cancelled search cannot be started again.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Starts search of whole data on given executor.
+     *
+     * @param executor executor
+     * @return future result of the search
+     */
+    @Nonnull
+    public CompletableFuture<ByteRangeMatches> searchAsync(Executor executor) {
+        return CompletableFuture.supplyAsync(this::search, executor);
+    }
+
+    /**
+     * Searches for all matches in whole data.
+     *
+     * @return matches ordered by position
+     * @throws CancellationException if search was cancelled
+     */
+    @Nonnull
+    public ByteRangeMatches search() {
+        return search(0, data.getDataSize());
+    }
+
+    /**
+     * Searches for all matches in text decoded from given range.
+     *
+     * @param startPosition start position
+     * @param endPosition end position (exclusive)
+     * @return matches ordered by position
+     * @throws CancellationException if search was cancelled
+     */
+    @Nonnull
+    public ByteRangeMatches search(long startPosition, long endPosition) {
+        if (startPosition < 0 || endPosition > data.getDataSize() || startPosition > endPosition) {
+            throw new IllegalArgumentException("Invalid search range");
+        }
+
+        CharsetDecoder decoder = createDecoder();
+        checkpoints.clear();
+        checkpoints.add(0, startPosition);
+        searchEndPosition = endPosition;
+        matchesCount = 0;
+
+        byte[] bytes = new byte[Math.max(chunkSize, maxBytesPerChar)];
+        ByteBuffer input = ByteBuffer.wrap(bytes);
+        input.limit(0);
+        char[] window = new char[maximumMatchLength + chunkSize + checkpointInterval];
+        int windowLength = 0;
+        long windowCharStart = 0;
+        long nextSearchChar = 0;
+        long readPosition = startPosition;
+        Matcher matcher = pattern.matcher("");
+        matcher.useTransparentBounds(true);
+        matcher.useAnchoringBounds(false);
+
+        boolean endOfInput = false;
+        while (!endOfInput) {
+            if (cancelled) {
+                throw new CancellationException("Search was cancelled");
+            }
+
+            input.compact();
+            int readLength = (int) Math.min(input.remaining(), endPosition - readPosition);
+            data.copyToArray(readPosition, bytes, input.position(), readLength);
+            input.position(input.position() + readLength);
+            readPosition += readLength;
+            input.flip();
+            endOfInput = readPosition == endPosition;
+
+            // Decode limited number of characters at once, so that each step ends at checkpoint
+            CoderResult result;
+            do {
+                if (window.length - windowLength < checkpointInterval) {
+                    window = Arrays.copyOf(window, window.length * 2);
+                }
+                CharBuffer output = CharBuffer.wrap(window, windowLength, checkpointInterval);
+                result = decoder.decode(input, output, endOfInput);
+                windowLength = output.position();
+                checkpoints.add(windowCharStart + windowLength, readPosition - input.remaining());
+            } while (result.isOverflow());
+
+            if (endOfInput) {
+                do {
+                    if (window.length - windowLength < checkpointInterval) {
+                        window = Arrays.copyOf(window, window.length * 2);
+                    }
+                    CharBuffer output = CharBuffer.wrap(window, windowLength, checkpointInterval);
+                    result = decoder.flush(output);
+                    windowLength = output.position();
+                } while (result.isOverflow());
+                checkpoints.add(windowCharStart + windowLength, endPosition);
+            }
+
+            long windowCharEnd = windowCharStart + windowLength;
+            long commitLimit = endOfInput ? windowCharEnd : windowCharEnd - maximumMatchLength;
+            int reportedFrom = matchesCount;
+            if (nextSearchChar < commitLimit || (endOfInput && nextSearchChar <= windowCharEnd)) {
+                matcher.reset(CharBuffer.wrap(window, 0, windowLength));
+                matcher.region((int) (nextSearchChar - windowCharStart), windowLength);
+                while (matcher.find()) {
+                    long matchStart = windowCharStart + matcher.start();
+                    if (matchStart >= commitLimit && !endOfInput) {
+                        break;
+                    }
+
+                    long matchEnd = windowCharStart + matcher.end();
+                    long matchStartPosition = computeBytePosition(matchStart);
+                    addMatch(matchStartPosition, computeBytePosition(matchEnd) - matchStartPosition);
+                    nextSearchChar = matchEnd > matchStart ? matchEnd : matchEnd + 1;
+                }
+                nextSearchChar = Math.max(nextSearchChar, commitLimit);
+            }
+
+            RegexSearchListener listener = searchListener;
+            if (listener != null) {
+                if (matchesCount > reportedFrom) {
+                    listener.matchesFound(Arrays.copyOfRange(matchPositions, reportedFrom, matchesCount), Arrays.copyOfRange(matchLengths, reportedFrom, matchesCount), matchesCount - reportedFrom);
+                }
+                listener.progressChanged(readPosition - startPosition, endPosition - startPosition);
+            }
+
+            // Keep tail of the window for matches crossing chunk boundary
+            long keepFrom = Math.max(windowCharStart, Math.min(commitLimit, nextSearchChar) - maximumMatchLength);
+            int dropLength = (int) (keepFrom - windowCharStart);
+            if (dropLength > 0) {
+                System.arraycopy(window, dropLength, window, 0, windowLength - dropLength);
+                windowLength -= dropLength;
+                windowCharStart = keepFrom;
+                checkpoints.discardBefore(windowCharStart);
+            }
+        }
+
+        return new ByteRangeMatches(Arrays.copyOf(matchPositions, matchesCount), Arrays.copyOf(matchLengths, matchesCount), matchesCount);
+    }
+
+    /**
+     * Computes byte position of given character by decoding data from the
+     * nearest preceding checkpoint.
+     *
+     * @param charIndex character index
+     * @return byte position
+     */
+    private long computeBytePosition(long charIndex) {
+        int checkpoint = checkpoints.findFloor(charIndex);
+        long checkpointChar = checkpoints.getCharIndex(checkpoint);
+        long checkpointPosition = checkpoints.getBytePosition(checkpoint);
+        int charsCount = (int) (charIndex - checkpointChar);
+        if (charsCount == 0) {
+            return checkpointPosition;
+        }
+
+        int bytesLength = (int) Math.min((long) (charsCount + 1) * maxBytesPerChar, searchEndPosition - checkpointPosition);
+        if (mappingBuffer.length < bytesLength) {
+            mappingBuffer = new byte[bytesLength];
+        }
+        if (mappingChars.length < charsCount) {
+            mappingChars = new char[charsCount];
+        }
+        data.copyToArray(checkpointPosition, mappingBuffer, 0, bytesLength);
+
+        if (mappingDecoder == null) {
+            mappingDecoder = createDecoder();
+        }
+        mappingDecoder.reset();
+        ByteBuffer input = ByteBuffer.wrap(mappingBuffer, 0, bytesLength);
+        CharBuffer output = CharBuffer.wrap(mappingChars, 0, charsCount);
+        mappingDecoder.decode(input, output, checkpointPosition + bytesLength == searchEndPosition);
+        return checkpointPosition + input.position();
+    }
+
+    private void addMatch(long position, long length) {
+        if (matchesCount == matchPositions.length) {
+            int capacity = matchesCount == 0 ? INITIAL_MATCHES_CAPACITY : matchesCount * 2;
+            matchPositions = Arrays.copyOf(matchPositions, capacity);
+            matchLengths = Arrays.copyOf(matchLengths, capacity);
+        }
+        matchPositions[matchesCount] = position;
+        matchLengths[matchesCount] = length;
+        matchesCount++;
+    }
+
+    @Nonnull
+    private CharsetDecoder createDecoder() {
+        CharsetDecoder decoder = charset.newDecoder();
+        decoder.onMalformedInput(CodingErrorAction.REPLACE);
+        decoder.onUnmappableCharacter(CodingErrorAction.REPLACE);
+        return decoder;
+    }
+}
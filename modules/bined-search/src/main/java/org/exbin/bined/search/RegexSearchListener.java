@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.search;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Listener for progress of regular expression search.
+ *
+ * Methods are called from thread running the search.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public interface RegexSearchListener {
+
+    /**
+     * Reports matches found in processed part of data.
+     *
+     * Matches are reported in order of positions.
+     *
+     * @param positions byte positions of matches
+     * @param lengths byte lengths of matches
+     * @param count number of valid matches in arrays
+     */
+    void matchesFound(long[] positions, long[] lengths, int count);
+
+    /**
+     * Reports progress of the search.
+     *
+     * @param processedBytes number of already processed bytes
+     * @param totalBytes total number of bytes to process
+     */
+    void progressChanged(long processedBytes, long totalBytes);
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.search;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Pattern of bytes to search for.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class SearchPattern {
+
+    private final byte[] pattern;
+
+    private SearchPattern(byte[] pattern) {
+        if (pattern.length == 0) {
+            throw new IllegalArgumentException("Search pattern cannot be empty");
+        }
+
+        this.pattern = pattern;
+    }
+
+    /**
+     * Creates pattern for given sequence of bytes.
+     *
+     * @param data bytes to search for
+     * @return search pattern
+     */
+    @Nonnull
+    public static SearchPattern fromBytes(byte[] data) {
+        return new SearchPattern(Arrays.copyOf(data, data.length));
+    }
+
+    /**
+     * Creates pattern for text encoded in given charset.
+     *
+     * Charsets which would prepend byte order mark are replaced with big
+     * endian variant, which is the default for decoding.
+     *
+     * @param text text to search for
+     * @param charset charset of searched data
+     * @return search pattern
+     */
+    @Nonnull
+    public static SearchPattern fromText(String text, Charset charset) {
+        Charset encodingCharset = charset;
+        if (StandardCharsets.UTF_16.equals(charset)) {
+            encodingCharset = StandardCharsets.UTF_16BE;
+        } else if ("UTF-32".equals(charset.name())) {
+            encodingCharset = Charset.forName("UTF-32BE");
+        }
+
+        return new SearchPattern(text.getBytes(encodingCharset));
+    }
+
+    public int getLength() {
+        return pattern.length;
+    }
+
+    public byte getByte(int index) {
+        return pattern[index];
+    }
+
+    @Nonnull
+    public byte[] getBytes() {
+        return Arrays.copyOf(pattern, pattern.length);
+    }
+
+    /**
+     * Computes Horspool shift table for the pattern.
+     *
+     * @return shift for each value of byte
+     */
+    @Nonnull
+    int[] computeShiftTable() {
+        int[] shifts = new int[256];
+        Arrays.fill(shifts, pattern.length);
+        for (int i = 0; i < pattern.length - 1; i++) {
+            shifts[pattern[i] & 0xFF] = pattern.length - 1 - i;
+        }
+        return shifts;
+    }
+
+    @Nonnull
+    byte[] getPattern() {
+        return pattern;
+    }
+}
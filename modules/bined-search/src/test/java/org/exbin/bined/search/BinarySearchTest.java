@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.paged_data.ByteArrayData;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for binary search.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class BinarySearchTest {
+
+    public BinarySearchTest() {
+    }
+
+    @Test
+    public void testSearchAcrossChunks() {
+        Random random = new Random(7);
+        byte[] data = new byte[100000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) random.nextInt(4);
+        }
+
+        for (int patternLength = 1; patternLength <= 6; patternLength++) {
+            byte[] pattern = Arrays.copyOfRange(data, 500, 500 + patternLength);
+            for (int chunkSize : new int[]{1, 7, 4096, BinarySearch.DEFAULT_CHUNK_SIZE}) {
+                BinarySearch search = new BinarySearch(new ByteArrayData(data), SearchPattern.fromBytes(pattern));
+                search.setChunkSize(chunkSize);
+                search.setSearchOrigin(chunkSize * 3L);
+                Assert.assertArrayEquals(naiveSearch(data, pattern, 0, data.length), search.search());
+            }
+        }
+    }
+
+    @Test
+    public void testSearchRange() {
+        byte[] data = "abcabcabcabc".getBytes(StandardCharsets.US_ASCII);
+        BinarySearch search = new BinarySearch(new ByteArrayData(data), SearchPattern.fromBytes("abc".getBytes(StandardCharsets.US_ASCII)));
+        search.setChunkSize(2);
+        Assert.assertArrayEquals(new long[]{3, 6}, search.search(1, 7));
+    }
+
+    @Test
+    public void testTextPattern() {
+        byte[] data = "xx\u010dyy\u010d".getBytes(StandardCharsets.UTF_16LE);
+        BinarySearch search = new BinarySearch(new ByteArrayData(data), SearchPattern.fromText("\u010d", StandardCharsets.UTF_16LE));
+        Assert.assertArrayEquals(new long[]{4, 10}, search.search());
+
+        Assert.assertArrayEquals(new byte[]{0x01, 0x0D}, SearchPattern.fromText("\u010d", StandardCharsets.UTF_16).getBytes());
+    }
+
+    @Test
+    public void testProgressAndCancel() {
+        byte[] data = new byte[10000];
+        BinarySearch search = new BinarySearch(new ByteArrayData(data), SearchPattern.fromBytes(new byte[]{0}));
+        search.setChunkSize(100);
+        AtomicLong matchesCount = new AtomicLong();
+        AtomicLong lastProgress = new AtomicLong();
+        search.setSearchListener(new BinarySearchListener() {
+            @Override
+            public void chunkSearched(long startPosition, long endPosition, long[] positions, int count) {
+                matchesCount.addAndGet(count);
+            }
+
+            @Override
+            public void progressChanged(long processedBytes, long totalBytes) {
+                lastProgress.accumulateAndGet(processedBytes, Math::max);
+            }
+        });
+        Assert.assertEquals(data.length, search.search().length);
+        Assert.assertEquals(data.length, matchesCount.get());
+        Assert.assertEquals(data.length, lastProgress.get());
+
+        search.cancel();
+        try {
+            search.search();
+            Assert.fail("Cancelled search should throw exception");
+        } catch (CancellationException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testSearchNearestToOriginFirst() {
+        byte[] data = new byte[1000];
+        BinarySearch search = new BinarySearch(new ByteArrayData(data), SearchPattern.fromBytes(new byte[]{0}));
+        search.setChunkSize(100);
+        search.setSearchOrigin(750);
+        search.setPool(new ForkJoinPool(1));
+        List<Long> chunkStarts = new ArrayList<>();
+        search.setSearchListener(new BinarySearchListener() {
+            @Override
+            public void chunkSearched(long startPosition, long endPosition, long[] positions, int count) {
+                chunkStarts.add(startPosition);
+            }
+
+            @Override
+            public void progressChanged(long processedBytes, long totalBytes) {
+            }
+        });
+        search.search();
+        Assert.assertEquals(Arrays.asList(700L, 800L, 600L, 900L, 500L, 400L, 300L, 200L, 100L, 0L), chunkStarts);
+    }
+
+    private static long[] naiveSearch(byte[] data, byte[] pattern, int start, int end) {
+        long[] result = new long[end - start];
+        int count = 0;
+        for (int position = start; position < end && position + pattern.length <= data.length; position++) {
+            int index = 0;
+            while (index < pattern.length && data[position + index] == pattern[index]) {
+                index++;
+            }
+            if (index == pattern.length) {
+                result[count++] = position;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+}
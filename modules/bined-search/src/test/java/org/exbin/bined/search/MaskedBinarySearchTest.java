@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.search;
+
+import java.util.Arrays;
+import java.util.Random;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.paged_data.ByteArrayData;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for masked binary search.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class MaskedBinarySearchTest {
+
+    public MaskedBinarySearchTest() {
+    }
+
+    @Test
+    public void testParsePattern() {
+        MaskedSearchPattern pattern = MaskedSearchPattern.parse("4D 5a ?? ?? 0x50 45 8? ?F");
+        Assert.assertEquals(8, pattern.getLength());
+        Assert.assertEquals(0x4D, pattern.getValue(0));
+        Assert.assertEquals(MaskedSearchPattern.FULL_MASK, pattern.getMask(1));
+        Assert.assertEquals(MaskedSearchPattern.WILDCARD_MASK, pattern.getMask(2));
+        Assert.assertEquals(0x50, pattern.getValue(4));
+        Assert.assertEquals((byte) 0x80, pattern.getValue(6));
+        Assert.assertEquals((byte) 0xF0, pattern.getMask(6));
+        Assert.assertEquals(0x0F, pattern.getMask(7));
+
+        MaskedSearchPattern maskedPattern = MaskedSearchPattern.parse("0x8? & 0xF0 C3&0F");
+        Assert.assertEquals(2, maskedPattern.getLength());
+        Assert.assertEquals((byte) 0xF0, maskedPattern.getMask(0));
+        Assert.assertEquals(0x03, maskedPattern.getValue(1));
+        Assert.assertEquals(0x0F, maskedPattern.getMask(1));
+        Assert.assertTrue(maskedPattern.matches(1, (byte) 0x73));
+        Assert.assertFalse(maskedPattern.matches(1, (byte) 0x74));
+    }
+
+    @Test
+    public void testParseInvalidPattern() {
+        for (String text : new String[]{"", "4", "4G", "& FF", "4D &", "4D & ?F"}) {
+            try {
+                MaskedSearchPattern.parse(text);
+                Assert.fail("Pattern should be invalid: " + text);
+            } catch (IllegalArgumentException ex) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testSearchAcrossChunks() {
+        Random random = new Random(13);
+        byte[] data = new byte[60000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (random.nextInt(4) * 0x41);
+        }
+
+        String[] patterns = {"41 ?? 82", "?? ?? 41", "4? C3 82 41 ?? 00", "00 & 0F 41 41", "?1"};
+        for (String text : patterns) {
+            MaskedSearchPattern pattern = MaskedSearchPattern.parse(text);
+            long[] expected = naiveSearch(data, pattern);
+            for (int chunkSize : new int[]{1, 7, 4096}) {
+                MaskedBinarySearch search = new MaskedBinarySearch(new ByteArrayData(data), pattern);
+                search.setChunkSize(chunkSize);
+                search.setSearchOrigin(30000);
+                Assert.assertArrayEquals(expected, search.search());
+            }
+        }
+    }
+
+    @Test
+    public void testAnchorSelection() {
+        byte[] data = {0x4D, 0x5A, 1, 2, 0x50, 0x45, 0, 0, 0x4D, 0x5A, 3, 4, 0x50, 0x45};
+        MaskedBinarySearch search = new MaskedBinarySearch(new ByteArrayData(data), MaskedSearchPattern.parse("4D 5A ?? ?? 50 45"));
+        Assert.assertTrue(search.isAnchored());
+        Assert.assertArrayEquals(new long[]{0, 8}, search.search());
+
+        search = new MaskedBinarySearch(new ByteArrayData(data), MaskedSearchPattern.parse("4D ?? ?? ?? 5?"));
+        Assert.assertFalse(search.isAnchored());
+        Assert.assertArrayEquals(new long[]{0, 8}, search.search());
+    }
+
+    private static long[] naiveSearch(byte[] data, MaskedSearchPattern pattern) {
+        long[] matches = new long[data.length];
+        int count = 0;
+        for (int position = 0; position + pattern.getLength() <= data.length; position++) {
+            int index = 0;
+            while (index < pattern.getLength() && pattern.matches(index, data[position + index])) {
+                index++;
+            }
+            if (index == pattern.getLength()) {
+                matches[count++] = position;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.paged_data.ByteArrayData;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for multiple patterns search.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class MultiPatternSearchTest {
+
+    public MultiPatternSearchTest() {
+    }
+
+    @Test
+    public void testOverlappingPatterns() {
+        byte[] data = "ushers".getBytes(StandardCharsets.US_ASCII);
+        List<SearchPattern> patterns = Arrays.asList(textPattern("he"), textPattern("she"), textPattern("his"), textPattern("hers"), textPattern("he"));
+        MultiPatternSearch search = new MultiPatternSearch(new ByteArrayData(data), patterns);
+        MultiPatternMatches matches = search.search();
+
+        Assert.assertEquals(4, matches.getCount());
+        Assert.assertEquals(1, matches.getPosition(0));
+        Assert.assertEquals(1, matches.getPatternIndex(0));
+        Assert.assertEquals(3, matches.getLength(0));
+        Assert.assertEquals(2, matches.getPosition(1));
+        Assert.assertEquals(0, matches.getPatternIndex(1));
+        Assert.assertEquals(2, matches.getPosition(2));
+        Assert.assertEquals(3, matches.getPatternIndex(2));
+        Assert.assertEquals(4, matches.getLength(2));
+        Assert.assertEquals(2, matches.getPosition(3));
+        Assert.assertEquals(4, matches.getPatternIndex(3));
+    }
+
+    @Test
+    public void testSearchAcrossChunks() {
+        Random random = new Random(11);
+        byte[] data = new byte[50000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) random.nextInt(4);
+        }
+
+        List<SearchPattern> patterns = new ArrayList<>();
+        List<byte[]> patternsData = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            int start = random.nextInt(data.length - 8);
+            byte[] pattern = Arrays.copyOfRange(data, start, start + 1 + random.nextInt(7));
+            patternsData.add(pattern);
+            patterns.add(SearchPattern.fromBytes(pattern));
+        }
+
+        List<long[]> expected = new ArrayList<>();
+        for (int position = 100; position < 40000; position++) {
+            for (int patternIndex = 0; patternIndex < patternsData.size(); patternIndex++) {
+                byte[] pattern = patternsData.get(patternIndex);
+                if (position + pattern.length <= data.length && Arrays.equals(pattern, Arrays.copyOfRange(data, position, position + pattern.length))) {
+                    expected.add(new long[]{position, patternIndex});
+                }
+            }
+        }
+
+        for (int chunkSize : new int[]{1, 5, 4096}) {
+            MultiPatternSearch search = new MultiPatternSearch(new ByteArrayData(data), patterns);
+            search.setChunkSize(chunkSize);
+            search.setSearchOrigin(20000);
+            MultiPatternMatches matches = search.search(100, 40000);
+            Assert.assertEquals(expected.size(), matches.getCount());
+            for (int i = 0; i < expected.size(); i++) {
+                Assert.assertEquals(expected.get(i)[0], matches.getPosition(i));
+                Assert.assertEquals(expected.get(i)[1], matches.getPatternIndex(i));
+            }
+        }
+    }
+
+    @Nonnull
+    private static SearchPattern textPattern(String text) {
+        return SearchPattern.fromText(text, StandardCharsets.US_ASCII);
+    }
+}
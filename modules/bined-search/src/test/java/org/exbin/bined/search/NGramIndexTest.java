@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.search;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.paged_data.ByteArrayData;
+import org.exbin.auxiliary.paged_data.ByteArrayEditableData;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for 3-gram index search.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class NGramIndexTest {
+
+    public NGramIndexTest() {
+    }
+
+    @Test
+    public void testIndexedSearch() throws IOException {
+        Random random = new Random(21);
+        byte[] values = new byte[50000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (byte) random.nextInt(8);
+        }
+        ByteArrayData data = new ByteArrayData(values);
+
+        Path indexFile = Files.createTempFile("bined", ".idx");
+        try {
+            NGramIndexBuilder builder = new NGramIndexBuilder(data, indexFile);
+            builder.setBlockSize(64);
+            builder.setDataStamp(7);
+            NGramIndex index = builder.build();
+            Assert.assertEquals(512, index.getGramsCount());
+
+            for (int length = 1; length <= 130; length += 3) {
+                int start = random.nextInt(values.length - length);
+                byte[] patternData = new byte[length];
+                System.arraycopy(values, start, patternData, 0, length);
+                SearchPattern pattern = SearchPattern.fromBytes(patternData);
+                IndexedBinarySearch search = new IndexedBinarySearch(data, index, pattern);
+                Assert.assertArrayEquals(new BinarySearch(data, pattern).search(), search.search());
+                if (length > 10) {
+                    Assert.assertTrue(search.getSearchedSize() < values.length);
+                }
+            }
+
+            IndexedBinarySearch missingSearch = new IndexedBinarySearch(data, index, SearchPattern.fromBytes(new byte[]{0, 8, 0}));
+            Assert.assertEquals(0, missingSearch.search().length);
+            Assert.assertEquals(0, missingSearch.getSearchedSize());
+        } finally {
+            Files.deleteIfExists(indexFile);
+        }
+    }
+
+    @Test
+    public void testIndexValidity() throws IOException {
+        ByteArrayEditableData data = new ByteArrayEditableData(new byte[]{1, 2, 3, 4, 1, 2, 3});
+        Path indexFile = Files.createTempFile("bined", ".idx");
+        try {
+            NGramIndexBuilder builder = new NGramIndexBuilder(data, indexFile);
+            builder.setDataStamp(100);
+            builder.build();
+
+            NGramIndex index = NGramIndex.loadValid(indexFile, data, 100);
+            Assert.assertNotNull(index);
+            Assert.assertArrayEquals(new int[]{0}, index.getBlocks(0x010203));
+            Assert.assertNull(NGramIndex.loadValid(indexFile, data, 101));
+
+            data.insert(0, new byte[]{1, 2, 3});
+            Assert.assertFalse(index.isValidFor(data, 100));
+            IndexedBinarySearch search = new IndexedBinarySearch(data, index, SearchPattern.fromBytes(new byte[]{1, 2, 3}));
+            Assert.assertFalse(search.isIndexUsable());
+            Assert.assertArrayEquals(new long[]{0, 3, 7}, search.search());
+        } finally {
+            Files.deleteIfExists(indexFile);
+        }
+    }
+}
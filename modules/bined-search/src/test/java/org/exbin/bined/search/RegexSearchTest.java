@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.search;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.paged_data.ByteArrayData;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for regular expression search.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class RegexSearchTest {
+
+    private static final String[] TEXT_PARTS = {"a", "b", "c", " ", "\u00e9", "\u010d", "\u4e2d", "\u6587", "\ud83d\ude00", "x"};
+
+    public RegexSearchTest() {
+    }
+
+    @Test
+    public void testMultibyteCharsets() {
+        Random random = new Random(17);
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            builder.append(TEXT_PARTS[random.nextInt(TEXT_PARTS.length)]);
+        }
+        String text = builder.toString();
+
+        String[] regexes = {"[abc]{1,5}", "\\p{IsHan}{1,3}", "\ud83d\ude00[^ ]?", "(?<=\u00e9)[a-c\u010d]", "x{2,}|\\z"};
+        for (Charset charset : new Charset[]{StandardCharsets.UTF_8, StandardCharsets.UTF_16BE, StandardCharsets.UTF_16LE}) {
+            byte[] data = text.getBytes(charset);
+            for (String regex : regexes) {
+                Pattern pattern = Pattern.compile(regex);
+                List<long[]> expected = expectedMatches(text, pattern, charset);
+                for (int chunkSize : new int[]{7, 100, RegexSearch.DEFAULT_CHUNK_SIZE}) {
+                    RegexSearch search = new RegexSearch(new ByteArrayData(data), pattern, charset);
+                    search.setChunkSize(chunkSize);
+                    search.setMaximumMatchLength(16);
+                    search.setCheckpointInterval(5);
+                    assertMatches(expected, search.search());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testMalformedInput() {
+        byte[] data = {'a', (byte) 0xC3, 'b', (byte) 0xE4, (byte) 0xB8, (byte) 0xAD, 'c', (byte) 0xF0};
+        RegexSearch search = new RegexSearch(new ByteArrayData(data), Pattern.compile("[a-c\u4e2d]"), StandardCharsets.UTF_8);
+        search.setChunkSize(3);
+        search.setCheckpointInterval(2);
+        ByteRangeMatches matches = search.search();
+        Assert.assertEquals(4, matches.getCount());
+        Assert.assertEquals(2, matches.getPosition(1));
+        Assert.assertEquals(3, matches.getPosition(2));
+        Assert.assertEquals(3, matches.getLength(2));
+        Assert.assertEquals(6, matches.getPosition(3));
+    }
+
+    @Test
+    public void testSearchAsync() throws InterruptedException, ExecutionException {
+        byte[] data = "one two three".getBytes(StandardCharsets.US_ASCII);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            RegexSearch search = new RegexSearch(new ByteArrayData(data), Pattern.compile("t\\w+"), StandardCharsets.US_ASCII);
+            ByteRangeMatches matches = search.searchAsync(executor).get();
+            Assert.assertEquals(2, matches.getCount());
+            Assert.assertEquals(8, matches.getPosition(1));
+            Assert.assertEquals(5, matches.getLength(1));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static List<long[]> expectedMatches(String text, Pattern pattern, Charset charset) {
+        List<long[]> matches = new ArrayList<>();
+        Matcher matcher = pattern.matcher(text);
+        while (matcher.find()) {
+            long start = text.substring(0, matcher.start()).getBytes(charset).length;
+            long end = text.substring(0, matcher.end()).getBytes(charset).length;
+            matches.add(new long[]{start, end - start});
+        }
+        return matches;
+    }
+
+    private static void assertMatches(List<long[]> expected, ByteRangeMatches matches) {
+        Assert.assertEquals(expected.size(), matches.getCount());
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertEquals(expected.get(i)[0], matches.getPosition(i));
+            Assert.assertEquals(expected.get(i)[1], matches.getLength(i));
+        }
+    }
+}
@@ -49,6 +49,9 @@ import javax.swing.JViewport;
 import javax.swing.border.EmptyBorder;
 import org.exbin.bined.basic.BasicCodeAreaSection;
 import org.exbin.bined.basic.BasicCodeAreaZone;
+import org.exbin.bined.basic.CodeAreaPaintMonitor;
+import org.exbin.bined.basic.CodeAreaPaintPhase;
+import org.exbin.bined.basic.PaintMonitorCapableCodeAreaPainter;
 import org.exbin.bined.CodeAreaCaret;
 import org.exbin.bined.DefaultCodeAreaCaretPosition;
 import org.exbin.bined.CodeAreaSection;
@@ -59,6 +62,7 @@ import org.exbin.bined.CodeType;
 import org.exbin.bined.EditationOperation;
 import org.exbin.bined.PositionCodeType;
 import org.exbin.bined.CaretOverlapMode;
+import org.exbin.bined.CharsetPreviewDecoder;
 import org.exbin.bined.SelectionRange;
 import org.exbin.bined.basic.CodeAreaScrollPosition;
 import org.exbin.bined.basic.MovementDirection;
@@ -79,6 +83,7 @@ import org.exbin.bined.extended.capability.ShowUnprintablesCapable;
 import org.exbin.bined.extended.color.CodeAreaUnprintablesColorType;
 import org.exbin.bined.extended.theme.ExtendedBackgroundPaintMode;
 import org.exbin.bined.swing.CodeAreaCore;
+import org.exbin.bined.swing.CodeAreaPaintBuffer;
 import org.exbin.bined.swing.CodeAreaPainter;
 import org.exbin.bined.swing.CodeAreaSwingUtils;
 import org.exbin.bined.swing.basic.AntialiasingMode;
@@ -97,7 +102,8 @@ import org.exbin.bined.extended.layout.PositionIterator;
 import org.exbin.bined.extended.layout.ExtendedCodeAreaLayoutProfile;
 import org.exbin.bined.swing.basic.DefaultCodeAreaMouseListener;
 import org.exbin.bined.CodeAreaCaretPosition;
-import org.exbin.bined.DataChangedListener;
+import org.exbin.bined.DataChangedRange;
+import org.exbin.bined.DataRangeChangedListener;
 import org.exbin.bined.basic.ScrollBarVerticalScale;
 import org.exbin.bined.extended.ExtendedHorizontalScrollUnit;
 import org.exbin.bined.extended.caret.CodeAreaCaretShape;
@@ -113,7 +119,7 @@ import org.exbin.bined.swing.extended.caret.CaretsProfileCapableCodeAreaPainter;
  * @author ExBin Project (https://exbin.org)
  */
 @ParametersAreNonnullByDefault
-public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCapableCodeAreaPainter, LayoutProfileCapableCodeAreaPainter, ThemeProfileCapableCodeAreaPainter, CaretsProfileCapableCodeAreaPainter {
+public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCapableCodeAreaPainter, LayoutProfileCapableCodeAreaPainter, ThemeProfileCapableCodeAreaPainter, CaretsProfileCapableCodeAreaPainter, PaintMonitorCapableCodeAreaPainter {
 
     @Nonnull
     protected final CodeAreaCore codeArea;
@@ -138,7 +144,7 @@ public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCa
     @Nonnull
     private final ComponentListener codeAreaComponentListener;
     @Nonnull
-    private final DataChangedListener codeAreaDataChangeListener;
+    private final DataRangeChangedListener codeAreaDataChangeListener;
 
     @Nonnull
     private final BasicCodeAreaMetrics metrics = new BasicCodeAreaMetrics();
@@ -146,6 +152,12 @@ public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCa
     private final ExtendedCodeAreaStructure structure = new ExtendedCodeAreaStructure();
     @Nonnull
     private final ExtendedCodeAreaScrolling scrolling = new ExtendedCodeAreaScrolling();
+    private final CodeAreaPaintBuffer paintBuffer = new CodeAreaPaintBuffer();
+    private final CodeAreaPaintMonitor paintMonitor = new CodeAreaPaintMonitor();
+    private final CodeAreaScrollPosition paintedScrollPosition = new CodeAreaScrollPosition();
+    private final Rectangle paintedCursorRect = new Rectangle();
+    private final Rectangle paintedMirrorCursorRect = new Rectangle();
+    private int paintedScrollX = 0;
     @Nonnull
     private final ExtendedCodeAreaDimensions dimensions = new ExtendedCodeAreaDimensions();
     @Nonnull
@@ -191,6 +203,8 @@ public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCa
     private Charset charMappingCharset = null;
     @Nonnull
     private final char[] charMapping = new char[256];
+    @Nonnull
+    private final CharsetPreviewDecoder previewDecoder = new CharsetPreviewDecoder();
 
     private static final char SPACE_CHAR = ' '; //\u2003
 
@@ -242,9 +256,17 @@ public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCa
                 recomputeLayout();
             }
         };
-        codeAreaDataChangeListener = () -> {
-            validateCaret();
-            recomputeLayout();
+        codeAreaDataChangeListener = new DataRangeChangedListener() {
+            @Override
+            public void dataChanged() {
+                validateCaret();
+                recomputeLayout();
+            }
+
+            @Override
+            public void dataRangeChanged(DataChangedRange range) {
+                ExtendedCodeAreaPainter.this.dataRangeChanged(range);
+            }
         };
         colorsProfile.reinitialize();
     }
@@ -280,6 +302,7 @@ public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCa
     @Override
     public void resetColors() {
         resetColors = true;
+        paintBuffer.invalidate();
     }
 
     @Override
@@ -291,11 +314,18 @@ public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCa
     @Override
     public void resetLayout() {
         layoutChanged = true;
+        paintBuffer.invalidate();
     }
 
     @Override
     public void resetCaret() {
         caretChanged = true;
+        paintBuffer.invalidate();
+    }
+
+    @Override
+    public void resetPaintBuffer() {
+        paintBuffer.invalidate();
     }
 
     @Override
@@ -349,6 +379,96 @@ public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCa
         }
     }
 
+    private void dataRangeChanged(DataChangedRange range) {
+        if (layoutChanged || rowDataCache == null) {
+            validateCaret();
+            recomputeLayout();
+            codeArea.updateLayout();
+            return;
+        }
+
+        // Preview of multibyte characters depends on preceding bytes
+        long startPosition = Math.max(0, range.getPosition() - (metrics.getMaxBytesPerChar() - 1));
+        if (range.isSizeChanged()) {
+            int previousRowPositionLength = rowPositionLength;
+            int previousDataViewWidth = dimensions.getDataViewWidth();
+            int previousDataViewHeight = dimensions.getDataViewHeight();
+            validateCaret();
+            recomputeLayout();
+
+            if (rowPositionLength != previousRowPositionLength || dimensions.getDataViewWidth() != previousDataViewWidth || dimensions.getDataViewHeight() != previousDataViewHeight) {
+                codeArea.updateLayout();
+                return;
+            }
+
+            repaintRows(startPosition, Long.MAX_VALUE, true);
+        } else {
+            repaintRows(startPosition, range.getInsertedEnd(), false);
+        }
+    }
+
+    /**
+     * Requests repaint of visible rows containing given range of data.
+     *
+     * @param startPosition start position
+     * @param endPosition end position without actual end position itself
+     */
+    protected void repaintDataRange(long startPosition, long endPosition) {
+        if (!initialized || layoutChanged || rowDataCache == null) {
+            codeArea.repaint();
+            return;
+        }
+
+        repaintRows(startPosition, endPosition, false);
+    }
+
+    /**
+     * Repaints visible rows containing given range of data.
+     *
+     * @param startPosition start position
+     * @param endPosition end position without actual end position itself
+     * @param includeRowPosition true to repaint row position area too
+     */
+    private void repaintRows(long startPosition, long endPosition, boolean includeRowPosition) {
+        int bytesPerRow = structure.getBytesPerRow();
+        int rowHeight = metrics.getRowHeight();
+        CodeAreaScrollPosition scrollPosition = scrolling.getScrollPosition();
+        Rectangle mainAreaRect = dimensions.getMainAreaRect();
+        Rectangle dataViewRect = dimensions.getDataViewRectangle();
+        long scrollRow = scrollPosition.getRowPosition();
+
+        long startRow = startPosition / bytesPerRow - scrollRow;
+        long endRow = endPosition == Long.MAX_VALUE ? Long.MAX_VALUE : (endPosition - 1) / bytesPerRow - scrollRow;
+        long rowsPerRect = dimensions.getRowsPerRect();
+        if (endRow < 0 || startRow > rowsPerRect) {
+            return;
+        }
+        if (startRow < 0) {
+            startRow = 0;
+        }
+        if (endRow > rowsPerRect) {
+            endRow = rowsPerRect;
+        }
+
+        int positionY = dataViewRect.y - scrollPosition.getRowOffset() + (int) startRow * rowHeight;
+        int height = (int) (endRow - startRow + 1) * rowHeight;
+        int viewEndY = dataViewRect.y + dataViewRect.height;
+        if (positionY < dataViewRect.y) {
+            height -= dataViewRect.y - positionY;
+            positionY = dataViewRect.y;
+        }
+        if (positionY + height > viewEndY) {
+            height = viewEndY - positionY;
+        }
+        if (height <= 0) {
+            return;
+        }
+
+        int positionX = includeRowPosition ? dimensions.getRowPositionAreaRectangle().x : mainAreaRect.x;
+        paintBuffer.markAreaChanged();
+        codeArea.repaint(positionX, positionY, mainAreaRect.x + mainAreaRect.width - positionX, height);
+    }
+
     private void recomputeDimensions() {
         int verticalScrollBarSize = getVerticalScrollBarSize();
         int horizontalScrollBarSize = getHorizontalScrollBarSize();
@@ -379,6 +499,7 @@ public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCa
         rowDataCache.rowPositionCode = new char[rowPositionLength];
         rowDataCache.rowCharacters = new char[maxRowDataChars];
         rowDataCache.rowCharactersShifted = shifted ? new char[maxRowDataChars] : null;
+        rowDataCache.rowDecodedChars = new char[structure.getBytesPerRow()];
         rowDataCache.unprintables = new byte[(structure.getBytesPerRow() + 7) >> 3];
     }
 
@@ -458,6 +579,12 @@ public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCa
         return initialized;
     }
 
+    @Nonnull
+    @Override
+    public CodeAreaPaintMonitor getPaintMonitor() {
+        return paintMonitor;
+    }
+
     @Override
     public void paintComponent(Graphics g) {
         if (!initialized) {
@@ -486,12 +613,100 @@ public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCa
             recomputeCharPositions();
         }
 
+        int scrollX = scrolling.getHorizontalScrollX(metrics.getCharacterWidth());
+        paintMonitor.paintStarted();
+        Graphics2D bufferGraphics = themeProfile.getBackgroundPaintMode() == ExtendedBackgroundPaintMode.TRANSPARENT ? null : paintBuffer.prepare(g, codeArea.getWidth(), codeArea.getHeight());
+        if (bufferGraphics == null) {
+            paintAreas(g);
+        } else {
+            if (!paintScrolledAreas(bufferGraphics, scrollX)) {
+                Rectangle clipBounds = g.getClipBounds();
+                if (clipBounds == null || !paintBuffer.isValid() || paintedScrollX != scrollX || !paintedScrollPosition.equals(scrolling.getScrollPosition())) {
+                    bufferGraphics.setClip(0, 0, codeArea.getWidth(), codeArea.getHeight());
+                } else {
+                    bufferGraphics.setClip(clipBounds);
+                }
+                paintAreas(bufferGraphics);
+            }
+            bufferGraphics.dispose();
+            paintBuffer.validate();
+            paintBuffer.paintTo(g);
+        }
+        paintedScrollPosition.setScrollPosition(scrolling.getScrollPosition());
+        paintedScrollX = scrollX;
+        paintMonitor.paintFinished();
+    }
+
+    private void paintAreas(Graphics g) {
         paintOutsideArea(g);
+        paintMonitor.phaseStarted(CodeAreaPaintPhase.HEADER);
         paintHeader(g);
+        paintMonitor.phaseFinished(CodeAreaPaintPhase.HEADER);
+        paintMonitor.phaseStarted(CodeAreaPaintPhase.ROW_POSITION);
         paintRowPosition(g);
+        paintMonitor.phaseFinished(CodeAreaPaintPhase.ROW_POSITION);
         paintMainArea(g);
     }
 
+    /**
+     * Paints scrolled content by moving already painted content of the buffer
+     * and painting newly exposed area only.
+     *
+     * @param g buffer graphics
+     * @param scrollX horizontal scroll position in pixels
+     * @return true if painted, false if full painting is needed
+     */
+    private boolean paintScrolledAreas(Graphics g, int scrollX) {
+        CodeAreaScrollPosition scrollPosition = scrolling.getScrollPosition();
+        if (!paintBuffer.isMoveAllowed() || (paintedScrollX == scrollX && paintedScrollPosition.equals(scrollPosition))) {
+            return false;
+        }
+
+        long rowsDifference = scrollPosition.getRowPosition() - paintedScrollPosition.getRowPosition();
+        if (Math.abs(rowsDifference) > dimensions.getRowsPerRect()) {
+            return false;
+        }
+
+        int deltaY = (int) rowsDifference * metrics.getRowHeight() + scrollPosition.getRowOffset() - paintedScrollPosition.getRowOffset();
+        int deltaX = scrollX - paintedScrollX;
+        Rectangle mainAreaRect = dimensions.getMainAreaRect();
+        Rectangle exposedArea;
+        if (deltaX == 0) {
+            // Rows and row positions move vertically
+            Rectangle rowPositionAreaRect = dimensions.getRowPositionAreaRectangle();
+            int movedAreaX = Math.min(rowPositionAreaRect.x, mainAreaRect.x);
+            Rectangle movedArea = new Rectangle(movedAreaX, mainAreaRect.y, mainAreaRect.x + mainAreaRect.width - movedAreaX, mainAreaRect.height);
+            if (!paintBuffer.moveArea(movedArea, 0, -deltaY)) {
+                return false;
+            }
+            exposedArea = deltaY > 0
+                    ? new Rectangle(movedArea.x, movedArea.y + movedArea.height - deltaY, movedArea.width, deltaY)
+                    : new Rectangle(movedArea.x, movedArea.y, movedArea.width, -deltaY);
+        } else if (deltaY == 0) {
+            // Rows and header move horizontally
+            Rectangle headerAreaRect = dimensions.getHeaderAreaRectangle();
+            Rectangle dataViewRect = dimensions.getDataViewRectangle();
+            Rectangle movedArea = new Rectangle(dataViewRect.x, headerAreaRect.y, mainAreaRect.x + mainAreaRect.width - dataViewRect.x, mainAreaRect.y + mainAreaRect.height - headerAreaRect.y);
+            if (!paintBuffer.moveArea(movedArea, -deltaX, 0)) {
+                return false;
+            }
+            // Characters out of the view can overlap into edge columns, so
+            // columns which were previously on the edge are painted again
+            int edgeWidth = Math.min(metrics.getCharacterWidth(), movedArea.width - Math.abs(deltaX));
+            exposedArea = deltaX > 0
+                    ? new Rectangle(movedArea.x + movedArea.width - deltaX - edgeWidth, movedArea.y, deltaX + edgeWidth, movedArea.height)
+                    : new Rectangle(movedArea.x, movedArea.y, edgeWidth - deltaX, movedArea.height);
+            g.setClip(deltaX > 0 ? movedArea.x : movedArea.x + movedArea.width - edgeWidth, movedArea.y, edgeWidth, movedArea.height);
+            paintAreas(g);
+        } else {
+            return false;
+        }
+
+        g.setClip(exposedArea);
+        paintAreas(g);
+        return true;
+    }
+
     protected synchronized void updateCache() {
         if (resetColors) {
             resetColors = false;
@@ -809,10 +1024,14 @@ public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCa
 
         Rectangle clipBounds = g.getClipBounds();
         g.setClip(clipBounds != null ? clipBounds.intersection(mainAreaRect) : mainAreaRect);
+        paintMonitor.phaseStarted(CodeAreaPaintPhase.BACKGROUND);
         paintBackground(g);
+        paintMonitor.phaseFinished(CodeAreaPaintPhase.BACKGROUND);
 
         int characterWidth = metrics.getCharacterWidth();
+        paintMonitor.phaseStarted(CodeAreaPaintPhase.ROWS);
         paintRows(g);
+        paintMonitor.phaseFinished(CodeAreaPaintPhase.ROWS);
 
         g.setColor(colorsProfile.getColor(BasicCodeAreaDecorationColorType.LINE));
         {
@@ -851,7 +1070,9 @@ public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCa
         }
 
         g.setClip(clipBounds);
+        paintMonitor.phaseStarted(CodeAreaPaintPhase.CURSOR);
         paintCursor(g);
+        paintMonitor.phaseFinished(CodeAreaPaintPhase.CURSOR);
 
 //        {
 //            // Display debugging data
@@ -958,15 +1179,21 @@ public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCa
         int rowPositionX = dataViewX - scrolling.getHorizontalScrollX(characterWidth);
         int rowPositionY = dataViewY - scrollPosition.getRowOffset();
 
+        Rectangle clipBounds = g.getClipBounds();
+        int clipStartY = clipBounds == null ? Integer.MIN_VALUE : clipBounds.y;
+        int clipEndY = clipBounds == null ? Integer.MAX_VALUE : clipBounds.y + clipBounds.height;
+
         g.setColor(colorsProfile.getColor(CodeAreaBasicColors.TEXT_COLOR));
         for (int row = 0; row <= rowsPerRect; row++) {
             if (dataPosition > dataSize) {
                 break;
             }
 
-            prepareRowData(dataPosition);
-            paintRowBackground(g, dataPosition, rowPositionX, rowPositionY);
-            paintRowText(g, dataPosition, rowPositionX, rowPositionY);
+            if (rowPositionY + rowHeight > clipStartY && rowPositionY < clipEndY) {
+                prepareRowData(dataPosition);
+                paintRowBackground(g, dataPosition, rowPositionX, rowPositionY);
+                paintRowText(g, dataPosition, rowPositionX, rowPositionY);
+            }
 
             rowPositionY += rowHeight;
             if (Long.MAX_VALUE - dataPosition < bytesPerRow) {
@@ -978,6 +1205,7 @@ public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCa
     }
 
     private void prepareRowData(long dataPosition) {
+        paintMonitor.rowPrepared();
         int maxBytesPerChar = metrics.getMaxBytesPerChar();
         int bytesPerRow = structure.getBytesPerRow();
         long dataSize = structure.getDataSize();
@@ -985,6 +1213,7 @@ public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCa
         int skipToChar = visibility.getSkipToChar();
 
         int rowStart = 0;
+        int rowDataLength = 0;
         if (dataPosition < dataSize) {
             int rowDataSize = bytesPerRow + maxBytesPerChar - 1;
             if (dataPosition + rowDataSize > dataSize) {
@@ -998,6 +1227,13 @@ public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCa
                 throw new IllegalStateException("Missing data on nonzero data size");
             }
             data.copyToArray(dataPosition + rowStart, rowDataCache.rowData, rowStart, rowDataSize - rowStart);
+            paintMonitor.bytesFetched(rowDataSize - rowStart);
+            rowDataLength = rowDataSize;
+        }
+
+        if (maxBytesPerChar > 1) {
+            previewDecoder.setCharset(charset, maxBytesPerChar);
+            previewDecoder.decodeRow(rowDataCache.rowData, rowDataLength, rowStart, Math.min(bytesPerRow, rowDataLength), rowDataCache.rowDecodedChars, 0);
         }
 
         Arrays.fill(rowDataCache.rowCharacters, SPACE_CHAR);
@@ -1033,17 +1269,18 @@ public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCa
             if (section == BasicCodeAreaSection.CODE_MATRIX) {
                 if (dataPosition + byteOffset < dataSize) {
                     if (showUnprintables) {
-                        int charDataLength = maxBytesPerChar;
-                        if (byteOffset + charDataLength > rowDataCache.rowData.length) {
-                            charDataLength = rowDataCache.rowData.length - byteOffset;
-                        }
-                        String displayString = new String(rowDataCache.rowData, byteOffset, charDataLength, charset);
-                        if (!displayString.isEmpty()) {
-                            targetChar = displayString.charAt(0);
-                            replacement = unprintableCharactersMapping.get(targetChar);
-                            if (replacement != null) {
-                                rowDataCache.unprintables[byteOffset >> 3] |= 1 << (byteOffset & 7);
+                        if (maxBytesPerChar > 1) {
+                            targetChar = rowDataCache.rowDecodedChars[byteOffset];
+                        } else {
+                            if (charMappingCharset == null || charMappingCharset != charset) {
+                                buildCharMapping(charset);
                             }
+
+                            targetChar = charMapping[dataByte & 0xFF];
+                        }
+                        replacement = unprintableCharactersMapping.get(targetChar);
+                        if (replacement != null) {
+                            rowDataCache.unprintables[byteOffset >> 3] |= 1 << (byteOffset & 7);
                         }
                     }
 
@@ -1063,20 +1300,7 @@ public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCa
                 }
 
                 if (maxBytesPerChar > 1) {
-                    if (dataPosition + maxBytesPerChar > dataSize) {
-                        maxBytesPerChar = (int) (dataSize - dataPosition);
-                    }
-
-                    int charDataLength = maxBytesPerChar;
-                    if (byteOffset + charDataLength > rowDataCache.rowData.length) {
-                        charDataLength = rowDataCache.rowData.length - byteOffset;
-                    }
-                    String displayString = new String(rowDataCache.rowData, byteOffset, charDataLength, charset);
-                    if (!displayString.isEmpty()) {
-                        targetChar = displayString.charAt(0);
-                    } else {
-                        targetChar = SPACE_CHAR;
-                    }
+                    targetChar = rowDataCache.rowDecodedChars[byteOffset];
                 } else {
                     if (charMappingCharset == null || charMappingCharset != charset) {
                         buildCharMapping(charset);
@@ -1462,6 +1686,8 @@ public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCa
 
     @Override
     public void paintCursor(Graphics g) {
+        paintedCursorRect.setBounds(0, 0, 0, 0);
+        paintedMirrorCursorRect.setBounds(0, 0, 0, 0);
         if (!codeArea.hasFocus()) {
             return;
         }
@@ -1493,6 +1719,7 @@ public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCa
         if (cursorRect.isEmpty()) {
             return;
         }
+        paintedCursorRect.setBounds(cursorRect);
 
         Rectangle scrolledCursorRect = new Rectangle(cursorRect.x, cursorRect.y, cursorRect.width, cursorRect.height);
         Rectangle clipBounds = g.getClipBounds();
@@ -1512,6 +1739,7 @@ public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCa
         if (viewMode == CodeAreaViewMode.DUAL && showMirrorCursor) {
             updateMirrorCursorRect(caret.getDataPosition(), caret.getSection());
             Rectangle mirrorCursorRect = cursorDataCache.mirrorCursorRect;
+            paintedMirrorCursorRect.setBounds(mirrorCursorRect);
             if (!mirrorCursorRect.isEmpty()) {
                 intersection = mainAreaRect.intersection(mirrorCursorRect);
                 boolean mirrorCursorVisible = !intersection.isEmpty();
@@ -1584,10 +1812,9 @@ public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCa
                             cursorDataCache.cursorChars[0] = SPACE_CHAR;
                         } else {
                             contentData.copyToArray(dataPosition, cursorDataCache.cursorData, 0, charDataLength);
-                            String displayString = new String(cursorDataCache.cursorData, 0, charDataLength, charset);
-                            if (!displayString.isEmpty()) {
-                                cursorDataCache.cursorChars[0] = displayString.charAt(0);
-                            }
+                            paintMonitor.bytesFetched(charDataLength);
+                            previewDecoder.setCharset(charset, maxBytesPerChar);
+                            cursorDataCache.cursorChars[0] = previewDecoder.decodeChar(cursorDataCache.cursorData, 0, charDataLength);
                         }
                     } else {
                         if (charMappingCharset == null || charMappingCharset != charset) {
@@ -1874,6 +2101,7 @@ public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCa
     }
 
     protected void drawShiftedChars(Graphics g, char[] drawnChars, int charOffset, int length, int positionX, int positionY) {
+        paintMonitor.drawCalled();
         g.drawChars(drawnChars, charOffset, length, positionX, positionY);
     }
 
@@ -1946,6 +2174,7 @@ public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCa
      * Doesn't include character at offset end.
      */
     private void renderBackgroundSequence(Graphics g, int startOffset, int endOffset, int rowPositionX, int positionY) {
+        paintMonitor.drawCalled();
         int characterWidth = metrics.getCharacterWidth();
         int halfSpaceSize = characterWidth / 2;
         int rowHeight = metrics.getRowHeight();
@@ -2167,8 +2396,7 @@ public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCa
             }
 
             notifyScrolled();
-            codeArea.repaint();
-//            dataViewScrolled(codeArea.getGraphics());
+            repaintScrolled();
         }
     }
 
@@ -2187,8 +2415,7 @@ public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCa
             scrolling.updateHorizontalScrollBarValue(scrollBarValue, metrics.getCharacterWidth());
             ((ScrollingCapable) codeArea).setScrollPosition(scrolling.getScrollPosition());
             notifyScrolled();
-            codeArea.repaint();
-//            dataViewScrolled(codeArea.getGraphics());
+            repaintScrolled();
         }
     }
 
@@ -2197,6 +2424,42 @@ public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCa
         ((ScrollingCapable) codeArea).notifyScrolled();
     }
 
+    /**
+     * Requests repaint of the component keeping painted content for reuse.
+     */
+    private void repaintScrolled() {
+        codeArea.repaint(0, 0, codeArea.getWidth(), codeArea.getHeight());
+    }
+
+    @Override
+    public boolean repaintCursor() {
+        if (!isInitialized() || layoutChanged || cursorDataCache == null) {
+            codeArea.repaint();
+            return true;
+        }
+
+        paintBuffer.markAreaChanged();
+        repaintArea(paintedCursorRect);
+        repaintArea(paintedMirrorCursorRect);
+        if (!codeArea.hasFocus()) {
+            return true;
+        }
+
+        DefaultCodeAreaCaret caret = (DefaultCodeAreaCaret) ((CaretCapable) codeArea).getCaret();
+        repaintArea(getCursorPositionRect(caret.getDataPosition(), caret.getCodeOffset(), caret.getSection()));
+        if (structure.getViewMode() == CodeAreaViewMode.DUAL && showMirrorCursor) {
+            updateMirrorCursorRect(caret.getDataPosition(), caret.getSection());
+            repaintArea(cursorDataCache.mirrorCursorRect);
+        }
+        return true;
+    }
+
+    private void repaintArea(Rectangle area) {
+        if (!area.isEmpty()) {
+            codeArea.repaint(area.x, area.y, area.width, area.height);
+        }
+    }
+
     private static class RowDataCache {
 
         char[] headerCodeData;
@@ -2207,6 +2470,7 @@ public class ExtendedCodeAreaPainter implements CodeAreaPainter, ColorsProfileCa
         char[] rowPositionCode;
         char[] rowCharacters;
         char[] rowCharactersShifted;
+        char[] rowDecodedChars;
         byte[] unprintables;
     }
 
@@ -0,0 +1,359 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.swing.extended.diff;
+
+import java.util.concurrent.CancellationException;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.paged_data.BinaryData;
+
+/**
+ * Alignment aware difference of two binary data.
+ *
+ * Common prefix and suffix are skipped first. Small remaining ranges are
+ * compared byte by byte using Myers algorithm. Larger ranges are split into
+ * content defined chunks, sequences of chunk hashes are compared using Myers
+ * algorithm and only ranges of changed chunks small enough are compared byte
+ * by byte, larger ranges are reported as whole. Content of chunks matched by
+ * hash is compared before being reported as equal, so hash collisions are
+ * treated as changes. Memory usage is therefore proportional to number of
+ * chunks, not size of data.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class BinaryDiff implements BinaryDiffEngine {
+
+    public static final int DEFAULT_BYTE_DIFF_LIMIT = 64 * 1024;
+    public static final int DEFAULT_MAXIMUM_COST = 1024;
+    public static final int DEFAULT_AVERAGE_CHUNK_SIZE = 4096;
+
+    private static final int BUFFER_SIZE = 1024 * 1024;
+
+    private final BinaryData leftData;
+    private final BinaryData rightData;
+    private int byteDiffLimit = DEFAULT_BYTE_DIFF_LIMIT;
+    private int maximumCost = DEFAULT_MAXIMUM_COST;
+    private int averageChunkSize = DEFAULT_AVERAGE_CHUNK_SIZE;
+    @Nullable
+    private BinaryDiffListener diffListener = null;
+
+    private volatile boolean cancelled = false;
+    private byte[] buffer;
+    private byte[] otherBuffer;
+    private long processedSize;
+    private long totalSize;
+
+    public BinaryDiff(BinaryData leftData, BinaryData rightData) {
+        this.leftData = leftData;
+        this.rightData = rightData;
+    }
+
+    public int getByteDiffLimit() {
+        return byteDiffLimit;
+    }
+
+    /**
+     * Sets maximum length of range compared byte by byte.
+     *
+     * @param byteDiffLimit maximum length of range
+     */
+    public void setByteDiffLimit(int byteDiffLimit) {
+        if (byteDiffLimit <= 0) {
+            throw new IllegalArgumentException("Byte diff limit must be positive");
+        }
+
+        this.byteDiffLimit = byteDiffLimit;
+    }
+
+    public int getMaximumCost() {
+        return maximumCost;
+    }
+
+    /**
+     * Sets maximum edit distance searched for in single range, range with
+     * higher edit distance is reported as replaced.
+     *
+     * @param maximumCost maximum cost
+     */
+    public void setMaximumCost(int maximumCost) {
+        if (maximumCost <= 0) {
+            throw new IllegalArgumentException("Maximum cost must be positive");
+        }
+
+        this.maximumCost = maximumCost;
+    }
+
+    public int getAverageChunkSize() {
+        return averageChunkSize;
+    }
+
+    /**
+     * Sets average size of content defined chunks.
+     *
+     * @param averageChunkSize average chunk size, power of two
+     */
+    public void setAverageChunkSize(int averageChunkSize) {
+        if (averageChunkSize < 16 || Integer.bitCount(averageChunkSize) != 1) {
+            throw new IllegalArgumentException("Average chunk size must be power of two of at least 16");
+        }
+
+        this.averageChunkSize = averageChunkSize;
+    }
+
+    @Nullable
+    public BinaryDiffListener getDiffListener() {
+        return diffListener;
+    }
+
+    @Override
+    public void setDiffListener(@Nullable BinaryDiffListener diffListener) {
+        this.diffListener = diffListener;
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Nonnull
+    @Override
+    public BinaryDiffResult compute() {
+        long leftSize = leftData.getDataSize();
+        long rightSize = rightData.getDataSize();
+        BinaryDiffResult result = new BinaryDiffResult(leftSize, rightSize);
+        buffer = new byte[BUFFER_SIZE];
+        otherBuffer = new byte[BUFFER_SIZE];
+        processedSize = 0;
+        totalSize = leftSize + rightSize;
+        try {
+            long prefixLength = findCommonPrefix(Math.min(leftSize, rightSize));
+            long suffixLength = findCommonSuffix(Math.min(leftSize, rightSize) - prefixLength);
+            reportProgress(2 * (prefixLength + suffixLength));
+
+            diffRange(prefixLength, leftSize - suffixLength, prefixLength, rightSize - suffixLength, result);
+            reportProgress(totalSize - processedSize);
+        } finally {
+            buffer = null;
+            otherBuffer = null;
+        }
+        return result;
+    }
+
+    /**
+     * Adds changes between given ranges of data to result.
+     *
+     * Buffers are kept allocated for following calls.
+     *
+     * @param leftStart start position in left data
+     * @param leftEnd end position in left data (exclusive)
+     * @param rightStart start position in right data
+     * @param rightEnd end position in right data (exclusive)
+     * @param result result
+     * @throws CancellationException if computation was cancelled
+     */
+    void compareRange(long leftStart, long leftEnd, long rightStart, long rightEnd, BinaryDiffResult result) {
+        if (buffer == null) {
+            buffer = new byte[BUFFER_SIZE];
+            otherBuffer = new byte[BUFFER_SIZE];
+        }
+        diffRange(leftStart, leftEnd, rightStart, rightEnd, result);
+    }
+
+    private void diffRange(long leftStart, long leftEnd, long rightStart, long rightEnd, BinaryDiffResult result) {
+        if (leftStart == leftEnd || rightStart == rightEnd) {
+            result.addChange(leftStart, leftEnd - leftStart, rightStart, rightEnd - rightStart);
+        } else if (leftEnd - leftStart <= byteDiffLimit && rightEnd - rightStart <= byteDiffLimit) {
+            diffBytes(leftStart, leftEnd, rightStart, rightEnd, result);
+        } else {
+            diffChunks(leftStart, leftEnd, rightStart, rightEnd, result);
+        }
+    }
+
+    private void diffBytes(long leftStart, long leftEnd, long rightStart, long rightEnd, BinaryDiffResult result) {
+        int leftLength = (int) (leftEnd - leftStart);
+        int rightLength = (int) (rightEnd - rightStart);
+        byte[] left = leftLength <= buffer.length ? buffer : new byte[leftLength];
+        byte[] right = rightLength <= otherBuffer.length ? otherBuffer : new byte[rightLength];
+        leftData.copyToArray(leftStart, left, 0, leftLength);
+        rightData.copyToArray(rightStart, right, 0, rightLength);
+
+        MyersDiff myersDiff = new MyersDiff(maximumCost, (changeLeftStart, changeLeftEnd, changeRightStart, changeRightEnd) -> {
+            result.addChange(leftStart + changeLeftStart, changeLeftEnd - changeLeftStart, rightStart + changeRightStart, changeRightEnd - changeRightStart);
+        }) {
+            @Override
+            protected boolean isEqual(int leftIndex, int rightIndex) {
+                return left[leftIndex] == right[rightIndex];
+            }
+
+            @Override
+            protected boolean isCancelled() {
+                return cancelled;
+            }
+        };
+        myersDiff.diff(0, leftLength, 0, rightLength);
+    }
+
+    private void diffChunks(long leftStart, long leftEnd, long rightStart, long rightEnd, BinaryDiffResult result) {
+        ContentChunks leftChunks = computeChunks(leftData, leftStart, leftEnd);
+        ContentChunks rightChunks = computeChunks(rightData, rightStart, rightEnd);
+
+        // Chunks before these indices were already reported or verified
+        int[] verifiedChunks = new int[2];
+        MyersDiff myersDiff = new MyersDiff(maximumCost, (leftChunk, leftChunkEnd, rightChunk, rightChunkEnd) -> {
+            verifyEqualChunks(leftChunks, verifiedChunks[0], leftChunk, rightChunks, verifiedChunks[1], result);
+            reportChunksChange(leftChunks.getStart(leftChunk), leftChunks.getStart(leftChunkEnd), rightChunks.getStart(rightChunk), rightChunks.getStart(rightChunkEnd), result);
+            verifiedChunks[0] = leftChunkEnd;
+            verifiedChunks[1] = rightChunkEnd;
+        }) {
+            @Override
+            protected boolean isEqual(int leftIndex, int rightIndex) {
+                return leftChunks.isEqual(leftIndex, rightChunks, rightIndex);
+            }
+
+            @Override
+            protected boolean isCancelled() {
+                return cancelled;
+            }
+        };
+        myersDiff.diff(0, leftChunks.getCount(), 0, rightChunks.getCount());
+        verifyEqualChunks(leftChunks, verifiedChunks[0], leftChunks.getCount(), rightChunks, verifiedChunks[1], result);
+    }
+
+    private void reportChunksChange(long changeLeftStart, long changeLeftEnd, long changeRightStart, long changeRightEnd, BinaryDiffResult result) {
+        if (changeLeftEnd - changeLeftStart <= byteDiffLimit && changeRightEnd - changeRightStart <= byteDiffLimit) {
+            diffRange(changeLeftStart, changeLeftEnd, changeRightStart, changeRightEnd, result);
+        } else {
+            result.addChange(changeLeftStart, changeLeftEnd - changeLeftStart, changeRightStart, changeRightEnd - changeRightStart);
+        }
+    }
+
+    /**
+     * Compares content of chunks matched by hash and reports pairs of chunks
+     * which differ.
+     *
+     * @param leftChunks left chunks
+     * @param leftFrom index of first left chunk
+     * @param leftTo index of left chunk after the run
+     * @param rightChunks right chunks
+     * @param rightFrom index of first right chunk
+     * @param result result to add changes to
+     */
+    private void verifyEqualChunks(ContentChunks leftChunks, int leftFrom, int leftTo, ContentChunks rightChunks, int rightFrom, BinaryDiffResult result) {
+        for (int leftChunk = leftFrom; leftChunk < leftTo; leftChunk++) {
+            int rightChunk = rightFrom + leftChunk - leftFrom;
+            long leftPosition = leftChunks.getStart(leftChunk);
+            long rightPosition = rightChunks.getStart(rightChunk);
+            long length = leftChunks.getEnd(leftChunk) - leftPosition;
+            if (!isContentEqual(leftPosition, rightPosition, length)) {
+                reportChunksChange(leftPosition, leftPosition + length, rightPosition, rightPosition + length, result);
+            }
+        }
+    }
+
+    private boolean isContentEqual(long leftPosition, long rightPosition, long length) {
+        long offset = 0;
+        while (offset < length) {
+            checkCancelled();
+            int blockLength = (int) Math.min(buffer.length, length - offset);
+            leftData.copyToArray(leftPosition + offset, buffer, 0, blockLength);
+            rightData.copyToArray(rightPosition + offset, otherBuffer, 0, blockLength);
+            for (int i = 0; i < blockLength; i++) {
+                if (buffer[i] != otherBuffer[i]) {
+                    return false;
+                }
+            }
+            offset += blockLength;
+        }
+        return true;
+    }
+
+    @Nonnull
+    private ContentChunks computeChunks(BinaryData data, long startPosition, long endPosition) {
+        ContentChunks chunks = new ContentChunks(startPosition, averageChunkSize);
+        long position = startPosition;
+        while (position < endPosition) {
+            checkCancelled();
+            int length = (int) Math.min(buffer.length, endPosition - position);
+            data.copyToArray(position, buffer, 0, length);
+            chunks.process(buffer, length);
+            position += length;
+            reportProgress(length);
+        }
+        chunks.finish();
+        return chunks;
+    }
+
+    private long findCommonPrefix(long maximumLength) {
+        long length = 0;
+        while (length < maximumLength) {
+            checkCancelled();
+            int blockLength = (int) Math.min(buffer.length, maximumLength - length);
+            leftData.copyToArray(length, buffer, 0, blockLength);
+            rightData.copyToArray(length, otherBuffer, 0, blockLength);
+            int index = 0;
+            while (index < blockLength && buffer[index] == otherBuffer[index]) {
+                index++;
+            }
+            length += index;
+            if (index < blockLength) {
+                break;
+            }
+        }
+        return length;
+    }
+
+    private long findCommonSuffix(long maximumLength) {
+        long leftSize = leftData.getDataSize();
+        long rightSize = rightData.getDataSize();
+        long length = 0;
+        while (length < maximumLength) {
+            checkCancelled();
+            int blockLength = (int) Math.min(buffer.length, maximumLength - length);
+            leftData.copyToArray(leftSize - length - blockLength, buffer, 0, blockLength);
+            rightData.copyToArray(rightSize - length - blockLength, otherBuffer, 0, blockLength);
+            int index = blockLength - 1;
+            while (index >= 0 && buffer[index] == otherBuffer[index]) {
+                index--;
+            }
+            length += blockLength - 1 - index;
+            if (index >= 0) {
+                break;
+            }
+        }
+        return length;
+    }
+
+    private void checkCancelled() {
+        if (cancelled) {
+            throw new CancellationException("Diff was cancelled");
+        }
+    }
+
+    private void reportProgress(long processedLength) {
+        processedSize += processedLength;
+        BinaryDiffListener listener = diffListener;
+        if (listener != null) {
+            listener.progressChanged(processedSize, totalSize);
+        }
+    }
+}
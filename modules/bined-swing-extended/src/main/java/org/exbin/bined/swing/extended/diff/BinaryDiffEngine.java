@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.swing.extended.diff;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Interface for computation of difference of two binary data.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+public interface BinaryDiffEngine {
+
+    /**
+     * Computes difference of data.
+     *
+     * @return difference
+     * @throws CancellationException if computation was cancelled
+     */
+    @Nonnull
+    BinaryDiffResult compute();
+
+    /**
+     * Computes difference using given executor.
+     *
+     * @param executor executor
+     * @return future of difference
+     */
+    @Nonnull
+    default CompletableFuture<BinaryDiffResult> computeAsync(Executor executor) {
+        return CompletableFuture.supplyAsync(this::compute, executor);
+    }
+
+    /**
+     * Cancels running computation.
+     */
+    void cancel();
+
+    void setDiffListener(@Nullable BinaryDiffListener diffListener);
+}
@@ -0,0 +1,388 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.swing.extended.diff;
+
+import java.io.IOException;
+import java.util.Arrays;
+import javax.annotation.Nonnull;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Result of binary diff as sorted list of changes.
+ *
+ * Data between changes are equal on both sides, each change has range on
+ * left and right side, where one of the ranges can be empty. Changes are
+ * separated by equal data, so their starts are increasing on both sides.
+ *
+ * Result can also contain moves, which are ranges of equal data placed at
+ * different positions, which are part of changes.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class BinaryDiffResult {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final long leftSize;
+    private final long rightSize;
+    private long[] leftStarts = new long[INITIAL_CAPACITY];
+    private long[] leftLengths = new long[INITIAL_CAPACITY];
+    private long[] rightStarts = new long[INITIAL_CAPACITY];
+    private long[] rightLengths = new long[INITIAL_CAPACITY];
+    private int count = 0;
+
+    private long[] moveLeftStarts = new long[0];
+    private long[] moveRightStarts = new long[0];
+    private long[] moveLengths = new long[0];
+    private int movesCount = 0;
+    private int[] moveLeftOrder = new int[0];
+
+    BinaryDiffResult(long leftSize, long rightSize) {
+        this.leftSize = leftSize;
+        this.rightSize = rightSize;
+    }
+
+    /**
+     * Adds change following all previously added changes, change adjacent
+     * to previous change on both sides is merged with it.
+     *
+     * @param leftStart start position in left data
+     * @param leftLength length in left data
+     * @param rightStart start position in right data
+     * @param rightLength length in right data
+     */
+    void addChange(long leftStart, long leftLength, long rightStart, long rightLength) {
+        if (leftLength == 0 && rightLength == 0) {
+            return;
+        }
+
+        if (count > 0 && leftStarts[count - 1] + leftLengths[count - 1] == leftStart && rightStarts[count - 1] + rightLengths[count - 1] == rightStart) {
+            leftLengths[count - 1] += leftLength;
+            rightLengths[count - 1] += rightLength;
+            return;
+        }
+
+        if (count == leftStarts.length) {
+            int capacity = count * 2;
+            leftStarts = Arrays.copyOf(leftStarts, capacity);
+            leftLengths = Arrays.copyOf(leftLengths, capacity);
+            rightStarts = Arrays.copyOf(rightStarts, capacity);
+            rightLengths = Arrays.copyOf(rightLengths, capacity);
+        }
+
+        leftStarts[count] = leftStart;
+        leftLengths[count] = leftLength;
+        rightStarts[count] = rightStart;
+        rightLengths[count] = rightLength;
+        count++;
+    }
+
+    /**
+     * Adds move following all previously added moves in right data.
+     *
+     * @param leftStart start position in left data
+     * @param rightStart start position in right data
+     * @param length length of moved data
+     */
+    void addMove(long leftStart, long rightStart, long length) {
+        if (movesCount == moveLeftStarts.length) {
+            int capacity = Math.max(INITIAL_CAPACITY, movesCount * 2);
+            moveLeftStarts = Arrays.copyOf(moveLeftStarts, capacity);
+            moveRightStarts = Arrays.copyOf(moveRightStarts, capacity);
+            moveLengths = Arrays.copyOf(moveLengths, capacity);
+        }
+
+        moveLeftStarts[movesCount] = leftStart;
+        moveRightStarts[movesCount] = rightStart;
+        moveLengths[movesCount] = length;
+        movesCount++;
+    }
+
+    /**
+     * Sorts moves by position in left data, has to be called after all
+     * moves are added.
+     */
+    void finishMoves() {
+        Integer[] order = new Integer[movesCount];
+        for (int i = 0; i < movesCount; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (first, second) -> Long.compare(moveLeftStarts[first], moveLeftStarts[second]));
+        moveLeftOrder = new int[movesCount];
+        for (int i = 0; i < movesCount; i++) {
+            moveLeftOrder[i] = order[i];
+        }
+    }
+
+    public long getLeftSize() {
+        return leftSize;
+    }
+
+    public long getRightSize() {
+        return rightSize;
+    }
+
+    public long getSize(DiffSide side) {
+        return side == DiffSide.LEFT ? leftSize : rightSize;
+    }
+
+    public int getChangesCount() {
+        return count;
+    }
+
+    public long getLeftStart(int index) {
+        return leftStarts[index];
+    }
+
+    public long getLeftLength(int index) {
+        return leftLengths[index];
+    }
+
+    public long getRightStart(int index) {
+        return rightStarts[index];
+    }
+
+    public long getRightLength(int index) {
+        return rightLengths[index];
+    }
+
+    public long getStart(DiffSide side, int index) {
+        return side == DiffSide.LEFT ? leftStarts[index] : rightStarts[index];
+    }
+
+    public long getLength(DiffSide side, int index) {
+        return side == DiffSide.LEFT ? leftLengths[index] : rightLengths[index];
+    }
+
+    @Nonnull
+    public DiffChangeType getChangeType(int index) {
+        if (leftLengths[index] == 0) {
+            return DiffChangeType.INSERT;
+        }
+
+        return rightLengths[index] == 0 ? DiffChangeType.DELETE : DiffChangeType.REPLACE;
+    }
+
+    public int getMovesCount() {
+        return movesCount;
+    }
+
+    public long getMoveLeftStart(int index) {
+        return moveLeftStarts[index];
+    }
+
+    public long getMoveRightStart(int index) {
+        return moveRightStarts[index];
+    }
+
+    public long getMoveLength(int index) {
+        return moveLengths[index];
+    }
+
+    /**
+     * Returns index of move containing given position.
+     *
+     * Moves can overlap in left data, index of the last move starting at or
+     * before position is returned then.
+     *
+     * @param side side
+     * @param position position in data of the side
+     * @return index of move or -1 if position is not moved
+     */
+    public int findMove(DiffSide side, long position) {
+        int low = 0;
+        int high = movesCount - 1;
+        int found = -1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int moveIndex = side == DiffSide.LEFT ? moveLeftOrder[middle] : middle;
+            long start = side == DiffSide.LEFT ? moveLeftStarts[moveIndex] : moveRightStarts[moveIndex];
+            if (start <= position) {
+                found = moveIndex;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        if (found >= 0) {
+            long start = side == DiffSide.LEFT ? moveLeftStarts[found] : moveRightStarts[found];
+            if (position < start + moveLengths[found]) {
+                return found;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns index of the first change starting after given position.
+     *
+     * @param side side
+     * @param position position in data of the side
+     * @return index of change or -1 if there is no such change
+     */
+    public int findNextChange(DiffSide side, long position) {
+        int index = findPrecedingChange(side, position) + 1;
+        return index < count ? index : -1;
+    }
+
+    /**
+     * Returns index of the last change starting before given position.
+     *
+     * @param side side
+     * @param position position in data of the side
+     * @return index of change or -1 if there is no such change
+     */
+    public int findPreviousChange(DiffSide side, long position) {
+        return position > 0 ? findPrecedingChange(side, position - 1) : -1;
+    }
+
+    /**
+     * Maps position in data of given side to aligned position in data of
+     * the other side.
+     *
+     * Positions in equal data are mapped exactly, positions inside changes
+     * are mapped proportionally to the change on the other side.
+     *
+     * @param side side of position
+     * @param position position in data of the side
+     * @return aligned position in data of the other side
+     */
+    public long mapPosition(DiffSide side, long position) {
+        DiffSide otherSide = side == DiffSide.LEFT ? DiffSide.RIGHT : DiffSide.LEFT;
+        int index = findPrecedingChange(side, position);
+        if (index < 0) {
+            return Math.min(position, getSize(otherSide));
+        }
+
+        long start = getStart(side, index);
+        long length = getLength(side, index);
+        long otherStart = getStart(otherSide, index);
+        long otherLength = getLength(otherSide, index);
+        long offset = position - start;
+        if (offset < length) {
+            return otherStart + (long) ((double) offset * otherLength / length);
+        }
+
+        return Math.min(otherStart + otherLength + offset - length, getSize(otherSide));
+    }
+
+    /**
+     * Computes downsampled summary of changes for overview.
+     *
+     * Each bin covers equal part of data of the side and contains the
+     * highest kind of change as defined in DiffRangeMap, which is computed
+     * from list of changes only, without reading the data. Insertion into
+     * data of the other side is marked at its position.
+     *
+     * @param side side
+     * @param binsCount number of bins
+     * @return kinds of bins
+     */
+    @Nonnull
+    public byte[] computeSummary(DiffSide side, int binsCount) {
+        byte[] bins = new byte[binsCount];
+        long size = getSize(side);
+        if (binsCount == 0 || size == 0) {
+            return bins;
+        }
+
+        for (int i = 0; i < count; i++) {
+            long start = getStart(side, i);
+            long length = getLength(side, i);
+            byte kind = (byte) (getChangeType(i) == DiffChangeType.REPLACE ? DiffRangeMap.CHANGED : DiffRangeMap.ADDED);
+            markBins(bins, size, start, Math.max(length, 1), kind);
+        }
+        for (int i = 0; i < movesCount; i++) {
+            markBins(bins, size, side == DiffSide.LEFT ? moveLeftStarts[i] : moveRightStarts[i], moveLengths[i], (byte) DiffRangeMap.MOVED);
+        }
+        return bins;
+    }
+
+    private static void markBins(byte[] bins, long size, long start, long length, byte kind) {
+        int firstBin = (int) Math.min(bins.length - 1, (long) ((double) start * bins.length / size));
+        int lastBin = (int) Math.min(bins.length - 1, (long) ((double) (start + length - 1) * bins.length / size));
+        for (int bin = firstBin; bin <= lastBin; bin++) {
+            if (bins[bin] < kind) {
+                bins[bin] = kind;
+            }
+        }
+    }
+
+    /**
+     * Writes list of changes and moves, one range per line.
+     *
+     * Each line contains type of range, start and length in left data and
+     * start and length in right data separated by tabulator.
+     *
+     * @param output output
+     * @throws IOException if writing fails
+     */
+    public void exportRanges(Appendable output) throws IOException {
+        for (int i = 0; i < count; i++) {
+            writeRange(output, getChangeType(i).name(), leftStarts[i], leftLengths[i], rightStarts[i], rightLengths[i]);
+        }
+        for (int i = 0; i < movesCount; i++) {
+            writeRange(output, "MOVE", moveLeftStarts[i], moveLengths[i], moveRightStarts[i], moveLengths[i]);
+        }
+    }
+
+    private static void writeRange(Appendable output, String type, long leftStart, long leftLength, long rightStart, long rightLength) throws IOException {
+        output.append(type).append('\t')
+                .append(String.valueOf(leftStart)).append('\t').append(String.valueOf(leftLength)).append('\t')
+                .append(String.valueOf(rightStart)).append('\t').append(String.valueOf(rightLength)).append('\n');
+    }
+
+    /**
+     * Returns true if data of both sides are equal.
+     *
+     * @return true if equal
+     */
+    public boolean isEqual() {
+        return count == 0;
+    }
+
+    /**
+     * Returns index of the last change starting at or before given position.
+     *
+     * @param side side
+     * @param position position in data of the side
+     * @return index of change or -1 if there is no such change
+     */
+    public int findPrecedingChange(DiffSide side, long position) {
+        long[] starts = side == DiffSide.LEFT ? leftStarts : rightStarts;
+        int index = Arrays.binarySearch(starts, 0, count, position);
+        return index < 0 ? -index - 2 : index;
+    }
+
+    /**
+     * Returns index of change containing given position.
+     *
+     * @param side side
+     * @param position position in data of the side
+     * @return index of change or -1 if position is not changed
+     */
+    public int findChange(DiffSide side, long position) {
+        int index = findPrecedingChange(side, position);
+        if (index >= 0 && position < getStart(side, index) + getLength(side, index)) {
+            return index;
+        }
+
+        return -1;
+    }
+}
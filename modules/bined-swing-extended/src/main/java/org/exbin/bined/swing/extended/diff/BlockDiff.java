@@ -0,0 +1,561 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.swing.extended.diff;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.paged_data.BinaryData;
+
+/**
+ * Block level difference of two binary data for large data.
+ *
+ * Left data are split into fixed size blocks with weak rolling checksum and
+ * strong hash. Right data are scanned with rolling checksum to find matching
+ * blocks at any position, as in rsync. Consecutive matched blocks are merged
+ * into runs and the heaviest sequence of runs ordered on both sides is used
+ * for alignment, other runs are reported as moves. Only ranges between
+ * aligned runs are compared using byte level diff.
+ *
+ * Hashing of left blocks and scanning of right data run in parallel over
+ * chunks of data. Content of blocks with equal hashes is compared before the
+ * match is accepted, so hash collisions are treated as differences.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class BlockDiff implements BinaryDiffEngine {
+
+    public static final int DEFAULT_BLOCK_SIZE = 16 * 1024;
+    public static final int DEFAULT_CHUNK_SIZE = 16 * 1024 * 1024;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final BinaryData leftData;
+    private final BinaryData rightData;
+    private int blockSize = DEFAULT_BLOCK_SIZE;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    private boolean concurrentDataAccess = false;
+    @Nullable
+    private BinaryDiffListener diffListener = null;
+
+    private volatile boolean cancelled = false;
+    @Nullable
+    private volatile BinaryDiff byteDiff = null;
+    private long processedSize;
+    private long totalSize;
+
+    private int blocksCount;
+    private int[] blockWeakHashes;
+    private long[] blockStrongHashes;
+    private int[] bucketHeads;
+    private int[] nextInBucket;
+
+    public BlockDiff(BinaryData leftData, BinaryData rightData) {
+        this.leftData = leftData;
+        this.rightData = rightData;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * Sets size of compared blocks.
+     *
+     * @param blockSize block size
+     */
+    public void setBlockSize(int blockSize) {
+        if (blockSize < 16) {
+            throw new IllegalArgumentException("Block size must be at least 16");
+        }
+
+        this.blockSize = blockSize;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Sets size of chunks of data processed in parallel.
+     *
+     * @param chunkSize chunk size
+     */
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+
+        this.chunkSize = chunkSize;
+    }
+
+    @Nonnull
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public boolean isConcurrentDataAccess() {
+        return concurrentDataAccess;
+    }
+
+    /**
+     * Sets whether data can be read from multiple threads at once.
+     *
+     * Reading of data is synchronized on data instance by default, only
+     * hashing of already read chunks runs in parallel then.
+     *
+     * @param concurrentDataAccess true if data support concurrent reading
+     */
+    public void setConcurrentDataAccess(boolean concurrentDataAccess) {
+        this.concurrentDataAccess = concurrentDataAccess;
+    }
+
+    @Nullable
+    public BinaryDiffListener getDiffListener() {
+        return diffListener;
+    }
+
+    @Override
+    public void setDiffListener(@Nullable BinaryDiffListener diffListener) {
+        this.diffListener = diffListener;
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        BinaryDiff diff = byteDiff;
+        if (diff != null) {
+            diff.cancel();
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Nonnull
+    @Override
+    public BinaryDiffResult compute() {
+        long leftSize = leftData.getDataSize();
+        long rightSize = rightData.getDataSize();
+        if (leftSize / blockSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Data is too large for block size");
+        }
+
+        BinaryDiffResult result = new BinaryDiffResult(leftSize, rightSize);
+        processedSize = 0;
+        totalSize = leftSize + rightSize;
+        try {
+            computeBlockHashes();
+            long[] matches = findMatches();
+            MatchedRuns runs = new MatchedRuns(matches, blockSize);
+            boolean[] aligned = runs.selectAligned();
+
+            BinaryDiff diff = new BinaryDiff(leftData, rightData);
+            byteDiff = diff;
+            if (cancelled) {
+                throw new CancellationException("Diff was cancelled");
+            }
+            long leftPosition = 0;
+            long rightPosition = 0;
+            for (int run = 0; run < runs.count; run++) {
+                if (aligned[run]) {
+                    diff.compareRange(leftPosition, runs.leftStarts[run], rightPosition, runs.rightStarts[run], result);
+                    leftPosition = runs.leftStarts[run] + runs.lengths[run];
+                    rightPosition = runs.rightStarts[run] + runs.lengths[run];
+                } else {
+                    result.addMove(runs.leftStarts[run], runs.rightStarts[run], runs.lengths[run]);
+                }
+            }
+            diff.compareRange(leftPosition, leftSize, rightPosition, rightSize, result);
+            result.finishMoves();
+            reportProgress(totalSize - processedSize);
+        } finally {
+            byteDiff = null;
+            blockWeakHashes = null;
+            blockStrongHashes = null;
+            bucketHeads = null;
+            nextInBucket = null;
+        }
+        return result;
+    }
+
+    private void computeBlockHashes() {
+        blocksCount = (int) (leftData.getDataSize() / blockSize);
+        blockWeakHashes = new int[blocksCount];
+        blockStrongHashes = new long[blocksCount];
+        int blocksPerChunk = Math.max(1, chunkSize / blockSize);
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int firstBlock = 0; firstBlock < blocksCount; firstBlock += blocksPerChunk) {
+            int startBlock = firstBlock;
+            int endBlock = (int) Math.min((long) firstBlock + blocksPerChunk, blocksCount);
+            tasks.add(() -> {
+                hashBlocks(startBlock, endBlock);
+                return null;
+            });
+        }
+        invokeAll(tasks);
+
+        int bucketsCount = Integer.highestOneBit(Math.max(1, blocksCount)) * 2;
+        bucketHeads = new int[bucketsCount];
+        Arrays.fill(bucketHeads, -1);
+        nextInBucket = new int[blocksCount];
+        for (int block = 0; block < blocksCount; block++) {
+            int bucket = getBucket(blockWeakHashes[block]);
+            // Only first of identical blocks is needed in buckets
+            if (findBlock(blockWeakHashes[block], blockStrongHashes[block]) < 0) {
+                nextInBucket[block] = bucketHeads[bucket];
+                bucketHeads[bucket] = block;
+            }
+        }
+    }
+
+    private void hashBlocks(int startBlock, int endBlock) {
+        byte[] buffer = new byte[(endBlock - startBlock) * blockSize];
+        readData(leftData, (long) startBlock * blockSize, buffer, buffer.length);
+        for (int block = startBlock; block < endBlock; block++) {
+            int offset = (block - startBlock) * blockSize;
+            blockWeakHashes[block] = computeWeakHash(buffer, offset, blockSize);
+            blockStrongHashes[block] = computeStrongHash(buffer, offset, blockSize);
+        }
+        reportProgress(buffer.length);
+    }
+
+    /**
+     * Finds blocks of left data in right data.
+     *
+     * @return pairs of right and left positions of matched blocks ordered by
+     * right position
+     */
+    @Nonnull
+    private long[] findMatches() {
+        long rightSize = rightData.getDataSize();
+        long matchStartsEnd = rightSize - blockSize + 1;
+        if (blocksCount == 0 || matchStartsEnd <= 0) {
+            reportProgress(rightSize);
+            return new long[0];
+        }
+
+        List<Callable<long[]>> tasks = new ArrayList<>();
+        for (long chunkStart = 0; chunkStart < matchStartsEnd; chunkStart += chunkSize) {
+            long start = chunkStart;
+            long end = Math.min(chunkStart + chunkSize, matchStartsEnd);
+            tasks.add(() -> scanChunk(start, end));
+        }
+        List<long[]> chunkMatches = invokeAll(tasks);
+        reportProgress(blockSize - 1);
+
+        int matchesLength = 0;
+        for (long[] matches : chunkMatches) {
+            matchesLength += matches.length;
+        }
+        long[] result = new long[matchesLength];
+        int offset = 0;
+        for (long[] matches : chunkMatches) {
+            System.arraycopy(matches, 0, result, offset, matches.length);
+            offset += matches.length;
+        }
+        return result;
+    }
+
+    /**
+     * Scans range of right data for matching blocks.
+     *
+     * @param startPosition start position of match starts
+     * @param endPosition end position of match starts (exclusive)
+     * @return pairs of right and left positions
+     */
+    @Nonnull
+    private long[] scanChunk(long startPosition, long endPosition) {
+        int limit = (int) (endPosition - startPosition);
+        byte[] buffer = new byte[limit + blockSize - 1];
+        readData(rightData, startPosition, buffer, buffer.length);
+        byte[] blockBuffer = new byte[blockSize];
+
+        long[] matches = new long[16];
+        int matchesLength = 0;
+        int expectedBlock = -1;
+        int position = 0;
+        int weakA = 0;
+        int weakB = 0;
+        boolean initialized = false;
+        while (position < limit) {
+            if (cancelled) {
+                throw new CancellationException("Diff was cancelled");
+            }
+
+            if (!initialized) {
+                int weakHash = computeWeakHash(buffer, position, blockSize);
+                weakA = weakHash & 0xFFFF;
+                weakB = weakHash >>> 16;
+                initialized = true;
+            }
+
+            int block = findMatchingBlock((weakB << 16) | weakA, buffer, position, expectedBlock, blockBuffer);
+            if (block >= 0) {
+                if (matchesLength == matches.length) {
+                    matches = Arrays.copyOf(matches, matchesLength * 2);
+                }
+                matches[matchesLength++] = startPosition + position;
+                matches[matchesLength++] = (long) block * blockSize;
+                expectedBlock = block + 1;
+                position += blockSize;
+                initialized = false;
+            } else {
+                if (position + 1 < limit) {
+                    int outValue = buffer[position] & 0xFF;
+                    int inValue = buffer[position + blockSize] & 0xFF;
+                    weakA = (weakA - outValue + inValue) & 0xFFFF;
+                    weakB = (weakB - blockSize * outValue + weakA) & 0xFFFF;
+                }
+                position++;
+            }
+        }
+
+        reportProgress(limit);
+        return Arrays.copyOf(matches, matchesLength);
+    }
+
+    private int findMatchingBlock(int weakHash, byte[] buffer, int offset, int expectedBlock, byte[] blockBuffer) {
+        int block = bucketHeads[getBucket(weakHash)];
+        while (block >= 0 && blockWeakHashes[block] != weakHash) {
+            block = nextInBucket[block];
+        }
+        if (block < 0) {
+            return -1;
+        }
+
+        long strongHash = computeStrongHash(buffer, offset, blockSize);
+        // Prefer block continuing previous match to keep runs of blocks
+        if (expectedBlock >= 0 && expectedBlock < blocksCount && blockWeakHashes[expectedBlock] == weakHash && blockStrongHashes[expectedBlock] == strongHash
+                && isBlockEqual(expectedBlock, buffer, offset, blockBuffer)) {
+            return expectedBlock;
+        }
+
+        block = findBlock(weakHash, strongHash);
+        return block >= 0 && isBlockEqual(block, buffer, offset, blockBuffer) ? block : -1;
+    }
+
+    /**
+     * Compares content of left block with right data in buffer.
+     */
+    private boolean isBlockEqual(int block, byte[] buffer, int offset, byte[] blockBuffer) {
+        readData(leftData, (long) block * blockSize, blockBuffer, blockSize);
+        for (int i = 0; i < blockSize; i++) {
+            if (blockBuffer[i] != buffer[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int findBlock(int weakHash, long strongHash) {
+        int block = bucketHeads[getBucket(weakHash)];
+        while (block >= 0) {
+            if (blockWeakHashes[block] == weakHash && blockStrongHashes[block] == strongHash) {
+                return block;
+            }
+            block = nextInBucket[block];
+        }
+        return -1;
+    }
+
+    private int getBucket(int weakHash) {
+        return ((weakHash * 0x9E3779B9) >>> 8) & (bucketHeads.length - 1);
+    }
+
+    /**
+     * Computes rsync style weak checksum of block.
+     */
+    static int computeWeakHash(byte[] buffer, int offset, int length) {
+        int a = 0;
+        int b = 0;
+        for (int i = 0; i < length; i++) {
+            int value = buffer[offset + i] & 0xFF;
+            a += value;
+            b += (length - i) * value;
+        }
+        return ((b & 0xFFFF) << 16) | (a & 0xFFFF);
+    }
+
+    static long computeStrongHash(byte[] buffer, int offset, int length) {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 0; i < length; i++) {
+            hash = (hash ^ (buffer[offset + i] & 0xFF)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private void readData(BinaryData data, long position, byte[] buffer, int length) {
+        if (concurrentDataAccess) {
+            data.copyToArray(position, buffer, 0, length);
+        } else {
+            synchronized (data) {
+                data.copyToArray(position, buffer, 0, length);
+            }
+        }
+    }
+
+    @Nonnull
+    private <T> List<T> invokeAll(List<Callable<T>> tasks) {
+        List<T> results = new ArrayList<>(tasks.size());
+        try {
+            for (Future<T> future : pool.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Diff was interrupted");
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+        if (cancelled) {
+            throw new CancellationException("Diff was cancelled");
+        }
+        return results;
+    }
+
+    private synchronized void reportProgress(long processedLength) {
+        processedSize += processedLength;
+        BinaryDiffListener listener = diffListener;
+        if (listener != null) {
+            listener.progressChanged(processedSize, totalSize);
+        }
+    }
+
+    /**
+     * Runs of consecutive matched blocks ordered by right position.
+     */
+    private static final class MatchedRuns {
+
+        private long[] leftStarts;
+        private long[] rightStarts;
+        private long[] lengths;
+        private int count = 0;
+
+        MatchedRuns(long[] matches, int blockSize) {
+            int matchesCount = matches.length / 2;
+            leftStarts = new long[matchesCount];
+            rightStarts = new long[matchesCount];
+            lengths = new long[matchesCount];
+            long rightEnd = 0;
+            for (int i = 0; i < matchesCount; i++) {
+                long rightPosition = matches[i * 2];
+                long leftPosition = matches[i * 2 + 1];
+                // Matches of adjacent chunks can overlap
+                if (rightPosition < rightEnd) {
+                    continue;
+                }
+
+                if (count > 0 && rightStarts[count - 1] + lengths[count - 1] == rightPosition && leftStarts[count - 1] + lengths[count - 1] == leftPosition) {
+                    lengths[count - 1] += blockSize;
+                } else {
+                    leftStarts[count] = leftPosition;
+                    rightStarts[count] = rightPosition;
+                    lengths[count] = blockSize;
+                    count++;
+                }
+                rightEnd = rightPosition + blockSize;
+            }
+        }
+
+        /**
+         * Selects sequence of runs ordered on both sides with maximum total
+         * length.
+         *
+         * @return flags of selected runs
+         */
+        @Nonnull
+        boolean[] selectAligned() {
+            long[] leftEnds = new long[count];
+            for (int run = 0; run < count; run++) {
+                leftEnds[run] = leftStarts[run] + lengths[run];
+            }
+            long[] sortedEnds = Arrays.copyOf(leftEnds, count);
+            Arrays.sort(sortedEnds);
+
+            // Fenwick tree of maximum total length of sequence ending at given left end
+            long[] treeLengths = new long[count + 1];
+            int[] treeRuns = new int[count + 1];
+            Arrays.fill(treeRuns, -1);
+            long[] totals = new long[count];
+            int[] previous = new int[count];
+            int bestRun = -1;
+            for (int run = 0; run < count; run++) {
+                long bestLength = 0;
+                int bestPrevious = -1;
+                // Runs ending at or before start of this run
+                for (int index = upperBound(sortedEnds, leftStarts[run]); index > 0; index -= index & -index) {
+                    if (treeLengths[index] > bestLength) {
+                        bestLength = treeLengths[index];
+                        bestPrevious = treeRuns[index];
+                    }
+                }
+                totals[run] = bestLength + lengths[run];
+                previous[run] = bestPrevious;
+                for (int index = upperBound(sortedEnds, leftEnds[run]); index <= count; index += index & -index) {
+                    if (totals[run] > treeLengths[index]) {
+                        treeLengths[index] = totals[run];
+                        treeRuns[index] = run;
+                    }
+                }
+                if (bestRun < 0 || totals[run] > totals[bestRun]) {
+                    bestRun = run;
+                }
+            }
+
+            boolean[] aligned = new boolean[count];
+            for (int run = bestRun; run >= 0; run = previous[run]) {
+                aligned[run] = true;
+            }
+            return aligned;
+        }
+
+        private static int upperBound(long[] values, long value) {
+            int low = 0;
+            int high = values.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (values[middle] <= value) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+}
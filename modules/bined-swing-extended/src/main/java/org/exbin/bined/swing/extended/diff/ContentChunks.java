@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.swing.extended.diff;
+
+import java.util.Arrays;
+import java.util.Random;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Content defined chunks of data range.
+ *
+ * Chunk boundaries are placed where rolling gear hash of preceding bytes
+ * matches boundary mask, so that boundaries are restored shortly after
+ * inserted or deleted data. Each chunk has 64-bit hash of its content.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+class ContentChunks {
+
+    private static final long[] GEAR = new long[256];
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final int INITIAL_CAPACITY = 64;
+
+    static {
+        Random random = new Random(0x62696e6564L);
+        for (int i = 0; i < GEAR.length; i++) {
+            GEAR[i] = random.nextLong();
+        }
+    }
+
+    private final long boundaryMask;
+    private final int minimumSize;
+    private final int maximumSize;
+    private long[] starts = new long[INITIAL_CAPACITY];
+    private long[] hashes = new long[INITIAL_CAPACITY];
+    private int count = 0;
+
+    private long chunkStart;
+    private long position;
+    private long gearHash = 0;
+    private long contentHash = FNV_OFFSET_BASIS;
+
+    /**
+     * Creates chunks for range starting at given position.
+     *
+     * @param startPosition start position of range
+     * @param averageSize average size of chunk, power of two
+     */
+    ContentChunks(long startPosition, int averageSize) {
+        boundaryMask = averageSize - 1;
+        minimumSize = averageSize / 4;
+        maximumSize = averageSize * 4;
+        chunkStart = startPosition;
+        position = startPosition;
+    }
+
+    /**
+     * Processes next bytes of the range.
+     *
+     * @param buffer buffer
+     * @param length number of bytes in buffer
+     */
+    void process(byte[] buffer, int length) {
+        long hash = gearHash;
+        long content = contentHash;
+        long size = position - chunkStart;
+        for (int i = 0; i < length; i++) {
+            int value = buffer[i] & 0xFF;
+            hash = (hash << 1) + GEAR[value];
+            content = (content ^ value) * FNV_PRIME;
+            size++;
+            if ((size >= minimumSize && (hash & boundaryMask) == 0) || size >= maximumSize) {
+                addChunk(position + i + 1 - size, content);
+                hash = 0;
+                content = FNV_OFFSET_BASIS;
+                size = 0;
+            }
+        }
+        position += length;
+        chunkStart = position - size;
+        gearHash = hash;
+        contentHash = content;
+    }
+
+    /**
+     * Finishes last chunk of the range.
+     */
+    void finish() {
+        if (position > chunkStart) {
+            addChunk(chunkStart, contentHash);
+            chunkStart = position;
+        }
+        ensureCapacity();
+        starts[count] = position;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    long getStart(int index) {
+        return starts[index];
+    }
+
+    /**
+     * Returns end of chunk, which is valid after range is finished.
+     *
+     * @param index chunk index
+     * @return end position
+     */
+    long getEnd(int index) {
+        return starts[index + 1];
+    }
+
+    long getHash(int index) {
+        return hashes[index];
+    }
+
+    /**
+     * Returns true if chunks have the same content.
+     *
+     * @param index chunk index
+     * @param other other chunks
+     * @param otherIndex chunk index in other chunks
+     * @return true if equal
+     */
+    boolean isEqual(int index, ContentChunks other, int otherIndex) {
+        return hashes[index] == other.hashes[otherIndex] && getEnd(index) - starts[index] == other.getEnd(otherIndex) - other.starts[otherIndex];
+    }
+
+    private void addChunk(long start, long hash) {
+        ensureCapacity();
+        starts[count] = start;
+        hashes[count] = hash;
+        count++;
+    }
+
+    private void ensureCapacity() {
+        if (count + 1 >= starts.length) {
+            starts = Arrays.copyOf(starts, starts.length * 2);
+            hashes = Arrays.copyOf(hashes, hashes.length * 2);
+        }
+    }
+}
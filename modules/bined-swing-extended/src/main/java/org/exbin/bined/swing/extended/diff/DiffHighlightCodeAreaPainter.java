@@ -21,22 +21,49 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
 import org.exbin.bined.CodeAreaSection;
+import org.exbin.bined.DataChangedRange;
+import org.exbin.bined.DataRangeChangedListener;
 import org.exbin.bined.swing.CodeAreaCore;
 import org.exbin.bined.swing.extended.ExtendedCodeAreaPainter;
 import org.exbin.auxiliary.paged_data.BinaryData;
 
 /**
- * Highlighting painter for basic binary diff.
+ * Highlighting painter for binary diff.
  *
- * @version 0.2.0 2019/11/29
+ * Uses changes computed by binary diff if available, otherwise compares
+ * bytes at the same position. Differences are cached for blocks of rows.
+ *
+ * Cached differences are invalidated when data of the code area change,
+ * changes of compared data have to be reported using invalidateDiffRange.
+ *
+ * @version 0.2.0 2026/10/17
  * @author ExBin Project (https://exbin.org)
  */
 @ParametersAreNonnullByDefault
 public class DiffHighlightCodeAreaPainter extends ExtendedCodeAreaPainter {
 
     private BinaryData comparedData;
+    @Nullable
+    private BinaryDiffResult diffResult = null;
+    private DiffSide side = DiffSide.LEFT;
     private Color diffColor;
     private Color addedColor;
+    private Color movedColor;
+
+    private final DiffRangeMap rangeMap = new DiffRangeMap();
+    @Nullable
+    private BinaryData rangeMapData = null;
+    private final DataRangeChangedListener diffDataChangeListener = new DataRangeChangedListener() {
+        @Override
+        public void dataChanged() {
+            rangeMap.clear();
+        }
+
+        @Override
+        public void dataRangeChanged(DataChangedRange range) {
+            rangeMap.invalidateRange(range.getPosition(), range.isSizeChanged() ? Long.MAX_VALUE : range.getInsertedEnd());
+        }
+    };
 
     public DiffHighlightCodeAreaPainter(CodeAreaCore codeArea) {
         this(codeArea, null);
@@ -48,39 +75,90 @@ public class DiffHighlightCodeAreaPainter extends ExtendedCodeAreaPainter {
         this.comparedData = comparedData;
         diffColor = new Color(255, 180, 180);
         addedColor = new Color(180, 255, 180);
+        movedColor = new Color(180, 180, 255);
+    }
+
+    @Override
+    public void attach() {
+        super.attach();
+        codeArea.addDataChangedListener(diffDataChangeListener);
+    }
+
+    @Override
+    public void detach() {
+        super.detach();
+        codeArea.removeDataChangedListener(diffDataChangeListener);
     }
 
     @Override
     public void paintMainArea(@Nonnull Graphics g) {
+        BinaryData contentData = codeArea.getContentData();
+        if (contentData != rangeMapData) {
+            rangeMapData = contentData;
+            rangeMap.setSources(contentData, comparedData, diffResult, side);
+        }
+        rangeMap.setBytesPerRow(getBytesPerRow());
         super.paintMainArea(g);
     }
 
     @Nullable
     @Override
     public Color getPositionTextColor(long rowDataPosition, int byteOnRow, int charOnRow, CodeAreaSection section, boolean unprintables) {
-        long position = rowDataPosition + byteOnRow;
-        if (comparedData != null && position >= comparedData.getDataSize()) {
-            return addedColor;
-        }
-
-        if (comparedData != null && position < codeArea.getDataSize() && position < comparedData.getDataSize()) {
-            byte sourceByte = codeArea.getContentData().getByte(position);
-            byte comparedByte = comparedData.getByte(position);
-
-            if (sourceByte != comparedByte) {
+        switch (rangeMap.getKind(rowDataPosition + byteOnRow)) {
+            case DiffRangeMap.CHANGED:
                 return diffColor;
-            }
+            case DiffRangeMap.ADDED:
+                return addedColor;
+            case DiffRangeMap.MOVED:
+                return movedColor;
+            default:
+                return super.getPositionTextColor(rowDataPosition, byteOnRow, charOnRow, section, unprintables);
         }
+    }
 
-        return super.getPositionTextColor(rowDataPosition, byteOnRow, charOnRow, section, unprintables);
+    /**
+     * Invalidates cached differences for range of data, for example when
+     * compared data changed.
+     *
+     * @param startPosition start position
+     * @param endPosition end position (exclusive)
+     */
+    public void invalidateDiffRange(long startPosition, long endPosition) {
+        rangeMap.invalidateRange(startPosition, endPosition);
+        codeArea.repaint();
     }
 
     public void setComparedData(BinaryData comparedData) {
         this.comparedData = comparedData;
+        updateRangeMap();
         // Force repaint
         codeArea.notifyDataChanged();
     }
 
+    @Nullable
+    public BinaryDiffResult getDiffResult() {
+        return diffResult;
+    }
+
+    /**
+     * Sets result of binary diff to highlight.
+     *
+     * @param diffResult diff result or null to compare bytes at the same
+     * position
+     * @param side side of the diff shown by code area
+     */
+    public void setDiffResult(@Nullable BinaryDiffResult diffResult, DiffSide side) {
+        this.diffResult = diffResult;
+        this.side = side;
+        updateRangeMap();
+        codeArea.repaint();
+    }
+
+    private void updateRangeMap() {
+        rangeMapData = codeArea.getContentData();
+        rangeMap.setSources(rangeMapData, comparedData, diffResult, side);
+    }
+
     @Nonnull
     public Color getDiffColor() {
         return diffColor;
@@ -89,4 +167,22 @@ public class DiffHighlightCodeAreaPainter extends ExtendedCodeAreaPainter {
     public void setDiffColor(Color diffColor) {
         this.diffColor = diffColor;
     }
+
+    @Nonnull
+    public Color getAddedColor() {
+        return addedColor;
+    }
+
+    public void setAddedColor(Color addedColor) {
+        this.addedColor = addedColor;
+    }
+
+    @Nonnull
+    public Color getMovedColor() {
+        return movedColor;
+    }
+
+    public void setMovedColor(Color movedColor) {
+        this.movedColor = movedColor;
+    }
 }
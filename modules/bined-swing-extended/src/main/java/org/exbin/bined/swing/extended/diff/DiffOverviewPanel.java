@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.swing.extended.diff;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.function.LongConsumer;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.JComponent;
+
+/**
+ * Overview strip showing positions of changes in whole data.
+ *
+ * Left half of the strip shows left data and right half right data. Strip
+ * is painted from downsampled summary of diff result with one bin per pixel
+ * row, which is recomputed only when result or height changes.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class DiffOverviewPanel extends JComponent {
+
+    public static final int DEFAULT_WIDTH = 16;
+
+    @Nullable
+    private BinaryDiffResult diffResult = null;
+    @Nullable
+    private LongConsumer positionListener = null;
+    private Color diffColor = new Color(255, 180, 180);
+    private Color addedColor = new Color(180, 255, 180);
+    private Color movedColor = new Color(180, 180, 255);
+
+    @Nullable
+    private byte[] leftSummary = null;
+    @Nullable
+    private byte[] rightSummary = null;
+
+    public DiffOverviewPanel() {
+        setPreferredSize(new Dimension(DEFAULT_WIDTH, 0));
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                BinaryDiffResult result = diffResult;
+                LongConsumer listener = positionListener;
+                int height = getHeight();
+                if (result != null && listener != null && height > 0) {
+                    int y = Math.max(0, Math.min(e.getY(), height - 1));
+                    listener.accept((long) ((double) y * result.getLeftSize() / height));
+                }
+            }
+        });
+    }
+
+    @Nullable
+    public BinaryDiffResult getDiffResult() {
+        return diffResult;
+    }
+
+    public void setDiffResult(@Nullable BinaryDiffResult diffResult) {
+        this.diffResult = diffResult;
+        leftSummary = null;
+        rightSummary = null;
+        repaint();
+    }
+
+    /**
+     * Sets listener for position in left data selected by mouse.
+     *
+     * @param positionListener position listener
+     */
+    public void setPositionListener(@Nullable LongConsumer positionListener) {
+        this.positionListener = positionListener;
+    }
+
+    /**
+     * Sets colors of changes matching colors of painters.
+     *
+     * @param diffColor color of changed data
+     * @param addedColor color of data present only on one side
+     * @param movedColor color of moved data
+     */
+    public void setColors(Color diffColor, Color addedColor, Color movedColor) {
+        this.diffColor = diffColor;
+        this.addedColor = addedColor;
+        this.movedColor = movedColor;
+        repaint();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        int width = getWidth();
+        int height = getHeight();
+        g.setColor(getBackground() != null ? getBackground() : Color.WHITE);
+        g.fillRect(0, 0, width, height);
+        BinaryDiffResult result = diffResult;
+        if (result == null || height <= 0) {
+            return;
+        }
+
+        if (leftSummary == null || leftSummary.length != height) {
+            leftSummary = result.computeSummary(DiffSide.LEFT, height);
+            rightSummary = result.computeSummary(DiffSide.RIGHT, height);
+        }
+
+        int halfWidth = width / 2;
+        paintSummary(g, leftSummary, 0, halfWidth);
+        paintSummary(g, rightSummary, halfWidth, width - halfWidth);
+    }
+
+    private void paintSummary(Graphics g, byte[] summary, int x, int width) {
+        int y = 0;
+        while (y < summary.length) {
+            byte kind = summary[y];
+            int runEnd = y + 1;
+            while (runEnd < summary.length && summary[runEnd] == kind) {
+                runEnd++;
+            }
+            Color color = getKindColor(kind);
+            if (color != null) {
+                g.setColor(color);
+                g.fillRect(x, y, width, runEnd - y);
+            }
+            y = runEnd;
+        }
+    }
+
+    @Nullable
+    private Color getKindColor(int kind) {
+        switch (kind) {
+            case DiffRangeMap.CHANGED:
+                return diffColor;
+            case DiffRangeMap.ADDED:
+                return addedColor;
+            case DiffRangeMap.MOVED:
+                return movedColor;
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,298 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.swing.extended.diff;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.paged_data.BinaryData;
+
+/**
+ * Cache of difference ranges for blocks of rows.
+ *
+ * Each block is computed at once either from binary diff result or by
+ * comparing bytes at the same position using single bulk read of each data,
+ * and stored as sorted runs of highlighted positions. Blocks are kept in
+ * least recently used order and invalidated when data in their range
+ * change.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class DiffRangeMap {
+
+    public static final int DEFAULT_BLOCK_ROWS = 64;
+    public static final int DEFAULT_MAXIMUM_BLOCKS = 64;
+
+    /**
+     * Position is equal in both data.
+     */
+    public static final int NONE = 0;
+    /**
+     * Position is changed.
+     */
+    public static final int CHANGED = 1;
+    /**
+     * Position is present only in data of this side.
+     */
+    public static final int ADDED = 2;
+    /**
+     * Position is part of moved data.
+     */
+    public static final int MOVED = 3;
+
+    private static final int[] NO_RUNS = new int[0];
+    private static final byte[] NO_KINDS = new byte[0];
+
+    private final int maximumBlocks;
+    private final Map<Long, Block> blocks;
+    private int blockRows = DEFAULT_BLOCK_ROWS;
+    private int bytesPerRow = 1;
+
+    @Nullable
+    private BinaryData data = null;
+    @Nullable
+    private BinaryData comparedData = null;
+    @Nullable
+    private BinaryDiffResult diffResult = null;
+    private DiffSide side = DiffSide.LEFT;
+
+    @Nullable
+    private Block lastBlock = null;
+    private byte[] dataBuffer = NO_KINDS;
+    private byte[] comparedBuffer = NO_KINDS;
+    private byte[] kinds = NO_KINDS;
+
+    public DiffRangeMap() {
+        this(DEFAULT_MAXIMUM_BLOCKS);
+    }
+
+    public DiffRangeMap(int maximumBlocks) {
+        this.maximumBlocks = maximumBlocks;
+        blocks = new LinkedHashMap<Long, Block>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Block> eldest) {
+                return size() > DiffRangeMap.this.maximumBlocks;
+            }
+        };
+    }
+
+    public int getBlockRows() {
+        return blockRows;
+    }
+
+    public void setBlockRows(int blockRows) {
+        if (blockRows <= 0) {
+            throw new IllegalArgumentException("Number of rows per block must be positive");
+        }
+
+        this.blockRows = blockRows;
+        clear();
+    }
+
+    /**
+     * Sets number of bytes per row, blocks are aligned to rows.
+     *
+     * @param bytesPerRow bytes per row
+     */
+    public void setBytesPerRow(int bytesPerRow) {
+        if (this.bytesPerRow != bytesPerRow) {
+            this.bytesPerRow = Math.max(1, bytesPerRow);
+            clear();
+        }
+    }
+
+    /**
+     * Sets compared data.
+     *
+     * @param data data of this side
+     * @param comparedData data of other side
+     * @param diffResult diff result or null to compare bytes at the same
+     * position
+     * @param side side of data of this side in diff result
+     */
+    public void setSources(@Nullable BinaryData data, @Nullable BinaryData comparedData, @Nullable BinaryDiffResult diffResult, DiffSide side) {
+        this.data = data;
+        this.comparedData = comparedData;
+        this.diffResult = diffResult;
+        this.side = side;
+        clear();
+    }
+
+    /**
+     * Returns kind of difference for given position.
+     *
+     * @param position position in data of this side
+     * @return kind of difference
+     */
+    public int getKind(long position) {
+        if (data == null || (comparedData == null && diffResult == null) || position < 0 || position >= data.getDataSize()) {
+            return NONE;
+        }
+
+        long blockLength = (long) blockRows * bytesPerRow;
+        long blockStart = position - (position % blockLength);
+        Block block = lastBlock;
+        if (block == null || block.start != blockStart) {
+            block = blocks.get(blockStart);
+            if (block == null) {
+                block = computeBlock(blockStart, (int) Math.min(blockLength, data.getDataSize() - blockStart));
+                blocks.put(blockStart, block);
+            }
+            lastBlock = block;
+        }
+
+        return block.getKind((int) (position - blockStart));
+    }
+
+    /**
+     * Removes blocks which include given range.
+     *
+     * @param startPosition start position of range
+     * @param endPosition end position of range (exclusive)
+     */
+    public void invalidateRange(long startPosition, long endPosition) {
+        Iterator<Block> iterator = blocks.values().iterator();
+        while (iterator.hasNext()) {
+            Block block = iterator.next();
+            if (block.start < endPosition && block.start + (long) blockRows * bytesPerRow > startPosition) {
+                iterator.remove();
+            }
+        }
+        lastBlock = null;
+    }
+
+    /**
+     * Removes all blocks.
+     */
+    public void clear() {
+        blocks.clear();
+        lastBlock = null;
+    }
+
+    public int getSize() {
+        return blocks.size();
+    }
+
+    private Block computeBlock(long blockStart, int length) {
+        if (kinds.length < length) {
+            kinds = new byte[length];
+        }
+        Arrays.fill(kinds, 0, length, (byte) NONE);
+
+        if (diffResult != null) {
+            fillFromDiffResult(diffResult, blockStart, length);
+        } else {
+            fillFromComparison(blockStart, length);
+        }
+
+        // Compress kinds to runs
+        int runsCount = 0;
+        for (int i = 0; i < length; i++) {
+            if (kinds[i] != NONE && (i == 0 || kinds[i - 1] != kinds[i])) {
+                runsCount++;
+            }
+        }
+        int[] runStarts = runsCount == 0 ? NO_RUNS : new int[runsCount];
+        int[] runEnds = runsCount == 0 ? NO_RUNS : new int[runsCount];
+        byte[] runKinds = runsCount == 0 ? NO_KINDS : new byte[runsCount];
+        int run = -1;
+        for (int i = 0; i < length; i++) {
+            byte kind = kinds[i];
+            if (kind != NONE) {
+                if (i == 0 || kinds[i - 1] != kind) {
+                    run++;
+                    runStarts[run] = i;
+                    runKinds[run] = kind;
+                }
+                runEnds[run] = i + 1;
+            }
+        }
+        return new Block(blockStart, runStarts, runEnds, runKinds);
+    }
+
+    private void fillFromDiffResult(BinaryDiffResult result, long blockStart, int length) {
+        long blockEnd = blockStart + length;
+        int change = Math.max(0, result.findPrecedingChange(side, blockStart));
+        for (; change < result.getChangesCount(); change++) {
+            long changeStart = result.getStart(side, change);
+            if (changeStart >= blockEnd) {
+                break;
+            }
+
+            long changeEnd = changeStart + result.getLength(side, change);
+            if (changeEnd > blockStart) {
+                byte kind = (byte) (result.getChangeType(change) == DiffChangeType.REPLACE ? CHANGED : ADDED);
+                int from = (int) (Math.max(changeStart, blockStart) - blockStart);
+                int to = (int) (Math.min(changeEnd, blockEnd) - blockStart);
+                Arrays.fill(kinds, from, to, kind);
+                if (result.getMovesCount() > 0) {
+                    for (int i = from; i < to; i++) {
+                        if (result.findMove(side, blockStart + i) >= 0) {
+                            kinds[i] = MOVED;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void fillFromComparison(long blockStart, int length) {
+        int comparedLength = (int) Math.max(0, Math.min(length, comparedData.getDataSize() - blockStart));
+        if (dataBuffer.length < length) {
+            dataBuffer = new byte[length];
+            comparedBuffer = new byte[length];
+        }
+        data.copyToArray(blockStart, dataBuffer, 0, comparedLength);
+        comparedData.copyToArray(blockStart, comparedBuffer, 0, comparedLength);
+        for (int i = 0; i < comparedLength; i++) {
+            if (dataBuffer[i] != comparedBuffer[i]) {
+                kinds[i] = CHANGED;
+            }
+        }
+        Arrays.fill(kinds, comparedLength, length, (byte) ADDED);
+    }
+
+    /**
+     * Sorted runs of highlighted positions of block.
+     */
+    private static final class Block {
+
+        private final long start;
+        private final int[] runStarts;
+        private final int[] runEnds;
+        private final byte[] runKinds;
+
+        Block(long start, int[] runStarts, int[] runEnds, byte[] runKinds) {
+            this.start = start;
+            this.runStarts = runStarts;
+            this.runEnds = runEnds;
+            this.runKinds = runKinds;
+        }
+
+        int getKind(int offset) {
+            int index = Arrays.binarySearch(runStarts, offset);
+            if (index < 0) {
+                index = -index - 2;
+            }
+            return index >= 0 && offset < runEnds[index] ? runKinds[index] : NONE;
+        }
+    }
+}
@@ -16,8 +16,18 @@
 package org.exbin.bined.swing.extended.diff;
 
 import java.awt.BorderLayout;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.JProgressBar;
+import javax.swing.SwingUtilities;
+import org.exbin.auxiliary.paged_data.BinaryData;
 import org.exbin.bined.EditationMode;
 import org.exbin.bined.basic.CodeAreaScrollPosition;
 import org.exbin.bined.swing.extended.ExtCodeArea;
@@ -26,17 +36,38 @@ import org.exbin.auxiliary.paged_data.ByteArrayData;
 /**
  * Panel for difference comparison of two code areas.
  *
- * @version 0.2.0 2019/11/30
+ * Difference is computed in background thread when content data changes,
+ * bytes at the same positions are compared until it's available.
+ * Scrolling of one code area scrolls the other one to aligned position and
+ * overview strip shows positions of all changes.
+ *
+ * @version 0.2.0 2026/10/17
  * @author ExBin Project (https://exbin.org)
  */
 @ParametersAreNonnullByDefault
 public class ExtCodeAreaDiffPanel extends javax.swing.JPanel {
 
+    public static final long DEFAULT_BLOCK_DIFF_THRESHOLD = 256 * 1024 * 1024;
+
+    private static final int PROGRESS_MAXIMUM = 1000;
+
+    /**
+     * Worker shared by all panels, thread is released when idle.
+     */
+    private static final ExecutorService DIFF_EXECUTOR = createDiffExecutor();
+
     private final ExtCodeArea leftCodeArea;
     private final ExtCodeArea rightCodeArea;
     private final DiffHighlightCodeAreaPainter leftPainter;
     private final DiffHighlightCodeAreaPainter rightPainter;
     private volatile boolean updatingScrolling = false;
+    private final JProgressBar progressBar = new JProgressBar(0, PROGRESS_MAXIMUM);
+    private final DiffOverviewPanel overviewPanel = new DiffOverviewPanel();
+    private long blockDiffThreshold = DEFAULT_BLOCK_DIFF_THRESHOLD;
+    @Nullable
+    private BinaryDiffEngine currentDiff = null;
+    @Nullable
+    private BinaryDiffResult diffResult = null;
 
     public ExtCodeAreaDiffPanel() {
         initComponents();
@@ -55,34 +86,49 @@ public class ExtCodeAreaDiffPanel extends javax.swing.JPanel {
         rightCodeArea.setPainter(rightPainter);
         leftPanel.add(leftCodeArea, BorderLayout.CENTER);
         rightPanel.add(rightCodeArea, BorderLayout.CENTER);
+        progressBar.setVisible(false);
+        add(progressBar, BorderLayout.SOUTH);
 
-        leftCodeArea.addScrollingListener(() -> {
-            if (!updatingScrolling) {
-                updatingScrolling = true;
-                CodeAreaScrollPosition scrollPosition = leftCodeArea.getScrollPosition();
-                long maxRowPosition = rightCodeArea.getDataSize() / rightCodeArea.getMaxBytesPerRow();
-                if (scrollPosition.getRowPosition() > maxRowPosition) {
-                    scrollPosition.setRowPosition(maxRowPosition);
-                }
-                rightCodeArea.setScrollPosition(scrollPosition);
-                rightCodeArea.updateScrollBars();
-                updatingScrolling = false;
-            }
-        });
+        leftCodeArea.addScrollingListener(() -> synchronizeScrolling(DiffSide.LEFT));
+        rightCodeArea.addScrollingListener(() -> synchronizeScrolling(DiffSide.RIGHT));
 
-        rightCodeArea.addScrollingListener(() -> {
-            if (!updatingScrolling) {
-                updatingScrolling = true;
-                CodeAreaScrollPosition scrollPosition = rightCodeArea.getScrollPosition();
-                long maxRowPosition = leftCodeArea.getDataSize() / leftCodeArea.getMaxBytesPerRow();
-                if (scrollPosition.getRowPosition() > maxRowPosition) {
-                    scrollPosition.setRowPosition(maxRowPosition);
-                }
-                leftCodeArea.setScrollPosition(scrollPosition);
-                leftCodeArea.updateScrollBars();
-                updatingScrolling = false;
-            }
+        overviewPanel.setColors(leftPainter.getDiffColor(), leftPainter.getAddedColor(), leftPainter.getMovedColor());
+        overviewPanel.setPositionListener(position -> {
+            leftCodeArea.centerOnPosition(position, 0, leftCodeArea.getActiveSection());
         });
+        add(overviewPanel, BorderLayout.EAST);
+    }
+
+    /**
+     * Scrolls the other code area to position aligned with the top of given
+     * side.
+     *
+     * Aligned position is mapped using diff result if available, otherwise
+     * the same position is used.
+     */
+    private void synchronizeScrolling(DiffSide side) {
+        if (updatingScrolling) {
+            return;
+        }
+
+        updatingScrolling = true;
+        ExtCodeArea sourceCodeArea = side == DiffSide.LEFT ? leftCodeArea : rightCodeArea;
+        ExtCodeArea targetCodeArea = side == DiffSide.LEFT ? rightCodeArea : leftCodeArea;
+        DiffHighlightCodeAreaPainter sourcePainter = side == DiffSide.LEFT ? leftPainter : rightPainter;
+        DiffHighlightCodeAreaPainter targetPainter = side == DiffSide.LEFT ? rightPainter : leftPainter;
+        int sourceBytesPerRow = Math.max(1, sourcePainter.getBytesPerRow());
+        int targetBytesPerRow = Math.max(1, targetPainter.getBytesPerRow());
+
+        CodeAreaScrollPosition scrollPosition = new CodeAreaScrollPosition();
+        scrollPosition.setScrollPosition(sourceCodeArea.getScrollPosition());
+        long topPosition = scrollPosition.getRowPosition() * sourceBytesPerRow;
+        long targetPosition = diffResult != null ? diffResult.mapPosition(side, topPosition) : topPosition;
+        long maxRowPosition = targetCodeArea.getDataSize() / targetBytesPerRow;
+        scrollPosition.setRowPosition(Math.min(targetPosition / targetBytesPerRow, maxRowPosition));
+        targetCodeArea.setScrollPosition(scrollPosition);
+        targetCodeArea.updateScrollBars();
+        targetCodeArea.repaint();
+        updatingScrolling = false;
     }
 
     /**
@@ -132,10 +178,175 @@ public class ExtCodeAreaDiffPanel extends javax.swing.JPanel {
     public void setLeftContentData(ByteArrayData contentData) {
         leftCodeArea.setContentData(contentData);
         rightPainter.setComparedData(contentData);
+        updateDiff();
     }
 
     public void setRightContentData(ByteArrayData contentData) {
         rightCodeArea.setContentData(contentData);
         leftPainter.setComparedData(contentData);
+        updateDiff();
+    }
+
+    /**
+     * Returns result of the last completed diff computation.
+     *
+     * @return diff result or null if not available
+     */
+    @Nullable
+    public BinaryDiffResult getDiffResult() {
+        return diffResult;
+    }
+
+    public long getBlockDiffThreshold() {
+        return blockDiffThreshold;
+    }
+
+    /**
+     * Sets size of data above which block level diff is used.
+     *
+     * @param blockDiffThreshold data size threshold
+     */
+    public void setBlockDiffThreshold(long blockDiffThreshold) {
+        this.blockDiffThreshold = blockDiffThreshold;
+    }
+
+    /**
+     * Starts computation of the difference of the current content data,
+     * previous computation is cancelled.
+     */
+    public void updateDiff() {
+        cancelDiff();
+        setDiffResult(null);
+
+        BinaryData leftData = leftCodeArea.getContentData();
+        BinaryData rightData = rightCodeArea.getContentData();
+        if (leftData == null || rightData == null) {
+            progressBar.setVisible(false);
+            return;
+        }
+
+        BinaryDiffEngine diff = leftData.getDataSize() > blockDiffThreshold || rightData.getDataSize() > blockDiffThreshold
+                ? new BlockDiff(leftData, rightData) : new BinaryDiff(leftData, rightData);
+        diff.setDiffListener(new BinaryDiffListener() {
+            private int lastProgress = -1;
+
+            @Override
+            public void progressChanged(long processedSize, long totalSize) {
+                int progress = totalSize == 0 ? PROGRESS_MAXIMUM : (int) (processedSize * PROGRESS_MAXIMUM / totalSize);
+                if (progress != lastProgress) {
+                    lastProgress = progress;
+                    SwingUtilities.invokeLater(() -> {
+                        if (currentDiff == diff) {
+                            progressBar.setValue(progress);
+                        }
+                    });
+                }
+            }
+        });
+        currentDiff = diff;
+        progressBar.setValue(0);
+        progressBar.setVisible(true);
+        revalidate();
+        diff.computeAsync(DIFF_EXECUTOR).whenComplete((result, exception) -> {
+            SwingUtilities.invokeLater(() -> {
+                if (currentDiff != diff) {
+                    return;
+                }
+
+                currentDiff = null;
+                progressBar.setVisible(false);
+                revalidate();
+                if (exception == null) {
+                    setDiffResult(result);
+                } else if (!(exception instanceof CancellationException || exception.getCause() instanceof CancellationException)) {
+                    throw new CompletionException(exception);
+                }
+            });
+        });
+    }
+
+    /**
+     * Cancels running computation and releases difference result.
+     *
+     * Should be called when panel is no longer used.
+     */
+    public void dispose() {
+        cancelDiff();
+        progressBar.setVisible(false);
+        setDiffResult(null);
+    }
+
+    private void cancelDiff() {
+        if (currentDiff != null) {
+            currentDiff.cancel();
+            currentDiff = null;
+        }
+    }
+
+    @Nonnull
+    private static ExecutorService createDiffExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "DiffWorker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private void setDiffResult(@Nullable BinaryDiffResult diffResult) {
+        this.diffResult = diffResult;
+        leftPainter.setDiffResult(diffResult, DiffSide.LEFT);
+        rightPainter.setDiffResult(diffResult, DiffSide.RIGHT);
+        overviewPanel.setDiffResult(diffResult);
+        if (diffResult != null) {
+            synchronizeScrolling(DiffSide.LEFT);
+        }
+    }
+
+    @Nonnull
+    public DiffOverviewPanel getOverviewPanel() {
+        return overviewPanel;
+    }
+
+    /**
+     * Moves carets of both code areas to the next change after caret of the
+     * left code area.
+     *
+     * @return true if there is next change
+     */
+    public boolean goToNextChange() {
+        if (diffResult == null) {
+            return false;
+        }
+
+        return goToChange(diffResult.findNextChange(DiffSide.LEFT, leftCodeArea.getDataPosition()));
+    }
+
+    /**
+     * Moves carets of both code areas to the previous change before caret
+     * of the left code area.
+     *
+     * @return true if there is previous change
+     */
+    public boolean goToPreviousChange() {
+        if (diffResult == null) {
+            return false;
+        }
+
+        return goToChange(diffResult.findPreviousChange(DiffSide.LEFT, leftCodeArea.getDataPosition()));
+    }
+
+    private boolean goToChange(int changeIndex) {
+        if (changeIndex < 0) {
+            return false;
+        }
+
+        long leftPosition = diffResult.getLeftStart(changeIndex);
+        long rightPosition = diffResult.getRightStart(changeIndex);
+        rightCodeArea.setCaretPosition(rightPosition);
+        leftCodeArea.setCaretPosition(leftPosition);
+        leftCodeArea.centerOnPosition(leftPosition, 0, leftCodeArea.getActiveSection());
+        return true;
     }
 }
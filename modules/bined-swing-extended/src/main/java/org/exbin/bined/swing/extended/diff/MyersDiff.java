@@ -0,0 +1,217 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.swing.extended.diff;
+
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Myers difference algorithm over abstract sequences.
+ *
+ * Uses linear space variant searching for middle snake from both ends and
+ * recursing into both halves. Search of each region is limited by maximum
+ * cost, whole region is reported as changed if its edit distance exceeds
+ * the limit. Adjacent changes are merged before reporting.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+abstract class MyersDiff {
+
+    private final int maximumCost;
+    private final ChangeConsumer consumer;
+    private int pendingLeftStart;
+    private int pendingLeftEnd;
+    private int pendingRightStart;
+    private int pendingRightEnd;
+    private boolean pending = false;
+
+    MyersDiff(int maximumCost, ChangeConsumer consumer) {
+        this.maximumCost = maximumCost;
+        this.consumer = consumer;
+    }
+
+    /**
+     * Returns true if elements of the sequences are equal.
+     *
+     * @param leftIndex index in left sequence
+     * @param rightIndex index in right sequence
+     * @return true if equal
+     */
+    protected abstract boolean isEqual(int leftIndex, int rightIndex);
+
+    protected boolean isCancelled() {
+        return false;
+    }
+
+    /**
+     * Reports changes between given ranges of sequences in increasing order.
+     *
+     * @param leftStart start index in left sequence
+     * @param leftEnd end index in left sequence (exclusive)
+     * @param rightStart start index in right sequence
+     * @param rightEnd end index in right sequence (exclusive)
+     */
+    void diff(int leftStart, int leftEnd, int rightStart, int rightEnd) {
+        diffRange(leftStart, leftEnd, rightStart, rightEnd);
+        if (pending) {
+            pending = false;
+            consumer.change(pendingLeftStart, pendingLeftEnd, pendingRightStart, pendingRightEnd);
+        }
+    }
+
+    private void diffRange(int leftStart, int leftEnd, int rightStart, int rightEnd) {
+        while (leftStart < leftEnd && rightStart < rightEnd && isEqual(leftStart, rightStart)) {
+            leftStart++;
+            rightStart++;
+        }
+        while (leftStart < leftEnd && rightStart < rightEnd && isEqual(leftEnd - 1, rightEnd - 1)) {
+            leftEnd--;
+            rightEnd--;
+        }
+
+        if (leftStart == leftEnd || rightStart == rightEnd) {
+            if (leftStart < leftEnd || rightStart < rightEnd) {
+                addChange(leftStart, leftEnd, rightStart, rightEnd);
+            }
+            return;
+        }
+
+        bisect(leftStart, leftEnd, rightStart, rightEnd);
+    }
+
+    private void bisect(int leftStart, int leftEnd, int rightStart, int rightEnd) {
+        int leftLength = leftEnd - leftStart;
+        int rightLength = rightEnd - rightStart;
+        int maxCost = Math.min((leftLength + rightLength + 1) / 2, maximumCost);
+        int vOffset = maxCost;
+        int vLength = 2 * maxCost + 2;
+        int[] forward = new int[vLength];
+        int[] backward = new int[vLength];
+        Arrays.fill(forward, -1);
+        Arrays.fill(backward, -1);
+        forward[vOffset + 1] = 0;
+        backward[vOffset + 1] = 0;
+        int delta = leftLength - rightLength;
+        // Paths overlap in forward pass if delta is odd, otherwise in backward pass
+        boolean front = (delta & 1) != 0;
+        int forwardStart = 0;
+        int forwardEnd = 0;
+        int backwardStart = 0;
+        int backwardEnd = 0;
+        for (int cost = 0; cost < maxCost; cost++) {
+            if (isCancelled()) {
+                throw new CancellationException("Diff was cancelled");
+            }
+
+            for (int k = -cost + forwardStart; k <= cost - forwardEnd; k += 2) {
+                int kOffset = vOffset + k;
+                int x;
+                if (k == -cost || (k != cost && forward[kOffset - 1] < forward[kOffset + 1])) {
+                    x = forward[kOffset + 1];
+                } else {
+                    x = forward[kOffset - 1] + 1;
+                }
+                int y = x - k;
+                while (x < leftLength && y < rightLength && isEqual(leftStart + x, rightStart + y)) {
+                    x++;
+                    y++;
+                }
+                forward[kOffset] = x;
+                if (x > leftLength) {
+                    forwardEnd += 2;
+                } else if (y > rightLength) {
+                    forwardStart += 2;
+                } else if (front) {
+                    int backwardOffset = vOffset + delta - k;
+                    if (backwardOffset >= 0 && backwardOffset < vLength && backward[backwardOffset] != -1) {
+                        if (x >= leftLength - backward[backwardOffset]) {
+                            split(leftStart, leftEnd, rightStart, rightEnd, x, y);
+                            return;
+                        }
+                    }
+                }
+            }
+
+            for (int k = -cost + backwardStart; k <= cost - backwardEnd; k += 2) {
+                int kOffset = vOffset + k;
+                int x;
+                if (k == -cost || (k != cost && backward[kOffset - 1] < backward[kOffset + 1])) {
+                    x = backward[kOffset + 1];
+                } else {
+                    x = backward[kOffset - 1] + 1;
+                }
+                int y = x - k;
+                while (x < leftLength && y < rightLength && isEqual(leftEnd - x - 1, rightEnd - y - 1)) {
+                    x++;
+                    y++;
+                }
+                backward[kOffset] = x;
+                if (x > leftLength) {
+                    backwardEnd += 2;
+                } else if (y > rightLength) {
+                    backwardStart += 2;
+                } else if (!front) {
+                    int forwardOffset = vOffset + delta - k;
+                    if (forwardOffset >= 0 && forwardOffset < vLength && forward[forwardOffset] != -1) {
+                        int forwardX = forward[forwardOffset];
+                        int forwardY = vOffset + forwardX - forwardOffset;
+                        if (forwardX >= leftLength - x) {
+                            split(leftStart, leftEnd, rightStart, rightEnd, forwardX, forwardY);
+                            return;
+                        }
+                    }
+                }
+            }
+        }
+
+        // Edit distance exceeds maximum cost
+        addChange(leftStart, leftEnd, rightStart, rightEnd);
+    }
+
+    private void split(int leftStart, int leftEnd, int rightStart, int rightEnd, int x, int y) {
+        diffRange(leftStart, leftStart + x, rightStart, rightStart + y);
+        diffRange(leftStart + x, leftEnd, rightStart + y, rightEnd);
+    }
+
+    private void addChange(int leftStart, int leftEnd, int rightStart, int rightEnd) {
+        if (pending) {
+            if (pendingLeftEnd == leftStart && pendingRightEnd == rightStart) {
+                pendingLeftEnd = leftEnd;
+                pendingRightEnd = rightEnd;
+                return;
+            }
+
+            consumer.change(pendingLeftStart, pendingLeftEnd, pendingRightStart, pendingRightEnd);
+        }
+
+        pendingLeftStart = leftStart;
+        pendingLeftEnd = leftEnd;
+        pendingRightStart = rightStart;
+        pendingRightEnd = rightEnd;
+        pending = true;
+    }
+
+    /**
+     * Consumer of changed ranges.
+     */
+    interface ChangeConsumer {
+
+        void change(int leftStart, int leftEnd, int rightStart, int rightEnd);
+    }
+}
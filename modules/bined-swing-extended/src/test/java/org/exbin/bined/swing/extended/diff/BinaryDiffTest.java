@@ -0,0 +1,216 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.swing.extended.diff;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.paged_data.ByteArrayData;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for binary diff.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class BinaryDiffTest {
+
+    public BinaryDiffTest() {
+    }
+
+    @Test
+    public void testSingleInsertion() {
+        byte[] left = new byte[1000];
+        new Random(3).nextBytes(left);
+        byte[] right = new byte[1001];
+        System.arraycopy(left, 0, right, 0, 500);
+        right[500] = 42;
+        System.arraycopy(left, 500, right, 501, 500);
+
+        BinaryDiffResult result = new BinaryDiff(new ByteArrayData(left), new ByteArrayData(right)).compute();
+        Assert.assertEquals(1, result.getChangesCount());
+        Assert.assertEquals(DiffChangeType.INSERT, result.getChangeType(0));
+        Assert.assertEquals(500, result.getRightStart(0));
+        Assert.assertEquals(1, result.getRightLength(0));
+        Assert.assertEquals(-1, result.findChange(DiffSide.LEFT, 700));
+        Assert.assertEquals(0, result.findChange(DiffSide.RIGHT, 500));
+    }
+
+    @Test
+    public void testChunkedReplacement() {
+        byte[] left = new byte[100000];
+        new Random(4).nextBytes(left);
+        byte[] right = new byte[left.length + 10];
+        System.arraycopy(left, 0, right, 0, 1000);
+        System.arraycopy(left, 1000, right, 1010, left.length - 1000);
+        right[50000] ^= 1;
+
+        BinaryDiff diff = new BinaryDiff(new ByteArrayData(left), new ByteArrayData(right));
+        diff.setByteDiffLimit(4096);
+        diff.setAverageChunkSize(512);
+        BinaryDiffResult result = diff.compute();
+        Assert.assertEquals(2, result.getChangesCount());
+        Assert.assertEquals(DiffChangeType.REPLACE, result.getChangeType(1));
+        Assert.assertEquals(49990, result.getLeftStart(1));
+        Assert.assertEquals(1, result.getLeftLength(1));
+    }
+
+    @Test
+    public void testEditedData() {
+        Random random = new Random(5);
+        byte[] left = new byte[200000];
+        random.nextBytes(left);
+        byte[] right = edit(left, random, 40);
+
+        BinaryDiff diff = new BinaryDiff(new ByteArrayData(left), new ByteArrayData(right));
+        Assert.assertTrue(applyDiff(left, right, diff.compute()));
+
+        BinaryDiff chunkedDiff = new BinaryDiff(new ByteArrayData(left), new ByteArrayData(right));
+        chunkedDiff.setByteDiffLimit(2048);
+        chunkedDiff.setAverageChunkSize(256);
+        long[] lastProgress = new long[2];
+        chunkedDiff.setDiffListener((processedSize, totalSize) -> {
+            lastProgress[0] = processedSize;
+            lastProgress[1] = totalSize;
+        });
+        BinaryDiffResult result = chunkedDiff.compute();
+        Assert.assertTrue(applyDiff(left, right, result));
+        Assert.assertEquals(left.length + right.length, lastProgress[0]);
+        Assert.assertEquals(lastProgress[1], lastProgress[0]);
+
+        long changedSize = 0;
+        for (int i = 0; i < result.getChangesCount(); i++) {
+            changedSize += result.getLeftLength(i);
+        }
+        Assert.assertTrue(changedSize < left.length / 10);
+    }
+
+    @Test
+    public void testBlockDiff() throws IOException {
+        Random random = new Random(6);
+        byte[] left = new byte[300000];
+        random.nextBytes(left);
+        byte[] right = edit(left, random, 20);
+        // Move block from the start to the end
+        byte[] moved = new byte[right.length];
+        System.arraycopy(right, 8192, moved, 0, right.length - 8192);
+        System.arraycopy(right, 0, moved, right.length - 8192, 8192);
+
+        BlockDiff diff = new BlockDiff(new ByteArrayData(left), new ByteArrayData(moved));
+        diff.setBlockSize(1024);
+        diff.setChunkSize(10000);
+        BinaryDiffResult result = diff.compute();
+        Assert.assertTrue(applyDiff(left, moved, result));
+        Assert.assertTrue(result.getMovesCount() > 0);
+        for (int move = 0; move < result.getMovesCount(); move++) {
+            int leftStart = (int) result.getMoveLeftStart(move);
+            int rightStart = (int) result.getMoveRightStart(move);
+            int length = (int) result.getMoveLength(move);
+            Assert.assertArrayEquals(Arrays.copyOfRange(left, leftStart, leftStart + length), Arrays.copyOfRange(moved, rightStart, rightStart + length));
+            Assert.assertTrue(rightStart >= moved.length - 8192);
+            Assert.assertEquals(move, result.findMove(DiffSide.RIGHT, rightStart + length - 1));
+        }
+
+        StringBuilder ranges = new StringBuilder();
+        result.exportRanges(ranges);
+        String[] lines = ranges.toString().split("\n");
+        Assert.assertEquals(result.getChangesCount() + result.getMovesCount(), lines.length);
+        Assert.assertTrue(lines[lines.length - 1].startsWith("MOVE\t"));
+    }
+
+    @Test
+    public void testAlignment() {
+        BinaryDiffResult result = new BinaryDiffResult(1000, 1100);
+        result.addChange(100, 0, 100, 50);
+        result.addChange(500, 100, 550, 150);
+        result.finishMoves();
+
+        Assert.assertEquals(50, result.mapPosition(DiffSide.LEFT, 50));
+        Assert.assertEquals(150, result.mapPosition(DiffSide.LEFT, 100));
+        Assert.assertEquals(700, result.mapPosition(DiffSide.LEFT, 600));
+        Assert.assertEquals(625, result.mapPosition(DiffSide.LEFT, 550));
+        Assert.assertEquals(100, result.mapPosition(DiffSide.RIGHT, 120));
+        Assert.assertEquals(900, result.mapPosition(DiffSide.RIGHT, 1000));
+
+        Assert.assertEquals(0, result.findNextChange(DiffSide.LEFT, 0));
+        Assert.assertEquals(1, result.findNextChange(DiffSide.LEFT, 100));
+        Assert.assertEquals(-1, result.findNextChange(DiffSide.LEFT, 500));
+        Assert.assertEquals(0, result.findPreviousChange(DiffSide.LEFT, 500));
+        Assert.assertEquals(-1, result.findPreviousChange(DiffSide.LEFT, 100));
+
+        byte[] summary = result.computeSummary(DiffSide.LEFT, 10);
+        Assert.assertArrayEquals(new byte[]{0, DiffRangeMap.ADDED, 0, 0, 0, DiffRangeMap.CHANGED, 0, 0, 0, 0}, summary);
+    }
+
+    private static byte[] edit(byte[] data, Random random, int editsCount) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        int position = 0;
+        int step = data.length / editsCount;
+        for (int i = 0; i < editsCount; i++) {
+            int next = position + random.nextInt(step);
+            output.write(data, position, next - position);
+            int length = 1 + random.nextInt(100);
+            switch (random.nextInt(3)) {
+                case 0: {
+                    byte[] inserted = new byte[length];
+                    random.nextBytes(inserted);
+                    output.write(inserted, 0, length);
+                    position = next;
+                    break;
+                }
+                case 1: {
+                    position = Math.min(data.length, next + length);
+                    break;
+                }
+                default: {
+                    byte[] replaced = new byte[length];
+                    random.nextBytes(replaced);
+                    output.write(replaced, 0, length);
+                    position = Math.min(data.length, next + length);
+                    break;
+                }
+            }
+        }
+        output.write(data, position, data.length - position);
+        return output.toByteArray();
+    }
+
+    /**
+     * Checks that left data with changes applied produce right data.
+     */
+    private static boolean applyDiff(byte[] left, byte[] right, BinaryDiffResult result) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        long leftPosition = 0;
+        long rightPosition = 0;
+        for (int i = 0; i < result.getChangesCount(); i++) {
+            long equalLength = result.getLeftStart(i) - leftPosition;
+            if (equalLength < 0 || result.getRightStart(i) - rightPosition != equalLength) {
+                return false;
+            }
+            output.write(left, (int) leftPosition, (int) equalLength);
+            output.write(right, (int) result.getRightStart(i), (int) result.getRightLength(i));
+            leftPosition = result.getLeftStart(i) + result.getLeftLength(i);
+            rightPosition = result.getRightStart(i) + result.getRightLength(i);
+        }
+        output.write(left, (int) leftPosition, (int) (left.length - leftPosition));
+        return Arrays.equals(right, output.toByteArray());
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.swing.extended.diff;
+
+import javax.annotation.ParametersAreNonnullByDefault;
+import org.exbin.auxiliary.paged_data.ByteArrayData;
+import org.exbin.auxiliary.paged_data.ByteArrayEditableData;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests for diff range map.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class DiffRangeMapTest {
+
+    public DiffRangeMapTest() {
+    }
+
+    @Test
+    public void testPositionalComparison() {
+        byte[] values = new byte[100];
+        byte[] comparedValues = new byte[90];
+        comparedValues[5] = 1;
+        comparedValues[6] = 1;
+        comparedValues[40] = 1;
+        ByteArrayEditableData data = new ByteArrayEditableData(values);
+        DiffRangeMap rangeMap = new DiffRangeMap();
+        rangeMap.setBlockRows(2);
+        rangeMap.setBytesPerRow(16);
+        rangeMap.setSources(data, new ByteArrayData(comparedValues), null, DiffSide.LEFT);
+
+        Assert.assertEquals(DiffRangeMap.NONE, rangeMap.getKind(4));
+        Assert.assertEquals(DiffRangeMap.CHANGED, rangeMap.getKind(5));
+        Assert.assertEquals(DiffRangeMap.CHANGED, rangeMap.getKind(6));
+        Assert.assertEquals(DiffRangeMap.NONE, rangeMap.getKind(7));
+        Assert.assertEquals(DiffRangeMap.CHANGED, rangeMap.getKind(40));
+        Assert.assertEquals(DiffRangeMap.ADDED, rangeMap.getKind(95));
+        Assert.assertEquals(DiffRangeMap.NONE, rangeMap.getKind(100));
+        Assert.assertEquals(3, rangeMap.getSize());
+
+        data.setByte(40, (byte) 1);
+        rangeMap.invalidateRange(40, 41);
+        Assert.assertEquals(2, rangeMap.getSize());
+        Assert.assertEquals(DiffRangeMap.NONE, rangeMap.getKind(40));
+        Assert.assertEquals(DiffRangeMap.CHANGED, rangeMap.getKind(5));
+    }
+
+    @Test
+    public void testDiffResult() {
+        BinaryDiffResult result = new BinaryDiffResult(100, 104);
+        result.addChange(10, 0, 10, 4);
+        result.addChange(50, 10, 54, 10);
+        result.addMove(52, 20, 2);
+        result.finishMoves();
+
+        DiffRangeMap rangeMap = new DiffRangeMap();
+        rangeMap.setBytesPerRow(16);
+        rangeMap.setSources(new ByteArrayData(new byte[104]), null, result, DiffSide.RIGHT);
+        Assert.assertEquals(DiffRangeMap.NONE, rangeMap.getKind(9));
+        Assert.assertEquals(DiffRangeMap.ADDED, rangeMap.getKind(10));
+        Assert.assertEquals(DiffRangeMap.ADDED, rangeMap.getKind(13));
+        Assert.assertEquals(DiffRangeMap.NONE, rangeMap.getKind(14));
+        Assert.assertEquals(DiffRangeMap.CHANGED, rangeMap.getKind(54));
+        Assert.assertEquals(DiffRangeMap.NONE, rangeMap.getKind(64));
+
+        rangeMap.setSources(new ByteArrayData(new byte[100]), null, result, DiffSide.LEFT);
+        Assert.assertEquals(DiffRangeMap.NONE, rangeMap.getKind(10));
+        Assert.assertEquals(DiffRangeMap.CHANGED, rangeMap.getKind(51));
+        Assert.assertEquals(DiffRangeMap.MOVED, rangeMap.getKind(52));
+        Assert.assertEquals(DiffRangeMap.MOVED, rangeMap.getKind(53));
+        Assert.assertEquals(DiffRangeMap.CHANGED, rangeMap.getKind(54));
+    }
+}
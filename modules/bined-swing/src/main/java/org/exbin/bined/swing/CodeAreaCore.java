@@ -30,6 +30,8 @@ import javax.swing.JComponent;
 import org.exbin.bined.CodeAreaControl;
 import org.exbin.bined.CodeAreaUtils;
 import org.exbin.bined.DataChangedListener;
+import org.exbin.bined.DataChangedRange;
+import org.exbin.bined.DataRangeChangedListener;
 import org.exbin.bined.capability.SelectionCapable;
 import org.exbin.auxiliary.paged_data.BinaryData;
 
@@ -190,6 +192,24 @@ public abstract class CodeAreaCore extends JComponent implements CodeAreaControl
         dataChangedListeners.forEach(DataChangedListener::dataChanged);
     }
 
+    /**
+     * Notifies component, that the internal data was changed in given range.
+     *
+     * Listeners not aware of the range are notified as for any other change.
+     * Layout is not reset, painter is expected to repaint affected area only.
+     *
+     * @param range range of the change
+     */
+    public void notifyDataChanged(DataChangedRange range) {
+        for (DataChangedListener listener : dataChangedListeners) {
+            if (listener instanceof DataRangeChangedListener) {
+                ((DataRangeChangedListener) listener).dataRangeChanged(range);
+            } else {
+                listener.dataChanged();
+            }
+        }
+    }
+
     public void addDataChangedListener(DataChangedListener dataChangedListener) {
         dataChangedListeners.add(dataChangedListener);
     }
@@ -0,0 +1,202 @@
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.swing;
+
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.PrintGraphics;
+import java.awt.Rectangle;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.print.PrinterGraphics;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+/**
+ * Retained image of the painted component.
+ *
+ * Allows to scroll already painted content by copying pixels, so that only
+ * newly exposed area has to be painted.
+ *
+ * @version 0.2.0 2026/10/17
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class CodeAreaPaintBuffer {
+
+    private static final double SCALE_PRECISION = 0.0001;
+
+    @Nullable
+    private BufferedImage image = null;
+    private int width;
+    private int height;
+    private double scaleX = 1;
+    private double scaleY = 1;
+
+    private boolean valid = false;
+    private boolean moveAllowed = false;
+
+    public CodeAreaPaintBuffer() {
+    }
+
+    /**
+     * Prepares buffer for painting of the component of given size.
+     *
+     * Buffer is used only for whole number scaling of the target graphics,
+     * as other scaling cannot be mapped exactly to pixels of the buffer, and
+     * it's not used for printing.
+     *
+     * @param g target graphics
+     * @param width component width
+     * @param height component height
+     * @return graphics for painting into buffer or null if buffer cannot be
+     * used
+     */
+    @Nullable
+    public Graphics2D prepare(Graphics g, int width, int height) {
+        if (!(g instanceof Graphics2D) || g instanceof PrintGraphics || g instanceof PrinterGraphics || width <= 0 || height <= 0) {
+            return null;
+        }
+
+        AffineTransform transform = ((Graphics2D) g).getTransform();
+        double targetScaleX = transform.getScaleX();
+        double targetScaleY = transform.getScaleY();
+        if (transform.getShearX() != 0 || transform.getShearY() != 0 || !isWholeNumber(targetScaleX) || !isWholeNumber(targetScaleY) || targetScaleX < 1 || targetScaleY < 1) {
+            image = null;
+            valid = false;
+            return null;
+        }
+
+        if (image == null || this.width != width || this.height != height || scaleX != targetScaleX || scaleY != targetScaleY) {
+            this.width = width;
+            this.height = height;
+            scaleX = targetScaleX;
+            scaleY = targetScaleY;
+            image = new BufferedImage((int) Math.round(width * scaleX), (int) Math.round(height * scaleY), BufferedImage.TYPE_INT_RGB);
+            valid = false;
+        }
+
+        Graphics2D imageGraphics = image.createGraphics();
+        imageGraphics.scale(scaleX, scaleY);
+        imageGraphics.setRenderingHints(((Graphics2D) g).getRenderingHints());
+        imageGraphics.setFont(g.getFont());
+        imageGraphics.setColor(g.getColor());
+        return imageGraphics;
+    }
+
+    /**
+     * Returns true if buffer contains content of the last painting.
+     *
+     * @return true if valid
+     */
+    public boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * Returns true if content of the buffer can be moved for scrolling.
+     *
+     * @return true if move is allowed
+     */
+    public boolean isMoveAllowed() {
+        return valid && moveAllowed;
+    }
+
+    /**
+     * Invalidates whole content of the buffer.
+     */
+    public void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * Marks that some area was changed and is scheduled for repaint.
+     *
+     * Content of the buffer is still valid outside of the changed area, but
+     * cannot be moved on next painting.
+     */
+    public void markAreaChanged() {
+        moveAllowed = false;
+    }
+
+    /**
+     * Marks content of the buffer as valid after painting.
+     */
+    public void validate() {
+        valid = true;
+        moveAllowed = true;
+    }
+
+    /**
+     * Moves content of given area of the buffer.
+     *
+     * Content moved outside of the area is dropped, content of the area not
+     * covered by moved content is left unchanged.
+     *
+     * @param area area in component coordinates
+     * @param deltaX horizontal shift
+     * @param deltaY vertical shift
+     * @return true if content was moved
+     */
+    public boolean moveArea(Rectangle area, int deltaX, int deltaY) {
+        if (image == null || !isMoveAllowed()) {
+            return false;
+        }
+
+        int areaX = (int) Math.round(area.x * scaleX);
+        int areaY = (int) Math.round(area.y * scaleY);
+        int areaWidth = (int) Math.round(area.width * scaleX);
+        int areaHeight = (int) Math.round(area.height * scaleY);
+        int shiftX = (int) Math.round(deltaX * scaleX);
+        int shiftY = (int) Math.round(deltaY * scaleY);
+        if (Math.abs(shiftX) >= areaWidth || Math.abs(shiftY) >= areaHeight) {
+            return false;
+        }
+
+        Graphics2D imageGraphics = image.createGraphics();
+        imageGraphics.copyArea(
+                shiftX > 0 ? areaX : areaX - shiftX,
+                shiftY > 0 ? areaY : areaY - shiftY,
+                areaWidth - Math.abs(shiftX),
+                areaHeight - Math.abs(shiftY),
+                shiftX, shiftY);
+        imageGraphics.dispose();
+        return true;
+    }
+
+    /**
+     * Paints content of the buffer to target graphics.
+     *
+     * @param g target graphics
+     */
+    public void paintTo(Graphics g) {
+        if (image != null) {
+            g.drawImage(image, 0, 0, width, height, null);
+        }
+    }
+
+    /**
+     * Releases buffer image.
+     */
+    public void dispose() {
+        image = null;
+        valid = false;
+    }
+
+    private static boolean isWholeNumber(double value) {
+        return Math.abs(value - Math.rint(value)) < SCALE_PRECISION;
+    }
+}
@@ -99,6 +99,28 @@ public interface CodeAreaPainter {
      */
     void resetCaret();
 
+    /**
+     * Resets previously painted content, so that whole requested area is
+     * painted again on next painting.
+     *
+     * Default implementation does nothing for painters without paint buffer.
+     */
+    default void resetPaintBuffer() {
+    }
+
+    /**
+     * Requests repaint of the areas of previously painted cursor and current
+     * cursor only.
+     *
+     * Default implementation requests nothing and returns false, so that
+     * caller falls back to full repaint.
+     *
+     * @return true if repaint was requested by painter
+     */
+    default boolean repaintCursor() {
+        return false;
+    }
+
     /**
      * Calls rebuild of the colors profile.
      */
@@ -21,7 +21,7 @@ import javax.annotation.ParametersAreNonnullByDefault;
 /**
  * Code area swing control.
  *
- * @version 0.2.0 2018/08/11
+ * @version 0.2.0 2026/10/17
  * @author ExBin Project (https://exbin.org)
  */
 @ParametersAreNonnullByDefault
@@ -51,4 +51,11 @@ public interface CodeAreaSwingControl {
      * should be recomputed and updated if necessary.
      */
     void updateLayout();
+
+    /**
+     * Requests repaint of the cursor only.
+     *
+     * Used when only cursor changed, like for cursor blinking or movement.
+     */
+    void repaintCursor();
 }
@@ -26,7 +26,6 @@ import java.awt.event.KeyEvent;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.charset.Charset;
-import java.util.Arrays;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
@@ -40,7 +39,7 @@ import org.exbin.auxiliary.paged_data.BinaryData;
 /**
  * Binary editor component swing utilities.
  *
- * @version 0.2.0 2021/03/31
+ * @version 0.2.0 2026/10/17
  * @author ExBin Project (https://exbin.org)
  */
 @ParametersAreNonnullByDefault
@@ -62,7 +61,8 @@ public class CodeAreaSwingUtils {
     }
 
     public static boolean areSameColors(@Nullable Color color, @Nullable Color comparedColor) {
-        return (color == null && comparedColor == null) || (color != null && color.equals(comparedColor));
+        // Colors are mostly shared instances, so identity is checked first
+        return color == comparedColor || (color != null && color.equals(comparedColor));
     }
 
     @Nonnull
@@ -221,6 +221,8 @@ public class CodeAreaSwingUtils {
     @ParametersAreNonnullByDefault
     public static class CodeDataClipboardData implements ClipboardData {
 
+        private static final int CONVERSION_BUFFER_SIZE = 4096;
+
         private final BinaryData data;
         private final DataFlavor binaryDataFlavor;
         private final CodeType codeType;
@@ -257,9 +259,16 @@ public class CodeAreaSwingUtils {
                 }
 
                 char[] targetData = new char[textLength];
-                Arrays.fill(targetData, ' ');
-                for (int i = 0; i < data.getDataSize(); i++) {
-                    CodeAreaUtils.byteToCharsCode(data.getByte(i), codeType, targetData, i * charsPerByte, charactersCase);
+                int dataSize = (int) data.getDataSize();
+                byte[] buffer = new byte[Math.min(dataSize, CONVERSION_BUFFER_SIZE)];
+                int targetPosition = 0;
+                for (int offset = 0; offset < dataSize; offset += buffer.length) {
+                    int length = Math.min(buffer.length, dataSize - offset);
+                    data.copyToArray(offset, buffer, 0, length);
+                    if (offset > 0) {
+                        targetData[targetPosition++] = ' ';
+                    }
+                    targetPosition = CodeAreaUtils.bytesToCharsCode(buffer, 0, length, codeType, targetData, targetPosition, 1, charactersCase);
                 }
                 return new String(targetData);
             }
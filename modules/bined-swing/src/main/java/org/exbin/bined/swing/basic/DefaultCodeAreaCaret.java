@@ -28,12 +28,13 @@ import org.exbin.bined.CodeAreaSection;
 import org.exbin.bined.CodeAreaUtils;
 import org.exbin.bined.capability.CaretCapable;
 import org.exbin.bined.swing.CodeAreaCore;
+import org.exbin.bined.swing.CodeAreaSwingControl;
 import org.exbin.bined.CodeAreaCaretPosition;
 
 /**
  * Default implementation of code area caret.
  *
- * @version 0.2.0 2019/07/07
+ * @version 0.2.0 2026/10/17
  * @author ExBin Project (https://exbin.org)
  */
 @ParametersAreNonnullByDefault
@@ -201,7 +202,11 @@ public class DefaultCodeAreaCaret implements CodeAreaCaret {
         @Override
         public void actionPerformed(ActionEvent e) {
             cursorVisible = !cursorVisible;
-            notifyCaredChanged();
+            if (codeArea instanceof CodeAreaSwingControl) {
+                ((CodeAreaSwingControl) codeArea).repaintCursor();
+            } else {
+                notifyCaredChanged();
+            }
         }
     }
 
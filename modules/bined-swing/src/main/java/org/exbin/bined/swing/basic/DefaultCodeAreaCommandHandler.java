@@ -32,6 +32,7 @@ import org.exbin.bined.CodeAreaUtils;
 import org.exbin.bined.basic.CodeAreaViewMode;
 import org.exbin.bined.CodeCharactersCase;
 import org.exbin.bined.CodeType;
+import org.exbin.bined.DataChangedRange;
 import org.exbin.bined.EditationMode;
 import org.exbin.bined.EditationOperation;
 import org.exbin.bined.CaretOverlapMode;
@@ -50,6 +51,7 @@ import org.exbin.bined.capability.SelectionCapable;
 import org.exbin.bined.capability.ViewModeCapable;
 import org.exbin.bined.swing.CodeAreaCommandHandler;
 import org.exbin.bined.swing.CodeAreaCore;
+import org.exbin.bined.swing.CodeAreaSwingControl;
 import org.exbin.bined.swing.CodeAreaSwingUtils;
 import org.exbin.auxiliary.paged_data.BinaryData;
 import org.exbin.auxiliary.paged_data.ByteArrayEditableData;
@@ -293,8 +295,10 @@ public class DefaultCodeAreaCommandHandler implements CodeAreaCommandHandler {
         boolean validKey = CodeAreaUtils.isValidCodeKeyValue(keyChar, codeOffset, codeType);
         if (validKey) {
             EditationMode editationMode = ((EditationModeCapable) codeArea).getEditationMode();
+            boolean selectionDeleted = false;
             if (codeArea.hasSelection() && editationMode != EditationMode.INPLACE) {
                 deleteSelection();
+                selectionDeleted = true;
             }
 
             int value;
@@ -305,6 +309,7 @@ public class DefaultCodeAreaCommandHandler implements CodeAreaCommandHandler {
             }
 
             BinaryData data = CodeAreaUtils.requireNonNull(codeArea.getContentData(), "Content data is null");
+            long previousDataSize = codeArea.getDataSize();
             EditationOperation editationOperation = ((EditationModeCapable) codeArea).getActiveOperation();
             if (editationMode == EditationMode.EXPANDING && editationOperation == EditationOperation.INSERT) {
                 if (codeOffset > 0) {
@@ -346,7 +351,12 @@ public class DefaultCodeAreaCommandHandler implements CodeAreaCommandHandler {
                     setCodeValue(value);
                 }
             }
-            codeArea.notifyDataChanged();
+            if (selectionDeleted) {
+                codeArea.notifyDataChanged();
+            } else {
+                long removedLength = dataPosition < previousDataSize ? 1 : 0;
+                codeArea.notifyDataChanged(new DataChangedRange(dataPosition, removedLength, removedLength + codeArea.getDataSize() - previousDataSize));
+            }
             move(SelectingMode.NONE, MovementDirection.RIGHT);
             revealCursor();
         }
@@ -366,12 +376,15 @@ public class DefaultCodeAreaCommandHandler implements CodeAreaCommandHandler {
                     return;
                 }
             }
+            boolean selectionDeleted = false;
             if (codeArea.hasSelection() && editationMode != EditationMode.INPLACE) {
                 deleteSelection();
+                selectionDeleted = true;
             }
 
             BinaryData data = CodeAreaUtils.requireNonNull(codeArea.getContentData(), "Content data is null");
             EditationOperation editationOperation = ((EditationModeCapable) codeArea).getActiveOperation();
+            int removedLength = 0;
             if ((editationMode == EditationMode.EXPANDING && editationOperation == EditationOperation.OVERWRITE) || editationMode == EditationMode.INPLACE) {
                 if (dataPosition < codeArea.getDataSize()) {
                     int length = bytes.length;
@@ -379,10 +392,15 @@ public class DefaultCodeAreaCommandHandler implements CodeAreaCommandHandler {
                         length = (int) (codeArea.getDataSize() - dataPosition);
                     }
                     ((EditableBinaryData) data).remove(dataPosition, length);
+                    removedLength = length;
                 }
             }
             ((EditableBinaryData) data).insert(dataPosition, bytes);
-            codeArea.notifyDataChanged();
+            if (selectionDeleted) {
+                codeArea.notifyDataChanged();
+            } else {
+                codeArea.notifyDataChanged(new DataChangedRange(dataPosition, removedLength, bytes.length));
+            }
             ((CaretCapable) codeArea).getCaret().setCaretPosition(dataPosition + bytes.length - 1);
             move(SelectingMode.NONE, MovementDirection.RIGHT);
             revealCursor();
@@ -436,7 +454,7 @@ public class DefaultCodeAreaCommandHandler implements CodeAreaCommandHandler {
                 move(SelectingMode.NONE, MovementDirection.LEFT);
                 caret.setCodeOffset(0);
                 ((EditableBinaryData) data).remove(dataPosition - 1, 1);
-                codeArea.notifyDataChanged();
+                codeArea.notifyDataChanged(new DataChangedRange(dataPosition - 1, 1, 0));
                 revealCursor();
                 updateScrollBars();
             }
@@ -461,7 +479,7 @@ public class DefaultCodeAreaCommandHandler implements CodeAreaCommandHandler {
             long dataPosition = caret.getDataPosition();
             if (dataPosition < codeArea.getDataSize()) {
                 ((EditableBinaryData) data).remove(dataPosition, 1);
-                codeArea.notifyDataChanged();
+                codeArea.notifyDataChanged(new DataChangedRange(dataPosition, 1, 0));
                 if (caret.getCodeOffset() > 0) {
                     caret.setCodeOffset(0);
                 }
@@ -808,7 +826,7 @@ public class DefaultCodeAreaCommandHandler implements CodeAreaCommandHandler {
 
         notifyCaretMoved();
         undoSequenceBreak();
-        codeArea.repaint();
+        repaintCursor();
     }
 
     public void move(SelectingMode selectingMode, MovementDirection direction) {
@@ -827,7 +845,6 @@ public class DefaultCodeAreaCommandHandler implements CodeAreaCommandHandler {
         CodeAreaScrollPosition scrollPosition = ((ScrollingCapable) codeArea).computeScrolling(sourcePosition, direction);
         if (!sourcePosition.equals(scrollPosition)) {
             ((ScrollingCapable) codeArea).setScrollPosition(scrollPosition);
-            codeArea.resetPainter();
             notifyScrolled();
             updateScrollBars();
         }
@@ -879,7 +896,15 @@ public class DefaultCodeAreaCommandHandler implements CodeAreaCommandHandler {
 
     private void revealCursor() {
         ((ScrollingCapable) codeArea).revealCursor();
-        codeArea.repaint();
+        repaintCursor();
+    }
+
+    private void repaintCursor() {
+        if (codeArea instanceof CodeAreaSwingControl) {
+            ((CodeAreaSwingControl) codeArea).repaintCursor();
+        } else {
+            codeArea.repaint();
+        }
     }
 
     private void notifyCaretMoved() {
@@ -1,1778 +1,2110 @@
-/*
- * Copyright (C) ExBin Project
- *
- * Licensed under the Apache License, Version 2.0 (the "License");
- * you may not use this file except in compliance with the License.
- * You may obtain a copy of the License at
- *
- *     http://www.apache.org/licenses/LICENSE-2.0
- *
- * Unless required by applicable law or agreed to in writing, software
- * distributed under the License is distributed on an "AS IS" BASIS,
- * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
- * See the License for the specific language governing permissions and
- * limitations under the License.
- */
-package org.exbin.bined.swing.basic;
-
-import java.awt.BasicStroke;
-import java.awt.Color;
-import java.awt.Cursor;
-import java.awt.Dimension;
-import java.awt.Font;
-import java.awt.Graphics;
-import java.awt.Graphics2D;
-import java.awt.Insets;
-import java.awt.Point;
-import java.awt.Rectangle;
-import java.awt.RenderingHints;
-import java.awt.Stroke;
-import java.awt.event.AdjustmentEvent;
-import java.awt.event.AdjustmentListener;
-import java.awt.event.ComponentAdapter;
-import java.awt.event.ComponentEvent;
-import java.awt.event.ComponentListener;
-import java.nio.charset.Charset;
-import java.util.Arrays;
-import java.util.Optional;
-import javax.annotation.Nonnull;
-import javax.annotation.Nullable;
-import javax.annotation.ParametersAreNonnullByDefault;
-import javax.swing.DefaultBoundedRangeModel;
-import javax.swing.JPanel;
-import javax.swing.JScrollBar;
-import javax.swing.JScrollPane;
-import javax.swing.JViewport;
-import javax.swing.border.EmptyBorder;
-import org.exbin.bined.basic.BasicCodeAreaSection;
-import org.exbin.bined.basic.BasicCodeAreaZone;
-import org.exbin.bined.CodeAreaCaret;
-import org.exbin.bined.DefaultCodeAreaCaretPosition;
-import org.exbin.bined.CodeAreaSection;
-import org.exbin.bined.CodeAreaUtils;
-import org.exbin.bined.basic.CodeAreaViewMode;
-import org.exbin.bined.CodeCharactersCase;
-import org.exbin.bined.CodeType;
-import org.exbin.bined.EditationOperation;
-import org.exbin.bined.PositionCodeType;
-import org.exbin.bined.CaretOverlapMode;
-import org.exbin.bined.SelectionRange;
-import org.exbin.bined.basic.BasicBackgroundPaintMode;
-import org.exbin.bined.basic.BasicCodeAreaScrolling;
-import org.exbin.bined.basic.BasicCodeAreaStructure;
-import org.exbin.bined.basic.CodeAreaScrollPosition;
-import org.exbin.bined.basic.MovementDirection;
-import org.exbin.bined.basic.PositionScrollVisibility;
-import org.exbin.bined.basic.ScrollingDirection;
-import org.exbin.bined.capability.BackgroundPaintCapable;
-import org.exbin.bined.capability.CaretCapable;
-import org.exbin.bined.capability.CharsetCapable;
-import org.exbin.bined.capability.CodeCharactersCaseCapable;
-import org.exbin.bined.capability.EditationModeCapable;
-import org.exbin.bined.capability.RowWrappingCapable;
-import org.exbin.bined.capability.ScrollingCapable;
-import org.exbin.bined.swing.CodeAreaCore;
-import org.exbin.bined.swing.CodeAreaPainter;
-import org.exbin.bined.swing.CodeAreaSwingUtils;
-import org.exbin.bined.swing.basic.DefaultCodeAreaCaret.CursorRenderingMode;
-import org.exbin.bined.swing.basic.color.BasicCodeAreaColorsProfile;
-import org.exbin.bined.swing.basic.color.BasicColorsCapableCodeAreaPainter;
-import org.exbin.bined.swing.capability.AntialiasingCapable;
-import org.exbin.bined.swing.capability.FontCapable;
-import org.exbin.auxiliary.paged_data.BinaryData;
-import org.exbin.bined.CodeAreaCaretPosition;
-import org.exbin.bined.DataChangedListener;
-import org.exbin.bined.basic.BasicCodeAreaLayout;
-import org.exbin.bined.basic.ScrollBarVerticalScale;
-
-/**
- * Code area component default painter.
- *
- * @version 0.2.0 2021/07/09
- * @author ExBin Project (https://exbin.org)
- */
-@ParametersAreNonnullByDefault
-public class DefaultCodeAreaPainter implements CodeAreaPainter, BasicColorsCapableCodeAreaPainter {
-
-    @Nonnull
-    protected final CodeAreaCore codeArea;
-    private volatile boolean initialized = false;
-    private volatile boolean scrollingUpdate = false;
-
-    private volatile boolean fontChanged = false;
-    private volatile boolean layoutChanged = true;
-    private volatile boolean resetColors = true;
-    private volatile boolean caretChanged = true;
-
-    @Nonnull
-    private final JPanel dataView;
-    @Nonnull
-    private final JScrollPane scrollPanel;
-    @Nonnull
-    private final VerticalScrollBarModel verticalScrollBarModel;
-    @Nonnull
-    private final HorizontalScrollBarModel horizontalScrollBarModel;
-    @Nonnull
-    private final DefaultCodeAreaMouseListener codeAreaMouseListener;
-    @Nonnull
-    private final ComponentListener codeAreaComponentListener;
-    @Nonnull
-    private final DataChangedListener codeAreaDataChangeListener;
-
-    @Nonnull
-    private final BasicCodeAreaMetrics metrics = new BasicCodeAreaMetrics();
-    @Nonnull
-    private final BasicCodeAreaStructure structure = new BasicCodeAreaStructure();
-    @Nonnull
-    private final BasicCodeAreaScrolling scrolling = new BasicCodeAreaScrolling();
-    @Nonnull
-    private final BasicCodeAreaDimensions dimensions = new BasicCodeAreaDimensions();
-    @Nonnull
-    private final BasicCodeAreaVisibility visibility = new BasicCodeAreaVisibility();
-    @Nonnull
-    private volatile ScrollingState scrollingState = ScrollingState.NO_SCROLLING;
-
-    @Nonnull
-    private final BasicCodeAreaLayout layout = new BasicCodeAreaLayout();
-    @Nonnull
-    private BasicCodeAreaColorsProfile colorsProfile = new BasicCodeAreaColorsProfile();
-
-    @Nullable
-    private CodeCharactersCase codeCharactersCase;
-    @Nullable
-    private EditationOperation editationOperation;
-    @Nullable
-    private BasicBackgroundPaintMode backgroundPaintMode;
-    private boolean showMirrorCursor;
-    @Nonnull
-    private AntialiasingMode antialiasingMode = AntialiasingMode.AUTO;
-
-    private int rowPositionLength;
-    private int minRowPositionLength;
-    private int maxRowPositionLength;
-
-    @Nullable
-    private Font font;
-    @Nullable
-    private Charset charset;
-
-    @Nullable
-    private RowDataCache rowDataCache = null;
-    @Nullable
-    private CursorDataCache cursorDataCache = null;
-
-    @Nullable
-    private Charset charMappingCharset = null;
-    @Nonnull
-    private final char[] charMapping = new char[256];
-
-    public DefaultCodeAreaPainter(CodeAreaCore codeArea) {
-        this.codeArea = codeArea;
-
-        dataView = new JPanel();
-        dataView.setBorder(null);
-        dataView.setVisible(false);
-        dataView.setLayout(null);
-        dataView.setOpaque(false);
-        dataView.setInheritsPopupMenu(true);
-        // Fill whole area, no more suitable method found so far
-        dataView.setPreferredSize(new Dimension(0, 0));
-        scrollPanel = new JScrollPane();
-        scrollPanel.setBorder(new EmptyBorder(0, 0, 0, 0));
-        scrollPanel.setIgnoreRepaint(true);
-        scrollPanel.setOpaque(false);
-        scrollPanel.setInheritsPopupMenu(true);
-        scrollPanel.setViewportBorder(null);
-        JScrollBar verticalScrollBar = scrollPanel.getVerticalScrollBar();
-        verticalScrollBar.setIgnoreRepaint(true);
-        verticalScrollBar.addAdjustmentListener(new VerticalAdjustmentListener());
-        verticalScrollBarModel = new VerticalScrollBarModel();
-        verticalScrollBar.setModel(verticalScrollBarModel);
-        JScrollBar horizontalScrollBar = scrollPanel.getHorizontalScrollBar();
-        horizontalScrollBar.setIgnoreRepaint(true);
-        horizontalScrollBar.addAdjustmentListener(new HorizontalAdjustmentListener());
-        horizontalScrollBarModel = new HorizontalScrollBarModel();
-        horizontalScrollBar.setModel(horizontalScrollBarModel);
-        scrollPanel.setViewportView(dataView);
-        JViewport viewport = scrollPanel.getViewport();
-        viewport.setOpaque(false);
-        scrolling.setHorizontalExtentChangeListener(() -> horizontalExtentChanged());
-        scrolling.setVerticalExtentChangeListener(() -> verticalExtentChanged());
-
-        codeAreaMouseListener = new DefaultCodeAreaMouseListener(codeArea, scrollPanel);
-        viewport.addMouseListener(codeAreaMouseListener);
-        viewport.addMouseMotionListener(codeAreaMouseListener);
-        viewport.addMouseWheelListener(codeAreaMouseListener);
-        codeAreaComponentListener = new ComponentAdapter() {
-            @Override
-            public void componentResized(ComponentEvent e) {
-                recomputeLayout();
-            }
-        };
-        codeAreaDataChangeListener = () -> dataChanged();
-        colorsProfile.reinitialize();
-    }
-
-    @Override
-    public void attach() {
-        codeArea.add(scrollPanel);
-        codeArea.addMouseListener(codeAreaMouseListener);
-        codeArea.addMouseMotionListener(codeAreaMouseListener);
-        codeArea.addMouseWheelListener(codeAreaMouseListener);
-        codeArea.addComponentListener(codeAreaComponentListener);
-        codeArea.addDataChangedListener(codeAreaDataChangeListener);
-    }
-
-    @Override
-    public void detach() {
-        codeArea.remove(scrollPanel);
-        codeArea.removeMouseListener(codeAreaMouseListener);
-        codeArea.removeMouseMotionListener(codeAreaMouseListener);
-        codeArea.removeMouseWheelListener(codeAreaMouseListener);
-        codeArea.removeComponentListener(codeAreaComponentListener);
-        codeArea.removeDataChangedListener(codeAreaDataChangeListener);
-    }
-
-    @Override
-    public void reset() {
-        resetColors();
-        resetFont();
-        resetLayout();
-        resetCaret();
-    }
-
-    @Override
-    public void resetColors() {
-        resetColors = true;
-    }
-
-    @Override
-    public void resetFont() {
-        fontChanged = true;
-        resetLayout();
-    }
-
-    @Override
-    public void resetLayout() {
-        layoutChanged = true;
-    }
-
-    @Override
-    public void resetCaret() {
-        caretChanged = true;
-    }
-
-    @Override
-    public void rebuildColors() {
-        colorsProfile.reinitialize();
-    }
-
-    public void recomputeLayout() {
-        rowPositionLength = getRowPositionLength();
-        recomputeDimensions();
-
-        int charactersPerPage = dimensions.getCharactersPerPage();
-        structure.updateCache(codeArea, charactersPerPage);
-        codeCharactersCase = ((CodeCharactersCaseCapable) codeArea).getCodeCharactersCase();
-        backgroundPaintMode = ((BackgroundPaintCapable) codeArea).getBackgroundPaintMode();
-        showMirrorCursor = ((CaretCapable) codeArea).isShowMirrorCursor();
-        antialiasingMode = ((AntialiasingCapable) codeArea).getAntialiasingMode();
-        minRowPositionLength = ((RowWrappingCapable) codeArea).getMinRowPositionLength();
-        maxRowPositionLength = ((RowWrappingCapable) codeArea).getMaxRowPositionLength();
-
-        int rowsPerPage = dimensions.getRowsPerPage();
-        long rowsPerDocument = structure.getRowsPerDocument();
-        int charactersPerRow = structure.getCharactersPerRow();
-
-        if (metrics.isInitialized()) {
-            scrolling.updateMaximumScrollPosition(rowsPerDocument, rowsPerPage, charactersPerRow, charactersPerPage, dimensions.getLastCharOffset(), dimensions.getLastRowOffset());
-        }
-
-        recomputeScrollState();
-
-        layoutChanged = false;
-    }
-
-    private void updateCaret() {
-        editationOperation = ((EditationModeCapable) codeArea).getActiveOperation();
-
-        caretChanged = false;
-    }
-
-    private void validateCaret() {
-        CodeAreaCaret caret = ((CaretCapable) codeArea).getCaret();
-        CodeAreaCaretPosition caretPosition = caret.getCaretPosition();
-        if (caretPosition.getDataPosition() > codeArea.getDataSize()) {
-            caret.setCaretPosition(null);
-        }
-    }
-
-    private void recomputeDimensions() {
-        int verticalScrollBarSize = getVerticalScrollBarSize();
-        int horizontalScrollBarSize = getHorizontalScrollBarSize();
-        Insets insets = codeArea.getInsets();
-        int componentWidth = codeArea.getWidth() - insets.left - insets.right;
-        int componentHeight = codeArea.getHeight() - insets.top - insets.bottom;
-        dimensions.recomputeSizes(metrics, insets.right, insets.top, componentWidth, componentHeight, rowPositionLength, verticalScrollBarSize, horizontalScrollBarSize);
-    }
-
-    public void recomputeCharPositions() {
-        visibility.recomputeCharPositions(metrics, structure, dimensions, layout, scrolling);
-        updateRowDataCache();
-    }
-
-    private void updateRowDataCache() {
-        if (rowDataCache == null) {
-            rowDataCache = new RowDataCache();
-        }
-
-        rowDataCache.headerChars = new char[visibility.getCharactersPerCodeSection()];
-        rowDataCache.rowData = new byte[structure.getBytesPerRow() + metrics.getMaxBytesPerChar() - 1];
-        rowDataCache.rowPositionCode = new char[rowPositionLength];
-        rowDataCache.rowCharacters = new char[structure.getCharactersPerRow()];
-    }
-
-    public void fontChanged(Graphics g) {
-        if (font == null) {
-            reset();
-        }
-
-        charset = ((CharsetCapable) codeArea).getCharset();
-        font = ((FontCapable) codeArea).getCodeFont();
-        metrics.recomputeMetrics(g.getFontMetrics(font), charset);
-
-        recomputeDimensions();
-        recomputeCharPositions();
-        initialized = true;
-    }
-
-    public void dataViewScrolled(Graphics g) {
-        if (!isInitialized()) {
-            return;
-        }
-
-        recomputeScrollState();
-        if (metrics.getCharacterWidth() > 0) {
-            recomputeCharPositions();
-            paintComponent(g);
-        }
-    }
-
-    private void recomputeScrollState() {
-        System.out.println(((ScrollingCapable) codeArea).getScrollPosition().getRowPosition());
-        scrolling.setScrollPosition(((ScrollingCapable) codeArea).getScrollPosition());
-        int characterWidth = metrics.getCharacterWidth();
-        int rowHeight = metrics.getRowHeight();
-
-        if (characterWidth > 0) {
-            recomputeCharPositions();
-        }
-
-        boolean revalidate = false;
-        Rectangle scrollPanelRectangle = dimensions.getScrollPanelRectangle();
-        Rectangle oldRect = scrollPanel.getBounds();
-        if (!oldRect.equals(scrollPanelRectangle)) {
-            scrollPanel.setBounds(scrollPanelRectangle);
-            revalidate = true;
-        }
-
-        if (rowHeight > 0 && characterWidth > 0) {
-            scrolling.updateCache(codeArea, getHorizontalScrollBarSize(), getVerticalScrollBarSize());
-            JViewport viewport = scrollPanel.getViewport();
-            BasicCodeAreaScrolling.ScrollViewDimension viewDimension = scrolling.computeViewDimension(viewport.getWidth(), viewport.getHeight(), layout, structure, characterWidth, rowHeight);
-            Dimension dataViewSize = new Dimension(viewDimension.getWidth(), viewDimension.getHeight());
-            dataView.setPreferredSize(dataViewSize);
-            dataView.setSize(dataViewSize);
-
-            // TODO on resize only
-            recomputeDimensions();
-
-            scrollPanelRectangle = dimensions.getScrollPanelRectangle();
-            if (!oldRect.equals(scrollPanelRectangle)) {
-                scrollPanel.setBounds(scrollPanelRectangle);
-                revalidate = true;
-            }
-        }
-
-        if (revalidate) {
-            scrollPanel.revalidate();
-        }
-    }
-
-    @Override
-    public boolean isInitialized() {
-        return initialized;
-    }
-
-    @Override
-    public void paintComponent(Graphics g) {
-        if (!initialized) {
-            reset();
-        }
-        updateCache();
-        if (font == null) {
-            ((FontCapable) codeArea).setCodeFont(codeArea.getFont());
-            fontChanged(g);
-        }
-        if (rowDataCache == null) {
-            return;
-        }
-        if (scrollingState == ScrollingState.SCROLLING_BY_SCROLLBAR) {
-            return;
-        }
-
-        if (antialiasingMode != AntialiasingMode.OFF && g instanceof Graphics2D) {
-            Object antialiasingHint = antialiasingMode.getAntialiasingHint((Graphics2D) g);
-            ((Graphics2D) g).setRenderingHint(
-                    RenderingHints.KEY_TEXT_ANTIALIASING,
-                    antialiasingHint);
-        }
-        if (layoutChanged) {
-            recomputeLayout();
-            recomputeCharPositions();
-        }
-
-        paintOutsideArea(g);
-        paintHeader(g);
-        paintRowPosition(g);
-        paintMainArea(g);
-    }
-
-    protected synchronized void updateCache() {
-        if (resetColors) {
-            resetColors = false;
-            colorsProfile.reinitialize();
-        }
-    }
-
-    public void paintOutsideArea(Graphics g) {
-        int headerAreaHeight = dimensions.getHeaderAreaHeight();
-        int rowPositionAreaWidth = dimensions.getRowPositionAreaWidth();
-        Rectangle componentRect = dimensions.getComponentRectangle();
-        int characterWidth = metrics.getCharacterWidth();
-        g.setColor(colorsProfile.getTextBackground());
-        g.fillRect(componentRect.x, componentRect.y, componentRect.width, headerAreaHeight);
-
-        // Decoration lines
-        g.setColor(colorsProfile.getDecorationLine());
-        g.drawLine(componentRect.x, componentRect.y + headerAreaHeight - 1, componentRect.x + rowPositionAreaWidth, componentRect.y + headerAreaHeight - 1);
-
-        int lineX = componentRect.x + rowPositionAreaWidth - (characterWidth / 2);
-        if (lineX >= componentRect.x) {
-            g.drawLine(lineX, componentRect.y, lineX, componentRect.y + headerAreaHeight);
-        }
-    }
-
-    public void paintHeader(Graphics g) {
-        int charactersPerCodeSection = visibility.getCharactersPerCodeSection();
-        Rectangle headerArea = dimensions.getHeaderAreaRectangle();
-        CodeAreaScrollPosition scrollPosition = scrolling.getScrollPosition();
-
-        Rectangle clipBounds = g.getClipBounds();
-        g.setClip(clipBounds != null ? clipBounds.intersection(headerArea) : headerArea);
-
-        int characterWidth = metrics.getCharacterWidth();
-        int rowHeight = metrics.getRowHeight();
-        int dataViewX = dimensions.getScrollPanelX();
-
-        g.setFont(font);
-        g.setColor(colorsProfile.getTextBackground());
-        g.fillRect(headerArea.x, headerArea.y, headerArea.width, headerArea.height);
-
-        CodeAreaViewMode viewMode = structure.getViewMode();
-        if (viewMode == CodeAreaViewMode.DUAL || viewMode == CodeAreaViewMode.CODE_MATRIX) {
-            int headerX = dataViewX - scrollPosition.getCharPosition() * characterWidth - scrollPosition.getCharOffset();
-            int headerY = headerArea.y + rowHeight - metrics.getSubFontSpace();
-
-            g.setColor(colorsProfile.getTextColor());
-            Arrays.fill(rowDataCache.headerChars, ' ');
-
-            boolean interleaving = false;
-            int lastPos = 0;
-            int skipToCode = visibility.getSkipToCode();
-            int skipRestFromCode = visibility.getSkipRestFromCode();
-            for (int index = skipToCode; index < skipRestFromCode; index++) {
-                int codePos = structure.computeFirstCodeCharacterPos(index);
-                if (codePos == lastPos + 2 && !interleaving) {
-                    interleaving = true;
-                } else {
-                    CodeAreaUtils.longToBaseCode(rowDataCache.headerChars, codePos, index, CodeType.HEXADECIMAL.getBase(), 2, true, codeCharactersCase);
-                    lastPos = codePos;
-                    interleaving = false;
-                }
-            }
-
-            int skipToChar = visibility.getSkipToChar();
-            int skipRestFromChar = visibility.getSkipRestFromChar();
-            int codeCharEnd = Math.min(skipRestFromChar, visibility.getCharactersPerCodeSection());
-            int renderOffset = skipToChar;
-            Color renderColor = null;
-            for (int characterOnRow = skipToChar; characterOnRow < codeCharEnd; characterOnRow++) {
-                boolean sequenceBreak = false;
-
-                char currentChar = rowDataCache.headerChars[characterOnRow];
-                if (currentChar == ' ' && renderOffset == characterOnRow) {
-                    renderOffset++;
-                    continue;
-                }
-
-                Color color = colorsProfile.getTextColor();
-
-                if (!CodeAreaSwingUtils.areSameColors(color, renderColor)) { // || !colorType.equals(renderColorType)
-                    sequenceBreak = true;
-                }
-                if (sequenceBreak) {
-                    if (renderOffset < characterOnRow) {
-                        drawCenteredChars(g, rowDataCache.headerChars, renderOffset, characterOnRow - renderOffset, characterWidth, headerX + renderOffset * characterWidth, headerY);
-                    }
-
-                    if (!CodeAreaSwingUtils.areSameColors(color, renderColor)) {
-                        renderColor = color;
-                        g.setColor(color);
-                    }
-
-                    renderOffset = characterOnRow;
-                }
-            }
-
-            if (renderOffset < charactersPerCodeSection) {
-                drawCenteredChars(g, rowDataCache.headerChars, renderOffset, charactersPerCodeSection - renderOffset, characterWidth, headerX + renderOffset * characterWidth, headerY);
-            }
-        }
-
-        // Decoration lines
-        g.setColor(colorsProfile.getDecorationLine());
-        g.drawLine(headerArea.x, headerArea.y + headerArea.height - 1, headerArea.x + headerArea.width, headerArea.y + headerArea.height - 1);
-        int lineX = dataViewX + visibility.getPreviewRelativeX() - scrollPosition.getCharPosition() * characterWidth - scrollPosition.getCharOffset() - characterWidth / 2 - 1;
-        if (lineX >= dataViewX) {
-            g.drawLine(lineX, headerArea.y, lineX, headerArea.y + headerArea.height);
-        }
-
-        g.setClip(clipBounds);
-    }
-
-    public void paintRowPosition(Graphics g) {
-        int bytesPerRow = structure.getBytesPerRow();
-        long dataSize = structure.getDataSize();
-        int rowHeight = metrics.getRowHeight();
-        int characterWidth = metrics.getCharacterWidth();
-        int subFontSpace = metrics.getSubFontSpace();
-        int rowsPerRect = dimensions.getRowsPerRect();
-        Rectangle rowPosRectangle = dimensions.getRowPositionAreaRectangle();
-        Rectangle dataViewRectangle = dimensions.getDataViewRectangle();
-        Rectangle clipBounds = g.getClipBounds();
-        g.setClip(clipBounds != null ? clipBounds.intersection(rowPosRectangle) : rowPosRectangle);
-
-        g.setFont(font);
-        g.setColor(colorsProfile.getTextBackground());
-        g.fillRect(rowPosRectangle.x, rowPosRectangle.y, rowPosRectangle.width, rowPosRectangle.height);
-
-        CodeAreaScrollPosition scrollPosition = scrolling.getScrollPosition();
-        if (backgroundPaintMode == BasicBackgroundPaintMode.STRIPED) {
-            long dataPosition = scrollPosition.getRowPosition() * bytesPerRow + ((scrollPosition.getRowPosition() & 1) > 0 ? 0 : bytesPerRow);
-            int stripePositionY = rowPosRectangle.y - scrollPosition.getRowOffset() + ((scrollPosition.getRowPosition() & 1) > 0 ? 0 : rowHeight);
-            g.setColor(colorsProfile.getAlternateBackground());
-            for (int row = 0; row <= rowsPerRect / 2; row++) {
-                if (dataPosition > dataSize) {
-                    break;
-                }
-
-                g.fillRect(rowPosRectangle.x, stripePositionY, rowPosRectangle.width, rowHeight);
-                stripePositionY += rowHeight * 2;
-                dataPosition += bytesPerRow * 2;
-            }
-        }
-
-        long dataPosition = bytesPerRow * scrollPosition.getRowPosition();
-        int positionY = rowPosRectangle.y + rowHeight - subFontSpace - scrollPosition.getRowOffset();
-        g.setColor(colorsProfile.getTextColor());
-        for (int row = 0; row <= rowsPerRect; row++) {
-            if (dataPosition > dataSize) {
-                break;
-            }
-
-            CodeAreaUtils.longToBaseCode(rowDataCache.rowPositionCode, 0, dataPosition < 0 ? 0 : dataPosition, CodeType.HEXADECIMAL.getBase(), rowPositionLength, true, codeCharactersCase);
-            drawCenteredChars(g, rowDataCache.rowPositionCode, 0, rowPositionLength, characterWidth, rowPosRectangle.x, positionY);
-
-            positionY += rowHeight;
-            dataPosition += bytesPerRow;
-            if (dataPosition < 0) {
-                break;
-            }
-        }
-
-        // Decoration lines
-        g.setColor(colorsProfile.getDecorationLine());
-        int lineX = rowPosRectangle.x + rowPosRectangle.width - (characterWidth / 2);
-        if (lineX >= rowPosRectangle.x) {
-            g.drawLine(lineX, dataViewRectangle.y, lineX, dataViewRectangle.y + dataViewRectangle.height);
-        }
-        g.drawLine(dataViewRectangle.x, dataViewRectangle.y - 1, dataViewRectangle.x + dataViewRectangle.width, dataViewRectangle.y - 1);
-
-        g.setClip(clipBounds);
-    }
-
-    @Override
-    public void paintMainArea(Graphics g) {
-        if (!initialized) {
-            reset();
-        }
-        if (fontChanged) {
-            fontChanged(g);
-            fontChanged = false;
-        }
-
-        Rectangle mainAreaRect = dimensions.getMainAreaRectangle();
-        Rectangle dataViewRectangle = dimensions.getDataViewRectangle();
-        CodeAreaScrollPosition scrollPosition = scrolling.getScrollPosition();
-        int characterWidth = metrics.getCharacterWidth();
-        int previewRelativeX = visibility.getPreviewRelativeX();
-
-        Rectangle clipBounds = g.getClipBounds();
-        g.setClip(clipBounds != null ? clipBounds.intersection(mainAreaRect) : mainAreaRect);
-        paintBackground(g);
-
-        // Decoration lines
-        g.setColor(colorsProfile.getDecorationLine());
-        int lineX = dataViewRectangle.x + previewRelativeX - scrollPosition.getCharPosition() * characterWidth - scrollPosition.getCharOffset() - characterWidth / 2 - 1;
-        if (lineX >= dataViewRectangle.x) {
-            g.drawLine(lineX, dataViewRectangle.y, lineX, dataViewRectangle.y + dataViewRectangle.height);
-        }
-
-        paintRows(g);
-        g.setClip(clipBounds);
-        paintCursor(g);
-
-//        paintDebugInfo(g, mainAreaRect, scrollPosition);
-    }
-
-//    // Debugging counter
-//    private long paintDebugCounter = 0;
-//
-//    private void paintDebugInfo(Graphics g, Rectangle mainAreaRect, CodeAreaScrollPosition scrollPosition) {
-//        int rowHeight = metrics.getRowHeight();
-//        int x = mainAreaRect.x + mainAreaRect.width - 220;
-//        int y = mainAreaRect.y + mainAreaRect.height - 20;
-//        g.setColor(Color.YELLOW);
-//        g.fillRect(x, y, 200, 16);
-//        g.setColor(Color.BLACK);
-//        char[] headerCode = (String.valueOf(scrollPosition.getCharPosition()) + "+" + String.valueOf(scrollPosition.getCharOffset()) + " : " + String.valueOf(scrollPosition.getRowPosition()) + "+" + String.valueOf(scrollPosition.getRowOffset()) + " P: " + String.valueOf(paintDebugCounter)).toCharArray();
-//        g.drawChars(headerCode, 0, headerCode.length, x, y + rowHeight);
-//
-//        paintDebugCounter++;
-//    }
-//
-    /**
-     * Paints main area background.
-     *
-     * @param g graphics
-     */
-    public void paintBackground(Graphics g) {
-        int bytesPerRow = structure.getBytesPerRow();
-        long dataSize = structure.getDataSize();
-        int rowHeight = metrics.getRowHeight();
-        int rowsPerRect = dimensions.getRowsPerRect();
-        Rectangle dataViewRect = dimensions.getDataViewRectangle();
-        CodeAreaScrollPosition scrollPosition = scrolling.getScrollPosition();
-
-        g.setColor(colorsProfile.getTextBackground());
-        if (backgroundPaintMode != BasicBackgroundPaintMode.TRANSPARENT) {
-            g.fillRect(dataViewRect.x, dataViewRect.y, dataViewRect.width, dataViewRect.height);
-        }
-
-        if (backgroundPaintMode == BasicBackgroundPaintMode.STRIPED) {
-            long dataPosition = scrollPosition.getRowPosition() * bytesPerRow + ((scrollPosition.getRowPosition() & 1) > 0 ? 0 : bytesPerRow);
-            int stripePositionY = dataViewRect.y - scrollPosition.getRowOffset() + (int) ((scrollPosition.getRowPosition() & 1) > 0 ? 0 : rowHeight);
-            g.setColor(colorsProfile.getAlternateBackground());
-            for (int row = 0; row <= rowsPerRect / 2; row++) {
-                if (dataPosition > dataSize) {
-                    break;
-                }
-
-                g.fillRect(dataViewRect.x, stripePositionY, dataViewRect.width, rowHeight);
-                stripePositionY += rowHeight * 2;
-                dataPosition += bytesPerRow * 2;
-            }
-        }
-    }
-
-    public void paintRows(Graphics g) {
-        int bytesPerRow = structure.getBytesPerRow();
-        int characterWidth = metrics.getCharacterWidth();
-        int rowHeight = metrics.getRowHeight();
-        int dataViewX = dimensions.getScrollPanelX();
-        int dataViewY = dimensions.getScrollPanelY();
-        int rowsPerRect = dimensions.getRowsPerRect();
-        CodeAreaScrollPosition scrollPosition = scrolling.getScrollPosition();
-        long dataPosition = scrollPosition.getRowPosition() * bytesPerRow;
-        int rowPositionX = dataViewX - scrollPosition.getCharPosition() * characterWidth - scrollPosition.getCharOffset();
-        int rowPositionY = dataViewY - scrollPosition.getRowOffset();
-
-        g.setColor(colorsProfile.getTextColor());
-        for (int row = 0; row <= rowsPerRect; row++) {
-            prepareRowData(dataPosition);
-            paintRowBackground(g, dataPosition, rowPositionX, rowPositionY);
-            paintRowText(g, dataPosition, rowPositionX, rowPositionY);
-
-            rowPositionY += rowHeight;
-            if (Long.MAX_VALUE - dataPosition < bytesPerRow) {
-                dataPosition = Long.MAX_VALUE;
-            } else {
-                dataPosition += bytesPerRow;
-            }
-        }
-    }
-
-    private void prepareRowData(long dataPosition) {
-        int maxBytesPerChar = metrics.getMaxBytesPerChar();
-        CodeAreaViewMode viewMode = structure.getViewMode();
-        int bytesPerRow = structure.getBytesPerRow();
-        long dataSize = structure.getDataSize();
-        int previewCharPos = visibility.getPreviewCharPos();
-        CodeType codeType = structure.getCodeType();
-
-        int rowBytesLimit = bytesPerRow;
-        int rowStart = 0;
-        if (dataPosition < dataSize) {
-            int rowDataSize = bytesPerRow + maxBytesPerChar - 1;
-            if (dataSize - dataPosition < rowDataSize) {
-                rowDataSize = (int) (dataSize - dataPosition);
-            }
-            if (dataPosition < 0) {
-                rowStart = (int) -dataPosition;
-            }
-            BinaryData data = codeArea.getContentData();
-            if (data == null) {
-                throw new IllegalStateException("Missing data on nonzero data size");
-            }
-            data.copyToArray(dataPosition + rowStart, rowDataCache.rowData, rowStart, rowDataSize - rowStart);
-            if (dataSize - dataPosition < rowBytesLimit) {
-                rowBytesLimit = (int) (dataSize - dataPosition);
-            }
-        } else {
-            rowBytesLimit = 0;
-        }
-
-        // Fill codes
-        if (viewMode != CodeAreaViewMode.TEXT_PREVIEW) {
-            int skipToCode = visibility.getSkipToCode();
-            int skipRestFromCode = visibility.getSkipRestFromCode();
-            int endCode = Math.min(skipRestFromCode, rowBytesLimit);
-            for (int byteOnRow = Math.max(skipToCode, rowStart); byteOnRow < endCode; byteOnRow++) {
-                byte dataByte = rowDataCache.rowData[byteOnRow];
-
-                int byteRowPos = structure.computeFirstCodeCharacterPos(byteOnRow);
-                if (byteRowPos > 0) {
-                    rowDataCache.rowCharacters[byteRowPos - 1] = ' ';
-                }
-                CodeAreaUtils.byteToCharsCode(dataByte, codeType, rowDataCache.rowCharacters, byteRowPos, codeCharactersCase);
-            }
-
-            if (bytesPerRow > rowBytesLimit) {
-                Arrays.fill(rowDataCache.rowCharacters, structure.computeFirstCodeCharacterPos(rowBytesLimit), rowDataCache.rowCharacters.length, ' ');
-            }
-        }
-
-        if (previewCharPos > 0) {
-            rowDataCache.rowCharacters[previewCharPos - 1] = ' ';
-        }
-
-        // Fill preview characters
-        if (viewMode != CodeAreaViewMode.CODE_MATRIX) {
-            int skipToPreview = visibility.getSkipToPreview();
-            int skipRestFromPreview = visibility.getSkipRestFromPreview();
-            int endPreview = Math.min(skipRestFromPreview, rowBytesLimit);
-            for (int byteOnRow = skipToPreview; byteOnRow < endPreview; byteOnRow++) {
-                byte dataByte = rowDataCache.rowData[byteOnRow];
-
-                if (maxBytesPerChar > 1) {
-                    if (dataPosition + maxBytesPerChar > dataSize) {
-                        maxBytesPerChar = (int) (dataSize - dataPosition);
-                    }
-
-                    int charDataLength = maxBytesPerChar;
-                    if (byteOnRow + charDataLength > rowDataCache.rowData.length) {
-                        charDataLength = rowDataCache.rowData.length - byteOnRow;
-                    }
-                    String displayString = new String(rowDataCache.rowData, byteOnRow, charDataLength, charset);
-                    if (!displayString.isEmpty()) {
-                        rowDataCache.rowCharacters[previewCharPos + byteOnRow] = displayString.charAt(0);
-                    }
-                } else {
-                    if (charMappingCharset == null || charMappingCharset != charset) {
-                        buildCharMapping(charset);
-                    }
-
-                    rowDataCache.rowCharacters[previewCharPos + byteOnRow] = charMapping[dataByte & 0xFF];
-                }
-            }
-            if (bytesPerRow > rowBytesLimit) {
-                Arrays.fill(rowDataCache.rowCharacters, previewCharPos + rowBytesLimit, previewCharPos + bytesPerRow, ' ');
-            }
-        }
-    }
-
-    /**
-     * Paints row background.
-     *
-     * @param g graphics
-     * @param rowDataPosition row data position
-     * @param rowPositionX row position X
-     * @param rowPositionY row position Y
-     */
-    public void paintRowBackground(Graphics g, long rowDataPosition, int rowPositionX, int rowPositionY) {
-        int previewCharPos = visibility.getPreviewCharPos();
-        CodeAreaViewMode viewMode = structure.getViewMode();
-        int charactersPerRow = structure.getCharactersPerRow();
-        int skipToChar = visibility.getSkipToChar();
-        int skipRestFromChar = visibility.getSkipRestFromChar();
-
-        int renderOffset = skipToChar;
-        Color renderColor = null;
-        for (int charOnRow = skipToChar; charOnRow < skipRestFromChar; charOnRow++) {
-            CodeAreaSection section;
-            int byteOnRow;
-            if (charOnRow >= previewCharPos && viewMode != CodeAreaViewMode.CODE_MATRIX) {
-                byteOnRow = charOnRow - previewCharPos;
-                section = BasicCodeAreaSection.TEXT_PREVIEW;
-            } else {
-                byteOnRow = structure.computePositionByte(charOnRow);
-                section = BasicCodeAreaSection.CODE_MATRIX;
-            }
-            boolean sequenceBreak = false;
-
-            Color color = getPositionBackgroundColor(rowDataPosition, byteOnRow, charOnRow, section);
-            if (!CodeAreaSwingUtils.areSameColors(color, renderColor)) {
-                sequenceBreak = true;
-            }
-            if (sequenceBreak) {
-                if (renderOffset < charOnRow) {
-                    if (renderColor != null) {
-                        renderBackgroundSequence(g, renderOffset, charOnRow, rowPositionX, rowPositionY);
-                    }
-                }
-
-                if (!CodeAreaSwingUtils.areSameColors(color, renderColor)) {
-                    renderColor = color;
-                    if (color != null) {
-                        g.setColor(color);
-                    }
-                }
-
-                renderOffset = charOnRow;
-            }
-        }
-
-        if (renderOffset < charactersPerRow) {
-            if (renderColor != null) {
-                renderBackgroundSequence(g, renderOffset, charactersPerRow, rowPositionX, rowPositionY);
-            }
-        }
-    }
-
-    /**
-     * Returns background color for particular code.
-     *
-     * @param rowDataPosition row data position
-     * @param byteOnRow byte on current row
-     * @param charOnRow character on current row
-     * @param section current section
-     * @return color or null for default color
-     */
-    @Nullable
-    public Color getPositionBackgroundColor(long rowDataPosition, int byteOnRow, int charOnRow, CodeAreaSection section) {
-        SelectionRange selectionRange = structure.getSelectionRange();
-        int codeLastCharPos = visibility.getCodeLastCharPos();
-        CodeAreaCaret caret = ((CaretCapable) codeArea).getCaret();
-        boolean inSelection = selectionRange != null && selectionRange.isInSelection(rowDataPosition + byteOnRow);
-        if (inSelection && (section == BasicCodeAreaSection.CODE_MATRIX)) {
-            if (charOnRow == codeLastCharPos) {
-                inSelection = false;
-            }
-        }
-
-        if (inSelection) {
-            return section == caret.getSection() ? colorsProfile.getSelectionBackground() : colorsProfile.getSelectionMirrorBackground();
-        }
-
-        return null;
-    }
-
-    @Nonnull
-    @Override
-    public PositionScrollVisibility computePositionScrollVisibility(CodeAreaCaretPosition caretPosition) {
-        int bytesPerRow = structure.getBytesPerRow();
-        int previewCharPos = visibility.getPreviewCharPos();
-        int characterWidth = metrics.getCharacterWidth();
-        int rowHeight = metrics.getRowHeight();
-        int dataViewWidth = dimensions.getDataViewWidth();
-        int dataViewHeight = dimensions.getDataViewHeight();
-        int rowsPerPage = dimensions.getRowsPerPage();
-        int charactersPerPage = dimensions.getCharactersPerPage();
-
-        long shiftedPosition = caretPosition.getDataPosition();
-        long rowPosition = shiftedPosition / bytesPerRow;
-        int byteOffset = (int) (shiftedPosition % bytesPerRow);
-        int charPosition;
-        CodeAreaSection section = caretPosition.getSection().orElse(BasicCodeAreaSection.CODE_MATRIX);
-        if (section == BasicCodeAreaSection.TEXT_PREVIEW) {
-            charPosition = previewCharPos + byteOffset;
-        } else {
-            charPosition = structure.computeFirstCodeCharacterPos(byteOffset) + caretPosition.getCodeOffset();
-        }
-
-        return scrolling.computePositionScrollVisibility(rowPosition, charPosition, bytesPerRow, rowsPerPage, charactersPerPage, dataViewWidth, dataViewHeight, characterWidth, rowHeight);
-    }
-
-    @Nonnull
-    @Override
-    public Optional<CodeAreaScrollPosition> computeRevealScrollPosition(CodeAreaCaretPosition caretPosition) {
-        int bytesPerRow = structure.getBytesPerRow();
-        int previewCharPos = visibility.getPreviewCharPos();
-        int characterWidth = metrics.getCharacterWidth();
-        int rowHeight = metrics.getRowHeight();
-        int dataViewWidth = dimensions.getDataViewWidth();
-        int dataViewHeight = dimensions.getDataViewHeight();
-        int rowsPerPage = dimensions.getRowsPerPage();
-        int charactersPerPage = dimensions.getCharactersPerPage();
-
-        long shiftedPosition = caretPosition.getDataPosition();
-        long rowPosition = shiftedPosition / bytesPerRow;
-        int byteOffset = (int) (shiftedPosition % bytesPerRow);
-        int charPosition;
-        CodeAreaSection section = caretPosition.getSection().orElse(BasicCodeAreaSection.CODE_MATRIX);
-        if (section == BasicCodeAreaSection.TEXT_PREVIEW) {
-            charPosition = previewCharPos + byteOffset;
-        } else {
-            charPosition = structure.computeFirstCodeCharacterPos(byteOffset) + caretPosition.getCodeOffset();
-        }
-
-        return scrolling.computeRevealScrollPosition(rowPosition, charPosition, bytesPerRow, rowsPerPage, charactersPerPage, dataViewWidth % characterWidth, dataViewHeight % rowHeight, characterWidth, rowHeight);
-    }
-
-    @Nonnull
-    @Override
-    public Optional<CodeAreaScrollPosition> computeCenterOnScrollPosition(CodeAreaCaretPosition caretPosition) {
-        int bytesPerRow = structure.getBytesPerRow();
-        int previewCharPos = visibility.getPreviewCharPos();
-        int characterWidth = metrics.getCharacterWidth();
-        int rowHeight = metrics.getRowHeight();
-        int dataViewWidth = dimensions.getDataViewWidth();
-        int dataViewHeight = dimensions.getDataViewHeight();
-        int rowsPerRect = dimensions.getRowsPerRect();
-        int charactersPerRect = dimensions.getCharactersPerRect();
-
-        long shiftedPosition = caretPosition.getDataPosition();
-        long rowPosition = shiftedPosition / bytesPerRow;
-        int byteOffset = (int) (shiftedPosition % bytesPerRow);
-        int charPosition;
-        CodeAreaSection section = caretPosition.getSection().orElse(BasicCodeAreaSection.CODE_MATRIX);
-        if (section == BasicCodeAreaSection.TEXT_PREVIEW) {
-            charPosition = previewCharPos + byteOffset;
-        } else {
-            charPosition = structure.computeFirstCodeCharacterPos(byteOffset) + caretPosition.getCodeOffset();
-        }
-
-        return scrolling.computeCenterOnScrollPosition(rowPosition, charPosition, bytesPerRow, rowsPerRect, charactersPerRect, dataViewWidth, dataViewHeight, characterWidth, rowHeight);
-    }
-
-    /**
-     * Paints row text.
-     *
-     * @param g graphics
-     * @param rowDataPosition row data position
-     * @param rowPositionX row position X
-     * @param rowPositionY row position Y
-     */
-    public void paintRowText(Graphics g, long rowDataPosition, int rowPositionX, int rowPositionY) {
-        int previewCharPos = visibility.getPreviewCharPos();
-        int charactersPerRow = structure.getCharactersPerRow();
-        int rowHeight = metrics.getRowHeight();
-        int characterWidth = metrics.getCharacterWidth();
-        int subFontSpace = metrics.getSubFontSpace();
-
-        g.setFont(font);
-        int positionY = rowPositionY + rowHeight - subFontSpace;
-
-        Color lastColor = null;
-        Color renderColor = null;
-
-        int skipToChar = visibility.getSkipToChar();
-        int skipRestFromChar = visibility.getSkipRestFromChar();
-        int renderOffset = skipToChar;
-        for (int charOnRow = skipToChar; charOnRow < skipRestFromChar; charOnRow++) {
-            CodeAreaSection section;
-            int byteOnRow;
-            if (charOnRow >= previewCharPos) {
-                byteOnRow = charOnRow - previewCharPos;
-                section = BasicCodeAreaSection.TEXT_PREVIEW;
-            } else {
-                byteOnRow = structure.computePositionByte(charOnRow);
-                section = BasicCodeAreaSection.CODE_MATRIX;
-            }
-
-            char currentChar = rowDataCache.rowCharacters[charOnRow];
-            if (currentChar == ' ' && renderOffset == charOnRow) {
-                renderOffset++;
-                continue;
-            }
-
-            Color color = getPositionTextColor(rowDataPosition, byteOnRow, charOnRow, section);
-            if (color == null) {
-                color = colorsProfile.getTextColor();
-            }
-
-            boolean sequenceBreak = false;
-            if (!CodeAreaSwingUtils.areSameColors(color, renderColor)) {
-                if (renderColor == null) {
-                    renderColor = color;
-                }
-
-                sequenceBreak = true;
-            }
-
-            if (sequenceBreak) {
-                if (!CodeAreaSwingUtils.areSameColors(lastColor, renderColor)) {
-                    g.setColor(renderColor);
-                    lastColor = renderColor;
-                }
-
-                if (charOnRow > renderOffset) {
-                    drawCenteredChars(g, rowDataCache.rowCharacters, renderOffset, charOnRow - renderOffset, characterWidth, rowPositionX + renderOffset * characterWidth, positionY);
-                }
-
-                renderColor = color;
-                if (!CodeAreaSwingUtils.areSameColors(lastColor, renderColor)) {
-                    g.setColor(renderColor);
-                    lastColor = renderColor;
-                }
-
-                renderOffset = charOnRow;
-            }
-        }
-
-        if (renderOffset < charactersPerRow) {
-            if (!CodeAreaSwingUtils.areSameColors(lastColor, renderColor)) {
-                g.setColor(renderColor);
-            }
-
-            drawCenteredChars(g, rowDataCache.rowCharacters, renderOffset, charactersPerRow - renderOffset, characterWidth, rowPositionX + renderOffset * characterWidth, positionY);
-        }
-    }
-
-    /**
-     * Returns background color for particular code.
-     *
-     * @param rowDataPosition row data position
-     * @param byteOnRow byte on current row
-     * @param charOnRow character on current row
-     * @param section current section
-     * @return color or null for default color
-     */
-    @Nullable
-    public Color getPositionTextColor(long rowDataPosition, int byteOnRow, int charOnRow, CodeAreaSection section) {
-        SelectionRange selectionRange = structure.getSelectionRange();
-        CodeAreaCaret caret = ((CaretCapable) codeArea).getCaret();
-        boolean inSelection = selectionRange != null && selectionRange.isInSelection(rowDataPosition + byteOnRow);
-        if (inSelection) {
-            return section == caret.getSection() ? colorsProfile.getSelectionColor() : colorsProfile.getSelectionMirrorColor();
-        }
-
-        return null;
-    }
-
-    @Override
-    public void paintCursor(Graphics g) {
-        if (!codeArea.hasFocus()) {
-            return;
-        }
-
-        if (caretChanged) {
-            updateCaret();
-        }
-
-        int maxBytesPerChar = metrics.getMaxBytesPerChar();
-        Rectangle mainAreaRect = dimensions.getMainAreaRectangle();
-        CodeType codeType = structure.getCodeType();
-        CodeAreaViewMode viewMode = structure.getViewMode();
-        if (cursorDataCache == null) {
-            cursorDataCache = new CursorDataCache();
-        }
-        int cursorCharsLength = codeType.getMaxDigitsForByte();
-        if (cursorDataCache.cursorCharsLength != cursorCharsLength) {
-            cursorDataCache.cursorCharsLength = cursorCharsLength;
-            cursorDataCache.cursorChars = new char[cursorCharsLength];
-        }
-        int cursorDataLength = maxBytesPerChar;
-        if (cursorDataCache.cursorDataLength != cursorDataLength) {
-            cursorDataCache.cursorDataLength = cursorDataLength;
-            cursorDataCache.cursorData = new byte[cursorDataLength];
-        }
-
-        DefaultCodeAreaCaret caret = (DefaultCodeAreaCaret) ((CaretCapable) codeArea).getCaret();
-        Rectangle cursorRect = getCursorPositionRect(caret.getDataPosition(), caret.getCodeOffset(), caret.getSection());
-        if (cursorRect.isEmpty()) {
-            return;
-        }
-
-        Rectangle scrolledCursorRect = new Rectangle(cursorRect.x, cursorRect.y, cursorRect.width, cursorRect.height);
-        Rectangle clipBounds = g.getClipBounds();
-        Rectangle intersection = scrolledCursorRect.intersection(mainAreaRect);
-        boolean cursorVisible = caret.isCursorVisible() && !intersection.isEmpty();
-
-        if (cursorVisible) {
-            g.setClip(intersection);
-            DefaultCodeAreaCaret.CursorRenderingMode renderingMode = caret.getRenderingMode();
-            g.setColor(colorsProfile.getCursorColor());
-
-            paintCursorRect(g, intersection.x, intersection.y, intersection.width, intersection.height, renderingMode, caret);
-        }
-
-        // Paint mirror cursor
-        if (viewMode == CodeAreaViewMode.DUAL && showMirrorCursor) {
-            updateMirrorCursorRect(caret.getDataPosition(), caret.getSection());
-            Rectangle mirrorCursorRect = cursorDataCache.mirrorCursorRect;
-            if (!mirrorCursorRect.isEmpty()) {
-                intersection = mainAreaRect.intersection(mirrorCursorRect);
-                boolean mirrorCursorVisible = !intersection.isEmpty();
-                if (mirrorCursorVisible) {
-                    g.setClip(intersection);
-                    g.setColor(colorsProfile.getCursorColor());
-                    Graphics2D g2d = (Graphics2D) g.create();
-                    g2d.setStroke(cursorDataCache.dashedStroke);
-                    g2d.drawRect(mirrorCursorRect.x, mirrorCursorRect.y, mirrorCursorRect.width - 1, mirrorCursorRect.height - 1);
-                }
-            }
-        }
-        g.setClip(clipBounds);
-    }
-
-    private void paintCursorRect(Graphics g, int cursorX, int cursorY, int width, int height, CursorRenderingMode renderingMode, DefaultCodeAreaCaret caret) {
-        switch (renderingMode) {
-            case PAINT: {
-                g.fillRect(cursorX, cursorY, width, height);
-                break;
-            }
-            case XOR: {
-                g.setXORMode(colorsProfile.getTextBackground());
-                g.fillRect(cursorX, cursorY, width, height);
-                g.setPaintMode();
-                break;
-            }
-            case NEGATIVE: {
-                int characterWidth = metrics.getCharacterWidth();
-                int rowHeight = metrics.getRowHeight();
-                int maxBytesPerChar = metrics.getMaxBytesPerChar();
-                int subFontSpace = metrics.getSubFontSpace();
-                int dataViewX = dimensions.getScrollPanelX();
-                int dataViewY = dimensions.getScrollPanelY();
-                int previewRelativeX = visibility.getPreviewRelativeX();
-
-                CodeAreaViewMode viewMode = structure.getViewMode();
-                CodeAreaScrollPosition scrollPosition = scrolling.getScrollPosition();
-                long dataSize = structure.getDataSize();
-                CodeType codeType = structure.getCodeType();
-                g.fillRect(cursorX, cursorY, width, height);
-                g.setColor(colorsProfile.getCursorNegativeColor());
-                BinaryData contentData = codeArea.getContentData();
-                int row = (cursorY + scrollPosition.getRowOffset() - dataViewY) / rowHeight;
-                int scrolledX = cursorX + scrollPosition.getCharPosition() * characterWidth + scrollPosition.getCharOffset();
-                int posY = dataViewY + (row + 1) * rowHeight - subFontSpace - scrollPosition.getRowOffset();
-                long dataPosition = caret.getDataPosition();
-                if (viewMode != CodeAreaViewMode.CODE_MATRIX && caret.getSection() == BasicCodeAreaSection.TEXT_PREVIEW) {
-                    int charPos = (scrolledX - previewRelativeX) / characterWidth;
-                    if (dataPosition >= dataSize) {
-                        break;
-                    }
-
-                    if (maxBytesPerChar > 1) {
-                        int charDataLength = maxBytesPerChar;
-                        if (dataPosition + maxBytesPerChar > dataSize) {
-                            charDataLength = (int) (dataSize - dataPosition);
-                        }
-
-                        if (contentData == null) {
-                            cursorDataCache.cursorChars[0] = ' ';
-                        } else {
-                            contentData.copyToArray(dataPosition, cursorDataCache.cursorData, 0, charDataLength);
-                            String displayString = new String(cursorDataCache.cursorData, 0, charDataLength, charset);
-                            if (!displayString.isEmpty()) {
-                                cursorDataCache.cursorChars[0] = displayString.charAt(0);
-                            }
-                        }
-                    } else {
-                        if (charMappingCharset == null || charMappingCharset != charset) {
-                            buildCharMapping(charset);
-                        }
-
-                        if (contentData == null) {
-                            cursorDataCache.cursorChars[0] = ' ';
-                        } else {
-                            cursorDataCache.cursorChars[0] = charMapping[contentData.getByte(dataPosition) & 0xFF];
-                        }
-                    }
-                    int posX = previewRelativeX + charPos * characterWidth - scrollPosition.getCharPosition() * characterWidth - scrollPosition.getCharOffset();
-                    drawCenteredChars(g, cursorDataCache.cursorChars, 0, 1, characterWidth, posX, posY);
-                } else {
-                    int charPos = (scrolledX - dataViewX) / characterWidth;
-                    int byteOffset = structure.computePositionByte(charPos);
-                    int codeCharPos = structure.computeFirstCodeCharacterPos(byteOffset);
-
-                    if (contentData != null && dataPosition < dataSize) {
-                        byte dataByte = contentData.getByte(dataPosition);
-                        CodeAreaUtils.byteToCharsCode(dataByte, codeType, cursorDataCache.cursorChars, 0, codeCharactersCase);
-                    } else {
-                        Arrays.fill(cursorDataCache.cursorChars, ' ');
-                    }
-                    int posX = dataViewX + codeCharPos * characterWidth - scrollPosition.getCharPosition() * characterWidth - scrollPosition.getCharOffset();
-                    int charsOffset = charPos - codeCharPos;
-                    drawCenteredChars(g, cursorDataCache.cursorChars, charsOffset, 1, characterWidth, posX + (charsOffset * characterWidth), posY);
-                }
-                break;
-            }
-            default:
-                throw new IllegalStateException("Unexpected rendering mode " + renderingMode.name());
-        }
-    }
-
-    @Nonnull
-    @Override
-    public CodeAreaCaretPosition mousePositionToClosestCaretPosition(int positionX, int positionY, CaretOverlapMode overflowMode) {
-        DefaultCodeAreaCaretPosition caret = new DefaultCodeAreaCaretPosition();
-        CodeAreaScrollPosition scrollPosition = scrolling.getScrollPosition();
-        int characterWidth = metrics.getCharacterWidth();
-        int rowHeight = metrics.getRowHeight();
-        int rowPositionAreaWidth = dimensions.getRowPositionAreaWidth();
-        int headerAreaHeight = dimensions.getHeaderAreaHeight();
-
-        int diffX = 0;
-        if (positionX < rowPositionAreaWidth) {
-            if (overflowMode == CaretOverlapMode.PARTIAL_OVERLAP) {
-                diffX = 1;
-            }
-            positionX = rowPositionAreaWidth;
-        }
-        int cursorCharX = (positionX - rowPositionAreaWidth + scrollPosition.getCharOffset()) / characterWidth + scrollPosition.getCharPosition() - diffX;
-        if (cursorCharX < 0) {
-            cursorCharX = 0;
-        }
-
-        int diffY = 0;
-        if (positionY < headerAreaHeight) {
-            if (overflowMode == CaretOverlapMode.PARTIAL_OVERLAP) {
-                diffY = 1;
-            }
-            positionY = headerAreaHeight;
-        }
-        long cursorRowY = (positionY - headerAreaHeight + scrollPosition.getRowOffset()) / rowHeight + scrollPosition.getRowPosition() - diffY;
-        if (cursorRowY < 0) {
-            cursorRowY = 0;
-        }
-
-        CodeAreaViewMode viewMode = structure.getViewMode();
-        int previewCharPos = visibility.getPreviewCharPos();
-        int bytesPerRow = structure.getBytesPerRow();
-        CodeType codeType = structure.getCodeType();
-        long dataSize = structure.getDataSize();
-        long dataPosition;
-        int codeOffset = 0;
-        int byteOnRow;
-        if ((viewMode == CodeAreaViewMode.DUAL && cursorCharX < previewCharPos) || viewMode == CodeAreaViewMode.CODE_MATRIX) {
-            caret.setSection(BasicCodeAreaSection.CODE_MATRIX);
-            byteOnRow = structure.computePositionByte(cursorCharX);
-            if (byteOnRow >= bytesPerRow) {
-                codeOffset = 0;
-            } else {
-                codeOffset = cursorCharX - structure.computeFirstCodeCharacterPos(byteOnRow);
-                if (codeOffset >= codeType.getMaxDigitsForByte()) {
-                    codeOffset = codeType.getMaxDigitsForByte() - 1;
-                }
-            }
-        } else {
-            caret.setSection(BasicCodeAreaSection.TEXT_PREVIEW);
-            byteOnRow = cursorCharX;
-            if (viewMode == CodeAreaViewMode.DUAL) {
-                byteOnRow -= previewCharPos;
-            }
-        }
-
-        if (byteOnRow >= bytesPerRow) {
-            byteOnRow = bytesPerRow - 1;
-        }
-
-        dataPosition = byteOnRow + (cursorRowY * bytesPerRow);
-        if (dataPosition < 0) {
-            dataPosition = 0;
-            codeOffset = 0;
-        }
-
-        if (dataPosition >= dataSize) {
-            dataPosition = dataSize;
-            codeOffset = 0;
-        }
-
-        caret.setDataPosition(dataPosition);
-        caret.setCodeOffset(codeOffset);
-        return caret;
-    }
-
-    @Nonnull
-    @Override
-    public CodeAreaCaretPosition computeMovePosition(CodeAreaCaretPosition position, MovementDirection direction) {
-        return structure.computeMovePosition(position, direction, dimensions.getRowsPerPage());
-    }
-
-    @Nonnull
-    @Override
-    public CodeAreaScrollPosition computeScrolling(CodeAreaScrollPosition startPosition, ScrollingDirection direction) {
-        int rowsPerPage = dimensions.getRowsPerPage();
-        long rowsPerDocument = structure.getRowsPerDocument();
-        return scrolling.computeScrolling(startPosition, direction, rowsPerPage, rowsPerDocument);
-    }
-
-    /**
-     * Returns relative cursor position in code area or null if cursor is not
-     * visible.
-     *
-     * @param dataPosition data position
-     * @param codeOffset code offset
-     * @param section section
-     * @return cursor position or null
-     */
-    @Nullable
-    public Point getPositionPoint(long dataPosition, int codeOffset, CodeAreaSection section) {
-        int bytesPerRow = structure.getBytesPerRow();
-        int rowsPerRect = dimensions.getRowsPerRect();
-        int characterWidth = metrics.getCharacterWidth();
-        int rowHeight = metrics.getRowHeight();
-
-        CodeAreaScrollPosition scrollPosition = scrolling.getScrollPosition();
-        long row = dataPosition / bytesPerRow - scrollPosition.getRowPosition();
-        if (row < -1 || row > rowsPerRect) {
-            return null;
-        }
-
-        int byteOffset = (int) (dataPosition % bytesPerRow);
-
-        Rectangle dataViewRect = dimensions.getDataViewRectangle();
-        int caretY = (int) (dataViewRect.y + row * rowHeight) - scrollPosition.getRowOffset();
-        int caretX;
-        if (section == BasicCodeAreaSection.TEXT_PREVIEW) {
-            caretX = dataViewRect.x + visibility.getPreviewRelativeX() + characterWidth * byteOffset;
-        } else {
-            caretX = dataViewRect.x + characterWidth * (structure.computeFirstCodeCharacterPos(byteOffset) + codeOffset);
-        }
-        caretX -= scrollPosition.getCharPosition() * characterWidth + scrollPosition.getCharOffset();
-
-        return new Point(caretX, caretY);
-    }
-
-    private void updateMirrorCursorRect(long dataPosition, CodeAreaSection section) {
-        CodeType codeType = structure.getCodeType();
-        Point mirrorCursorPoint = getPositionPoint(dataPosition, 0, section == BasicCodeAreaSection.CODE_MATRIX ? BasicCodeAreaSection.TEXT_PREVIEW : BasicCodeAreaSection.CODE_MATRIX);
-        if (mirrorCursorPoint == null) {
-            cursorDataCache.mirrorCursorRect.setSize(0, 0);
-        } else {
-            cursorDataCache.mirrorCursorRect.setBounds(mirrorCursorPoint.x, mirrorCursorPoint.y, metrics.getCharacterWidth() * (section == BasicCodeAreaSection.TEXT_PREVIEW ? codeType.getMaxDigitsForByte() : 1), metrics.getRowHeight());
-        }
-    }
-
-    @Override
-    public int getMouseCursorShape(int positionX, int positionY) {
-        int dataViewX = dimensions.getScrollPanelX();
-        int dataViewY = dimensions.getScrollPanelY();
-        int scrollPanelWidth = dimensions.getScrollPanelWidth();
-        int scrollPanelHeight = dimensions.getScrollPanelHeight();
-        if (positionX >= dataViewX && positionX < dataViewX + scrollPanelWidth
-                && positionY >= dataViewY && positionY < dataViewY + scrollPanelHeight) {
-            return Cursor.TEXT_CURSOR;
-        }
-
-        return Cursor.DEFAULT_CURSOR;
-    }
-
-    @Nonnull
-    @Override
-    public BasicCodeAreaZone getPositionZone(int positionX, int positionY) {
-        return dimensions.getPositionZone(positionX, positionY);
-    }
-
-    @Nonnull
-    @Override
-    public BasicCodeAreaColorsProfile getBasicColors() {
-        return colorsProfile;
-    }
-
-    @Override
-    public void setBasicColors(BasicCodeAreaColorsProfile colorsProfile) {
-        this.colorsProfile = colorsProfile;
-    }
-
-    /**
-     * Draws characters centering it to cells of the same width.
-     *
-     * @param g graphics
-     * @param drawnChars array of chars
-     * @param charOffset index of target character in array
-     * @param length number of characters to draw
-     * @param cellWidth width of cell to center into
-     * @param positionX X position of drawing area start
-     * @param positionY Y position of drawing area start
-     */
-    protected void drawCenteredChars(Graphics g, char[] drawnChars, int charOffset, int length, int cellWidth, int positionX, int positionY) {
-        int pos = 0;
-        int group = 0;
-        while (pos < length) {
-            char drawnChar = drawnChars[charOffset + pos];
-            int charWidth = metrics.getCharWidth(drawnChar);
-
-            boolean groupable;
-            if (metrics.hasUniformLineMetrics()) {
-                groupable = charWidth == cellWidth;
-            } else {
-                int charsWidth = metrics.getCharsWidth(drawnChars, charOffset + pos - group, group + 1);
-                groupable = charsWidth == cellWidth * (group + 1);
-            }
-
-            switch (Character.getDirectionality(drawnChar)) {
-                case Character.DIRECTIONALITY_UNDEFINED:
-                case Character.DIRECTIONALITY_RIGHT_TO_LEFT:
-                case Character.DIRECTIONALITY_RIGHT_TO_LEFT_ARABIC:
-                case Character.DIRECTIONALITY_RIGHT_TO_LEFT_EMBEDDING:
-                case Character.DIRECTIONALITY_RIGHT_TO_LEFT_OVERRIDE:
-                case Character.DIRECTIONALITY_POP_DIRECTIONAL_FORMAT:
-                case Character.DIRECTIONALITY_BOUNDARY_NEUTRAL:
-                case Character.DIRECTIONALITY_OTHER_NEUTRALS:
-                    groupable = false;
-            }
-
-            if (groupable) {
-                group++;
-            } else {
-                if (group > 0) {
-                    drawShiftedChars(g, drawnChars, charOffset + pos - group, group, positionX + (pos - group) * cellWidth, positionY);
-                    group = 0;
-                }
-                drawShiftedChars(g, drawnChars, charOffset + pos, 1, positionX + pos * cellWidth + ((cellWidth - charWidth) / 2), positionY);
-            }
-            pos++;
-        }
-        if (group > 0) {
-            drawShiftedChars(g, drawnChars, charOffset + pos - group, group, positionX + (pos - group) * cellWidth, positionY);
-        }
-    }
-
-    protected void drawShiftedChars(Graphics g, char[] drawnChars, int charOffset, int length, int positionX, int positionY) {
-        g.drawChars(drawnChars, charOffset, length, positionX, positionY);
-    }
-
-    /**
-     * Precomputes widths for basic ascii characters.
-     *
-     * @param charset character set
-     */
-    private void buildCharMapping(Charset charset) {
-        for (int i = 0; i < 256; i++) {
-            charMapping[i] = new String(new byte[]{(byte) i}, charset).charAt(0);
-        }
-        charMappingCharset = charset;
-    }
-
-    private int getRowPositionLength() {
-        if (minRowPositionLength > 0 && minRowPositionLength == maxRowPositionLength) {
-            return minRowPositionLength;
-        }
-
-        long dataSize = codeArea.getDataSize();
-        if (dataSize == 0) {
-            return 1;
-        }
-
-        double natLog = Math.log(dataSize == Long.MAX_VALUE ? dataSize : dataSize + 1);
-        int positionLength = (int) Math.ceil(natLog / PositionCodeType.HEXADECIMAL.getBaseLog());
-        if (minRowPositionLength > 0 && positionLength < minRowPositionLength) {
-            positionLength = minRowPositionLength;
-        }
-        if (maxRowPositionLength > 0 && positionLength > maxRowPositionLength) {
-            positionLength = maxRowPositionLength;
-        }
-
-        return positionLength == 0 ? 1 : positionLength;
-    }
-
-    /**
-     * Returns cursor rectangle.
-     *
-     * @param dataPosition data position
-     * @param codeOffset code offset
-     * @param section section
-     * @return cursor rectangle or empty rectangle
-     */
-    @Nonnull
-    public Rectangle getCursorPositionRect(long dataPosition, int codeOffset, CodeAreaSection section) {
-        Rectangle rect = new Rectangle();
-        updateRectToCursorPosition(rect, dataPosition, codeOffset, section);
-        return rect;
-    }
-
-    protected void updateRectToCursorPosition(Rectangle rect, long dataPosition, int codeOffset, CodeAreaSection section) {
-        int characterWidth = metrics.getCharacterWidth();
-        int rowHeight = metrics.getRowHeight();
-        Point cursorPoint = getPositionPoint(dataPosition, codeOffset, section);
-        if (cursorPoint == null) {
-            rect.setBounds(0, 0, 0, 0);
-        } else {
-            DefaultCodeAreaCaret.CursorShape cursorShape = editationOperation == EditationOperation.INSERT ? DefaultCodeAreaCaret.CursorShape.INSERT : DefaultCodeAreaCaret.CursorShape.OVERWRITE;
-            int cursorThickness = DefaultCodeAreaCaret.getCursorThickness(cursorShape, characterWidth, rowHeight);
-            rect.setBounds(cursorPoint.x, cursorPoint.y, cursorThickness, rowHeight);
-        }
-    }
-
-    /**
-     * Renders sequence of background rectangles.
-     *
-     * Doesn't include character at offset end.
-     */
-    private void renderBackgroundSequence(Graphics g, int startOffset, int endOffset, int rowPositionX, int positionY) {
-        int characterWidth = metrics.getCharacterWidth();
-        int rowHeight = metrics.getRowHeight();
-        g.fillRect(rowPositionX + startOffset * characterWidth, positionY, (endOffset - startOffset) * characterWidth, rowHeight);
-    }
-
-    @Override
-    public void updateScrollBars() {
-        int characterWidth = metrics.getCharacterWidth();
-        int rowHeight = metrics.getRowHeight();
-        long rowsPerDocument = structure.getRowsPerDocument();
-
-        scrollingUpdate = true;
-        recomputeScrollState();
-        JScrollBar verticalScrollBar = scrollPanel.getVerticalScrollBar();
-        scrollPanel.setVerticalScrollBarPolicy(CodeAreaSwingUtils.getVerticalScrollBarPolicy(scrolling.getVerticalScrollBarVisibility()));
-        JScrollBar horizontalScrollBar = scrollPanel.getHorizontalScrollBar();
-        scrollPanel.setHorizontalScrollBarPolicy(CodeAreaSwingUtils.getHorizontalScrollBarPolicy(scrolling.getHorizontalScrollBarVisibility()));
-
-        int verticalScrollValue = scrolling.getVerticalScrollValue(rowHeight, rowsPerDocument);
-        verticalScrollBar.setValue(verticalScrollValue);
-
-        int horizontalScrollValue = scrolling.getHorizontalScrollValue(characterWidth);
-        horizontalScrollBar.setValue(horizontalScrollValue);
-
-        scrollingUpdate = false;
-    }
-
-    @Override
-    public void scrollPositionModified() {
-        scrolling.clearLastVerticalScrollingValue();
-    }
-
-    @Override
-    public void scrollPositionChanged() {
-        reset();
-        updateScrollBars();
-    }
-
-    private void horizontalExtentChanged() {
-        scrollingUpdate = true;
-        horizontalScrollBarModel.notifyChanged();
-        scrollingUpdate = false;
-    }
-
-    private void verticalExtentChanged() {
-        scrollingUpdate = true;
-        verticalScrollBarModel.notifyChanged();
-        scrollingUpdate = false;
-    }
-
-    private void dataChanged() {
-        scrollingUpdate = true;
-        validateCaret();
-        recomputeLayout();
-        scrollingUpdate = false;
-    }
-
-    protected int getCharactersPerRow() {
-        return structure.getCharactersPerRow();
-    }
-
-    public int getBytesPerRow() {
-        return structure.getBytesPerRow();
-    }
-
-    public int getRowHeight() {
-        return metrics.getRowHeight();
-    }
-
-    private int getHorizontalScrollBarSize() {
-        JScrollBar horizontalScrollBar = scrollPanel.getHorizontalScrollBar();
-        return horizontalScrollBar.isVisible() ? horizontalScrollBar.getHeight() : 0;
-    }
-
-    private int getVerticalScrollBarSize() {
-        JScrollBar verticalScrollBar = scrollPanel.getVerticalScrollBar();
-        return verticalScrollBar.isVisible() ? verticalScrollBar.getWidth() : 0;
-    }
-
-    private class VerticalScrollBarModel extends DefaultBoundedRangeModel {
-
-        public VerticalScrollBarModel() {
-            super();
-        }
-
-        @Override
-        public int getExtent() {
-            return super.getExtent() - scrolling.getVerticalExtentDifference();
-        }
-
-        @Override
-        public int getMaximum() {
-            return super.getMaximum() - scrolling.getVerticalExtentDifference();
-        }
-
-        @Override
-        public void setRangeProperties(int newValue, int newExtent, int newMin, int newMax, boolean adjusting) {
-            super.setRangeProperties(newValue, newExtent, newMin, newMax, adjusting);
-            if (newValue == scrolling.getLastVerticalScrollingValue() && (newValue <= newMin || newValue >= newMax - newExtent)) {
-                // We still want to report change when scrolling up on corners for big files
-                fireStateChanged();
-            }
-        }
-
-        @Override
-        public void setValue(int n) {
-            // Keeps previous value - depends on that scrolling by button calls this method
-            scrolling.setLastVerticalScrollingValue(getValue());
-            super.setValue(n);
-        }
-
-        public void notifyChanged() {
-            fireStateChanged();
-        }
-    }
-
-    private class HorizontalScrollBarModel extends DefaultBoundedRangeModel {
-
-        public HorizontalScrollBarModel() {
-            super();
-        }
-
-        @Override
-        public int getExtent() {
-            return super.getExtent() - scrolling.getHorizontalExtentDifference();
-        }
-
-        @Override
-        public int getMaximum() {
-            return super.getMaximum() - scrolling.getHorizontalExtentDifference();
-        }
-
-        public void notifyChanged() {
-            fireStateChanged();
-        }
-    }
-
-    private class VerticalAdjustmentListener implements AdjustmentListener {
-
-        private boolean wasAdjusting = false;
-
-        public VerticalAdjustmentListener() {
-        }
-
-        @Override
-        public void adjustmentValueChanged(@Nullable AdjustmentEvent e) {
-            if (e == null || scrollingUpdate) {
-                return;
-            }
-
-            boolean overriden = false;
-
-            if (!e.getValueIsAdjusting()) {
-                if (wasAdjusting) {
-                    wasAdjusting = false;
-                } else {
-                    // Override scrolling up/down by scrollbar buttons with direct operation
-                    int lastValue = scrolling.getLastVerticalScrollingValue();
-                    if (scrolling.getScrollBarVerticalScale() == ScrollBarVerticalScale.SCALED) {
-                        if (lastValue != -1) {
-                            if (e.getValue() == lastValue - 1 || (lastValue == 0 && e.getValue() == 0)) {
-                                scrolling.performScrolling(ScrollingDirection.UP, dimensions.getRowsPerPage(), structure.getRowsPerDocument());
-                                ((ScrollingCapable) codeArea).setScrollPosition(scrolling.getScrollPosition());
-                            }
-
-                            int maxScroll = verticalScrollBarModel.getMaximum() - verticalScrollBarModel.getExtent();
-                            if (e.getValue() == lastValue + 1 || (lastValue == maxScroll && e.getValue() == maxScroll)) {
-                                scrolling.performScrolling(ScrollingDirection.DOWN, dimensions.getRowsPerPage(), structure.getRowsPerDocument());
-                                ((ScrollingCapable) codeArea).setScrollPosition(scrolling.getScrollPosition());
-                            }
-                        }
-                        overriden = true;
-                    }
-                }
-            } else {
-                wasAdjusting = true;
-            }
-
-            if (!overriden) {
-                int scrollBarValue = scrollPanel.getVerticalScrollBar().getValue();
-                int maxValue = Integer.MAX_VALUE - scrollPanel.getVerticalScrollBar().getVisibleAmount();
-                long rowsPerDocumentToLastPage = structure.getRowsPerDocument() - dimensions.getRowsPerRect();
-                scrolling.updateVerticalScrollBarValue(scrollBarValue, metrics.getRowHeight(), maxValue, rowsPerDocumentToLastPage);
-                ((ScrollingCapable) codeArea).setScrollPosition(scrolling.getScrollPosition());
-            }
-
-            notifyScrolled();
-            codeArea.repaint();
-//            dataViewScrolled(codeArea.getGraphics());
-        }
-    }
-
-    private class HorizontalAdjustmentListener implements AdjustmentListener {
-
-        public HorizontalAdjustmentListener() {
-        }
-
-        @Override
-        public void adjustmentValueChanged(@Nullable AdjustmentEvent e) {
-            if (e == null || scrollingUpdate) {
-                return;
-            }
-
-            int scrollBarValue = scrollPanel.getHorizontalScrollBar().getValue();
-            scrolling.updateHorizontalScrollBarValue(scrollBarValue, metrics.getCharacterWidth());
-            ((ScrollingCapable) codeArea).setScrollPosition(scrolling.getScrollPosition());
-            notifyScrolled();
-            codeArea.repaint();
-//            dataViewScrolled(codeArea.getGraphics());
-        }
-    }
-
-    private void notifyScrolled() {
-        recomputeScrollState();
-        ((ScrollingCapable) codeArea).notifyScrolled();
-    }
-
-    private static class RowDataCache {
-
-        char[] headerChars;
-        byte[] rowData;
-        char[] rowPositionCode;
-        char[] rowCharacters;
-    }
-
-    private static class CursorDataCache {
-
-        Rectangle caretRect = new Rectangle();
-        Rectangle mirrorCursorRect = new Rectangle();
-        final Stroke dashedStroke = new BasicStroke(1, BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL, 0, new float[]{2}, 0);
-        int cursorCharsLength;
-        char[] cursorChars;
-        int cursorDataLength;
-        byte[] cursorData;
-    }
-
-    protected enum ScrollingState {
-        NO_SCROLLING,
-        SCROLLING_BY_SCROLLBAR,
-        SCROLLING_BY_MOVEMENT
-    }
-}
+/*
+ * Copyright (C) ExBin Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.exbin.bined.swing.basic;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Cursor;
+import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Insets;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Stroke;
+import java.awt.event.AdjustmentEvent;
+import java.awt.event.AdjustmentListener;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.ComponentListener;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Optional;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+import javax.swing.DefaultBoundedRangeModel;
+import javax.swing.JPanel;
+import javax.swing.JScrollBar;
+import javax.swing.JScrollPane;
+import javax.swing.JViewport;
+import javax.swing.border.EmptyBorder;
+import org.exbin.bined.basic.BasicCodeAreaSection;
+import org.exbin.bined.basic.BasicCodeAreaZone;
+import org.exbin.bined.CodeAreaCaret;
+import org.exbin.bined.DefaultCodeAreaCaretPosition;
+import org.exbin.bined.CodeAreaSection;
+import org.exbin.bined.CodeAreaUtils;
+import org.exbin.bined.basic.CodeAreaViewMode;
+import org.exbin.bined.CodeCharactersCase;
+import org.exbin.bined.CodeType;
+import org.exbin.bined.EditationOperation;
+import org.exbin.bined.PositionCodeType;
+import org.exbin.bined.CaretOverlapMode;
+import org.exbin.bined.CharsetPreviewDecoder;
+import org.exbin.bined.SelectionRange;
+import org.exbin.bined.basic.BasicBackgroundPaintMode;
+import org.exbin.bined.basic.BasicCodeAreaScrolling;
+import org.exbin.bined.basic.BasicCodeAreaStructure;
+import org.exbin.bined.basic.CodeAreaPaintMonitor;
+import org.exbin.bined.basic.CodeAreaPaintPhase;
+import org.exbin.bined.basic.PaintMonitorCapableCodeAreaPainter;
+import org.exbin.bined.basic.CodeAreaRowCache;
+import org.exbin.bined.basic.CodeAreaScrollPosition;
+import org.exbin.bined.basic.MovementDirection;
+import org.exbin.bined.basic.PositionScrollVisibility;
+import org.exbin.bined.basic.ScrollingDirection;
+import org.exbin.bined.capability.BackgroundPaintCapable;
+import org.exbin.bined.capability.CaretCapable;
+import org.exbin.bined.capability.CharsetCapable;
+import org.exbin.bined.capability.CodeCharactersCaseCapable;
+import org.exbin.bined.capability.EditationModeCapable;
+import org.exbin.bined.capability.RowWrappingCapable;
+import org.exbin.bined.capability.ScrollingCapable;
+import org.exbin.bined.swing.CodeAreaCore;
+import org.exbin.bined.swing.CodeAreaPaintBuffer;
+import org.exbin.bined.swing.CodeAreaPainter;
+import org.exbin.bined.swing.CodeAreaSwingUtils;
+import org.exbin.bined.swing.basic.DefaultCodeAreaCaret.CursorRenderingMode;
+import org.exbin.bined.swing.basic.color.BasicCodeAreaColorsProfile;
+import org.exbin.bined.swing.basic.color.BasicColorsCapableCodeAreaPainter;
+import org.exbin.bined.swing.capability.AntialiasingCapable;
+import org.exbin.bined.swing.capability.FontCapable;
+import org.exbin.auxiliary.paged_data.BinaryData;
+import org.exbin.bined.CodeAreaCaretPosition;
+import org.exbin.bined.DataChangedRange;
+import org.exbin.bined.DataRangeChangedListener;
+import org.exbin.bined.basic.BasicCodeAreaLayout;
+import org.exbin.bined.basic.ScrollBarVerticalScale;
+
+/**
+ * Code area component default painter.
+ *
+ * @version 0.2.0 2021/07/09
+ * @author ExBin Project (https://exbin.org)
+ */
+@ParametersAreNonnullByDefault
+public class DefaultCodeAreaPainter implements CodeAreaPainter, BasicColorsCapableCodeAreaPainter, PaintMonitorCapableCodeAreaPainter {
+
+    @Nonnull
+    protected final CodeAreaCore codeArea;
+    private volatile boolean initialized = false;
+    private volatile boolean scrollingUpdate = false;
+
+    private volatile boolean fontChanged = false;
+    private volatile boolean layoutChanged = true;
+    private volatile boolean resetColors = true;
+    private volatile boolean caretChanged = true;
+
+    @Nonnull
+    private final JPanel dataView;
+    @Nonnull
+    private final JScrollPane scrollPanel;
+    @Nonnull
+    private final VerticalScrollBarModel verticalScrollBarModel;
+    @Nonnull
+    private final HorizontalScrollBarModel horizontalScrollBarModel;
+    @Nonnull
+    private final DefaultCodeAreaMouseListener codeAreaMouseListener;
+    @Nonnull
+    private final ComponentListener codeAreaComponentListener;
+    @Nonnull
+    private final DataRangeChangedListener codeAreaDataChangeListener;
+
+    @Nonnull
+    private final BasicCodeAreaMetrics metrics = new BasicCodeAreaMetrics();
+    @Nonnull
+    private final BasicCodeAreaStructure structure = new BasicCodeAreaStructure();
+    @Nonnull
+    private final BasicCodeAreaScrolling scrolling = new BasicCodeAreaScrolling();
+    @Nonnull
+    private final BasicCodeAreaDimensions dimensions = new BasicCodeAreaDimensions();
+    @Nonnull
+    private final BasicCodeAreaVisibility visibility = new BasicCodeAreaVisibility();
+    @Nonnull
+    private volatile ScrollingState scrollingState = ScrollingState.NO_SCROLLING;
+
+    @Nonnull
+    private final BasicCodeAreaLayout layout = new BasicCodeAreaLayout();
+    @Nonnull
+    private BasicCodeAreaColorsProfile colorsProfile = new BasicCodeAreaColorsProfile();
+
+    @Nullable
+    private CodeCharactersCase codeCharactersCase;
+    @Nullable
+    private EditationOperation editationOperation;
+    @Nullable
+    private BasicBackgroundPaintMode backgroundPaintMode;
+    private boolean showMirrorCursor;
+    @Nonnull
+    private AntialiasingMode antialiasingMode = AntialiasingMode.AUTO;
+
+    private int rowPositionLength;
+    private int minRowPositionLength;
+    private int maxRowPositionLength;
+
+    @Nullable
+    private Font font;
+    @Nullable
+    private Charset charset;
+
+    @Nullable
+    private RowDataCache rowDataCache = null;
+    @Nullable
+    private CursorDataCache cursorDataCache = null;
+    @Nonnull
+    private final CodeAreaRowCache rowCache = new CodeAreaRowCache();
+    private final CodeAreaPaintBuffer paintBuffer = new CodeAreaPaintBuffer();
+    private final CodeAreaPaintMonitor paintMonitor = new CodeAreaPaintMonitor();
+    private final CodeAreaScrollPosition paintedScrollPosition = new CodeAreaScrollPosition();
+    private final Rectangle paintedCursorRect = new Rectangle();
+    private final Rectangle paintedMirrorCursorRect = new Rectangle();
+    @Nonnull
+    private final int[] rowCacheVisibility = new int[5];
+
+    @Nullable
+    private Charset charMappingCharset = null;
+    @Nonnull
+    private final char[] charMapping = new char[256];
+    @Nonnull
+    private final CharsetPreviewDecoder previewDecoder = new CharsetPreviewDecoder();
+
+    public DefaultCodeAreaPainter(CodeAreaCore codeArea) {
+        this.codeArea = codeArea;
+
+        dataView = new JPanel();
+        dataView.setBorder(null);
+        dataView.setVisible(false);
+        dataView.setLayout(null);
+        dataView.setOpaque(false);
+        dataView.setInheritsPopupMenu(true);
+        // Fill whole area, no more suitable method found so far
+        dataView.setPreferredSize(new Dimension(0, 0));
+        scrollPanel = new JScrollPane();
+        scrollPanel.setBorder(new EmptyBorder(0, 0, 0, 0));
+        scrollPanel.setIgnoreRepaint(true);
+        scrollPanel.setOpaque(false);
+        scrollPanel.setInheritsPopupMenu(true);
+        scrollPanel.setViewportBorder(null);
+        JScrollBar verticalScrollBar = scrollPanel.getVerticalScrollBar();
+        verticalScrollBar.setIgnoreRepaint(true);
+        verticalScrollBar.addAdjustmentListener(new VerticalAdjustmentListener());
+        verticalScrollBarModel = new VerticalScrollBarModel();
+        verticalScrollBar.setModel(verticalScrollBarModel);
+        JScrollBar horizontalScrollBar = scrollPanel.getHorizontalScrollBar();
+        horizontalScrollBar.setIgnoreRepaint(true);
+        horizontalScrollBar.addAdjustmentListener(new HorizontalAdjustmentListener());
+        horizontalScrollBarModel = new HorizontalScrollBarModel();
+        horizontalScrollBar.setModel(horizontalScrollBarModel);
+        scrollPanel.setViewportView(dataView);
+        JViewport viewport = scrollPanel.getViewport();
+        viewport.setOpaque(false);
+        scrolling.setHorizontalExtentChangeListener(() -> horizontalExtentChanged());
+        scrolling.setVerticalExtentChangeListener(() -> verticalExtentChanged());
+
+        codeAreaMouseListener = new DefaultCodeAreaMouseListener(codeArea, scrollPanel);
+        viewport.addMouseListener(codeAreaMouseListener);
+        viewport.addMouseMotionListener(codeAreaMouseListener);
+        viewport.addMouseWheelListener(codeAreaMouseListener);
+        codeAreaComponentListener = new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                recomputeLayout();
+            }
+        };
+        codeAreaDataChangeListener = new DataRangeChangedListener() {
+            @Override
+            public void dataChanged() {
+                DefaultCodeAreaPainter.this.dataChanged();
+            }
+
+            @Override
+            public void dataRangeChanged(DataChangedRange range) {
+                DefaultCodeAreaPainter.this.dataRangeChanged(range);
+            }
+        };
+        colorsProfile.reinitialize();
+    }
+
+    @Override
+    public void attach() {
+        codeArea.add(scrollPanel);
+        codeArea.addMouseListener(codeAreaMouseListener);
+        codeArea.addMouseMotionListener(codeAreaMouseListener);
+        codeArea.addMouseWheelListener(codeAreaMouseListener);
+        codeArea.addComponentListener(codeAreaComponentListener);
+        codeArea.addDataChangedListener(codeAreaDataChangeListener);
+    }
+
+    @Override
+    public void detach() {
+        codeArea.remove(scrollPanel);
+        codeArea.removeMouseListener(codeAreaMouseListener);
+        codeArea.removeMouseMotionListener(codeAreaMouseListener);
+        codeArea.removeMouseWheelListener(codeAreaMouseListener);
+        codeArea.removeComponentListener(codeAreaComponentListener);
+        codeArea.removeDataChangedListener(codeAreaDataChangeListener);
+    }
+
+    @Override
+    public void reset() {
+        resetColors();
+        resetFont();
+        resetLayout();
+        resetCaret();
+    }
+
+    @Override
+    public void resetColors() {
+        resetColors = true;
+        paintBuffer.invalidate();
+    }
+
+    @Override
+    public void resetFont() {
+        fontChanged = true;
+        resetLayout();
+    }
+
+    @Override
+    public void resetLayout() {
+        layoutChanged = true;
+        rowCache.clear();
+        paintBuffer.invalidate();
+    }
+
+    @Override
+    public void resetCaret() {
+        caretChanged = true;
+        paintBuffer.invalidate();
+    }
+
+    @Override
+    public void resetPaintBuffer() {
+        paintBuffer.invalidate();
+    }
+
+    @Override
+    public void rebuildColors() {
+        colorsProfile.reinitialize();
+    }
+
+    public void recomputeLayout() {
+        rowPositionLength = getRowPositionLength();
+        recomputeDimensions();
+
+        int charactersPerPage = dimensions.getCharactersPerPage();
+        structure.updateCache(codeArea, charactersPerPage);
+        codeCharactersCase = ((CodeCharactersCaseCapable) codeArea).getCodeCharactersCase();
+        backgroundPaintMode = ((BackgroundPaintCapable) codeArea).getBackgroundPaintMode();
+        showMirrorCursor = ((CaretCapable) codeArea).isShowMirrorCursor();
+        antialiasingMode = ((AntialiasingCapable) codeArea).getAntialiasingMode();
+        minRowPositionLength = ((RowWrappingCapable) codeArea).getMinRowPositionLength();
+        maxRowPositionLength = ((RowWrappingCapable) codeArea).getMaxRowPositionLength();
+
+        int rowsPerPage = dimensions.getRowsPerPage();
+        long rowsPerDocument = structure.getRowsPerDocument();
+        int charactersPerRow = structure.getCharactersPerRow();
+
+        if (metrics.isInitialized()) {
+            scrolling.updateMaximumScrollPosition(rowsPerDocument, rowsPerPage, charactersPerRow, charactersPerPage, dimensions.getLastCharOffset(), dimensions.getLastRowOffset());
+        }
+
+        recomputeScrollState();
+
+        layoutChanged = false;
+    }
+
+    private void updateCaret() {
+        editationOperation = ((EditationModeCapable) codeArea).getActiveOperation();
+
+        caretChanged = false;
+    }
+
+    private void validateCaret() {
+        CodeAreaCaret caret = ((CaretCapable) codeArea).getCaret();
+        CodeAreaCaretPosition caretPosition = caret.getCaretPosition();
+        if (caretPosition.getDataPosition() > codeArea.getDataSize()) {
+            caret.setCaretPosition(null);
+        }
+    }
+
+    private void recomputeDimensions() {
+        int verticalScrollBarSize = getVerticalScrollBarSize();
+        int horizontalScrollBarSize = getHorizontalScrollBarSize();
+        Insets insets = codeArea.getInsets();
+        int componentWidth = codeArea.getWidth() - insets.left - insets.right;
+        int componentHeight = codeArea.getHeight() - insets.top - insets.bottom;
+        dimensions.recomputeSizes(metrics, insets.right, insets.top, componentWidth, componentHeight, rowPositionLength, verticalScrollBarSize, horizontalScrollBarSize);
+    }
+
+    public void recomputeCharPositions() {
+        visibility.recomputeCharPositions(metrics, structure, dimensions, layout, scrolling);
+        updateRowDataCache();
+    }
+
+    private void updateRowDataCache() {
+        if (rowDataCache == null) {
+            rowDataCache = new RowDataCache();
+        }
+
+        int headerCharsLength = visibility.getCharactersPerCodeSection();
+        if (rowDataCache.headerChars == null || rowDataCache.headerChars.length != headerCharsLength) {
+            rowDataCache.headerChars = new char[headerCharsLength];
+        }
+        int rowDataLength = structure.getBytesPerRow() + metrics.getMaxBytesPerChar() - 1;
+        if (rowDataCache.rowData == null || rowDataCache.rowData.length != rowDataLength) {
+            rowDataCache.rowData = new byte[rowDataLength];
+        }
+        if (rowDataCache.rowPositionCode == null || rowDataCache.rowPositionCode.length != rowPositionLength) {
+            rowDataCache.rowPositionCode = new char[rowPositionLength];
+        }
+        int rowCharactersLength = structure.getCharactersPerRow();
+        if (rowDataCache.rowCharacters == null || rowDataCache.rowCharacters.length != rowCharactersLength) {
+            rowDataCache.rowCharacters = new char[rowCharactersLength];
+        }
+
+        validateRowCache();
+    }
+
+    /**
+     * Drops cached rows if visible range of the row changed, because rows are
+     * prepared only for visible characters.
+     */
+    private void validateRowCache() {
+        int skipToCode = visibility.getSkipToCode();
+        int skipRestFromCode = visibility.getSkipRestFromCode();
+        int skipToPreview = visibility.getSkipToPreview();
+        int skipRestFromPreview = visibility.getSkipRestFromPreview();
+        int previewCharPos = visibility.getPreviewCharPos();
+        if (rowCacheVisibility[0] != skipToCode || rowCacheVisibility[1] != skipRestFromCode
+                || rowCacheVisibility[2] != skipToPreview || rowCacheVisibility[3] != skipRestFromPreview
+                || rowCacheVisibility[4] != previewCharPos) {
+            rowCacheVisibility[0] = skipToCode;
+            rowCacheVisibility[1] = skipRestFromCode;
+            rowCacheVisibility[2] = skipToPreview;
+            rowCacheVisibility[3] = skipRestFromPreview;
+            rowCacheVisibility[4] = previewCharPos;
+            rowCache.clear();
+        }
+    }
+
+    public void fontChanged(Graphics g) {
+        if (font == null) {
+            reset();
+        }
+
+        charset = ((CharsetCapable) codeArea).getCharset();
+        font = ((FontCapable) codeArea).getCodeFont();
+        metrics.recomputeMetrics(g.getFontMetrics(font), charset);
+
+        recomputeDimensions();
+        recomputeCharPositions();
+        initialized = true;
+    }
+
+    public void dataViewScrolled(Graphics g) {
+        if (!isInitialized()) {
+            return;
+        }
+
+        recomputeScrollState();
+        if (metrics.getCharacterWidth() > 0) {
+            recomputeCharPositions();
+            paintComponent(g);
+        }
+    }
+
+    private void recomputeScrollState() {
+        scrolling.setScrollPosition(((ScrollingCapable) codeArea).getScrollPosition());
+        int characterWidth = metrics.getCharacterWidth();
+        int rowHeight = metrics.getRowHeight();
+
+        if (characterWidth > 0) {
+            recomputeCharPositions();
+        }
+
+        boolean revalidate = false;
+        Rectangle scrollPanelRectangle = dimensions.getScrollPanelRectangle();
+        Rectangle oldRect = scrollPanel.getBounds();
+        if (!oldRect.equals(scrollPanelRectangle)) {
+            scrollPanel.setBounds(scrollPanelRectangle);
+            revalidate = true;
+        }
+
+        if (rowHeight > 0 && characterWidth > 0) {
+            scrolling.updateCache(codeArea, getHorizontalScrollBarSize(), getVerticalScrollBarSize());
+            JViewport viewport = scrollPanel.getViewport();
+            BasicCodeAreaScrolling.ScrollViewDimension viewDimension = scrolling.computeViewDimension(viewport.getWidth(), viewport.getHeight(), layout, structure, characterWidth, rowHeight);
+            Dimension dataViewSize = new Dimension(viewDimension.getWidth(), viewDimension.getHeight());
+            dataView.setPreferredSize(dataViewSize);
+            dataView.setSize(dataViewSize);
+
+            // TODO on resize only
+            recomputeDimensions();
+
+            scrollPanelRectangle = dimensions.getScrollPanelRectangle();
+            if (!oldRect.equals(scrollPanelRectangle)) {
+                scrollPanel.setBounds(scrollPanelRectangle);
+                revalidate = true;
+            }
+        }
+
+        if (revalidate) {
+            scrollPanel.revalidate();
+        }
+    }
+
+    @Override
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    @Nonnull
+    @Override
+    public CodeAreaPaintMonitor getPaintMonitor() {
+        return paintMonitor;
+    }
+
+    @Override
+    public void paintComponent(Graphics g) {
+        if (!initialized) {
+            reset();
+        }
+        updateCache();
+        if (font == null) {
+            ((FontCapable) codeArea).setCodeFont(codeArea.getFont());
+            fontChanged(g);
+        }
+        if (rowDataCache == null) {
+            return;
+        }
+        if (scrollingState == ScrollingState.SCROLLING_BY_SCROLLBAR) {
+            return;
+        }
+
+        if (antialiasingMode != AntialiasingMode.OFF && g instanceof Graphics2D) {
+            Object antialiasingHint = antialiasingMode.getAntialiasingHint((Graphics2D) g);
+            ((Graphics2D) g).setRenderingHint(
+                    RenderingHints.KEY_TEXT_ANTIALIASING,
+                    antialiasingHint);
+        }
+        if (layoutChanged) {
+            recomputeLayout();
+            recomputeCharPositions();
+        }
+
+        paintMonitor.paintStarted();
+        Graphics2D bufferGraphics = backgroundPaintMode == BasicBackgroundPaintMode.TRANSPARENT ? null : paintBuffer.prepare(g, codeArea.getWidth(), codeArea.getHeight());
+        if (bufferGraphics == null) {
+            paintAreas(g);
+        } else {
+            if (!paintScrolledAreas(bufferGraphics)) {
+                Rectangle clipBounds = g.getClipBounds();
+                if (clipBounds == null || !paintBuffer.isValid() || !paintedScrollPosition.equals(scrolling.getScrollPosition())) {
+                    bufferGraphics.setClip(0, 0, codeArea.getWidth(), codeArea.getHeight());
+                } else {
+                    bufferGraphics.setClip(clipBounds);
+                }
+                paintAreas(bufferGraphics);
+            }
+            bufferGraphics.dispose();
+            paintBuffer.validate();
+            paintBuffer.paintTo(g);
+        }
+        paintedScrollPosition.setScrollPosition(scrolling.getScrollPosition());
+        paintMonitor.paintFinished();
+    }
+
+    private void paintAreas(Graphics g) {
+        paintOutsideArea(g);
+        paintMonitor.phaseStarted(CodeAreaPaintPhase.HEADER);
+        paintHeader(g);
+        paintMonitor.phaseFinished(CodeAreaPaintPhase.HEADER);
+        paintMonitor.phaseStarted(CodeAreaPaintPhase.ROW_POSITION);
+        paintRowPosition(g);
+        paintMonitor.phaseFinished(CodeAreaPaintPhase.ROW_POSITION);
+        paintMainArea(g);
+    }
+
+    /**
+     * Paints scrolled content by moving already painted content of the buffer
+     * and painting newly exposed area only.
+     *
+     * @param g buffer graphics
+     * @return true if painted, false if full painting is needed
+     */
+    private boolean paintScrolledAreas(Graphics g) {
+        CodeAreaScrollPosition scrollPosition = scrolling.getScrollPosition();
+        if (!paintBuffer.isMoveAllowed() || paintedScrollPosition.equals(scrollPosition)) {
+            return false;
+        }
+
+        long rowsDifference = scrollPosition.getRowPosition() - paintedScrollPosition.getRowPosition();
+        int charsDifference = scrollPosition.getCharPosition() - paintedScrollPosition.getCharPosition();
+        if (Math.abs(rowsDifference) > dimensions.getRowsPerRect() || Math.abs(charsDifference) > dimensions.getCharactersPerRect()) {
+            return false;
+        }
+
+        int deltaY = (int) rowsDifference * metrics.getRowHeight() + scrollPosition.getRowOffset() - paintedScrollPosition.getRowOffset();
+        int deltaX = charsDifference * metrics.getCharacterWidth() + scrollPosition.getCharOffset() - paintedScrollPosition.getCharOffset();
+        Rectangle mainAreaRect = dimensions.getMainAreaRectangle();
+        Rectangle exposedArea;
+        if (deltaX == 0) {
+            // Rows and row positions move vertically
+            Rectangle rowPositionAreaRect = dimensions.getRowPositionAreaRectangle();
+            int movedAreaX = Math.min(rowPositionAreaRect.x, mainAreaRect.x);
+            Rectangle movedArea = new Rectangle(movedAreaX, mainAreaRect.y, mainAreaRect.x + mainAreaRect.width - movedAreaX, mainAreaRect.height);
+            if (!paintBuffer.moveArea(movedArea, 0, -deltaY)) {
+                return false;
+            }
+            exposedArea = deltaY > 0
+                    ? new Rectangle(movedArea.x, movedArea.y + movedArea.height - deltaY, movedArea.width, deltaY)
+                    : new Rectangle(movedArea.x, movedArea.y, movedArea.width, -deltaY);
+        } else if (deltaY == 0) {
+            // Rows and header move horizontally
+            Rectangle headerAreaRect = dimensions.getHeaderAreaRectangle();
+            Rectangle dataViewRect = dimensions.getDataViewRectangle();
+            Rectangle movedArea = new Rectangle(dataViewRect.x, headerAreaRect.y, mainAreaRect.x + mainAreaRect.width - dataViewRect.x, mainAreaRect.y + mainAreaRect.height - headerAreaRect.y);
+            if (!paintBuffer.moveArea(movedArea, -deltaX, 0)) {
+                return false;
+            }
+            // Characters out of the view can overlap into edge columns, so
+            // columns which were previously on the edge are painted again
+            int edgeWidth = Math.min(metrics.getCharacterWidth(), movedArea.width - Math.abs(deltaX));
+            exposedArea = deltaX > 0
+                    ? new Rectangle(movedArea.x + movedArea.width - deltaX - edgeWidth, movedArea.y, deltaX + edgeWidth, movedArea.height)
+                    : new Rectangle(movedArea.x, movedArea.y, edgeWidth - deltaX, movedArea.height);
+            g.setClip(deltaX > 0 ? movedArea.x : movedArea.x + movedArea.width - edgeWidth, movedArea.y, edgeWidth, movedArea.height);
+            paintAreas(g);
+        } else {
+            return false;
+        }
+
+        g.setClip(exposedArea);
+        paintAreas(g);
+        return true;
+    }
+
+    protected synchronized void updateCache() {
+        if (resetColors) {
+            resetColors = false;
+            colorsProfile.reinitialize();
+        }
+    }
+
+    public void paintOutsideArea(Graphics g) {
+        int headerAreaHeight = dimensions.getHeaderAreaHeight();
+        int rowPositionAreaWidth = dimensions.getRowPositionAreaWidth();
+        Rectangle componentRect = dimensions.getComponentRectangle();
+        int characterWidth = metrics.getCharacterWidth();
+        g.setColor(colorsProfile.getTextBackground());
+        g.fillRect(componentRect.x, componentRect.y, componentRect.width, headerAreaHeight);
+
+        // Decoration lines
+        g.setColor(colorsProfile.getDecorationLine());
+        g.drawLine(componentRect.x, componentRect.y + headerAreaHeight - 1, componentRect.x + rowPositionAreaWidth, componentRect.y + headerAreaHeight - 1);
+
+        int lineX = componentRect.x + rowPositionAreaWidth - (characterWidth / 2);
+        if (lineX >= componentRect.x) {
+            g.drawLine(lineX, componentRect.y, lineX, componentRect.y + headerAreaHeight);
+        }
+    }
+
+    public void paintHeader(Graphics g) {
+        int charactersPerCodeSection = visibility.getCharactersPerCodeSection();
+        Rectangle headerArea = dimensions.getHeaderAreaRectangle();
+        CodeAreaScrollPosition scrollPosition = scrolling.getScrollPosition();
+
+        Rectangle clipBounds = g.getClipBounds();
+        g.setClip(clipBounds != null ? clipBounds.intersection(headerArea) : headerArea);
+
+        int characterWidth = metrics.getCharacterWidth();
+        int rowHeight = metrics.getRowHeight();
+        int dataViewX = dimensions.getScrollPanelX();
+
+        g.setFont(font);
+        g.setColor(colorsProfile.getTextBackground());
+        g.fillRect(headerArea.x, headerArea.y, headerArea.width, headerArea.height);
+
+        CodeAreaViewMode viewMode = structure.getViewMode();
+        if (viewMode == CodeAreaViewMode.DUAL || viewMode == CodeAreaViewMode.CODE_MATRIX) {
+            int headerX = dataViewX - scrollPosition.getCharPosition() * characterWidth - scrollPosition.getCharOffset();
+            int headerY = headerArea.y + rowHeight - metrics.getSubFontSpace();
+
+            g.setColor(colorsProfile.getTextColor());
+            Arrays.fill(rowDataCache.headerChars, ' ');
+
+            boolean interleaving = false;
+            int lastPos = 0;
+            int skipToCode = visibility.getSkipToCode();
+            int skipRestFromCode = visibility.getSkipRestFromCode();
+            for (int index = skipToCode; index < skipRestFromCode; index++) {
+                int codePos = structure.computeFirstCodeCharacterPos(index);
+                if (codePos == lastPos + 2 && !interleaving) {
+                    interleaving = true;
+                } else {
+                    CodeAreaUtils.longToBaseCode(rowDataCache.headerChars, codePos, index, CodeType.HEXADECIMAL.getBase(), 2, true, codeCharactersCase);
+                    lastPos = codePos;
+                    interleaving = false;
+                }
+            }
+
+            int skipToChar = visibility.getSkipToChar();
+            int skipRestFromChar = visibility.getSkipRestFromChar();
+            int codeCharEnd = Math.min(skipRestFromChar, visibility.getCharactersPerCodeSection());
+            int renderOffset = skipToChar;
+            Color renderColor = null;
+            for (int characterOnRow = skipToChar; characterOnRow < codeCharEnd; characterOnRow++) {
+                boolean sequenceBreak = false;
+
+                char currentChar = rowDataCache.headerChars[characterOnRow];
+                if (currentChar == ' ' && renderOffset == characterOnRow) {
+                    renderOffset++;
+                    continue;
+                }
+
+                Color color = colorsProfile.getTextColor();
+
+                if (!CodeAreaSwingUtils.areSameColors(color, renderColor)) { // || !colorType.equals(renderColorType)
+                    sequenceBreak = true;
+                }
+                if (sequenceBreak) {
+                    if (renderOffset < characterOnRow) {
+                        drawCenteredChars(g, rowDataCache.headerChars, renderOffset, characterOnRow - renderOffset, characterWidth, headerX + renderOffset * characterWidth, headerY);
+                    }
+
+                    if (!CodeAreaSwingUtils.areSameColors(color, renderColor)) {
+                        renderColor = color;
+                        g.setColor(color);
+                    }
+
+                    renderOffset = characterOnRow;
+                }
+            }
+
+            if (renderOffset < charactersPerCodeSection) {
+                drawCenteredChars(g, rowDataCache.headerChars, renderOffset, charactersPerCodeSection - renderOffset, characterWidth, headerX + renderOffset * characterWidth, headerY);
+            }
+        }
+
+        // Decoration lines
+        g.setColor(colorsProfile.getDecorationLine());
+        g.drawLine(headerArea.x, headerArea.y + headerArea.height - 1, headerArea.x + headerArea.width, headerArea.y + headerArea.height - 1);
+        int lineX = dataViewX + visibility.getPreviewRelativeX() - scrollPosition.getCharPosition() * characterWidth - scrollPosition.getCharOffset() - characterWidth / 2 - 1;
+        if (lineX >= dataViewX) {
+            g.drawLine(lineX, headerArea.y, lineX, headerArea.y + headerArea.height);
+        }
+
+        g.setClip(clipBounds);
+    }
+
+    public void paintRowPosition(Graphics g) {
+        int bytesPerRow = structure.getBytesPerRow();
+        long dataSize = structure.getDataSize();
+        int rowHeight = metrics.getRowHeight();
+        int characterWidth = metrics.getCharacterWidth();
+        int subFontSpace = metrics.getSubFontSpace();
+        int rowsPerRect = dimensions.getRowsPerRect();
+        Rectangle rowPosRectangle = dimensions.getRowPositionAreaRectangle();
+        Rectangle dataViewRectangle = dimensions.getDataViewRectangle();
+        Rectangle clipBounds = g.getClipBounds();
+        g.setClip(clipBounds != null ? clipBounds.intersection(rowPosRectangle) : rowPosRectangle);
+
+        g.setFont(font);
+        g.setColor(colorsProfile.getTextBackground());
+        g.fillRect(rowPosRectangle.x, rowPosRectangle.y, rowPosRectangle.width, rowPosRectangle.height);
+
+        CodeAreaScrollPosition scrollPosition = scrolling.getScrollPosition();
+        if (backgroundPaintMode == BasicBackgroundPaintMode.STRIPED) {
+            long dataPosition = scrollPosition.getRowPosition() * bytesPerRow + ((scrollPosition.getRowPosition() & 1) > 0 ? 0 : bytesPerRow);
+            int stripePositionY = rowPosRectangle.y - scrollPosition.getRowOffset() + ((scrollPosition.getRowPosition() & 1) > 0 ? 0 : rowHeight);
+            g.setColor(colorsProfile.getAlternateBackground());
+            for (int row = 0; row <= rowsPerRect / 2; row++) {
+                if (dataPosition > dataSize) {
+                    break;
+                }
+
+                g.fillRect(rowPosRectangle.x, stripePositionY, rowPosRectangle.width, rowHeight);
+                stripePositionY += rowHeight * 2;
+                dataPosition += bytesPerRow * 2;
+            }
+        }
+
+        long dataPosition = bytesPerRow * scrollPosition.getRowPosition();
+        int positionY = rowPosRectangle.y + rowHeight - subFontSpace - scrollPosition.getRowOffset();
+        g.setColor(colorsProfile.getTextColor());
+        for (int row = 0; row <= rowsPerRect; row++) {
+            if (dataPosition > dataSize) {
+                break;
+            }
+
+            CodeAreaUtils.longToBaseCode(rowDataCache.rowPositionCode, 0, dataPosition < 0 ? 0 : dataPosition, CodeType.HEXADECIMAL.getBase(), rowPositionLength, true, codeCharactersCase);
+            drawCenteredChars(g, rowDataCache.rowPositionCode, 0, rowPositionLength, characterWidth, rowPosRectangle.x, positionY);
+
+            positionY += rowHeight;
+            dataPosition += bytesPerRow;
+            if (dataPosition < 0) {
+                break;
+            }
+        }
+
+        // Decoration lines
+        g.setColor(colorsProfile.getDecorationLine());
+        int lineX = rowPosRectangle.x + rowPosRectangle.width - (characterWidth / 2);
+        if (lineX >= rowPosRectangle.x) {
+            g.drawLine(lineX, dataViewRectangle.y, lineX, dataViewRectangle.y + dataViewRectangle.height);
+        }
+        g.drawLine(dataViewRectangle.x, dataViewRectangle.y - 1, dataViewRectangle.x + dataViewRectangle.width, dataViewRectangle.y - 1);
+
+        g.setClip(clipBounds);
+    }
+
+    @Override
+    public void paintMainArea(Graphics g) {
+        if (!initialized) {
+            reset();
+        }
+        if (fontChanged) {
+            fontChanged(g);
+            fontChanged = false;
+        }
+
+        Rectangle mainAreaRect = dimensions.getMainAreaRectangle();
+        Rectangle dataViewRectangle = dimensions.getDataViewRectangle();
+        CodeAreaScrollPosition scrollPosition = scrolling.getScrollPosition();
+        int characterWidth = metrics.getCharacterWidth();
+        int previewRelativeX = visibility.getPreviewRelativeX();
+
+        Rectangle clipBounds = g.getClipBounds();
+        g.setClip(clipBounds != null ? clipBounds.intersection(mainAreaRect) : mainAreaRect);
+        paintMonitor.phaseStarted(CodeAreaPaintPhase.BACKGROUND);
+        paintBackground(g);
+        paintMonitor.phaseFinished(CodeAreaPaintPhase.BACKGROUND);
+
+        // Decoration lines
+        g.setColor(colorsProfile.getDecorationLine());
+        int lineX = dataViewRectangle.x + previewRelativeX - scrollPosition.getCharPosition() * characterWidth - scrollPosition.getCharOffset() - characterWidth / 2 - 1;
+        if (lineX >= dataViewRectangle.x) {
+            g.drawLine(lineX, dataViewRectangle.y, lineX, dataViewRectangle.y + dataViewRectangle.height);
+        }
+
+        paintMonitor.phaseStarted(CodeAreaPaintPhase.ROWS);
+        paintRows(g);
+        paintMonitor.phaseFinished(CodeAreaPaintPhase.ROWS);
+        g.setClip(clipBounds);
+        paintMonitor.phaseStarted(CodeAreaPaintPhase.CURSOR);
+        paintCursor(g);
+        paintMonitor.phaseFinished(CodeAreaPaintPhase.CURSOR);
+
+//        paintDebugInfo(g, mainAreaRect, scrollPosition);
+    }
+
+//    // Debugging counter
+//    private long paintDebugCounter = 0;
+//
+//    private void paintDebugInfo(Graphics g, Rectangle mainAreaRect, CodeAreaScrollPosition scrollPosition) {
+//        int rowHeight = metrics.getRowHeight();
+//        int x = mainAreaRect.x + mainAreaRect.width - 220;
+//        int y = mainAreaRect.y + mainAreaRect.height - 20;
+//        g.setColor(Color.YELLOW);
+//        g.fillRect(x, y, 200, 16);
+//        g.setColor(Color.BLACK);
+//        char[] headerCode = (String.valueOf(scrollPosition.getCharPosition()) + "+" + String.valueOf(scrollPosition.getCharOffset()) + " : " + String.valueOf(scrollPosition.getRowPosition()) + "+" + String.valueOf(scrollPosition.getRowOffset()) + " P: " + String.valueOf(paintDebugCounter)).toCharArray();
+//        g.drawChars(headerCode, 0, headerCode.length, x, y + rowHeight);
+//
+//        paintDebugCounter++;
+//    }
+//
+    /**
+     * Paints main area background.
+     *
+     * @param g graphics
+     */
+    public void paintBackground(Graphics g) {
+        int bytesPerRow = structure.getBytesPerRow();
+        long dataSize = structure.getDataSize();
+        int rowHeight = metrics.getRowHeight();
+        int rowsPerRect = dimensions.getRowsPerRect();
+        Rectangle dataViewRect = dimensions.getDataViewRectangle();
+        CodeAreaScrollPosition scrollPosition = scrolling.getScrollPosition();
+
+        g.setColor(colorsProfile.getTextBackground());
+        if (backgroundPaintMode != BasicBackgroundPaintMode.TRANSPARENT) {
+            g.fillRect(dataViewRect.x, dataViewRect.y, dataViewRect.width, dataViewRect.height);
+        }
+
+        if (backgroundPaintMode == BasicBackgroundPaintMode.STRIPED) {
+            long dataPosition = scrollPosition.getRowPosition() * bytesPerRow + ((scrollPosition.getRowPosition() & 1) > 0 ? 0 : bytesPerRow);
+            int stripePositionY = dataViewRect.y - scrollPosition.getRowOffset() + (int) ((scrollPosition.getRowPosition() & 1) > 0 ? 0 : rowHeight);
+            g.setColor(colorsProfile.getAlternateBackground());
+            for (int row = 0; row <= rowsPerRect / 2; row++) {
+                if (dataPosition > dataSize) {
+                    break;
+                }
+
+                g.fillRect(dataViewRect.x, stripePositionY, dataViewRect.width, rowHeight);
+                stripePositionY += rowHeight * 2;
+                dataPosition += bytesPerRow * 2;
+            }
+        }
+    }
+
+    public void paintRows(Graphics g) {
+        int bytesPerRow = structure.getBytesPerRow();
+        int characterWidth = metrics.getCharacterWidth();
+        int rowHeight = metrics.getRowHeight();
+        int dataViewX = dimensions.getScrollPanelX();
+        int dataViewY = dimensions.getScrollPanelY();
+        int rowsPerRect = dimensions.getRowsPerRect();
+        CodeAreaScrollPosition scrollPosition = scrolling.getScrollPosition();
+        long dataPosition = scrollPosition.getRowPosition() * bytesPerRow;
+        int rowPositionX = dataViewX - scrollPosition.getCharPosition() * characterWidth - scrollPosition.getCharOffset();
+        int rowPositionY = dataViewY - scrollPosition.getRowOffset();
+
+        Rectangle clipBounds = g.getClipBounds();
+        int clipStartY = clipBounds == null ? Integer.MIN_VALUE : clipBounds.y;
+        int clipEndY = clipBounds == null ? Integer.MAX_VALUE : clipBounds.y + clipBounds.height;
+
+        g.setColor(colorsProfile.getTextColor());
+        for (int row = 0; row <= rowsPerRect; row++) {
+            if (rowPositionY + rowHeight > clipStartY && rowPositionY < clipEndY) {
+                if (!rowCache.loadRow(dataPosition, rowDataCache.rowData, rowDataCache.rowCharacters)) {
+                    prepareRowData(dataPosition);
+                    rowCache.storeRow(dataPosition, rowDataCache.rowData, rowDataCache.rowCharacters);
+                }
+                paintRowBackground(g, dataPosition, rowPositionX, rowPositionY);
+                paintRowText(g, dataPosition, rowPositionX, rowPositionY);
+            }
+
+            rowPositionY += rowHeight;
+            if (Long.MAX_VALUE - dataPosition < bytesPerRow) {
+                dataPosition = Long.MAX_VALUE;
+            } else {
+                dataPosition += bytesPerRow;
+            }
+        }
+    }
+
+    private void prepareRowData(long dataPosition) {
+        paintMonitor.rowPrepared();
+        int maxBytesPerChar = metrics.getMaxBytesPerChar();
+        CodeAreaViewMode viewMode = structure.getViewMode();
+        int bytesPerRow = structure.getBytesPerRow();
+        long dataSize = structure.getDataSize();
+        int previewCharPos = visibility.getPreviewCharPos();
+        CodeType codeType = structure.getCodeType();
+
+        int rowBytesLimit = bytesPerRow;
+        int rowStart = 0;
+        int rowDataLength = 0;
+        if (dataPosition < dataSize) {
+            int rowDataSize = bytesPerRow + maxBytesPerChar - 1;
+            if (dataSize - dataPosition < rowDataSize) {
+                rowDataSize = (int) (dataSize - dataPosition);
+            }
+            if (dataPosition < 0) {
+                rowStart = (int) -dataPosition;
+            }
+            BinaryData data = codeArea.getContentData();
+            if (data == null) {
+                throw new IllegalStateException("Missing data on nonzero data size");
+            }
+            data.copyToArray(dataPosition + rowStart, rowDataCache.rowData, rowStart, rowDataSize - rowStart);
+            paintMonitor.bytesFetched(rowDataSize - rowStart);
+            rowDataLength = rowDataSize;
+            if (dataSize - dataPosition < rowBytesLimit) {
+                rowBytesLimit = (int) (dataSize - dataPosition);
+            }
+        } else {
+            rowBytesLimit = 0;
+        }
+
+        // Fill codes
+        if (viewMode != CodeAreaViewMode.TEXT_PREVIEW) {
+            int skipToCode = visibility.getSkipToCode();
+            int skipRestFromCode = visibility.getSkipRestFromCode();
+            int startCode = Math.max(skipToCode, rowStart);
+            int endCode = Math.min(skipRestFromCode, rowBytesLimit);
+            if (startCode < endCode) {
+                int codeRowPos = structure.computeFirstCodeCharacterPos(startCode);
+                if (codeRowPos > 0) {
+                    rowDataCache.rowCharacters[codeRowPos - 1] = ' ';
+                }
+                CodeAreaUtils.bytesToCharsCode(rowDataCache.rowData, startCode, endCode - startCode, codeType, rowDataCache.rowCharacters, codeRowPos, 1, codeCharactersCase);
+            }
+
+            if (bytesPerRow > rowBytesLimit) {
+                Arrays.fill(rowDataCache.rowCharacters, structure.computeFirstCodeCharacterPos(rowBytesLimit), rowDataCache.rowCharacters.length, ' ');
+            }
+        }
+
+        if (previewCharPos > 0) {
+            rowDataCache.rowCharacters[previewCharPos - 1] = ' ';
+        }
+
+        // Fill preview characters
+        if (viewMode != CodeAreaViewMode.CODE_MATRIX) {
+            int skipToPreview = visibility.getSkipToPreview();
+            int skipRestFromPreview = visibility.getSkipRestFromPreview();
+            int endPreview = Math.min(skipRestFromPreview, rowBytesLimit);
+            if (maxBytesPerChar > 1) {
+                previewDecoder.setCharset(charset, maxBytesPerChar);
+                previewDecoder.decodeRow(rowDataCache.rowData, rowDataLength, skipToPreview, endPreview, rowDataCache.rowCharacters, previewCharPos);
+            } else {
+                if (charMappingCharset == null || charMappingCharset != charset) {
+                    buildCharMapping(charset);
+                }
+
+                for (int byteOnRow = skipToPreview; byteOnRow < endPreview; byteOnRow++) {
+                    rowDataCache.rowCharacters[previewCharPos + byteOnRow] = charMapping[rowDataCache.rowData[byteOnRow] & 0xFF];
+                }
+            }
+            if (bytesPerRow > rowBytesLimit) {
+                Arrays.fill(rowDataCache.rowCharacters, previewCharPos + rowBytesLimit, previewCharPos + bytesPerRow, ' ');
+            }
+        }
+    }
+
+    /**
+     * Paints row background.
+     *
+     * @param g graphics
+     * @param rowDataPosition row data position
+     * @param rowPositionX row position X
+     * @param rowPositionY row position Y
+     */
+    public void paintRowBackground(Graphics g, long rowDataPosition, int rowPositionX, int rowPositionY) {
+        int previewCharPos = visibility.getPreviewCharPos();
+        CodeAreaViewMode viewMode = structure.getViewMode();
+        int charactersPerRow = structure.getCharactersPerRow();
+        int skipToChar = visibility.getSkipToChar();
+        int skipRestFromChar = visibility.getSkipRestFromChar();
+
+        int renderOffset = skipToChar;
+        Color renderColor = null;
+        for (int charOnRow = skipToChar; charOnRow < skipRestFromChar; charOnRow++) {
+            CodeAreaSection section;
+            int byteOnRow;
+            if (charOnRow >= previewCharPos && viewMode != CodeAreaViewMode.CODE_MATRIX) {
+                byteOnRow = charOnRow - previewCharPos;
+                section = BasicCodeAreaSection.TEXT_PREVIEW;
+            } else {
+                byteOnRow = structure.computePositionByte(charOnRow);
+                section = BasicCodeAreaSection.CODE_MATRIX;
+            }
+            boolean sequenceBreak = false;
+
+            Color color = getPositionBackgroundColor(rowDataPosition, byteOnRow, charOnRow, section);
+            if (!CodeAreaSwingUtils.areSameColors(color, renderColor)) {
+                sequenceBreak = true;
+            }
+            if (sequenceBreak) {
+                if (renderOffset < charOnRow) {
+                    if (renderColor != null) {
+                        renderBackgroundSequence(g, renderOffset, charOnRow, rowPositionX, rowPositionY);
+                    }
+                }
+
+                if (!CodeAreaSwingUtils.areSameColors(color, renderColor)) {
+                    renderColor = color;
+                    if (color != null) {
+                        g.setColor(color);
+                    }
+                }
+
+                renderOffset = charOnRow;
+            }
+        }
+
+        if (renderOffset < charactersPerRow) {
+            if (renderColor != null) {
+                renderBackgroundSequence(g, renderOffset, charactersPerRow, rowPositionX, rowPositionY);
+            }
+        }
+    }
+
+    /**
+     * Returns background color for particular code.
+     *
+     * @param rowDataPosition row data position
+     * @param byteOnRow byte on current row
+     * @param charOnRow character on current row
+     * @param section current section
+     * @return color or null for default color
+     */
+    @Nullable
+    public Color getPositionBackgroundColor(long rowDataPosition, int byteOnRow, int charOnRow, CodeAreaSection section) {
+        SelectionRange selectionRange = structure.getSelectionRange();
+        int codeLastCharPos = visibility.getCodeLastCharPos();
+        CodeAreaCaret caret = ((CaretCapable) codeArea).getCaret();
+        boolean inSelection = selectionRange != null && selectionRange.isInSelection(rowDataPosition + byteOnRow);
+        if (inSelection && (section == BasicCodeAreaSection.CODE_MATRIX)) {
+            if (charOnRow == codeLastCharPos) {
+                inSelection = false;
+            }
+        }
+
+        if (inSelection) {
+            return section == caret.getSection() ? colorsProfile.getSelectionBackground() : colorsProfile.getSelectionMirrorBackground();
+        }
+
+        return null;
+    }
+
+    @Nonnull
+    @Override
+    public PositionScrollVisibility computePositionScrollVisibility(CodeAreaCaretPosition caretPosition) {
+        int bytesPerRow = structure.getBytesPerRow();
+        int previewCharPos = visibility.getPreviewCharPos();
+        int characterWidth = metrics.getCharacterWidth();
+        int rowHeight = metrics.getRowHeight();
+        int dataViewWidth = dimensions.getDataViewWidth();
+        int dataViewHeight = dimensions.getDataViewHeight();
+        int rowsPerPage = dimensions.getRowsPerPage();
+        int charactersPerPage = dimensions.getCharactersPerPage();
+
+        long shiftedPosition = caretPosition.getDataPosition();
+        long rowPosition = shiftedPosition / bytesPerRow;
+        int byteOffset = (int) (shiftedPosition % bytesPerRow);
+        int charPosition;
+        CodeAreaSection section = caretPosition.getSection().orElse(BasicCodeAreaSection.CODE_MATRIX);
+        if (section == BasicCodeAreaSection.TEXT_PREVIEW) {
+            charPosition = previewCharPos + byteOffset;
+        } else {
+            charPosition = structure.computeFirstCodeCharacterPos(byteOffset) + caretPosition.getCodeOffset();
+        }
+
+        return scrolling.computePositionScrollVisibility(rowPosition, charPosition, bytesPerRow, rowsPerPage, charactersPerPage, dataViewWidth, dataViewHeight, characterWidth, rowHeight);
+    }
+
+    @Nonnull
+    @Override
+    public Optional<CodeAreaScrollPosition> computeRevealScrollPosition(CodeAreaCaretPosition caretPosition) {
+        int bytesPerRow = structure.getBytesPerRow();
+        int previewCharPos = visibility.getPreviewCharPos();
+        int characterWidth = metrics.getCharacterWidth();
+        int rowHeight = metrics.getRowHeight();
+        int dataViewWidth = dimensions.getDataViewWidth();
+        int dataViewHeight = dimensions.getDataViewHeight();
+        int rowsPerPage = dimensions.getRowsPerPage();
+        int charactersPerPage = dimensions.getCharactersPerPage();
+
+        long shiftedPosition = caretPosition.getDataPosition();
+        long rowPosition = shiftedPosition / bytesPerRow;
+        int byteOffset = (int) (shiftedPosition % bytesPerRow);
+        int charPosition;
+        CodeAreaSection section = caretPosition.getSection().orElse(BasicCodeAreaSection.CODE_MATRIX);
+        if (section == BasicCodeAreaSection.TEXT_PREVIEW) {
+            charPosition = previewCharPos + byteOffset;
+        } else {
+            charPosition = structure.computeFirstCodeCharacterPos(byteOffset) + caretPosition.getCodeOffset();
+        }
+
+        return scrolling.computeRevealScrollPosition(rowPosition, charPosition, bytesPerRow, rowsPerPage, charactersPerPage, dataViewWidth % characterWidth, dataViewHeight % rowHeight, characterWidth, rowHeight);
+    }
+
+    @Nonnull
+    @Override
+    public Optional<CodeAreaScrollPosition> computeCenterOnScrollPosition(CodeAreaCaretPosition caretPosition) {
+        int bytesPerRow = structure.getBytesPerRow();
+        int previewCharPos = visibility.getPreviewCharPos();
+        int characterWidth = metrics.getCharacterWidth();
+        int rowHeight = metrics.getRowHeight();
+        int dataViewWidth = dimensions.getDataViewWidth();
+        int dataViewHeight = dimensions.getDataViewHeight();
+        int rowsPerRect = dimensions.getRowsPerRect();
+        int charactersPerRect = dimensions.getCharactersPerRect();
+
+        long shiftedPosition = caretPosition.getDataPosition();
+        long rowPosition = shiftedPosition / bytesPerRow;
+        int byteOffset = (int) (shiftedPosition % bytesPerRow);
+        int charPosition;
+        CodeAreaSection section = caretPosition.getSection().orElse(BasicCodeAreaSection.CODE_MATRIX);
+        if (section == BasicCodeAreaSection.TEXT_PREVIEW) {
+            charPosition = previewCharPos + byteOffset;
+        } else {
+            charPosition = structure.computeFirstCodeCharacterPos(byteOffset) + caretPosition.getCodeOffset();
+        }
+
+        return scrolling.computeCenterOnScrollPosition(rowPosition, charPosition, bytesPerRow, rowsPerRect, charactersPerRect, dataViewWidth, dataViewHeight, characterWidth, rowHeight);
+    }
+
+    /**
+     * Paints row text.
+     *
+     * @param g graphics
+     * @param rowDataPosition row data position
+     * @param rowPositionX row position X
+     * @param rowPositionY row position Y
+     */
+    public void paintRowText(Graphics g, long rowDataPosition, int rowPositionX, int rowPositionY) {
+        int previewCharPos = visibility.getPreviewCharPos();
+        int charactersPerRow = structure.getCharactersPerRow();
+        int rowHeight = metrics.getRowHeight();
+        int characterWidth = metrics.getCharacterWidth();
+        int subFontSpace = metrics.getSubFontSpace();
+
+        g.setFont(font);
+        int positionY = rowPositionY + rowHeight - subFontSpace;
+
+        Color lastColor = null;
+        Color renderColor = null;
+
+        int skipToChar = visibility.getSkipToChar();
+        int skipRestFromChar = visibility.getSkipRestFromChar();
+        int renderOffset = skipToChar;
+        for (int charOnRow = skipToChar; charOnRow < skipRestFromChar; charOnRow++) {
+            CodeAreaSection section;
+            int byteOnRow;
+            if (charOnRow >= previewCharPos) {
+                byteOnRow = charOnRow - previewCharPos;
+                section = BasicCodeAreaSection.TEXT_PREVIEW;
+            } else {
+                byteOnRow = structure.computePositionByte(charOnRow);
+                section = BasicCodeAreaSection.CODE_MATRIX;
+            }
+
+            char currentChar = rowDataCache.rowCharacters[charOnRow];
+            if (currentChar == ' ' && renderOffset == charOnRow) {
+                renderOffset++;
+                continue;
+            }
+
+            Color color = getPositionTextColor(rowDataPosition, byteOnRow, charOnRow, section);
+            if (color == null) {
+                color = colorsProfile.getTextColor();
+            }
+
+            boolean sequenceBreak = false;
+            if (!CodeAreaSwingUtils.areSameColors(color, renderColor)) {
+                if (renderColor == null) {
+                    renderColor = color;
+                }
+
+                sequenceBreak = true;
+            }
+
+            if (sequenceBreak) {
+                if (!CodeAreaSwingUtils.areSameColors(lastColor, renderColor)) {
+                    g.setColor(renderColor);
+                    lastColor = renderColor;
+                }
+
+                if (charOnRow > renderOffset) {
+                    drawCenteredChars(g, rowDataCache.rowCharacters, renderOffset, charOnRow - renderOffset, characterWidth, rowPositionX + renderOffset * characterWidth, positionY);
+                }
+
+                renderColor = color;
+                if (!CodeAreaSwingUtils.areSameColors(lastColor, renderColor)) {
+                    g.setColor(renderColor);
+                    lastColor = renderColor;
+                }
+
+                renderOffset = charOnRow;
+            }
+        }
+
+        if (renderOffset < charactersPerRow) {
+            if (!CodeAreaSwingUtils.areSameColors(lastColor, renderColor)) {
+                g.setColor(renderColor);
+            }
+
+            drawCenteredChars(g, rowDataCache.rowCharacters, renderOffset, charactersPerRow - renderOffset, characterWidth, rowPositionX + renderOffset * characterWidth, positionY);
+        }
+    }
+
+    /**
+     * Returns background color for particular code.
+     *
+     * @param rowDataPosition row data position
+     * @param byteOnRow byte on current row
+     * @param charOnRow character on current row
+     * @param section current section
+     * @return color or null for default color
+     */
+    @Nullable
+    public Color getPositionTextColor(long rowDataPosition, int byteOnRow, int charOnRow, CodeAreaSection section) {
+        SelectionRange selectionRange = structure.getSelectionRange();
+        CodeAreaCaret caret = ((CaretCapable) codeArea).getCaret();
+        boolean inSelection = selectionRange != null && selectionRange.isInSelection(rowDataPosition + byteOnRow);
+        if (inSelection) {
+            return section == caret.getSection() ? colorsProfile.getSelectionColor() : colorsProfile.getSelectionMirrorColor();
+        }
+
+        return null;
+    }
+
+    @Override
+    public void paintCursor(Graphics g) {
+        paintedCursorRect.setBounds(0, 0, 0, 0);
+        paintedMirrorCursorRect.setBounds(0, 0, 0, 0);
+        if (!codeArea.hasFocus()) {
+            return;
+        }
+
+        if (caretChanged) {
+            updateCaret();
+        }
+
+        int maxBytesPerChar = metrics.getMaxBytesPerChar();
+        Rectangle mainAreaRect = dimensions.getMainAreaRectangle();
+        CodeType codeType = structure.getCodeType();
+        CodeAreaViewMode viewMode = structure.getViewMode();
+        if (cursorDataCache == null) {
+            cursorDataCache = new CursorDataCache();
+        }
+        int cursorCharsLength = codeType.getMaxDigitsForByte();
+        if (cursorDataCache.cursorCharsLength != cursorCharsLength) {
+            cursorDataCache.cursorCharsLength = cursorCharsLength;
+            cursorDataCache.cursorChars = new char[cursorCharsLength];
+        }
+        int cursorDataLength = maxBytesPerChar;
+        if (cursorDataCache.cursorDataLength != cursorDataLength) {
+            cursorDataCache.cursorDataLength = cursorDataLength;
+            cursorDataCache.cursorData = new byte[cursorDataLength];
+        }
+
+        DefaultCodeAreaCaret caret = (DefaultCodeAreaCaret) ((CaretCapable) codeArea).getCaret();
+        Rectangle cursorRect = getCursorPositionRect(caret.getDataPosition(), caret.getCodeOffset(), caret.getSection());
+        if (cursorRect.isEmpty()) {
+            return;
+        }
+        paintedCursorRect.setBounds(cursorRect);
+
+        Rectangle scrolledCursorRect = new Rectangle(cursorRect.x, cursorRect.y, cursorRect.width, cursorRect.height);
+        Rectangle clipBounds = g.getClipBounds();
+        Rectangle intersection = scrolledCursorRect.intersection(mainAreaRect);
+        boolean cursorVisible = caret.isCursorVisible() && !intersection.isEmpty();
+
+        if (cursorVisible) {
+            g.setClip(intersection);
+            DefaultCodeAreaCaret.CursorRenderingMode renderingMode = caret.getRenderingMode();
+            g.setColor(colorsProfile.getCursorColor());
+
+            paintCursorRect(g, intersection.x, intersection.y, intersection.width, intersection.height, renderingMode, caret);
+        }
+
+        // Paint mirror cursor
+        if (viewMode == CodeAreaViewMode.DUAL && showMirrorCursor) {
+            updateMirrorCursorRect(caret.getDataPosition(), caret.getSection());
+            Rectangle mirrorCursorRect = cursorDataCache.mirrorCursorRect;
+            paintedMirrorCursorRect.setBounds(mirrorCursorRect);
+            if (!mirrorCursorRect.isEmpty()) {
+                intersection = mainAreaRect.intersection(mirrorCursorRect);
+                boolean mirrorCursorVisible = !intersection.isEmpty();
+                if (mirrorCursorVisible) {
+                    g.setClip(intersection);
+                    g.setColor(colorsProfile.getCursorColor());
+                    Graphics2D g2d = (Graphics2D) g.create();
+                    g2d.setStroke(cursorDataCache.dashedStroke);
+                    g2d.drawRect(mirrorCursorRect.x, mirrorCursorRect.y, mirrorCursorRect.width - 1, mirrorCursorRect.height - 1);
+                }
+            }
+        }
+        g.setClip(clipBounds);
+    }
+
+    private void paintCursorRect(Graphics g, int cursorX, int cursorY, int width, int height, CursorRenderingMode renderingMode, DefaultCodeAreaCaret caret) {
+        switch (renderingMode) {
+            case PAINT: {
+                g.fillRect(cursorX, cursorY, width, height);
+                break;
+            }
+            case XOR: {
+                g.setXORMode(colorsProfile.getTextBackground());
+                g.fillRect(cursorX, cursorY, width, height);
+                g.setPaintMode();
+                break;
+            }
+            case NEGATIVE: {
+                int characterWidth = metrics.getCharacterWidth();
+                int rowHeight = metrics.getRowHeight();
+                int maxBytesPerChar = metrics.getMaxBytesPerChar();
+                int subFontSpace = metrics.getSubFontSpace();
+                int dataViewX = dimensions.getScrollPanelX();
+                int dataViewY = dimensions.getScrollPanelY();
+                int previewRelativeX = visibility.getPreviewRelativeX();
+
+                CodeAreaViewMode viewMode = structure.getViewMode();
+                CodeAreaScrollPosition scrollPosition = scrolling.getScrollPosition();
+                long dataSize = structure.getDataSize();
+                CodeType codeType = structure.getCodeType();
+                g.fillRect(cursorX, cursorY, width, height);
+                g.setColor(colorsProfile.getCursorNegativeColor());
+                BinaryData contentData = codeArea.getContentData();
+                int row = (cursorY + scrollPosition.getRowOffset() - dataViewY) / rowHeight;
+                int scrolledX = cursorX + scrollPosition.getCharPosition() * characterWidth + scrollPosition.getCharOffset();
+                int posY = dataViewY + (row + 1) * rowHeight - subFontSpace - scrollPosition.getRowOffset();
+                long dataPosition = caret.getDataPosition();
+                if (viewMode != CodeAreaViewMode.CODE_MATRIX && caret.getSection() == BasicCodeAreaSection.TEXT_PREVIEW) {
+                    int charPos = (scrolledX - previewRelativeX) / characterWidth;
+                    if (dataPosition >= dataSize) {
+                        break;
+                    }
+
+                    if (maxBytesPerChar > 1) {
+                        int charDataLength = maxBytesPerChar;
+                        if (dataPosition + maxBytesPerChar > dataSize) {
+                            charDataLength = (int) (dataSize - dataPosition);
+                        }
+
+                        if (contentData == null) {
+                            cursorDataCache.cursorChars[0] = ' ';
+                        } else {
+                            contentData.copyToArray(dataPosition, cursorDataCache.cursorData, 0, charDataLength);
+                            paintMonitor.bytesFetched(charDataLength);
+                            previewDecoder.setCharset(charset, maxBytesPerChar);
+                            cursorDataCache.cursorChars[0] = previewDecoder.decodeChar(cursorDataCache.cursorData, 0, charDataLength);
+                        }
+                    } else {
+                        if (charMappingCharset == null || charMappingCharset != charset) {
+                            buildCharMapping(charset);
+                        }
+
+                        if (contentData == null) {
+                            cursorDataCache.cursorChars[0] = ' ';
+                        } else {
+                            cursorDataCache.cursorChars[0] = charMapping[contentData.getByte(dataPosition) & 0xFF];
+                        }
+                    }
+                    int posX = previewRelativeX + charPos * characterWidth - scrollPosition.getCharPosition() * characterWidth - scrollPosition.getCharOffset();
+                    drawCenteredChars(g, cursorDataCache.cursorChars, 0, 1, characterWidth, posX, posY);
+                } else {
+                    int charPos = (scrolledX - dataViewX) / characterWidth;
+                    int byteOffset = structure.computePositionByte(charPos);
+                    int codeCharPos = structure.computeFirstCodeCharacterPos(byteOffset);
+
+                    if (contentData != null && dataPosition < dataSize) {
+                        byte dataByte = contentData.getByte(dataPosition);
+                        CodeAreaUtils.byteToCharsCode(dataByte, codeType, cursorDataCache.cursorChars, 0, codeCharactersCase);
+                    } else {
+                        Arrays.fill(cursorDataCache.cursorChars, ' ');
+                    }
+                    int posX = dataViewX + codeCharPos * characterWidth - scrollPosition.getCharPosition() * characterWidth - scrollPosition.getCharOffset();
+                    int charsOffset = charPos - codeCharPos;
+                    drawCenteredChars(g, cursorDataCache.cursorChars, charsOffset, 1, characterWidth, posX + (charsOffset * characterWidth), posY);
+                }
+                break;
+            }
+            default:
+                throw new IllegalStateException("Unexpected rendering mode " + renderingMode.name());
+        }
+    }
+
+    @Nonnull
+    @Override
+    public CodeAreaCaretPosition mousePositionToClosestCaretPosition(int positionX, int positionY, CaretOverlapMode overflowMode) {
+        DefaultCodeAreaCaretPosition caret = new DefaultCodeAreaCaretPosition();
+        CodeAreaScrollPosition scrollPosition = scrolling.getScrollPosition();
+        int characterWidth = metrics.getCharacterWidth();
+        int rowHeight = metrics.getRowHeight();
+        int rowPositionAreaWidth = dimensions.getRowPositionAreaWidth();
+        int headerAreaHeight = dimensions.getHeaderAreaHeight();
+
+        int diffX = 0;
+        if (positionX < rowPositionAreaWidth) {
+            if (overflowMode == CaretOverlapMode.PARTIAL_OVERLAP) {
+                diffX = 1;
+            }
+            positionX = rowPositionAreaWidth;
+        }
+        int cursorCharX = (positionX - rowPositionAreaWidth + scrollPosition.getCharOffset()) / characterWidth + scrollPosition.getCharPosition() - diffX;
+        if (cursorCharX < 0) {
+            cursorCharX = 0;
+        }
+
+        int diffY = 0;
+        if (positionY < headerAreaHeight) {
+            if (overflowMode == CaretOverlapMode.PARTIAL_OVERLAP) {
+                diffY = 1;
+            }
+            positionY = headerAreaHeight;
+        }
+        long cursorRowY = (positionY - headerAreaHeight + scrollPosition.getRowOffset()) / rowHeight + scrollPosition.getRowPosition() - diffY;
+        if (cursorRowY < 0) {
+            cursorRowY = 0;
+        }
+
+        CodeAreaViewMode viewMode = structure.getViewMode();
+        int previewCharPos = visibility.getPreviewCharPos();
+        int bytesPerRow = structure.getBytesPerRow();
+        CodeType codeType = structure.getCodeType();
+        long dataSize = structure.getDataSize();
+        long dataPosition;
+        int codeOffset = 0;
+        int byteOnRow;
+        if ((viewMode == CodeAreaViewMode.DUAL && cursorCharX < previewCharPos) || viewMode == CodeAreaViewMode.CODE_MATRIX) {
+            caret.setSection(BasicCodeAreaSection.CODE_MATRIX);
+            byteOnRow = structure.computePositionByte(cursorCharX);
+            if (byteOnRow >= bytesPerRow) {
+                codeOffset = 0;
+            } else {
+                codeOffset = cursorCharX - structure.computeFirstCodeCharacterPos(byteOnRow);
+                if (codeOffset >= codeType.getMaxDigitsForByte()) {
+                    codeOffset = codeType.getMaxDigitsForByte() - 1;
+                }
+            }
+        } else {
+            caret.setSection(BasicCodeAreaSection.TEXT_PREVIEW);
+            byteOnRow = cursorCharX;
+            if (viewMode == CodeAreaViewMode.DUAL) {
+                byteOnRow -= previewCharPos;
+            }
+        }
+
+        if (byteOnRow >= bytesPerRow) {
+            byteOnRow = bytesPerRow - 1;
+        }
+
+        dataPosition = byteOnRow + (cursorRowY * bytesPerRow);
+        if (dataPosition < 0) {
+            dataPosition = 0;
+            codeOffset = 0;
+        }
+
+        if (dataPosition >= dataSize) {
+            dataPosition = dataSize;
+            codeOffset = 0;
+        }
+
+        caret.setDataPosition(dataPosition);
+        caret.setCodeOffset(codeOffset);
+        return caret;
+    }
+
+    @Nonnull
+    @Override
+    public CodeAreaCaretPosition computeMovePosition(CodeAreaCaretPosition position, MovementDirection direction) {
+        return structure.computeMovePosition(position, direction, dimensions.getRowsPerPage());
+    }
+
+    @Nonnull
+    @Override
+    public CodeAreaScrollPosition computeScrolling(CodeAreaScrollPosition startPosition, ScrollingDirection direction) {
+        int rowsPerPage = dimensions.getRowsPerPage();
+        long rowsPerDocument = structure.getRowsPerDocument();
+        return scrolling.computeScrolling(startPosition, direction, rowsPerPage, rowsPerDocument);
+    }
+
+    /**
+     * Returns relative cursor position in code area or null if cursor is not
+     * visible.
+     *
+     * @param dataPosition data position
+     * @param codeOffset code offset
+     * @param section section
+     * @return cursor position or null
+     */
+    @Nullable
+    public Point getPositionPoint(long dataPosition, int codeOffset, CodeAreaSection section) {
+        int bytesPerRow = structure.getBytesPerRow();
+        int rowsPerRect = dimensions.getRowsPerRect();
+        int characterWidth = metrics.getCharacterWidth();
+        int rowHeight = metrics.getRowHeight();
+
+        CodeAreaScrollPosition scrollPosition = scrolling.getScrollPosition();
+        long row = dataPosition / bytesPerRow - scrollPosition.getRowPosition();
+        if (row < -1 || row > rowsPerRect) {
+            return null;
+        }
+
+        int byteOffset = (int) (dataPosition % bytesPerRow);
+
+        Rectangle dataViewRect = dimensions.getDataViewRectangle();
+        int caretY = (int) (dataViewRect.y + row * rowHeight) - scrollPosition.getRowOffset();
+        int caretX;
+        if (section == BasicCodeAreaSection.TEXT_PREVIEW) {
+            caretX = dataViewRect.x + visibility.getPreviewRelativeX() + characterWidth * byteOffset;
+        } else {
+            caretX = dataViewRect.x + characterWidth * (structure.computeFirstCodeCharacterPos(byteOffset) + codeOffset);
+        }
+        caretX -= scrollPosition.getCharPosition() * characterWidth + scrollPosition.getCharOffset();
+
+        return new Point(caretX, caretY);
+    }
+
+    private void updateMirrorCursorRect(long dataPosition, CodeAreaSection section) {
+        CodeType codeType = structure.getCodeType();
+        Point mirrorCursorPoint = getPositionPoint(dataPosition, 0, section == BasicCodeAreaSection.CODE_MATRIX ? BasicCodeAreaSection.TEXT_PREVIEW : BasicCodeAreaSection.CODE_MATRIX);
+        if (mirrorCursorPoint == null) {
+            cursorDataCache.mirrorCursorRect.setSize(0, 0);
+        } else {
+            cursorDataCache.mirrorCursorRect.setBounds(mirrorCursorPoint.x, mirrorCursorPoint.y, metrics.getCharacterWidth() * (section == BasicCodeAreaSection.TEXT_PREVIEW ? codeType.getMaxDigitsForByte() : 1), metrics.getRowHeight());
+        }
+    }
+
+    @Override
+    public int getMouseCursorShape(int positionX, int positionY) {
+        int dataViewX = dimensions.getScrollPanelX();
+        int dataViewY = dimensions.getScrollPanelY();
+        int scrollPanelWidth = dimensions.getScrollPanelWidth();
+        int scrollPanelHeight = dimensions.getScrollPanelHeight();
+        if (positionX >= dataViewX && positionX < dataViewX + scrollPanelWidth
+                && positionY >= dataViewY && positionY < dataViewY + scrollPanelHeight) {
+            return Cursor.TEXT_CURSOR;
+        }
+
+        return Cursor.DEFAULT_CURSOR;
+    }
+
+    @Nonnull
+    @Override
+    public BasicCodeAreaZone getPositionZone(int positionX, int positionY) {
+        return dimensions.getPositionZone(positionX, positionY);
+    }
+
+    @Nonnull
+    @Override
+    public BasicCodeAreaColorsProfile getBasicColors() {
+        return colorsProfile;
+    }
+
+    @Override
+    public void setBasicColors(BasicCodeAreaColorsProfile colorsProfile) {
+        this.colorsProfile = colorsProfile;
+    }
+
+    /**
+     * Draws characters centering it to cells of the same width.
+     *
+     * @param g graphics
+     * @param drawnChars array of chars
+     * @param charOffset index of target character in array
+     * @param length number of characters to draw
+     * @param cellWidth width of cell to center into
+     * @param positionX X position of drawing area start
+     * @param positionY Y position of drawing area start
+     */
+    protected void drawCenteredChars(Graphics g, char[] drawnChars, int charOffset, int length, int cellWidth, int positionX, int positionY) {
+        int pos = 0;
+        int group = 0;
+        while (pos < length) {
+            char drawnChar = drawnChars[charOffset + pos];
+            int charWidth = metrics.getCharWidth(drawnChar);
+
+            boolean groupable;
+            if (metrics.hasUniformLineMetrics()) {
+                groupable = charWidth == cellWidth;
+            } else {
+                int charsWidth = metrics.getCharsWidth(drawnChars, charOffset + pos - group, group + 1);
+                groupable = charsWidth == cellWidth * (group + 1);
+            }
+
+            switch (Character.getDirectionality(drawnChar)) {
+                case Character.DIRECTIONALITY_UNDEFINED:
+                case Character.DIRECTIONALITY_RIGHT_TO_LEFT:
+                case Character.DIRECTIONALITY_RIGHT_TO_LEFT_ARABIC:
+                case Character.DIRECTIONALITY_RIGHT_TO_LEFT_EMBEDDING:
+                case Character.DIRECTIONALITY_RIGHT_TO_LEFT_OVERRIDE:
+                case Character.DIRECTIONALITY_POP_DIRECTIONAL_FORMAT:
+                case Character.DIRECTIONALITY_BOUNDARY_NEUTRAL:
+                case Character.DIRECTIONALITY_OTHER_NEUTRALS:
+                    groupable = false;
+            }
+
+            if (groupable) {
+                group++;
+            } else {
+                if (group > 0) {
+                    drawShiftedChars(g, drawnChars, charOffset + pos - group, group, positionX + (pos - group) * cellWidth, positionY);
+                    group = 0;
+                }
+                drawShiftedChars(g, drawnChars, charOffset + pos, 1, positionX + pos * cellWidth + ((cellWidth - charWidth) / 2), positionY);
+            }
+            pos++;
+        }
+        if (group > 0) {
+            drawShiftedChars(g, drawnChars, charOffset + pos - group, group, positionX + (pos - group) * cellWidth, positionY);
+        }
+    }
+
+    protected void drawShiftedChars(Graphics g, char[] drawnChars, int charOffset, int length, int positionX, int positionY) {
+        paintMonitor.drawCalled();
+        g.drawChars(drawnChars, charOffset, length, positionX, positionY);
+    }
+
+    /**
+     * Precomputes widths for basic ascii characters.
+     *
+     * @param charset character set
+     */
+    private void buildCharMapping(Charset charset) {
+        for (int i = 0; i < 256; i++) {
+            charMapping[i] = new String(new byte[]{(byte) i}, charset).charAt(0);
+        }
+        charMappingCharset = charset;
+    }
+
+    private int getRowPositionLength() {
+        if (minRowPositionLength > 0 && minRowPositionLength == maxRowPositionLength) {
+            return minRowPositionLength;
+        }
+
+        long dataSize = codeArea.getDataSize();
+        if (dataSize == 0) {
+            return 1;
+        }
+
+        double natLog = Math.log(dataSize == Long.MAX_VALUE ? dataSize : dataSize + 1);
+        int positionLength = (int) Math.ceil(natLog / PositionCodeType.HEXADECIMAL.getBaseLog());
+        if (minRowPositionLength > 0 && positionLength < minRowPositionLength) {
+            positionLength = minRowPositionLength;
+        }
+        if (maxRowPositionLength > 0 && positionLength > maxRowPositionLength) {
+            positionLength = maxRowPositionLength;
+        }
+
+        return positionLength == 0 ? 1 : positionLength;
+    }
+
+    /**
+     * Returns cursor rectangle.
+     *
+     * @param dataPosition data position
+     * @param codeOffset code offset
+     * @param section section
+     * @return cursor rectangle or empty rectangle
+     */
+    @Nonnull
+    public Rectangle getCursorPositionRect(long dataPosition, int codeOffset, CodeAreaSection section) {
+        Rectangle rect = new Rectangle();
+        updateRectToCursorPosition(rect, dataPosition, codeOffset, section);
+        return rect;
+    }
+
+    protected void updateRectToCursorPosition(Rectangle rect, long dataPosition, int codeOffset, CodeAreaSection section) {
+        int characterWidth = metrics.getCharacterWidth();
+        int rowHeight = metrics.getRowHeight();
+        Point cursorPoint = getPositionPoint(dataPosition, codeOffset, section);
+        if (cursorPoint == null) {
+            rect.setBounds(0, 0, 0, 0);
+        } else {
+            DefaultCodeAreaCaret.CursorShape cursorShape = editationOperation == EditationOperation.INSERT ? DefaultCodeAreaCaret.CursorShape.INSERT : DefaultCodeAreaCaret.CursorShape.OVERWRITE;
+            int cursorThickness = DefaultCodeAreaCaret.getCursorThickness(cursorShape, characterWidth, rowHeight);
+            rect.setBounds(cursorPoint.x, cursorPoint.y, cursorThickness, rowHeight);
+        }
+    }
+
+    /**
+     * Renders sequence of background rectangles.
+     *
+     * Doesn't include character at offset end.
+     */
+    private void renderBackgroundSequence(Graphics g, int startOffset, int endOffset, int rowPositionX, int positionY) {
+        paintMonitor.drawCalled();
+        int characterWidth = metrics.getCharacterWidth();
+        int rowHeight = metrics.getRowHeight();
+        g.fillRect(rowPositionX + startOffset * characterWidth, positionY, (endOffset - startOffset) * characterWidth, rowHeight);
+    }
+
+    @Override
+    public void updateScrollBars() {
+        int characterWidth = metrics.getCharacterWidth();
+        int rowHeight = metrics.getRowHeight();
+        long rowsPerDocument = structure.getRowsPerDocument();
+
+        scrollingUpdate = true;
+        recomputeScrollState();
+        JScrollBar verticalScrollBar = scrollPanel.getVerticalScrollBar();
+        scrollPanel.setVerticalScrollBarPolicy(CodeAreaSwingUtils.getVerticalScrollBarPolicy(scrolling.getVerticalScrollBarVisibility()));
+        JScrollBar horizontalScrollBar = scrollPanel.getHorizontalScrollBar();
+        scrollPanel.setHorizontalScrollBarPolicy(CodeAreaSwingUtils.getHorizontalScrollBarPolicy(scrolling.getHorizontalScrollBarVisibility()));
+
+        int verticalScrollValue = scrolling.getVerticalScrollValue(rowHeight, rowsPerDocument);
+        verticalScrollBar.setValue(verticalScrollValue);
+
+        int horizontalScrollValue = scrolling.getHorizontalScrollValue(characterWidth);
+        horizontalScrollBar.setValue(horizontalScrollValue);
+
+        scrollingUpdate = false;
+    }
+
+    @Override
+    public void scrollPositionModified() {
+        scrolling.clearLastVerticalScrollingValue();
+    }
+
+    @Override
+    public void scrollPositionChanged() {
+        reset();
+        updateScrollBars();
+    }
+
+    private void horizontalExtentChanged() {
+        scrollingUpdate = true;
+        horizontalScrollBarModel.notifyChanged();
+        scrollingUpdate = false;
+    }
+
+    private void verticalExtentChanged() {
+        scrollingUpdate = true;
+        verticalScrollBarModel.notifyChanged();
+        scrollingUpdate = false;
+    }
+
+    private void dataChanged() {
+        rowCache.clear();
+        scrollingUpdate = true;
+        validateCaret();
+        recomputeLayout();
+        scrollingUpdate = false;
+    }
+
+    private void dataRangeChanged(DataChangedRange range) {
+        if (layoutChanged || rowDataCache == null) {
+            dataChanged();
+            codeArea.updateLayout();
+            return;
+        }
+
+        // Preview of multibyte characters depends on preceding bytes
+        long startPosition = Math.max(0, range.getPosition() - (metrics.getMaxBytesPerChar() - 1));
+        if (range.isSizeChanged()) {
+            int previousRowPositionLength = rowPositionLength;
+            int previousDataViewWidth = dimensions.getDataViewWidth();
+            int previousDataViewHeight = dimensions.getDataViewHeight();
+            rowCache.invalidateRange(startPosition, Long.MAX_VALUE);
+            scrollingUpdate = true;
+            validateCaret();
+            recomputeLayout();
+            scrollingUpdate = false;
+
+            if (rowPositionLength != previousRowPositionLength || dimensions.getDataViewWidth() != previousDataViewWidth || dimensions.getDataViewHeight() != previousDataViewHeight) {
+                codeArea.updateLayout();
+                return;
+            }
+
+            repaintRows(startPosition, Long.MAX_VALUE, true);
+        } else {
+            long endPosition = range.getInsertedEnd();
+            rowCache.invalidateRange(startPosition, endPosition);
+            repaintRows(startPosition, endPosition, false);
+        }
+    }
+
+    /**
+     * Requests repaint of visible rows containing given range of data.
+     *
+     * @param startPosition start position
+     * @param endPosition end position without actual end position itself
+     */
+    protected void repaintDataRange(long startPosition, long endPosition) {
+        if (!initialized || layoutChanged || rowDataCache == null) {
+            codeArea.repaint();
+            return;
+        }
+
+        repaintRows(startPosition, endPosition, false);
+    }
+
+    /**
+     * Returns data position of the first visible row.
+     *
+     * @return data position
+     */
+    protected long getVisibleDataStart() {
+        return scrolling.getScrollPosition().getRowPosition() * structure.getBytesPerRow();
+    }
+
+    /**
+     * Returns data position after the last visible row limited by data size.
+     *
+     * @return data position
+     */
+    protected long getVisibleDataEnd() {
+        long rowsEnd = (scrolling.getScrollPosition().getRowPosition() + dimensions.getRowsPerRect() + 1) * structure.getBytesPerRow();
+        return Math.min(rowsEnd, codeArea.getDataSize());
+    }
+
+    /**
+     * Repaints visible rows containing given range of data.
+     *
+     * @param startPosition start position
+     * @param endPosition end position without actual end position itself
+     * @param includeRowPosition true to repaint row position area too
+     */
+    private void repaintRows(long startPosition, long endPosition, boolean includeRowPosition) {
+        int bytesPerRow = structure.getBytesPerRow();
+        int rowHeight = metrics.getRowHeight();
+        CodeAreaScrollPosition scrollPosition = scrolling.getScrollPosition();
+        Rectangle mainAreaRect = dimensions.getMainAreaRectangle();
+        Rectangle dataViewRect = dimensions.getDataViewRectangle();
+        long scrollRow = scrollPosition.getRowPosition();
+
+        long startRow = startPosition / bytesPerRow - scrollRow;
+        long endRow = endPosition == Long.MAX_VALUE ? Long.MAX_VALUE : (endPosition - 1) / bytesPerRow - scrollRow;
+        long rowsPerRect = dimensions.getRowsPerRect();
+        if (endRow < 0 || startRow > rowsPerRect) {
+            return;
+        }
+        if (startRow < 0) {
+            startRow = 0;
+        }
+        if (endRow > rowsPerRect) {
+            endRow = rowsPerRect;
+        }
+
+        int positionY = dataViewRect.y - scrollPosition.getRowOffset() + (int) startRow * rowHeight;
+        int height = (int) (endRow - startRow + 1) * rowHeight;
+        int viewEndY = dataViewRect.y + dataViewRect.height;
+        if (positionY < dataViewRect.y) {
+            height -= dataViewRect.y - positionY;
+            positionY = dataViewRect.y;
+        }
+        if (positionY + height > viewEndY) {
+            height = viewEndY - positionY;
+        }
+        if (height <= 0) {
+            return;
+        }
+
+        int positionX = includeRowPosition ? dimensions.getRowPositionAreaRectangle().x : mainAreaRect.x;
+        paintBuffer.markAreaChanged();
+        codeArea.repaint(positionX, positionY, mainAreaRect.x + mainAreaRect.width - positionX, height);
+    }
+
+    /**
+     * Returns cache of prepared rows.
+     *
+     * @return rows cache
+     */
+    @Nonnull
+    public CodeAreaRowCache getRowCache() {
+        return rowCache;
+    }
+
+    protected int getCharactersPerRow() {
+        return structure.getCharactersPerRow();
+    }
+
+    public int getBytesPerRow() {
+        return structure.getBytesPerRow();
+    }
+
+    public int getRowHeight() {
+        return metrics.getRowHeight();
+    }
+
+    private int getHorizontalScrollBarSize() {
+        JScrollBar horizontalScrollBar = scrollPanel.getHorizontalScrollBar();
+        return horizontalScrollBar.isVisible() ? horizontalScrollBar.getHeight() : 0;
+    }
+
+    private int getVerticalScrollBarSize() {
+        JScrollBar verticalScrollBar = scrollPanel.getVerticalScrollBar();
+        return verticalScrollBar.isVisible() ? verticalScrollBar.getWidth() : 0;
+    }
+
+    private class VerticalScrollBarModel extends DefaultBoundedRangeModel {
+
+        public VerticalScrollBarModel() {
+            super();
+        }
+
+        @Override
+        public int getExtent() {
+            return super.getExtent() - scrolling.getVerticalExtentDifference();
+        }
+
+        @Override
+        public int getMaximum() {
+            return super.getMaximum() - scrolling.getVerticalExtentDifference();
+        }
+
+        @Override
+        public void setRangeProperties(int newValue, int newExtent, int newMin, int newMax, boolean adjusting) {
+            super.setRangeProperties(newValue, newExtent, newMin, newMax, adjusting);
+            if (newValue == scrolling.getLastVerticalScrollingValue() && (newValue <= newMin || newValue >= newMax - newExtent)) {
+                // We still want to report change when scrolling up on corners for big files
+                fireStateChanged();
+            }
+        }
+
+        @Override
+        public void setValue(int n) {
+            // Keeps previous value - depends on that scrolling by button calls this method
+            scrolling.setLastVerticalScrollingValue(getValue());
+            super.setValue(n);
+        }
+
+        public void notifyChanged() {
+            fireStateChanged();
+        }
+    }
+
+    private class HorizontalScrollBarModel extends DefaultBoundedRangeModel {
+
+        public HorizontalScrollBarModel() {
+            super();
+        }
+
+        @Override
+        public int getExtent() {
+            return super.getExtent() - scrolling.getHorizontalExtentDifference();
+        }
+
+        @Override
+        public int getMaximum() {
+            return super.getMaximum() - scrolling.getHorizontalExtentDifference();
+        }
+
+        public void notifyChanged() {
+            fireStateChanged();
+        }
+    }
+
+    private class VerticalAdjustmentListener implements AdjustmentListener {
+
+        private boolean wasAdjusting = false;
+
+        public VerticalAdjustmentListener() {
+        }
+
+        @Override
+        public void adjustmentValueChanged(@Nullable AdjustmentEvent e) {
+            if (e == null || scrollingUpdate) {
+                return;
+            }
+
+            boolean overriden = false;
+
+            if (!e.getValueIsAdjusting()) {
+                if (wasAdjusting) {
+                    wasAdjusting = false;
+                } else {
+                    // Override scrolling up/down by scrollbar buttons with direct operation
+                    int lastValue = scrolling.getLastVerticalScrollingValue();
+                    if (scrolling.getScrollBarVerticalScale() == ScrollBarVerticalScale.SCALED) {
+                        if (lastValue != -1) {
+                            if (e.getValue() == lastValue - 1 || (lastValue == 0 && e.getValue() == 0)) {
+                                scrolling.performScrolling(ScrollingDirection.UP, dimensions.getRowsPerPage(), structure.getRowsPerDocument());
+                                ((ScrollingCapable) codeArea).setScrollPosition(scrolling.getScrollPosition());
+                            }
+
+                            int maxScroll = verticalScrollBarModel.getMaximum() - verticalScrollBarModel.getExtent();
+                            if (e.getValue() == lastValue + 1 || (lastValue == maxScroll && e.getValue() == maxScroll)) {
+                                scrolling.performScrolling(ScrollingDirection.DOWN, dimensions.getRowsPerPage(), structure.getRowsPerDocument());
+                                ((ScrollingCapable) codeArea).setScrollPosition(scrolling.getScrollPosition());
+                            }
+                        }
+                        overriden = true;
+                    }
+                }
+            } else {
+                wasAdjusting = true;
+            }
+
+            if (!overriden) {
+                int scrollBarValue = scrollPanel.getVerticalScrollBar().getValue();
+                int maxValue = Integer.MAX_VALUE - scrollPanel.getVerticalScrollBar().getVisibleAmount();
+                long rowsPerDocumentToLastPage = structure.getRowsPerDocument() - dimensions.getRowsPerRect();
+                scrolling.updateVerticalScrollBarValue(scrollBarValue, metrics.getRowHeight(), maxValue, rowsPerDocumentToLastPage);
+                ((ScrollingCapable) codeArea).setScrollPosition(scrolling.getScrollPosition());
+            }
+
+            notifyScrolled();
+            repaintScrolled();
+        }
+    }
+
+    private class HorizontalAdjustmentListener implements AdjustmentListener {
+
+        public HorizontalAdjustmentListener() {
+        }
+
+        @Override
+        public void adjustmentValueChanged(@Nullable AdjustmentEvent e) {
+            if (e == null || scrollingUpdate) {
+                return;
+            }
+
+            int scrollBarValue = scrollPanel.getHorizontalScrollBar().getValue();
+            scrolling.updateHorizontalScrollBarValue(scrollBarValue, metrics.getCharacterWidth());
+            ((ScrollingCapable) codeArea).setScrollPosition(scrolling.getScrollPosition());
+            notifyScrolled();
+            repaintScrolled();
+        }
+    }
+
+    private void notifyScrolled() {
+        recomputeScrollState();
+        ((ScrollingCapable) codeArea).notifyScrolled();
+    }
+
+    /**
+     * Requests repaint of the component keeping painted content for reuse.
+     */
+    private void repaintScrolled() {
+        codeArea.repaint(0, 0, codeArea.getWidth(), codeArea.getHeight());
+    }
+
+    @Override
+    public boolean repaintCursor() {
+        if (!isInitialized() || layoutChanged || cursorDataCache == null) {
+            codeArea.repaint();
+            return true;
+        }
+
+        paintBuffer.markAreaChanged();
+        repaintArea(paintedCursorRect);
+        repaintArea(paintedMirrorCursorRect);
+        if (!codeArea.hasFocus()) {
+            return true;
+        }
+
+        DefaultCodeAreaCaret caret = (DefaultCodeAreaCaret) ((CaretCapable) codeArea).getCaret();
+        repaintArea(getCursorPositionRect(caret.getDataPosition(), caret.getCodeOffset(), caret.getSection()));
+        if (structure.getViewMode() == CodeAreaViewMode.DUAL && showMirrorCursor) {
+            updateMirrorCursorRect(caret.getDataPosition(), caret.getSection());
+            repaintArea(cursorDataCache.mirrorCursorRect);
+        }
+        return true;
+    }
+
+    private void repaintArea(Rectangle area) {
+        if (!area.isEmpty()) {
+            codeArea.repaint(area.x, area.y, area.width, area.height);
+        }
+    }
+
+    private static class RowDataCache {
+
+        char[] headerChars;
+        byte[] rowData;
+        char[] rowPositionCode;
+        char[] rowCharacters;
+    }
+
+    private static class CursorDataCache {
+
+        Rectangle caretRect = new Rectangle();
+        Rectangle mirrorCursorRect = new Rectangle();
+        final Stroke dashedStroke = new BasicStroke(1, BasicStroke.CAP_BUTT, BasicStroke.JOIN_BEVEL, 0, new float[]{2}, 0);
+        int cursorCharsLength;
+        char[] cursorChars;
+        int cursorDataLength;
+        byte[] cursorData;
+    }
+
+    protected enum ScrollingState {
+        NO_SCROLLING,
+        SCROLLING_BY_SCROLLBAR,
+        SCROLLING_BY_MOVEMENT
+    }
+}
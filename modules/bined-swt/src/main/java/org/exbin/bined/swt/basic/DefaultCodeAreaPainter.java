@@ -58,6 +58,8 @@ import org.exbin.bined.SelectionRange;
 import org.exbin.bined.basic.BasicBackgroundPaintMode;
 import org.exbin.bined.basic.BasicCodeAreaScrolling;
 import org.exbin.bined.basic.BasicCodeAreaStructure;
+import org.exbin.bined.basic.CodeAreaPaintMonitor;
+import org.exbin.bined.basic.CodeAreaPaintPhase;
 import org.exbin.bined.basic.CodeAreaScrollPosition;
 import org.exbin.bined.basic.MovementDirection;
 import org.exbin.bined.basic.ScrollBarVerticalScale;
@@ -80,6 +82,7 @@ import org.exbin.auxiliary.paged_data.BinaryData;
 import org.exbin.bined.CodeAreaCaretPosition;
 import org.exbin.bined.DataChangedListener;
 import org.exbin.bined.basic.BasicCodeAreaLayout;
+import org.exbin.bined.basic.PaintMonitorCapableCodeAreaPainter;
 import org.exbin.bined.basic.PositionScrollVisibility;
 
 /**
@@ -89,7 +92,7 @@ import org.exbin.bined.basic.PositionScrollVisibility;
  * @author ExBin Project (https://exbin.org)
  */
 @ParametersAreNonnullByDefault
-public class DefaultCodeAreaPainter implements CodeAreaPainter, BasicColorsCapableCodeAreaPainter {
+public class DefaultCodeAreaPainter implements CodeAreaPainter, BasicColorsCapableCodeAreaPainter, PaintMonitorCapableCodeAreaPainter {
 
     @Nonnull
     protected final CodeAreaCore codeArea;
@@ -130,6 +133,7 @@ public class DefaultCodeAreaPainter implements CodeAreaPainter, BasicColorsCapab
 
     @Nonnull
     private final BasicCodeAreaLayout layout = new BasicCodeAreaLayout();
+    private final CodeAreaPaintMonitor paintMonitor = new CodeAreaPaintMonitor();
     private BasicCodeAreaColorsProfile colorsProfile = new BasicCodeAreaColorsProfile();
 
     @Nullable
@@ -185,7 +189,9 @@ public class DefaultCodeAreaPainter implements CodeAreaPainter, BasicColorsCapab
 
             repaintRequest.set(false);
 
+            paintMonitor.paintStarted();
             paintMainArea(g);
+            paintMonitor.paintFinished();
 
             if (childPaint) {
                 childPaint = false;
@@ -417,6 +423,12 @@ public class DefaultCodeAreaPainter implements CodeAreaPainter, BasicColorsCapab
         return initialized;
     }
 
+    @Nonnull
+    @Override
+    public CodeAreaPaintMonitor getPaintMonitor() {
+        return paintMonitor;
+    }
+
     @Override
     public void paintComponent(GC g) {
         if (!initialized) {
@@ -437,9 +449,16 @@ public class DefaultCodeAreaPainter implements CodeAreaPainter, BasicColorsCapab
             recomputeCharPositions();
         }
 
+        // Main area is painted separately by data view paint listener
+        paintMonitor.paintStarted();
         paintOutsideArea(g);
+        paintMonitor.phaseStarted(CodeAreaPaintPhase.HEADER);
         paintHeader(g);
+        paintMonitor.phaseFinished(CodeAreaPaintPhase.HEADER);
+        paintMonitor.phaseStarted(CodeAreaPaintPhase.ROW_POSITION);
         paintRowPosition(g);
+        paintMonitor.phaseFinished(CodeAreaPaintPhase.ROW_POSITION);
+        paintMonitor.paintFinished();
 
         Rectangle dataViewBounds = dataView.getBounds();
         childPaint = true;
@@ -657,7 +676,9 @@ public class DefaultCodeAreaPainter implements CodeAreaPainter, BasicColorsCapab
 
 //        Rectangle clipBounds = g.getClipping();
 //        g.setClipping(clipBounds != null ? clipBounds.intersection(mainAreaRect) : mainAreaRect);
+        paintMonitor.phaseStarted(CodeAreaPaintPhase.BACKGROUND);
         paintBackground(g);
+        paintMonitor.phaseFinished(CodeAreaPaintPhase.BACKGROUND);
 
         // Decoration lines
         g.setForeground(colorsProfile.getDecorationLine());
@@ -666,9 +687,13 @@ public class DefaultCodeAreaPainter implements CodeAreaPainter, BasicColorsCapab
             g.drawLine(lineX, dataViewRectangle.y, lineX, dataViewRectangle.y + dataViewRectangle.height);
         }
 
+        paintMonitor.phaseStarted(CodeAreaPaintPhase.ROWS);
         paintRows(g);
+        paintMonitor.phaseFinished(CodeAreaPaintPhase.ROWS);
 //        g.setClipping(clipBounds);
+        paintMonitor.phaseStarted(CodeAreaPaintPhase.CURSOR);
         paintCursor(g);
+        paintMonitor.phaseFinished(CodeAreaPaintPhase.CURSOR);
 
         paintDebugInfo(g, mainAreaRect, scrollPosition);
     }
@@ -744,6 +769,7 @@ public class DefaultCodeAreaPainter implements CodeAreaPainter, BasicColorsCapab
     }
 
     private void prepareRowData(long dataPosition) {
+        paintMonitor.rowPrepared();
         int maxBytesPerChar = metrics.getMaxBytesPerChar();
         CodeAreaViewMode viewMode = structure.getViewMode();
         int bytesPerRow = structure.getBytesPerRow();
@@ -766,6 +792,7 @@ public class DefaultCodeAreaPainter implements CodeAreaPainter, BasicColorsCapab
                 throw new IllegalStateException("Missing data on nonzero data size");
             }
             content.copyToArray(dataPosition + rowStart, rowDataCache.rowData, rowStart, rowDataSize - rowStart);
+            paintMonitor.bytesFetched(rowDataSize - rowStart);
             if (dataSize - dataPosition < rowBytesLimit) {
                 rowBytesLimit = (int) (dataSize - dataPosition);
             }
@@ -777,10 +804,14 @@ public class DefaultCodeAreaPainter implements CodeAreaPainter, BasicColorsCapab
         if (viewMode != CodeAreaViewMode.TEXT_PREVIEW) {
             int skipToCode = visibility.getSkipToCode();
             int skipRestFromCode = visibility.getSkipRestFromCode();
+            int startCode = Math.max(skipToCode, rowStart);
             int endCode = Math.min(skipRestFromCode, rowBytesLimit);
-            for (int byteOnRow = Math.max(skipToCode, rowStart); byteOnRow < endCode; byteOnRow++) {
-                byte dataByte = rowDataCache.rowData[byteOnRow];
-                CodeAreaUtils.byteToCharsCode(dataByte, codeType, rowDataCache.rowCharacters, structure.computeFirstCodeCharacterPos(byteOnRow), codeCharactersCase);
+            if (startCode < endCode) {
+                int codeRowPos = structure.computeFirstCodeCharacterPos(startCode);
+                if (codeRowPos > 0) {
+                    rowDataCache.rowCharacters[codeRowPos - 1] = ' ';
+                }
+                CodeAreaUtils.bytesToCharsCode(rowDataCache.rowData, startCode, endCode - startCode, codeType, rowDataCache.rowCharacters, codeRowPos, 1, codeCharactersCase);
             }
             if (bytesPerRow > rowBytesLimit) {
                 Arrays.fill(rowDataCache.rowCharacters, structure.computeFirstCodeCharacterPos(rowBytesLimit), rowDataCache.rowCharacters.length, ' ');
@@ -1217,6 +1248,7 @@ public class DefaultCodeAreaPainter implements CodeAreaPainter, BasicColorsCapab
                         }
 
                         codeArea.getBinaryData().copyToArray(dataPosition, data, 0, charDataLength);
+                        paintMonitor.bytesFetched(charDataLength);
                         String displayString = new String(data, 0, charDataLength, charset);
                         if (!displayString.isEmpty()) {
                             previewChars[0] = displayString.charAt(0);
@@ -1503,6 +1535,7 @@ public class DefaultCodeAreaPainter implements CodeAreaPainter, BasicColorsCapab
     }
 
     protected void drawShiftedChars(GC g, char[] drawnChars, int charOffset, int charWidthSpace, int positionX, int positionY) {
+        paintMonitor.drawCalled();
         g.drawString(String.valueOf(drawnChars[charOffset]), positionX, positionY, true);
     }
 
@@ -1568,6 +1601,7 @@ public class DefaultCodeAreaPainter implements CodeAreaPainter, BasicColorsCapab
      * Doesn't include character at offset end.
      */
     private void renderBackgroundSequence(GC g, int startOffset, int endOffset, int rowPositionX, int positionY) {
+        paintMonitor.drawCalled();
         int characterWidth = metrics.getCharacterWidth();
         int rowHeight = metrics.getRowHeight();
         g.fillRectangle(rowPositionX + startOffset * characterWidth, positionY, (endOffset - startOffset) * characterWidth, rowHeight);
@@ -52,7 +52,7 @@ import org.exbin.bined.operation.swing.CodeAreaUndoHandler;
 import org.exbin.bined.operation.undo.BinaryDataUndoUpdateListener;
 import org.exbin.bined.swing.CodeAreaCommandHandler;
 import org.exbin.bined.swing.basic.CodeArea;
-import org.exbin.auxiliary.paged_data.ByteArrayEditableData;
+import org.exbin.bined.data.PieceTableData;
 import org.exbin.auxiliary.paged_data.EditableBinaryData;
 import org.exbin.bined.CodeAreaCaretPosition;
 import org.exbin.bined.CodeAreaUtils;
@@ -113,7 +113,7 @@ public class BinEdEditorBasic extends javax.swing.JFrame {
 
     private void init() {
         codeArea = new CodeArea();
-        codeArea.setContentData(new ByteArrayEditableData());
+        codeArea.setContentData(new PieceTableData());
         undoHandler = new CodeAreaUndoHandler(codeArea);
         commandHandler = new CodeAreaOperationCommandHandler(codeArea, undoHandler);
         codeArea.setCommandHandler(commandHandler);
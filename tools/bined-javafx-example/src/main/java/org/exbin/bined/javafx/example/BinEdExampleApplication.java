@@ -24,7 +24,7 @@ import javafx.scene.Scene;
 import javafx.stage.Stage;
 import javafx.stage.WindowEvent;
 import org.exbin.bined.javafx.basic.CodeArea;
-import org.exbin.auxiliary.paged_data.ByteArrayEditableData;
+import org.exbin.bined.data.PieceTableData;
 
 /**
  * Binary editor JavaFX examples.
@@ -36,7 +36,7 @@ public class BinEdExampleApplication extends Application {
 
     private void init(Stage stage) {
         final CodeArea codeArea = new CodeArea();
-        ByteArrayEditableData data = new ByteArrayEditableData();
+        PieceTableData data = new PieceTableData();
         try {
             data.loadFromStream(codeArea.getClass().getResourceAsStream("/org/exbin/bined/javafx/example/resources/lorem_1.txt"));
         } catch (IOException ex) {
@@ -30,6 +30,7 @@ import org.exbin.bined.swing.extended.ExtCodeArea;
 import org.exbin.bined.swing.extended.diff.ExtCodeAreaDiffPanel;
 import org.exbin.auxiliary.paged_data.BinaryData;
 import org.exbin.auxiliary.paged_data.ByteArrayEditableData;
+import org.exbin.bined.data.PieceTableData;
 
 /**
  * Example Swing GUI demonstration application of the bined component.
@@ -71,8 +72,8 @@ public class BinEdExample {
 
         final BinEdExampleDiffPanel diffPanel = new BinEdExampleDiffPanel();
         final ExtCodeAreaDiffPanel diffCodeAreaPanel = new ExtCodeAreaDiffPanel();
-        diffCodeAreaPanel.setLeftContentData(getSampleData());
-        diffCodeAreaPanel.setRightContentData(getSampleDiffData());
+        diffCodeAreaPanel.setLeftContentData(getSampleDiffData(EXAMPLE_FILE_PATH));
+        diffCodeAreaPanel.setRightContentData(getSampleDiffData(EXAMPLE_DIFF_FILE_PATH));
         diffPanel.setDiffPanel(diffCodeAreaPanel);
 
         tabbedPane.addTab("Basic", basicPanel);
@@ -110,8 +111,8 @@ public class BinEdExample {
     }
 
     @Nonnull
-    private static ByteArrayEditableData getSampleData() {
-        ByteArrayEditableData data = new ByteArrayEditableData();
+    private static PieceTableData getSampleData() {
+        PieceTableData data = new PieceTableData();
         try {
             data.loadFromStream(data.getClass().getResourceAsStream(EXAMPLE_FILE_PATH));
         } catch (IOException ex) {
@@ -122,10 +123,10 @@ public class BinEdExample {
     }
 
     @Nonnull
-    private static ByteArrayEditableData getSampleDiffData() {
+    private static ByteArrayEditableData getSampleDiffData(String path) {
         ByteArrayEditableData data = new ByteArrayEditableData();
         try {
-            data.loadFromStream(data.getClass().getResourceAsStream(EXAMPLE_DIFF_FILE_PATH));
+            data.loadFromStream(data.getClass().getResourceAsStream(path));
         } catch (IOException ex) {
             Logger.getLogger(BinEdExample.class.getName()).log(Level.SEVERE, null, ex);
         }
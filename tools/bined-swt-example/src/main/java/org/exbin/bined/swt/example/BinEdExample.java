@@ -28,7 +28,7 @@ import org.eclipse.swt.widgets.Shell;
 import org.eclipse.swt.widgets.TabFolder;
 import org.eclipse.swt.widgets.TabItem;
 import org.exbin.bined.swt.basic.CodeArea;
-import org.exbin.auxiliary.paged_data.ByteArrayEditableData;
+import org.exbin.bined.data.PieceTableData;
 
 /**
  * Example Swing GUI demonstration application of the bined component.
@@ -65,7 +65,7 @@ public class BinEdExample {
 
         final BinEdExampleBasicPanel basicPanel = new BinEdExampleBasicPanel(basicForm, SWT.NONE);
         final CodeArea basicCodeArea = new CodeArea(basicForm, SWT.BORDER);
-        ByteArrayEditableData basicData = new ByteArrayEditableData();
+        PieceTableData basicData = new PieceTableData();
         try {
             basicData.loadFromStream(basicCodeArea.getClass().getResourceAsStream(EXAMPLE_FILE_PATH));
         } catch (IOException ex) {